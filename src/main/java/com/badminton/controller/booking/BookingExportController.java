@@ -0,0 +1,57 @@
+package com.badminton.controller.booking;
+
+import com.badminton.service.booking.BookingExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Booking export of a branch, streamed to the response as it is written:
+ * GET /api/branches/{id}/bookings/export?startDate=...&endDate=...&format=csv|xlsx
+ */
+@RestController
+@RequestMapping("/api/branches")
+@RequiredArgsConstructor
+public class BookingExportController {
+
+    private static final MediaType CSV = new MediaType("text", "csv");
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final BookingExportService bookingExportService;
+
+    @GetMapping("/{branchId}/bookings/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable Long branchId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format) {
+        boolean xlsx = switch (format.toLowerCase()) {
+            case "csv" -> false;
+            case "xlsx" -> true;
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+
+        StreamingResponseBody body = xlsx
+                ? bookingExportService.xlsxBody(branchId, startDate, endDate)
+                : bookingExportService.csvBody(branchId, startDate, endDate);
+        String filename = String.format("bookings-%d-%s-%s.%s", branchId, startDate, endDate, xlsx ? "xlsx" : "csv");
+
+        return ResponseEntity.ok()
+                .contentType(xlsx ? XLSX : CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,33 @@
+package com.badminton.controller.court;
+
+import com.badminton.dto.response.court.BranchDayGridResponse;
+import com.badminton.service.court.BranchDayGridService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Daily booking board of a branch: GET /api/branches/{id}/day-grid?date=2026-03-02.
+ * Without a date the board is today's.
+ */
+@RestController
+@RequestMapping("/api/branches")
+@RequiredArgsConstructor
+public class BranchDayGridController {
+
+    private final BranchDayGridService branchDayGridService;
+
+    @GetMapping("/{branchId}/day-grid")
+    public ResponseEntity<BranchDayGridResponse> getDayGrid(
+            @PathVariable Long branchId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(branchDayGridService.getGrid(branchId, date != null ? date : LocalDate.now()));
+    }
+}
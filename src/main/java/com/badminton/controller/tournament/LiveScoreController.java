@@ -0,0 +1,67 @@
+package com.badminton.controller.tournament;
+
+import com.badminton.dto.request.tournament.UpdateMatchScoreRequest;
+import com.badminton.dto.response.tournament.LiveScoreUpdate;
+import com.badminton.service.tournament.LiveScoreService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+/**
+ * STOMP endpoints for live scoring.
+ * Umpires send to /app/matches/{id}/...; viewers subscribe to /topic/matches/{id}
+ * or /topic/tournaments/{id}/scores and read the current state once from
+ * /app/matches/{id}. Only the match's referee, an admin or a manager may send
+ * scores; the principal is the user of the WebSocket handshake.
+ */
+@Controller
+@RequiredArgsConstructor
+public class LiveScoreController {
+
+    private final LiveScoreService liveScoreService;
+
+    @MessageMapping("/matches/{matchId}/start")
+    public void start(@DestinationVariable Long matchId, Principal principal) {
+        liveScoreService.checkScorer(matchId, principal);
+        liveScoreService.start(matchId);
+    }
+
+    @MessageMapping("/matches/{matchId}/point/{slot}")
+    public void point(@DestinationVariable Long matchId, @DestinationVariable int slot, Principal principal) {
+        liveScoreService.checkScorer(matchId, principal);
+        liveScoreService.point(matchId, slot);
+    }
+
+    @MessageMapping("/matches/{matchId}/undo")
+    public void undo(@DestinationVariable Long matchId, Principal principal) {
+        liveScoreService.checkScorer(matchId, principal);
+        liveScoreService.undo(matchId);
+    }
+
+    @MessageMapping("/matches/score")
+    public void score(@Valid @Payload UpdateMatchScoreRequest request, Principal principal) {
+        liveScoreService.checkScorer(request.getMatchId(), principal);
+        liveScoreService.applyScores(request);
+    }
+
+    @SubscribeMapping("/matches/{matchId}")
+    public LiveScoreUpdate snapshot(@DestinationVariable Long matchId) {
+        return liveScoreService.snapshot(matchId);
+    }
+
+    @MessageExceptionHandler({IllegalArgumentException.class, IllegalStateException.class,
+            AccessDeniedException.class})
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public String handleError(RuntimeException e) {
+        return e.getMessage();
+    }
+}
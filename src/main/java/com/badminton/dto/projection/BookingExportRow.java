@@ -0,0 +1,30 @@
+package com.badminton.dto.projection;
+
+import com.badminton.enums.BookingStatus;
+import com.badminton.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Flat booking row for exports, selected with a constructor expression so no entity is managed
+ */
+public record BookingExportRow(
+        Long bookingId,
+        LocalDate date,
+        LocalTime timeStart,
+        LocalTime timeEnd,
+        BookingStatus status,
+        PaymentStatus paymentStatus,
+        String branchCode,
+        String courtName,
+        String customerName,
+        String customerPhone,
+        String customerEmail,
+        BigDecimal totalAmount,
+        BigDecimal finalAmount,
+        String bookingSource,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,19 @@
+package com.badminton.dto.projection;
+
+import com.badminton.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Lightweight booking row for slot computations (no managed entity)
+ */
+public record BookingSlot(
+        Long bookingId,
+        Long courtId,
+        Long branchId,
+        LocalDate date,
+        LocalTime timeStart,
+        LocalTime timeEnd,
+        BookingStatus status) {
+}
@@ -0,0 +1,46 @@
+package com.badminton.dto.projection;
+
+import com.badminton.enums.PostStatus;
+import com.badminton.enums.PostType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Post list row; never carries content, only the fields persisted from it
+ */
+public record PostSummary(
+        Long id,
+        String title,
+        String slug,
+        String excerpt,
+        PostType postType,
+        PostStatus status,
+        String thumbnail,
+        String featuredImage,
+        String firstImage,
+        Long categoryId,
+        String categoryName,
+        Long authorId,
+        String authorName,
+        LocalDateTime publishedAt,
+        Integer readingTime,
+        Long viewCount,
+        Long likeCount,
+        Long commentCount,
+        Long shareCount,
+        BigDecimal engagementRate,
+        Boolean isFeatured,
+        Boolean isPinned,
+        Boolean isTrending) {
+
+    /**
+     * Image to show in lists: thumbnail, then featured image, then first content image
+     */
+    public String listImage() {
+        if (thumbnail != null) {
+            return thumbnail;
+        }
+        return featuredImage != null ? featuredImage : firstImage;
+    }
+}
@@ -0,0 +1,23 @@
+package com.badminton.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parsed post view as written to post_views by the ingestion pipeline
+ */
+public record PostViewRecord(
+        Long postId,
+        Long userId,
+        String ipAddress,
+        String userAgent,
+        String referrer,
+        String deviceType,
+        String browser,
+        String os,
+        String country,
+        String city,
+        String sessionId,
+        Integer timeSpentSeconds,
+        Integer scrollDepthPercentage,
+        LocalDateTime viewedAt) {
+}
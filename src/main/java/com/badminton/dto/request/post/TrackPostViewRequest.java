@@ -0,0 +1,43 @@
+package com.badminton.dto.request.post;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Track post view request DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackPostViewRequest {
+
+    @NotNull(message = "Bài viết không được để trống")
+    private Long postId;
+
+    private Long userId; // Null for anonymous users
+
+    private String ipAddress;
+
+    private String userAgent;
+
+    private String referrer;
+
+    private String country; // ISO country code
+
+    private String city;
+
+    private String sessionId;
+
+    @Min(value = 0, message = "Thời gian xem không hợp lệ")
+    private Integer timeSpentSeconds;
+
+    @Min(value = 0, message = "Độ cuộn trang không hợp lệ")
+    @Max(value = 100, message = "Độ cuộn trang không hợp lệ")
+    private Integer scrollDepthPercentage;
+}
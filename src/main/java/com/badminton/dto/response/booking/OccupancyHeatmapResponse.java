@@ -0,0 +1,54 @@
+package com.badminton.dto.response.booking;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupancy heatmap response DTO.
+ * Matrices are indexed [dayOfWeek - 1][hour]; rates are percentages of scheduled capacity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OccupancyHeatmapResponse {
+
+    private Long branchId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Integer weeks;
+
+    private double[][] occupancyRate;
+    private long[][] bookedMinutes;
+
+    private List<PeakHour> peakHours;
+    private List<CourtHeatmap> courts;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CourtHeatmap {
+        private Long courtId;
+        private double[][] occupancyRate;
+        private long[][] bookedMinutes;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeakHour {
+        private Integer dayOfWeek;
+        private Integer hour;
+        private Double occupancyRate;
+        private Long bookedMinutes;
+    }
+}
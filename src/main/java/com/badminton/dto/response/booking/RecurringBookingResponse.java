@@ -0,0 +1,45 @@
+package com.badminton.dto.response.booking;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Recurring booking series response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecurringBookingResponse {
+
+    private Long parentBookingId;
+    private Long courtId;
+
+    private LocalTime timeStart;
+    private LocalTime timeEnd;
+    private String recurrencePattern;
+
+    private Integer requestedOccurrences;
+    private Integer createdOccurrences;
+    private Integer conflictCount;
+
+    private List<Occurrence> occurrences;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Occurrence {
+        private LocalDate date;
+        private Boolean created;
+        private Long conflictingBookingId;
+    }
+}
@@ -0,0 +1,56 @@
+package com.badminton.dto.response.court;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Daily booking board of a branch: every court with its slots for one date
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BranchDayGridResponse {
+
+    private Long branchId;
+    private LocalDate date;
+    private List<CourtRow> courts;
+    private LocalDateTime generatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CourtRow {
+        private Long courtId;
+        private String name;
+        private String courtType;
+        private String status;
+        private Boolean underMaintenance;
+        private List<SlotCell> slots;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SlotCell {
+        private LocalTime start;
+        private LocalTime end;
+        private String state; // FREE, BOOKED, PENDING, MAINTENANCE
+        private BigDecimal price;
+        private Long bookingId;
+    }
+}
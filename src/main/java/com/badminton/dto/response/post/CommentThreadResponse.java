@@ -0,0 +1,48 @@
+package com.badminton.dto.response.post;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page of comment threads response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommentThreadResponse {
+
+    private Long postId;
+    private List<CommentNode> comments;
+
+    private String nextCursor; // Opaque, pass back to load the next page
+    private Boolean hasMore;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CommentNode {
+        private Long id;
+        private Long parentId;
+        private Long userId;
+        private String userName;
+        private String content;
+        private Integer likeCount;
+        private Integer replyCount;
+        private Integer depth;
+        private Boolean isEdited;
+        private LocalDateTime createdAt;
+
+        @Builder.Default
+        private List<CommentNode> replies = new ArrayList<>();
+    }
+}
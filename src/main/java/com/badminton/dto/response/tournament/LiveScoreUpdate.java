@@ -0,0 +1,49 @@
+package com.badminton.dto.response.tournament;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Live score of one match as pushed over STOMP.
+ * seq increases with every change of the match; a client that sees a gap
+ * re-subscribes to get a full snapshot. completedSets is only filled in
+ * snapshots and when a set ends.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveScoreUpdate {
+
+    private Long matchId;
+    private Long tournamentId;
+    private Long seq;
+
+    private Integer setNumber;
+    private Integer participant1Score;
+    private Integer participant2Score;
+
+    private Integer participant1Sets;
+    private Integer participant2Sets;
+
+    private List<SetScore> completedSets;
+
+    private Boolean matchCompleted;
+    private Long winnerId;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SetScore {
+        private Integer setNumber;
+        private Integer participant1Score;
+        private Integer participant2Score;
+    }
+}
@@ -10,15 +10,23 @@ import com.badminton.entity.feedback.Feedback;
 import com.badminton.enums.BookingStatus;
 import com.badminton.enums.BookingType;
 import com.badminton.enums.PaymentStatus;
+import com.badminton.enums.SearchDocumentType;
+import com.badminton.event.booking.BookingStatusChangedEvent;
+import com.badminton.event.search.SearchDocumentsChangedEvent;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.Formula;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
@@ -30,7 +38,8 @@ import java.util.Set;
         @Index(name = "idx_payment_status", columnList = "payment_status"),
         @Index(name = "idx_cancelled", columnList = "cancelled_at, cancelled_by"),
         @Index(name = "idx_created", columnList = "created_at"),
-        @Index(name = "idx_bookings_complex", columnList = "court_id, date, status, time_start, time_end")
+        @Index(name = "idx_bookings_complex", columnList = "court_id, date, status, time_start, time_end"),
+        @Index(name = "idx_status_payment_deadline", columnList = "status, payment_deadline")
 })
 @Getter
 @Setter
@@ -99,6 +108,9 @@ public class Booking extends AuditableEntity {
     @Builder.Default
     private PaymentStatus paymentStatus = PaymentStatus.UNPAID;
 
+    @Column(name = "payment_deadline")
+    private LocalDateTime paymentDeadline; // Hold expiry for PENDING bookings
+
     // Additional Info
     @Column(name = "customer_name", length = 100)
     private String customerName; // For walk-in customers
@@ -203,6 +215,13 @@ public class Booking extends AuditableEntity {
     @Builder.Default
     private Set<BookingService> services = new HashSet<>();
 
+    // Domain events, published by BookingRepository.save()
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Builder.Default
+    private List<BookingStatusChangedEvent> domainEvents = new ArrayList<>();
+
     // Lifecycle Callbacks
     @PrePersist
     public void prePersist() {
@@ -220,6 +239,8 @@ public class Booking extends AuditableEntity {
             customerPhone = user.getPhone();
             customerEmail = user.getEmail();
         }
+
+        registerStatusChange(null);
     }
 
     @PreUpdate
@@ -227,6 +248,27 @@ public class Booking extends AuditableEntity {
         calculateFinalAmount();
     }
 
+    /**
+     * Status changes since the last save, and a re-index of this row in search
+     */
+    @DomainEvents
+    Collection<Object> domainEvents() {
+        List<Object> events = new ArrayList<>(domainEvents);
+        if (getId() != null) {
+            events.add(SearchDocumentsChangedEvent.of(SearchDocumentType.BOOKING, getId()));
+        }
+        return events;
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        domainEvents.clear();
+    }
+
+    private void registerStatusChange(BookingStatus previousStatus) {
+        domainEvents.add(new BookingStatusChangedEvent(this, previousStatus, status));
+    }
+
     // Helper Methods
 
     /**
@@ -304,6 +346,15 @@ public class Booking extends AuditableEntity {
         return bookingDateTime.isAfter(LocalDateTime.now());
     }
 
+    /**
+     * Check if the pending hold has expired
+     */
+    public boolean isHoldExpired() {
+        return status == BookingStatus.PENDING
+                && paymentDeadline != null
+                && paymentDeadline.isBefore(LocalDateTime.now());
+    }
+
     /**
      * Check if can be cancelled
      */
@@ -352,11 +403,13 @@ public class Booking extends AuditableEntity {
             throw new IllegalStateException("Booking cannot be cancelled");
         }
 
+        BookingStatus previousStatus = this.status;
         this.status = BookingStatus.CANCELLED;
         this.cancelledAt = LocalDateTime.now();
         this.cancelledBy = cancelledBy;
         this.cancellationReason = reason;
         this.cancellationFee = fee != null ? fee : BigDecimal.ZERO;
+        registerStatusChange(previousStatus);
     }
 
     /**
@@ -367,6 +420,7 @@ public class Booking extends AuditableEntity {
             throw new IllegalStateException("Only pending bookings can be confirmed");
         }
         this.status = BookingStatus.CONFIRMED;
+        registerStatusChange(BookingStatus.PENDING);
     }
 
     /**
@@ -389,8 +443,10 @@ public class Booking extends AuditableEntity {
             throw new IllegalStateException("Booking cannot be checked out");
         }
 
+        BookingStatus previousStatus = this.status;
         this.checkedOutAt = LocalDateTime.now();
         this.status = BookingStatus.COMPLETED;
+        registerStatusChange(previousStatus);
     }
 
     /**
@@ -406,6 +462,7 @@ public class Booking extends AuditableEntity {
         }
 
         this.status = BookingStatus.NO_SHOW;
+        registerStatusChange(BookingStatus.CONFIRMED);
     }
 
     /**
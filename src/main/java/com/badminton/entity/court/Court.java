@@ -4,11 +4,15 @@ import com.badminton.entity.base.AuditableEntity;
 import com.badminton.entity.branch.Branch;
 import com.badminton.entity.booking.Booking;
 import com.badminton.enums.CourtStatus;
+import com.badminton.event.court.CourtPricingChangedEvent;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.Formula;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -120,6 +124,11 @@ public class Court extends AuditableEntity {
     @Builder.Default
     private Set<Booking> bookings = new HashSet<>();
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean pricingChanged;
+
     // Helper Methods
 
     /**
@@ -172,6 +181,22 @@ public class Court extends AuditableEntity {
     public void addPricing(CourtPricing pricing) {
         pricings.add(pricing);
         pricing.setCourt(this);
+        pricingChanged = true;
+    }
+
+    CourtPricingChangedEvent pricingChangedEvent() {
+        return new CourtPricingChangedEvent(getId(), branch != null ? branch.getId() : null);
+    }
+
+    // Pricings added through the court are saved by cascade: CourtRepository.save() publishes the change
+    @DomainEvents
+    Collection<Object> domainEvents() {
+        return pricingChanged ? List.of(pricingChangedEvent()) : List.of();
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        pricingChanged = false;
     }
 
     /**
@@ -3,11 +3,14 @@ package com.badminton.entity.court;
 import com.badminton.entity.base.BaseEntity;
 import com.badminton.enums.DayOfWeek;
 import com.badminton.enums.PriceType;
+import com.badminton.event.court.CourtPricingChangedEvent;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.DomainEvents;
 
 import java.math.BigDecimal;
 import java.time.LocalTime;
+import java.util.List;
 
 @Entity
 @Table(name = "court_pricing", indexes = {
@@ -59,6 +62,12 @@ public class CourtPricing extends BaseEntity {
     @Column(name = "description")
     private String description;
 
+    // Domain events, published by CourtPricingRepository.save() and delete()
+    @DomainEvents
+    List<Object> domainEvents() {
+        return court != null ? List.of(court.pricingChangedEvent()) : List.of();
+    }
+
     // Helper Methods
 
     /**
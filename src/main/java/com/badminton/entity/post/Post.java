@@ -4,14 +4,23 @@ import com.badminton.entity.base.AuditableEntity;
 import com.badminton.entity.user.User;
 import com.badminton.enums.PostStatus;
 import com.badminton.enums.PostType;
+import com.badminton.enums.SearchDocumentType;
+import com.badminton.event.search.SearchDocumentsChangedEvent;
+import com.badminton.service.scheduling.ScheduledTaskListener;
+import com.badminton.util.PostTextAnalyzer;
+import com.badminton.util.PostUtils;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import org.springframework.data.domain.DomainEvents;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
@@ -29,8 +38,13 @@ import java.util.Set;
 @Builder
 @SQLDelete(sql = "UPDATE posts SET deleted_at = NOW() WHERE id = ?")
 @Where(clause = "deleted_at IS NULL")
+@EntityListeners(ScheduledTaskListener.class)
 public class Post extends AuditableEntity {
 
+    public static final int MAX_IMAGE_URL_LENGTH = 500;
+    public static final int EXCERPT_LENGTH = 200;
+    private static final int KEYWORD_COUNT = 10;
+
     // Core Info
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "author_id", nullable = false)
@@ -126,10 +140,26 @@ public class Post extends AuditableEntity {
     @Builder.Default
     private Integer displayOrder = 0;
 
-    // Reading
+    // Reading (derived from content on write, see refreshDerivedFields)
     @Column(name = "reading_time")
     private Integer readingTime; // in minutes
 
+    @Column(name = "first_image", length = MAX_IMAGE_URL_LENGTH)
+    private String firstImage; // First <img> of content, list fallback when there is no thumbnail
+
+    @Column(name = "content_keywords", length = 500)
+    private String contentKeywords; // Comma-separated most frequent words
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean contentChanged;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean excerptFromContent; // Excerpt was generated, regenerate it with the content
+
     @Column(name = "view_count")
     @Builder.Default
     private Long viewCount = 0L;
@@ -184,6 +214,10 @@ public class Post extends AuditableEntity {
     @Builder.Default
     private Long commentCount = 0L;
 
+    @Column(name = "engagement_rate", precision = 10, scale = 2)
+    @Builder.Default
+    private BigDecimal engagementRate = BigDecimal.ZERO; // (likes + comments + shares) / views, in %
+
     // Additional Info
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
@@ -217,16 +251,13 @@ public class Post extends AuditableEntity {
     @PrePersist
     public void prePersist() {
         if (slug == null && title != null) {
-            slug = generateSlug(title);
+            slug = PostUtils.generateSlug(title);
         }
 
-        if (excerpt == null && content != null) {
-            excerpt = generateExcerpt(content);
-        }
-
-        if (readingTime == null && content != null) {
-            readingTime = calculateReadingTime(content);
+        if (content != null) {
+            refreshDerivedFields();
         }
+        recalculateEngagementRate();
 
         if (metaTitle == null) {
             metaTitle = title;
@@ -241,57 +272,56 @@ public class Post extends AuditableEntity {
     public void preUpdate() {
         this.revisionNumber++;
         this.lastEditedAt = LocalDateTime.now();
-    }
 
-    // Helper Methods
+        if (contentChanged && content != null) {
+            refreshDerivedFields();
+        }
+        recalculateEngagementRate();
+    }
 
     /**
-     * Generate slug from title
+     * Set content and mark the derived fields for recalculation on flush
      */
-    private String generateSlug(String title) {
-        return title.toLowerCase()
-                .replaceAll("[àáạảãâầấậẩẫăằắặẳẵ]", "a")
-                .replaceAll("[èéẹẻẽêềếệểễ]", "e")
-                .replaceAll("[ìíịỉĩ]", "i")
-                .replaceAll("[òóọỏõôồốộổỗơờớợởỡ]", "o")
-                .replaceAll("[ùúụủũưừứựửữ]", "u")
-                .replaceAll("[ỳýỵỷỹ]", "y")
-                .replaceAll("[đ]", "d")
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-+", "-")
-                .trim();
+    public void setContent(String content) {
+        if (!java.util.Objects.equals(this.content, content)) {
+            this.contentChanged = true;
+            // An excerpt still equal to the one generated from the old content was not written by hand
+            if (excerpt == null || (this.content != null && excerpt.equals(
+                    PostTextAnalyzer.excerpt(PostTextAnalyzer.stripHtml(this.content), EXCERPT_LENGTH)))) {
+                this.excerptFromContent = true;
+            }
+        }
+        this.content = content;
     }
 
     /**
-     * Generate excerpt from content
+     * Set the excerpt by hand; null makes it follow the content again
      */
-    private String generateExcerpt(String content) {
-        // Remove HTML tags
-        String plainText = content.replaceAll("<[^>]*>", "");
-
-        // Take first 200 characters
-        if (plainText.length() > 200) {
-            return plainText.substring(0, 197) + "...";
+    public void setExcerpt(String excerpt) {
+        if (!java.util.Objects.equals(this.excerpt, excerpt)) {
+            this.excerptFromContent = excerpt == null;
         }
-
-        return plainText;
+        this.excerpt = excerpt;
     }
 
     /**
-     * Calculate reading time
+     * Recompute excerpt, reading time, first image and keywords from content;
+     * an excerpt written by hand is kept
      */
-    private Integer calculateReadingTime(String content) {
-        // Remove HTML tags
-        String plainText = content.replaceAll("<[^>]*>", "");
-
-        // Average reading speed: 200 words per minute
-        int wordCount = plainText.split("\\s+").length;
-        int minutes = (int) Math.ceil(wordCount / 200.0);
-
-        return Math.max(1, minutes);
+    public void refreshDerivedFields() {
+        PostTextAnalyzer.Analysis analysis = PostUtils.analyze(content, KEYWORD_COUNT);
+        if (excerpt == null || excerptFromContent) {
+            excerpt = analysis.excerpt(EXCERPT_LENGTH);
+        }
+        readingTime = analysis.readingTime();
+        firstImage = analysis.firstImage(MAX_IMAGE_URL_LENGTH);
+        contentKeywords = String.join(",", analysis.keywords());
+        contentChanged = false;
+        excerptFromContent = false;
     }
 
+    // Helper Methods
+
     /**
      * Publish post
      */
@@ -418,18 +448,18 @@ public class Post extends AuditableEntity {
     }
 
     /**
-     * Calculate engagement rate
+     * Recalculate the stored engagement rate (PostCounterBuffer does the same in SQL)
      */
-    public BigDecimal getEngagementRate() {
-        if (viewCount == 0) {
-            return java.math.BigDecimal.ZERO;
+    public void recalculateEngagementRate() {
+        if (viewCount == null || viewCount == 0) {
+            engagementRate = BigDecimal.ZERO;
+            return;
         }
 
         long totalEngagements = likeCount + commentCount + shareCount;
 
-        return java.math.BigDecimal.valueOf(totalEngagements)
-                .divide(java.math.BigDecimal.valueOf(viewCount), 4, java.math.RoundingMode.HALF_UP)
-                .multiply(new java.math.BigDecimal("100"));
+        engagementRate = BigDecimal.valueOf(totalEngagements * 100)
+                .divide(BigDecimal.valueOf(viewCount), 2, java.math.RoundingMode.HALF_UP);
     }
 
     /**
@@ -454,4 +484,12 @@ public class Post extends AuditableEntity {
     public String getFullUrl(String baseUrl) {
         return baseUrl + "/posts/" + slug;
     }
+
+    /**
+     * Re-index this row after the save or delete commits
+     */
+    @DomainEvents
+    Collection<SearchDocumentsChangedEvent> searchDocumentEvents() {
+        return getId() != null ? List.of(SearchDocumentsChangedEvent.of(SearchDocumentType.POST, getId())) : List.of();
+    }
 }
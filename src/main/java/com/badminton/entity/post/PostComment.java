@@ -3,13 +3,19 @@ package com.badminton.entity.post;
 import com.badminton.entity.base.BaseEntity;
 import com.badminton.entity.user.User;
 import com.badminton.enums.CommentStatus;
+import com.badminton.enums.SearchDocumentType;
+import com.badminton.event.search.SearchDocumentsChangedEvent;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import org.springframework.data.domain.DomainEvents;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
@@ -18,7 +24,9 @@ import java.util.Set;
         @Index(name = "idx_user", columnList = "user_id"),
         @Index(name = "idx_parent", columnList = "parent_id"),
         @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_created", columnList = "created_at")
+        @Index(name = "idx_created", columnList = "created_at"),
+        @Index(name = "idx_post_root_created", columnList = "post_id, root_id, created_at"),
+        @Index(name = "idx_post_path", columnList = "post_id, path")
 })
 @Getter
 @Setter
@@ -41,6 +49,18 @@ public class PostComment extends BaseEntity {
     @JoinColumn(name = "parent_id")
     private PostComment parent;
 
+    // Thread (materialized path, set in prePersist from the parent)
+    @Column(name = "root_id")
+    private Long rootId; // Top-level comment of the thread, null for top-level comments
+
+    @Column(name = "path", length = 512)
+    private String path; // Ancestor ids, e.g. "/12/45/" for a reply to 45 under 12; "/" for top-level
+
+    @Column(name = "depth")
+    @Getter(AccessLevel.NONE)
+    @Builder.Default
+    private Integer depth = 0;
+
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("createdAt ASC")
     @Builder.Default
@@ -165,17 +185,50 @@ public class PostComment extends BaseEntity {
     }
 
     /**
-     * Get depth level
+     * Get depth level (0 for top-level comments)
      */
     public int getDepth() {
-        int depth = 0;
-        PostComment current = this.parent;
+        return depth != null ? depth : 0;
+    }
 
-        while (current != null) {
-            depth++;
-            current = current.getParent();
+    /**
+     * Ancestor ids from the top-level comment down to the parent
+     */
+    public List<Long> getAncestorIds() {
+        List<Long> ids = new ArrayList<>();
+        if (path == null) {
+            return ids;
+        }
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                ids.add(Long.parseLong(segment));
+            }
         }
+        return ids;
+    }
 
-        return depth;
+    // Lifecycle
+    @PrePersist
+    public void prePersist() {
+        if (parent == null) {
+            rootId = null;
+            path = "/";
+            depth = 0;
+            return;
+        }
+        if (parent.getId() == null || parent.getPath() == null) {
+            throw new IllegalStateException("Parent comment must be saved before its replies");
+        }
+        rootId = parent.getRootId() != null ? parent.getRootId() : parent.getId();
+        path = parent.getPath() + parent.getId() + "/";
+        depth = parent.getDepth() + 1;
+    }
+
+    /**
+     * Re-index this row after the save or delete commits
+     */
+    @DomainEvents
+    Collection<SearchDocumentsChangedEvent> searchDocumentEvents() {
+        return getId() != null ? List.of(SearchDocumentsChangedEvent.of(SearchDocumentType.COMMENT, getId())) : List.of();
     }
 }
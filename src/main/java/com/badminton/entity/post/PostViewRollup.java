@@ -0,0 +1,75 @@
+package com.badminton.entity.post;
+
+import com.badminton.entity.base.BaseEntity;
+import com.badminton.enums.PostViewDimension;
+import com.badminton.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated post views per post x granularity x dimension value x bucket.
+ * TOTAL rows use an empty dimension value. Averages are kept as sum and count
+ * so buckets can be added together.
+ */
+@Entity
+@Table(name = "post_view_rollups", uniqueConstraints = @UniqueConstraint(name = "uk_rollup", columnNames = {
+        "post_id", "granularity", "dimension", "dimension_value", "bucket_start" }), indexes = {
+                @Index(name = "idx_post_dimension_bucket", columnList = "post_id, granularity, dimension, bucket_start"),
+                @Index(name = "idx_bucket", columnList = "granularity, dimension, bucket_start")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostViewRollup extends BaseEntity {
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 20)
+    private PostViewDimension dimension;
+
+    @Column(name = "dimension_value", nullable = false)
+    @Builder.Default
+    private String dimensionValue = "";
+
+    @Column(name = "view_count", nullable = false)
+    @Builder.Default
+    private Long viewCount = 0L;
+
+    @Column(name = "time_spent_sum", nullable = false)
+    @Builder.Default
+    private Long timeSpentSum = 0L;
+
+    @Column(name = "time_spent_count", nullable = false)
+    @Builder.Default
+    private Long timeSpentCount = 0L;
+
+    @Column(name = "scroll_depth_sum", nullable = false)
+    @Builder.Default
+    private Long scrollDepthSum = 0L;
+
+    @Column(name = "scroll_depth_count", nullable = false)
+    @Builder.Default
+    private Long scrollDepthCount = 0L;
+
+    // Helper Methods
+    public Double getAverageTimeSpent() {
+        return timeSpentCount > 0 ? (double) timeSpentSum / timeSpentCount : null;
+    }
+
+    public Double getAverageScrollDepth() {
+        return scrollDepthCount > 0 ? (double) scrollDepthSum / scrollDepthCount : null;
+    }
+}
@@ -4,15 +4,20 @@ import com.badminton.entity.base.AuditableEntity;
 import com.badminton.entity.branch.BranchInventory;
 import com.badminton.entity.order.OrderItem;
 import com.badminton.enums.ProductStatus;
+import com.badminton.enums.SearchDocumentType;
+import com.badminton.event.search.SearchDocumentsChangedEvent;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import org.springframework.data.domain.DomainEvents;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
@@ -476,4 +481,12 @@ public class Product extends AuditableEntity {
         relatedProducts.remove(product);
         product.getRelatedProducts().remove(this);
     }
+
+    /**
+     * Re-index this row after the save or delete commits
+     */
+    @DomainEvents
+    Collection<SearchDocumentsChangedEvent> searchDocumentEvents() {
+        return getId() != null ? List.of(SearchDocumentsChangedEvent.of(SearchDocumentType.PRODUCT, getId())) : List.of();
+    }
 }
@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "match_sets", indexes = {
+@Table(name = "match_sets", uniqueConstraints = @UniqueConstraint(name = "uk_match_set", columnNames = { "match_id",
+        "set_number" }), indexes = {
         @Index(name = "idx_match", columnList = "match_id"),
         @Index(name = "idx_set_number", columnList = "set_number")
 })
@@ -3,19 +3,25 @@ package com.badminton.entity.tournament;
 import com.badminton.entity.base.AuditableEntity;
 import com.badminton.entity.branch.Branch;
 import com.badminton.entity.user.User;
+import com.badminton.enums.SearchDocumentType;
 import com.badminton.enums.TournamentFormat;
 import com.badminton.enums.TournamentStatus;
 import com.badminton.enums.TournamentType;
+import com.badminton.event.search.SearchDocumentsChangedEvent;
+import com.badminton.service.scheduling.ScheduledTaskListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import org.springframework.data.domain.DomainEvents;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
@@ -33,6 +39,7 @@ import java.util.Set;
 @Builder
 @SQLDelete(sql = "UPDATE tournaments SET deleted_at = NOW() WHERE id = ?")
 @Where(clause = "deleted_at IS NULL")
+@EntityListeners(ScheduledTaskListener.class)
 public class Tournament extends AuditableEntity {
 
     // Core Info
@@ -350,6 +357,17 @@ public class Tournament extends AuditableEntity {
                 !LocalDate.now().isBefore(startDate);
     }
 
+    /**
+     * Close registration (registration window ended)
+     */
+    public void closeRegistration() {
+        if (status != TournamentStatus.OPEN) {
+            throw new IllegalStateException("Only open tournaments can close registration");
+        }
+
+        this.status = TournamentStatus.REGISTRATION_CLOSED;
+    }
+
     /**
      * Start tournament
      */
@@ -479,4 +497,12 @@ public class Tournament extends AuditableEntity {
     public void incrementViewCount() {
         this.viewCount++;
     }
+
+    /**
+     * Re-index this row after the save or delete commits
+     */
+    @DomainEvents
+    Collection<SearchDocumentsChangedEvent> searchDocumentEvents() {
+        return getId() != null ? List.of(SearchDocumentsChangedEvent.of(SearchDocumentType.TOURNAMENT, getId())) : List.of();
+    }
 }
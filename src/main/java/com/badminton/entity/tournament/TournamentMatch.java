@@ -4,11 +4,17 @@ import com.badminton.entity.base.AuditableEntity;
 import com.badminton.entity.court.Court;
 import com.badminton.entity.user.User;
 import com.badminton.enums.MatchStatus;
+import com.badminton.event.tournament.MatchCompletedEvent;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
@@ -17,7 +23,8 @@ import java.util.Set;
         @Index(name = "idx_round", columnList = "round_id"),
         @Index(name = "idx_court", columnList = "court_id"),
         @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_scheduled", columnList = "scheduled_time")
+        @Index(name = "idx_scheduled", columnList = "scheduled_time"),
+        @Index(name = "idx_next_match", columnList = "next_match_id")
 })
 @Getter
 @Setter
@@ -40,15 +47,21 @@ public class TournamentMatch extends AuditableEntity {
     @Column(name = "bracket_position")
     private String bracketPosition; // e.g., "QF1", "SF1", "F"
 
-    // Participants
-    @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "participant1_id", nullable = false)
+    // Participants (null until decided by an earlier match or the group stage)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "participant1_id")
     private TournamentParticipant participant1;
 
-    @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "participant2_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "participant2_id")
     private TournamentParticipant participant2;
 
+    @Column(name = "participant1_source", length = 30)
+    private String participant1Source; // Where an undecided entrant comes from, e.g. "A1", "W:SF1", "L:WB-QF2"
+
+    @Column(name = "participant2_source", length = 30)
+    private String participant2Source;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "winner_id")
     private TournamentParticipant winner;
@@ -131,11 +144,52 @@ public class TournamentMatch extends AuditableEntity {
     @Column(name = "next_match_position")
     private String nextMatchPosition; // "winner" or "loser"
 
+    @Column(name = "next_match_slot")
+    private Integer nextMatchSlot; // 1 or 2: participant slot the winner takes in the next match
+
+    @Column(name = "loser_next_match_id")
+    private Long loserNextMatchId; // Double elimination: losers bracket match the loser drops to
+
+    @Column(name = "loser_next_match_slot")
+    private Integer loserNextMatchSlot;
+
     // Relationships
     @OneToMany(mappedBy = "match", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<MatchSet> sets = new HashSet<>();
 
+    // Domain events, published by TournamentMatchRepository.save()
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Builder.Default
+    private List<MatchCompletedEvent> domainEvents = new ArrayList<>();
+
+    @DomainEvents
+    Collection<MatchCompletedEvent> domainEvents() {
+        return List.copyOf(domainEvents);
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        domainEvents.clear();
+    }
+
+    private void registerCompletion(int participant1Points, int participant2Points) {
+        domainEvents.add(new MatchCompletedEvent(
+                getId(),
+                tournament.getId(),
+                participant1 != null ? participant1.getId() : null,
+                participant2 != null ? participant2.getId() : null,
+                winner.getId(),
+                participant1Score,
+                participant2Score,
+                participant1Points,
+                participant2Points,
+                round != null ? round.getRoundType() : null,
+                Boolean.TRUE.equals(isWalkover)));
+    }
+
     // Helper Methods
 
     /**
@@ -155,6 +209,13 @@ public class TournamentMatch extends AuditableEntity {
      * Complete match
      */
     public void complete(TournamentParticipant winner) {
+        complete(winner, 0, 0);
+    }
+
+    /**
+     * Complete match with the rally points each side scored over all sets
+     */
+    public void complete(TournamentParticipant winner, int participant1Points, int participant2Points) {
         if (status != MatchStatus.IN_PROGRESS) {
             throw new IllegalStateException("Only in-progress matches can be completed");
         }
@@ -169,14 +230,17 @@ public class TournamentMatch extends AuditableEntity {
                 winner.equals(participant1),
                 participant1Score,
                 participant2Score,
-                0, 0 // Points would be calculated from sets
-        );
+                participant1Points,
+                participant2Points);
 
         participant2.recordMatchResult(
                 winner.equals(participant2),
                 participant2Score,
                 participant1Score,
-                0, 0);
+                participant2Points,
+                participant1Points);
+
+        registerCompletion(participant1Points, participant2Points);
     }
 
     /**
@@ -208,6 +272,8 @@ public class TournamentMatch extends AuditableEntity {
             this.participant1Score = 0;
             this.participant2Score = bestOfSets;
         }
+
+        registerCompletion(0, 0);
     }
 
     /**
@@ -234,6 +300,13 @@ public class TournamentMatch extends AuditableEntity {
      * Get match title
      */
     public String getMatchTitle() {
-        return participant1.getPlayerName() + " vs " + participant2.getPlayerName();
+        return entrantName(participant1, participant1Source) + " vs " + entrantName(participant2, participant2Source);
+    }
+
+    private static String entrantName(TournamentParticipant participant, String source) {
+        if (participant != null) {
+            return participant.getPlayerName();
+        }
+        return source != null ? source : "TBD";
     }
 }
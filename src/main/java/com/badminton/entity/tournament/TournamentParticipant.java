@@ -47,6 +47,9 @@ public class TournamentParticipant extends AuditableEntity {
     @Column(name = "seed_number")
     private Integer seedNumber; // Seeding for tournament bracket
 
+    @Column(name = "group_name", length = 10)
+    private String groupName; // Group stage group (A, B, ...), set when the bracket is generated
+
     @Column(name = "player_name", nullable = false)
     private String playerName;
 
@@ -21,6 +21,14 @@ public enum BookingStatus {
         return this == PENDING || this == CONFIRMED;
     }
 
+    /**
+     * Whether a booking in this status still holds its court slot
+     * (mirrors the NOT IN ('CANCELLED', 'NO_SHOW') conflict predicate)
+     */
+    public boolean occupiesCourt() {
+        return this != CANCELLED && this != NO_SHOW;
+    }
+
     public boolean isFinished() {
         return this == COMPLETED || this == CANCELLED || this == NO_SHOW;
     }
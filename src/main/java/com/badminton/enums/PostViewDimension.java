@@ -0,0 +1,37 @@
+package com.badminton.enums;
+
+/**
+ * Dimensions of post view analytics: breakdowns kept in the rollups (views per
+ * value) and viewer identities counted by the unique-view sketches
+ */
+public enum PostViewDimension {
+    TOTAL("Tổng", true),
+    DEVICE("Thiết bị", true),
+    BROWSER("Trình duyệt", true),
+    OS("Hệ điều hành", true),
+    COUNTRY("Quốc gia", true),
+    CITY("Thành phố", true),
+    REFERRER("Nguồn truy cập", true),
+    SESSION("Phiên truy cập", false),
+    IP("Địa chỉ IP", false),
+    USER("Người dùng", false);
+
+    private final String vietnameseName;
+    private final boolean breakdown;
+
+    PostViewDimension(String vietnameseName, boolean breakdown) {
+        this.vietnameseName = vietnameseName;
+        this.breakdown = breakdown;
+    }
+
+    public String getVietnameseName() {
+        return vietnameseName;
+    }
+
+    /**
+     * Kept in the rollups; the others identify viewers and are only counted as unique
+     */
+    public boolean isBreakdown() {
+        return breakdown;
+    }
+}
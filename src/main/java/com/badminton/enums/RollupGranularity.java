@@ -0,0 +1,16 @@
+package com.badminton.enums;
+
+public enum RollupGranularity {
+    HOUR("Theo giờ"),
+    DAY("Theo ngày");
+
+    private final String vietnameseName;
+
+    RollupGranularity(String vietnameseName) {
+        this.vietnameseName = vietnameseName;
+    }
+
+    public String getVietnameseName() {
+        return vietnameseName;
+    }
+}
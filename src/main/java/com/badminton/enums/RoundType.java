@@ -8,7 +8,11 @@ public enum RoundType {
     QUARTER_FINAL("Tứ kết"),
     SEMI_FINAL("Bán kết"),
     THIRD_PLACE("Tranh hạng 3"),
-    FINAL("Chung kết");
+    FINAL("Chung kết"),
+    GROUP_STAGE("Vòng bảng"),
+    ROUND_ROBIN("Vòng tròn"),
+    LOSERS_BRACKET("Nhánh thua"),
+    GRAND_FINAL("Chung kết tổng");
 
     private final String vietnameseName;
 
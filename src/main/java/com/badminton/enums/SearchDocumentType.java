@@ -0,0 +1,19 @@
+package com.badminton.enums;
+
+public enum SearchDocumentType {
+    POST("Bài viết"),
+    PRODUCT("Sản phẩm"),
+    TOURNAMENT("Giải đấu"),
+    BOOKING("Đặt sân"),
+    COMMENT("Bình luận");
+
+    private final String vietnameseName;
+
+    SearchDocumentType(String vietnameseName) {
+        this.vietnameseName = vietnameseName;
+    }
+
+    public String getVietnameseName() {
+        return vietnameseName;
+    }
+}
@@ -0,0 +1,12 @@
+package com.badminton.event.booking;
+
+import com.badminton.dto.projection.BookingSlot;
+
+import java.util.List;
+
+/**
+ * Published after a set-based update freed booking slots without loading the
+ * entities (e.g. expired holds), so caches can drop them.
+ */
+public record BookingSlotsReleasedEvent(List<BookingSlot> slots) {
+}
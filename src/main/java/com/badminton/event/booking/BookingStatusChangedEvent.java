@@ -0,0 +1,55 @@
+package com.badminton.event.booking;
+
+import com.badminton.entity.booking.Booking;
+import com.badminton.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published by {@link Booking} when it is created or changes status.
+ * previousStatus is null for a newly created booking.
+ */
+public record BookingStatusChangedEvent(
+        Booking booking,
+        BookingStatus previousStatus,
+        BookingStatus newStatus) {
+
+    public Long getCourtId() {
+        return booking.getCourt().getId();
+    }
+
+    public Long getBranchId() {
+        return booking.getBranch().getId();
+    }
+
+    public LocalDate getDate() {
+        return booking.getDate();
+    }
+
+    public LocalTime getTimeStart() {
+        return booking.getTimeStart();
+    }
+
+    public LocalTime getTimeEnd() {
+        return booking.getTimeEnd();
+    }
+
+    public boolean isCreation() {
+        return previousStatus == null;
+    }
+
+    /**
+     * Slot was free before and is held now
+     */
+    public boolean isSlotTaken() {
+        return (previousStatus == null || !previousStatus.occupiesCourt()) && newStatus.occupiesCourt();
+    }
+
+    /**
+     * Slot was held before and is free now
+     */
+    public boolean isSlotReleased() {
+        return previousStatus != null && previousStatus.occupiesCourt() && !newStatus.occupiesCourt();
+    }
+}
@@ -0,0 +1,8 @@
+package com.badminton.event.court;
+
+/**
+ * Published when a court's pricing rows are saved or deleted, so compiled
+ * price tables of the court and its branch can be dropped.
+ */
+public record CourtPricingChangedEvent(Long courtId, Long branchId) {
+}
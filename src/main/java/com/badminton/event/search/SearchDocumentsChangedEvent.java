@@ -0,0 +1,17 @@
+package com.badminton.event.search;
+
+import com.badminton.enums.SearchDocumentType;
+
+import java.util.List;
+
+/**
+ * Rows of a searchable type were written (created, updated or deleted); the
+ * search index re-reads them after commit. Published as a domain event by the
+ * searchable entities and explicitly after JDBC or bulk writes.
+ */
+public record SearchDocumentsChangedEvent(SearchDocumentType type, List<Long> ids) {
+
+    public static SearchDocumentsChangedEvent of(SearchDocumentType type, Long id) {
+        return new SearchDocumentsChangedEvent(type, List.of(id));
+    }
+}
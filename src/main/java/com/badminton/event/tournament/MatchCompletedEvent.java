@@ -0,0 +1,26 @@
+package com.badminton.event.tournament;
+
+import com.badminton.entity.tournament.TournamentMatch;
+import com.badminton.enums.RoundType;
+
+/**
+ * Published by {@link TournamentMatch} when it is completed or decided by walkover.
+ * Sets and points are per participant slot of the match; a walkover has no points.
+ */
+public record MatchCompletedEvent(
+        Long matchId,
+        Long tournamentId,
+        Long participant1Id,
+        Long participant2Id,
+        Long winnerId,
+        int participant1Sets,
+        int participant2Sets,
+        int participant1Points,
+        int participant2Points,
+        RoundType roundType,
+        boolean walkover) {
+
+    public Long getLoserId() {
+        return winnerId.equals(participant1Id) ? participant2Id : participant1Id;
+    }
+}
@@ -1,13 +1,17 @@
 package com.badminton.repository.booking;
 
+import com.badminton.dto.projection.BookingExportRow;
+import com.badminton.dto.projection.BookingSlot;
 import com.badminton.entity.booking.Booking;
 import com.badminton.enums.BookingStatus;
 import com.badminton.enums.PaymentStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,6 +21,10 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
@@ -56,11 +64,42 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
     List<Booking> findByBranchIdAndBookingDate(Long branchId, LocalDate bookingDate);
 
     @Query("SELECT b FROM Booking b WHERE b.branch.id = :branchId " +
-            "AND b.bookingDate = :date " +
-            "AND b.status IN ('CONFIRMED', 'CHECKED_IN', 'IN_PROGRESS')")
+            "AND b.date = :date " +
+            "AND b.status NOT IN ('CANCELLED', 'NO_SHOW')")
     List<Booking> findActiveBookingsByBranchAndDate(@Param("branchId") Long branchId,
             @Param("date") LocalDate date);
 
+    // Slot Projections
+    @Query("SELECT new com.badminton.dto.projection.BookingSlot(" +
+            "b.id, b.court.id, b.branch.id, b.date, b.timeStart, b.timeEnd, b.status) " +
+            "FROM Booking b WHERE b.date BETWEEN :startDate AND :endDate " +
+            "AND b.status NOT IN ('CANCELLED', 'NO_SHOW')")
+    List<BookingSlot> findOccupiedSlotsBetween(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.badminton.dto.projection.BookingSlot(" +
+            "b.id, b.court.id, b.branch.id, b.date, b.timeStart, b.timeEnd, b.status) " +
+            "FROM Booking b WHERE b.date >= :startDate " +
+            "AND b.status NOT IN ('CANCELLED', 'NO_SHOW')")
+    List<BookingSlot> findOccupiedSlotsFrom(@Param("startDate") LocalDate startDate);
+
+    @Query("SELECT new com.badminton.dto.projection.BookingSlot(" +
+            "b.id, b.court.id, b.branch.id, b.date, b.timeStart, b.timeEnd, b.status) " +
+            "FROM Booking b WHERE b.branch.id = :branchId AND b.date = :date " +
+            "AND b.status NOT IN ('CANCELLED', 'NO_SHOW') " +
+            "ORDER BY b.court.id, b.timeStart")
+    List<BookingSlot> findOccupiedSlotsByBranchAndDate(@Param("branchId") Long branchId,
+            @Param("date") LocalDate date);
+
+    @Query("SELECT new com.badminton.dto.projection.BookingSlot(" +
+            "b.id, b.court.id, b.branch.id, b.date, b.timeStart, b.timeEnd, b.status) " +
+            "FROM Booking b WHERE b.court.id = :courtId " +
+            "AND b.date BETWEEN :startDate AND :endDate " +
+            "AND b.status NOT IN ('CANCELLED', 'NO_SHOW')")
+    List<BookingSlot> findOccupiedSlotsByCourtAndDateRange(@Param("courtId") Long courtId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     // Time Slot Availability
     @Query("SELECT b FROM Booking b WHERE b.court.id = :courtId " +
             "AND b.bookingDate = :date " +
@@ -130,13 +169,30 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
     // Recurring Bookings
     List<Booking> findByRecurringBookingId(Long recurringBookingId);
 
+    List<Booking> findByParentBookingIdOrderByDate(Long parentBookingId);
+
     @Query("SELECT b FROM Booking b WHERE b.isRecurring = true " +
             "AND b.recurringBookingId IS NULL")
     List<Booking> findRecurringParentBookings();
 
-    // Search
+    // Export (MySQL streams rows only with fetch size Integer.MIN_VALUE)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.badminton.dto.projection.BookingExportRow(" +
+            "b.id, b.date, b.timeStart, b.timeEnd, b.status, b.paymentStatus, br.code, c.name, " +
+            "b.customerName, b.customerPhone, b.customerEmail, b.totalAmount, b.finalAmount, " +
+            "b.bookingSource, b.createdAt) " +
+            "FROM Booking b JOIN b.branch br JOIN b.court c " +
+            "WHERE br.id = :branchId AND b.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY b.date, b.timeStart, b.id")
+    Stream<BookingExportRow> streamExportRowsByBranch(@Param("branchId") Long branchId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Search (full scan; SearchIndexService.searchBookings also matches references and diacritics)
     @Query("SELECT b FROM Booking b WHERE " +
-            "b.bookingNumber LIKE CONCAT('%', :keyword, '%') OR " +
             "b.customerName LIKE CONCAT('%', :keyword, '%') OR " +
             "b.customerPhone LIKE CONCAT('%', :keyword, '%')")
     Page<Booking> searchBookings(@Param("keyword") String keyword, Pageable pageable);
@@ -0,0 +1,25 @@
+package com.badminton.repository.court;
+
+import com.badminton.entity.court.CourtMaintenance;
+import com.badminton.enums.MaintenanceStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CourtMaintenanceRepository extends JpaRepository<CourtMaintenance, Long> {
+
+    List<CourtMaintenance> findByCourtId(Long courtId);
+
+    List<CourtMaintenance> findByCourtIdAndStatus(Long courtId, MaintenanceStatus status);
+
+    @Query("SELECT m FROM CourtMaintenance m WHERE m.court.branch.id = :branchId " +
+            "AND m.startDate <= :date AND m.endDate >= :date " +
+            "AND m.status IN ('SCHEDULED', 'IN_PROGRESS')")
+    List<CourtMaintenance> findBlockingByBranchAndDate(@Param("branchId") Long branchId,
+            @Param("date") LocalDate date);
+}
@@ -0,0 +1,21 @@
+package com.badminton.repository.court;
+
+import com.badminton.entity.court.CourtPricing;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourtPricingRepository extends JpaRepository<CourtPricing, Long> {
+
+    List<CourtPricing> findByCourtId(Long courtId);
+
+    List<CourtPricing> findByCourtIdAndIsActiveTrue(Long courtId);
+
+    @Query("SELECT p FROM CourtPricing p JOIN FETCH p.court c " +
+            "WHERE c.branch.id = :branchId AND p.isActive = true")
+    List<CourtPricing> findActiveByBranchId(@Param("branchId") Long branchId);
+}
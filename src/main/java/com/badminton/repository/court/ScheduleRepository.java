@@ -1,12 +1,12 @@
 package com.badminton.repository.court;
 
 import com.badminton.entity.court.Schedule;
+import com.badminton.enums.DayOfWeek;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +28,15 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
             @Param("dayOfWeek") DayOfWeek dayOfWeek,
             @Param("time") LocalTime time);
 
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.court WHERE s.isAvailable = true")
+    List<Schedule> findAllAvailableWithCourt();
+
+    @Query("SELECT s FROM Schedule s WHERE s.court.branch.id = :branchId " +
+            "AND s.dayOfWeek = :dayOfWeek AND s.isAvailable = true " +
+            "ORDER BY s.timeStart")
+    List<Schedule> findAvailableByBranchAndDay(@Param("branchId") Long branchId,
+            @Param("dayOfWeek") DayOfWeek dayOfWeek);
+
     @Query("SELECT s FROM Schedule s WHERE s.court.branch.id = :branchId AND s.dayOfWeek = :dayOfWeek")
     List<Schedule> findByBranchAndDayOfWeek(@Param("branchId") Long branchId, @Param("dayOfWeek") DayOfWeek dayOfWeek);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -65,6 +66,39 @@ public interface PostCommentRepository extends JpaRepository<PostComment, Long>
             "ORDER BY c.createdAt ASC")
     List<PostComment> findRepliesByParent(@Param("parentId") Long parentId);
 
+    // Threads (materialized path; see CommentThreadService)
+    @Query("SELECT c FROM PostComment c JOIN FETCH c.user WHERE c.post.id = :postId " +
+            "AND c.rootId IS NULL " +
+            "AND c.status = 'APPROVED' " +
+            "AND c.deletedAt IS NULL " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<PostComment> findTopLevelThreads(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT c FROM PostComment c JOIN FETCH c.user WHERE c.post.id = :postId " +
+            "AND c.rootId IS NULL " +
+            "AND c.status = 'APPROVED' " +
+            "AND c.deletedAt IS NULL " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<PostComment> findTopLevelThreadsBefore(@Param("postId") Long postId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT c FROM PostComment c JOIN FETCH c.user WHERE c.post.id = :postId " +
+            "AND c.rootId IN :rootIds " +
+            "AND c.status = 'APPROVED' " +
+            "AND c.deletedAt IS NULL " +
+            "ORDER BY c.depth, c.createdAt, c.id")
+    List<PostComment> findThreadReplies(@Param("postId") Long postId, @Param("rootIds") Collection<Long> rootIds);
+
+    @Query("SELECT c FROM PostComment c JOIN FETCH c.user WHERE c.post.id = :postId " +
+            "AND c.path LIKE CONCAT(:pathPrefix, '%') " +
+            "AND c.status = 'APPROVED' " +
+            "AND c.deletedAt IS NULL " +
+            "ORDER BY c.depth, c.createdAt, c.id")
+    List<PostComment> findSubtree(@Param("postId") Long postId, @Param("pathPrefix") String pathPrefix);
+
     // Pending Comments
     @Query("SELECT c FROM PostComment c WHERE c.status = 'PENDING' " +
             "AND c.deletedAt IS NULL " +
@@ -112,7 +146,7 @@ public interface PostCommentRepository extends JpaRepository<PostComment, Long>
             "ORDER BY c.likeCount DESC, c.createdAt DESC")
     List<PostComment> findPopularCommentsByPost(@Param("postId") Long postId, Pageable pageable);
 
-    // Search
+    // Search (full scan; SearchIndexService.searchComments uses the inverted index)
     @Query("SELECT c FROM PostComment c WHERE " +
             "LOWER(c.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
             "AND c.status = 'APPROVED' " +
@@ -168,7 +202,7 @@ public interface PostCommentRepository extends JpaRepository<PostComment, Long>
     @Query("UPDATE PostComment c SET c.replyCount = c.replyCount - 1 WHERE c.id = :commentId AND c.replyCount > 0")
     void decrementReplyCount(@Param("commentId") Long commentId);
 
-    // Bulk Operations
+    // Bulk Operations (bypass entity events: callers publish SearchDocumentsChangedEvent for the ids)
     @Modifying
     @Query("UPDATE PostComment c SET c.status = :newStatus WHERE c.id IN :commentIds")
     void bulkUpdateStatus(@Param("commentIds") List<Long> commentIds, @Param("newStatus") CommentStatus newStatus);
@@ -1,5 +1,6 @@
 package com.badminton.repository.post;
 
+import com.badminton.dto.projection.PostSummary;
 import com.badminton.entity.post.Post;
 import com.badminton.enums.PostStatus;
 import com.badminton.enums.PostType;
@@ -13,12 +14,20 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post> {
 
+    String SUMMARY_SELECT = "SELECT new com.badminton.dto.projection.PostSummary(" +
+            "p.id, p.title, p.slug, p.excerpt, p.postType, p.status, p.thumbnail, p.featuredImage, p.firstImage, " +
+            "c.id, c.name, a.id, a.name, p.publishedAt, p.readingTime, " +
+            "p.viewCount, p.likeCount, p.commentCount, p.shareCount, p.engagementRate, " +
+            "p.isFeatured, p.isPinned, p.isTrending) " +
+            "FROM Post p JOIN p.category c JOIN p.author a ";
+
     // Basic Queries
     Optional<Post> findBySlug(String slug);
 
@@ -86,6 +95,55 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
             "AND p.deletedAt IS NULL")
     List<Post> findAllPublishedPosts(@Param("now") LocalDateTime now);
 
+    // List Projections (no content column)
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'PUBLISHED' " +
+            "AND p.publishedAt <= :now " +
+            "AND p.deletedAt IS NULL " +
+            "ORDER BY p.publishedAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.status = 'PUBLISHED' " +
+                    "AND p.publishedAt <= :now " +
+                    "AND p.deletedAt IS NULL")
+    Page<PostSummary> findPublishedSummaries(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :categoryId " +
+            "AND p.status = 'PUBLISHED' " +
+            "AND p.publishedAt <= :now " +
+            "AND p.deletedAt IS NULL " +
+            "ORDER BY p.publishedAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.category.id = :categoryId " +
+                    "AND p.status = 'PUBLISHED' " +
+                    "AND p.publishedAt <= :now " +
+                    "AND p.deletedAt IS NULL")
+    Page<PostSummary> findPublishedSummariesByCategory(@Param("categoryId") Long categoryId,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.postType = :postType " +
+            "AND p.status = 'PUBLISHED' " +
+            "AND p.publishedAt <= :now " +
+            "AND p.deletedAt IS NULL " +
+            "ORDER BY p.publishedAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.postType = :postType " +
+                    "AND p.status = 'PUBLISHED' " +
+                    "AND p.publishedAt <= :now " +
+                    "AND p.deletedAt IS NULL")
+    Page<PostSummary> findPublishedSummariesByType(@Param("postType") PostType postType,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.isTrending = true " +
+            "AND p.status = 'PUBLISHED' " +
+            "AND p.publishedAt <= :now " +
+            "AND p.deletedAt IS NULL " +
+            "ORDER BY p.viewCount DESC, p.publishedAt DESC")
+    List<PostSummary> findTrendingSummaries(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Summaries for ids ranked elsewhere (trending engine, search); order is not kept
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :postIds AND p.deletedAt IS NULL")
+    List<PostSummary> findSummariesByIdIn(@Param("postIds") Collection<Long> postIds);
+
     // Featured Posts
     @Query("SELECT p FROM Post p WHERE p.isFeatured = true " +
             "AND p.status = 'PUBLISHED' " +
@@ -117,6 +175,14 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
             "ORDER BY p.viewCount DESC, p.publishedAt DESC")
     List<Post> findTrendingPosts(@Param("now") LocalDateTime now, Pageable pageable);
 
+    @Query("SELECT p.id FROM Post p WHERE p.isTrending = true")
+    List<Long> findTrendingPostIds();
+
+    @Query("SELECT p.id, p.category.id, p.postType FROM Post p WHERE p.id IN :postIds " +
+            "AND p.status = 'PUBLISHED' " +
+            "AND p.deletedAt IS NULL")
+    List<Object[]> findPublishedPostMeta(@Param("postIds") Collection<Long> postIds);
+
     // Scheduled Posts
     @Query("SELECT p FROM Post p WHERE p.status = 'SCHEDULED' " +
             "AND p.scheduledAt <= :now " +
@@ -129,7 +195,12 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
             "ORDER BY p.scheduledAt")
     List<Post> findScheduledPosts(@Param("now") LocalDateTime now);
 
-    // Search Queries
+    @Query("SELECT p.id, p.scheduledAt FROM Post p WHERE p.status = 'SCHEDULED' " +
+            "AND p.scheduledAt IS NOT NULL " +
+            "AND p.deletedAt IS NULL")
+    List<Object[]> findScheduledPublishTimes();
+
+    // Search Queries (full scan; SearchIndexService.searchPublishedPosts/searchAllPosts use the inverted index)
     @Query("SELECT p FROM Post p WHERE " +
             "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
             "OR LOWER(p.excerpt) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
@@ -262,7 +333,7 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
     // Translations
     List<Post> findByTranslationOf(Long translationOf);
 
-    // Update Operations
+    // Update Operations (hot paths should go through PostCounterBuffer)
     @Modifying
     @Query("UPDATE Post p SET p.viewCount = p.viewCount + 1 WHERE p.id = :postId")
     void incrementViewCount(@Param("postId") Long postId);
@@ -287,11 +358,15 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
     @Query("UPDATE Post p SET p.commentCount = p.commentCount - 1 WHERE p.id = :postId AND p.commentCount > 0")
     void decrementCommentCount(@Param("postId") Long postId);
 
-    // Bulk Operations
+    // Bulk Operations (bypass entity events: callers publish SearchDocumentsChangedEvent for the ids)
     @Modifying
     @Query("UPDATE Post p SET p.status = :newStatus WHERE p.id IN :postIds")
     void bulkUpdateStatus(@Param("postIds") List<Long> postIds, @Param("newStatus") PostStatus newStatus);
 
+    @Modifying
+    @Query("UPDATE Post p SET p.isTrending = :trending WHERE p.id IN :postIds")
+    void bulkUpdateTrending(@Param("postIds") Collection<Long> postIds, @Param("trending") boolean trending);
+
     @Modifying
     @Query("UPDATE Post p SET p.deletedAt = :now WHERE p.id IN :postIds")
     void bulkSoftDelete(@Param("postIds") List<Long> postIds, @Param("now") LocalDateTime now);
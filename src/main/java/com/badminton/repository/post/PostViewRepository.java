@@ -20,7 +20,7 @@ public interface PostViewRepository extends JpaRepository<PostView, Long> {
 
     Optional<PostView> findByPostIdAndSessionId(Long postId, String sessionId);
 
-    // Unique Views
+    // Unique Views (exact, full scan per post; PostUniqueViewCounter serves these from HyperLogLog)
     @Query("SELECT COUNT(DISTINCT pv.sessionId) FROM PostView pv WHERE pv.post.id = :postId")
     long countUniqueViewsByPost(@Param("postId") Long postId);
 
@@ -39,6 +39,9 @@ public interface PostViewRepository extends JpaRepository<PostView, Long> {
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    // Analytics below scan raw rows (and only cover post.views.raw-retention);
+    // PostViewRollupRepository answers the same questions from rollups
+
     // Device Statistics
     @Query("SELECT pv.deviceType, COUNT(pv) FROM PostView pv " +
             "WHERE pv.post.id = :postId " +
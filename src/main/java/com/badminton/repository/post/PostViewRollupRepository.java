@@ -0,0 +1,102 @@
+package com.badminton.repository.post;
+
+import com.badminton.entity.post.PostViewRollup;
+import com.badminton.enums.PostViewDimension;
+import com.badminton.enums.RollupGranularity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Analytics served from post_view_rollups; each query is one range scan of
+ * idx_post_dimension_bucket (or idx_bucket for cross-post queries).
+ * Counterparts of the raw-table GROUP BY queries in PostViewRepository.
+ */
+@Repository
+public interface PostViewRollupRepository extends JpaRepository<PostViewRollup, Long> {
+
+    // Breakdown (device, browser, os, country, city, referrer)
+    @Query("SELECT r.dimensionValue, SUM(r.viewCount) FROM PostViewRollup r " +
+            "WHERE r.postId = :postId " +
+            "AND r.granularity = com.badminton.enums.RollupGranularity.DAY " +
+            "AND r.dimension = :dimension " +
+            "GROUP BY r.dimensionValue " +
+            "ORDER BY SUM(r.viewCount) DESC")
+    List<Object[]> countViewsByDimension(@Param("postId") Long postId,
+            @Param("dimension") PostViewDimension dimension);
+
+    @Query("SELECT r.dimensionValue, SUM(r.viewCount) FROM PostViewRollup r " +
+            "WHERE r.postId = :postId " +
+            "AND r.granularity = com.badminton.enums.RollupGranularity.DAY " +
+            "AND r.dimension = :dimension " +
+            "AND r.bucketStart BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.dimensionValue " +
+            "ORDER BY SUM(r.viewCount) DESC")
+    List<Object[]> countViewsByDimensionAndDateRange(@Param("postId") Long postId,
+            @Param("dimension") PostViewDimension dimension,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    // Engagement Metrics
+    @Query("SELECT SUM(r.timeSpentSum) * 1.0 / NULLIF(SUM(r.timeSpentCount), 0) FROM PostViewRollup r " +
+            "WHERE r.postId = :postId " +
+            "AND r.granularity = com.badminton.enums.RollupGranularity.DAY " +
+            "AND r.dimension = com.badminton.enums.PostViewDimension.TOTAL")
+    Double getAverageTimeSpent(@Param("postId") Long postId);
+
+    @Query("SELECT SUM(r.scrollDepthSum) * 1.0 / NULLIF(SUM(r.scrollDepthCount), 0) FROM PostViewRollup r " +
+            "WHERE r.postId = :postId " +
+            "AND r.granularity = com.badminton.enums.RollupGranularity.DAY " +
+            "AND r.dimension = com.badminton.enums.PostViewDimension.TOTAL")
+    Double getAverageScrollDepth(@Param("postId") Long postId);
+
+    @Query("SELECT COALESCE(SUM(r.viewCount), 0) FROM PostViewRollup r " +
+            "WHERE r.postId = :postId " +
+            "AND r.granularity = com.badminton.enums.RollupGranularity.DAY " +
+            "AND r.dimension = com.badminton.enums.PostViewDimension.TOTAL")
+    long countViews(@Param("postId") Long postId);
+
+    // Trending Analysis (hourly buckets for a precise window)
+    @Query("SELECT r.postId, SUM(r.viewCount) FROM PostViewRollup r " +
+            "WHERE r.granularity = com.badminton.enums.RollupGranularity.HOUR " +
+            "AND r.dimension = com.badminton.enums.PostViewDimension.TOTAL " +
+            "AND r.bucketStart >= :date " +
+            "GROUP BY r.postId " +
+            "ORDER BY SUM(r.viewCount) DESC")
+    List<Object[]> findTrendingPosts(@Param("date") LocalDateTime date, Pageable pageable);
+
+    @Query("SELECT r.postId, r.bucketStart, r.viewCount FROM PostViewRollup r " +
+            "WHERE r.granularity = com.badminton.enums.RollupGranularity.HOUR " +
+            "AND r.dimension = com.badminton.enums.PostViewDimension.TOTAL " +
+            "AND r.bucketStart >= :date")
+    List<Object[]> findHourlyViewsSince(@Param("date") LocalDateTime date);
+
+    // Hourly Distribution
+    @Query("SELECT HOUR(r.bucketStart), SUM(r.viewCount) FROM PostViewRollup r " +
+            "WHERE r.postId = :postId " +
+            "AND r.granularity = com.badminton.enums.RollupGranularity.HOUR " +
+            "AND r.dimension = com.badminton.enums.PostViewDimension.TOTAL " +
+            "GROUP BY HOUR(r.bucketStart) " +
+            "ORDER BY HOUR(r.bucketStart)")
+    List<Object[]> getHourlyViewDistribution(@Param("postId") Long postId);
+
+    // Daily Views
+    @Query("SELECT r.bucketStart, r.viewCount FROM PostViewRollup r " +
+            "WHERE r.postId = :postId " +
+            "AND r.granularity = com.badminton.enums.RollupGranularity.DAY " +
+            "AND r.dimension = com.badminton.enums.PostViewDimension.TOTAL " +
+            "AND r.bucketStart BETWEEN :startDate AND :endDate " +
+            "ORDER BY r.bucketStart")
+    List<Object[]> getDailyViewTrend(@Param("postId") Long postId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    List<PostViewRollup> findByPostIdAndGranularityAndDimensionAndBucketStartBetween(
+            Long postId, RollupGranularity granularity, PostViewDimension dimension,
+            LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -55,6 +55,7 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
             "ORDER BY p.totalSold DESC")
     List<Product> findBestsellerProducts(Pageable pageable);
 
+    // Full scan; SearchIndexService.searchProducts is the ranked, diacritic-insensitive variant
     @Query("SELECT p FROM Product p WHERE " +
             "LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -27,6 +27,11 @@ public interface MatchSetRepository extends JpaRepository<MatchSet, Long> {
             "ORDER BY ms.setNumber")
     List<MatchSet> findCompletedSets(@Param("matchId") Long matchId);
 
+    // matchId, participant1Score, participant2Score of every completed set in the tournament
+    @Query("SELECT ms.match.id, ms.participant1Score, ms.participant2Score FROM MatchSet ms " +
+            "WHERE ms.match.tournament.id = :tournamentId AND ms.isCompleted = true")
+    List<Object[]> findCompletedSetScoresByTournament(@Param("tournamentId") Long tournamentId);
+
     @Query("SELECT ms FROM MatchSet ms WHERE ms.match.id = :matchId " +
             "AND ms.isCompleted = false " +
             "ORDER BY ms.setNumber")
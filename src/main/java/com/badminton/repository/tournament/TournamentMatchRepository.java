@@ -19,6 +19,12 @@ public interface TournamentMatchRepository extends JpaRepository<TournamentMatch
     // Basic Queries
     List<TournamentMatch> findByTournamentId(Long tournamentId);
 
+    boolean existsByTournamentId(Long tournamentId);
+
+    @Query("SELECT tm FROM TournamentMatch tm LEFT JOIN FETCH tm.round " +
+            "WHERE tm.tournament.id = :tournamentId")
+    List<TournamentMatch> findForScheduling(@Param("tournamentId") Long tournamentId);
+
     Page<TournamentMatch> findByTournamentId(Long tournamentId, Pageable pageable);
 
     List<TournamentMatch> findByRoundId(Long roundId);
@@ -64,6 +70,11 @@ public interface TournamentMatchRepository extends JpaRepository<TournamentMatch
             "ORDER BY tm.actualEndTime DESC")
     List<TournamentMatch> findCompletedMatchesByTournament(@Param("tournamentId") Long tournamentId);
 
+    @Query("SELECT tm FROM TournamentMatch tm JOIN tm.round r WHERE tm.tournament.id = :tournamentId " +
+            "AND tm.status = 'COMPLETED' " +
+            "AND r.roundType IN (com.badminton.enums.RoundType.GROUP_STAGE, com.badminton.enums.RoundType.ROUND_ROBIN)")
+    List<TournamentMatch> findCompletedRoundRobinMatches(@Param("tournamentId") Long tournamentId);
+
     @Query("SELECT tm FROM TournamentMatch tm WHERE tm.tournament.id = :tournamentId " +
             "AND tm.status = 'COMPLETED' " +
             "ORDER BY tm.actualEndTime DESC")
@@ -97,6 +108,17 @@ public interface TournamentMatchRepository extends JpaRepository<TournamentMatch
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime);
 
+    // Court time held by other tournaments of the branch (court id, scheduled time, best of sets)
+    @Query("SELECT tm.court.id, tm.scheduledTime, tm.bestOfSets FROM TournamentMatch tm " +
+            "WHERE tm.court.branch.id = :branchId " +
+            "AND tm.tournament.id <> :tournamentId " +
+            "AND tm.scheduledTime >= :startTime AND tm.scheduledTime < :endTime " +
+            "AND tm.status NOT IN ('CANCELLED', 'COMPLETED')")
+    List<Object[]> findOtherTournamentCourtUsage(@Param("branchId") Long branchId,
+            @Param("tournamentId") Long tournamentId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
     @Query("SELECT CASE WHEN COUNT(tm) > 0 THEN true ELSE false END FROM TournamentMatch tm " +
             "WHERE tm.court.id = :courtId " +
             "AND tm.scheduledTime < :endTime " +
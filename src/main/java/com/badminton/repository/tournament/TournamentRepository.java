@@ -94,6 +94,10 @@ public interface TournamentRepository extends JpaRepository<Tournament, Long>, J
     List<Tournament> findOpenForRegistrationByBranch(@Param("branchId") Long branchId,
             @Param("date") LocalDate date);
 
+    @Query("SELECT t.id, t.registrationEnd FROM Tournament t WHERE t.status = 'OPEN' " +
+            "AND t.deletedAt IS NULL")
+    List<Object[]> findOpenRegistrationDeadlines();
+
     // Upcoming Tournaments
     @Query("SELECT t FROM Tournament t WHERE t.startDate > :date " +
             "AND t.status IN ('OPEN', 'REGISTRATION_CLOSED') " +
@@ -182,7 +186,7 @@ public interface TournamentRepository extends JpaRepository<Tournament, Long>, J
             "ORDER BY t.startDate")
     Page<Tournament> findPublicTournaments(Pageable pageable);
 
-    // Search Queries
+    // Search Queries (full scan; SearchIndexService.searchTournaments uses the inverted index)
     @Query("SELECT t FROM Tournament t WHERE " +
             "(LOWER(t.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
             "OR LOWER(t.tournamentCode) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
@@ -0,0 +1,273 @@
+package com.badminton.service.booking;
+
+import com.badminton.dto.projection.BookingExportRow;
+import com.badminton.repository.booking.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams booking exports as CSV or XLSX in constant memory.
+ * Rows come from a forward-only JPA Stream of DTO projections (no managed
+ * entities, no lazy proxies) and are written straight to the output.
+ * CSV text cells that would start a spreadsheet formula are escaped; XLSX
+ * keeps only a window of rows in memory (SXSSF) and writes text as plain
+ * string cells, which are never evaluated.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingExportService {
+
+    public static final int MAX_EXPORT_DAYS = 366;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    // Rows SXSSF keeps in memory; older rows go to a compressed temp file
+    private static final int XLSX_WINDOW_ROWS = 200;
+    private static final int XLSX_LAST_ROW = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+    // Excel times are fractions of a day
+    private static final double SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private static final String CSV_HEADER = "booking_id,date,time_start,time_end,status,payment_status," +
+            "branch,court,customer_name,customer_phone,customer_email,total_amount,final_amount,source,created_at";
+
+    private static final String[] XLSX_HEADER = CSV_HEADER.split(",");
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Response body for a controller: runs the export in its own read-only
+     * transaction on the async request thread
+     */
+    public StreamingResponseBody csvBody(Long branchId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return out -> readOnly.executeWithoutResult(status -> writeCsv(branchId, startDate, endDate, out));
+    }
+
+    /**
+     * XLSX counterpart of csvBody()
+     */
+    public StreamingResponseBody xlsxBody(Long branchId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return out -> readOnly.executeWithoutResult(status -> writeXlsx(branchId, startDate, endDate, out));
+    }
+
+    /**
+     * Write bookings of a branch in [startDate, endDate] as CSV (UTF-8 with BOM for Excel).
+     * Must run inside a transaction so the result stream stays open.
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(Long branchId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        validateRange(startDate, endDate);
+
+        long rows = 0;
+        try (Stream<BookingExportRow> stream = bookingRepository.streamExportRowsByBranch(branchId, startDate, endDate)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write('\uFEFF');
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+
+            var iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writeRow(writer, iterator.next());
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Booking export aborted after " + rows + " rows", e);
+        }
+
+        log.info("Exported {} bookings of branch {} ({} - {})", rows, branchId, startDate, endDate);
+        return rows;
+    }
+
+    /**
+     * Write bookings of a branch in [startDate, endDate] as an XLSX workbook.
+     * A sheet holds at most 1,048,575 rows below its header; more rows continue
+     * on a new sheet. Must run inside a transaction so the result stream stays open.
+     */
+    @Transactional(readOnly = true)
+    public long writeXlsx(Long branchId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        validateRange(startDate, endDate);
+
+        long rows = 0;
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_WINDOW_ROWS);
+        workbook.setCompressTempFiles(true);
+        try (Stream<BookingExportRow> stream = bookingRepository.streamExportRowsByBranch(branchId, startDate, endDate)) {
+            XlsxStyles styles = new XlsxStyles(workbook);
+            SXSSFSheet sheet = newSheet(workbook, 1);
+            int rowIndex = 1;
+
+            Iterator<BookingExportRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                if (rowIndex > XLSX_LAST_ROW) {
+                    sheet = newSheet(workbook, workbook.getNumberOfSheets() + 1);
+                    rowIndex = 1;
+                }
+                writeRow(sheet.createRow(rowIndex++), iterator.next(), styles);
+                rows++;
+            }
+            workbook.write(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Booking export aborted after " + rows + " rows", e);
+        } finally {
+            workbook.dispose();
+        }
+
+        log.info("Exported {} bookings of branch {} ({} - {}) as XLSX", rows, branchId, startDate, endDate);
+        return rows;
+    }
+
+    private record XlsxStyles(CellStyle date, CellStyle time, CellStyle dateTime, CellStyle amount) {
+
+        XlsxStyles(SXSSFWorkbook workbook) {
+            this(style(workbook, "yyyy-mm-dd"), style(workbook, "hh:mm"),
+                    style(workbook, "yyyy-mm-dd hh:mm:ss"), style(workbook, "#,##0.00"));
+        }
+
+        private static CellStyle style(SXSSFWorkbook workbook, String format) {
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(workbook.createDataFormat().getFormat(format));
+            return style;
+        }
+    }
+
+    private static SXSSFSheet newSheet(SXSSFWorkbook workbook, int number) {
+        SXSSFSheet sheet = workbook.createSheet(number == 1 ? "Bookings" : "Bookings " + number);
+        Row header = sheet.createRow(0);
+        for (int column = 0; column < XLSX_HEADER.length; column++) {
+            header.createCell(column).setCellValue(XLSX_HEADER[column]);
+        }
+        return sheet;
+    }
+
+    private static void writeRow(Row xlsxRow, BookingExportRow row, XlsxStyles styles) {
+        xlsxRow.createCell(0).setCellValue(row.bookingId());
+        if (row.date() != null) {
+            xlsxRow.createCell(1).setCellValue(row.date());
+            xlsxRow.getCell(1).setCellStyle(styles.date());
+        }
+        if (row.timeStart() != null) {
+            xlsxRow.createCell(2).setCellValue(row.timeStart().toSecondOfDay() / SECONDS_PER_DAY);
+            xlsxRow.getCell(2).setCellStyle(styles.time());
+        }
+        if (row.timeEnd() != null) {
+            xlsxRow.createCell(3).setCellValue(row.timeEnd().toSecondOfDay() / SECONDS_PER_DAY);
+            xlsxRow.getCell(3).setCellStyle(styles.time());
+        }
+        xlsxRow.createCell(4).setCellValue(row.status() != null ? row.status().name() : null);
+        xlsxRow.createCell(5).setCellValue(row.paymentStatus() != null ? row.paymentStatus().name() : null);
+        xlsxRow.createCell(6).setCellValue(row.branchCode());
+        xlsxRow.createCell(7).setCellValue(row.courtName());
+        xlsxRow.createCell(8).setCellValue(row.customerName());
+        xlsxRow.createCell(9).setCellValue(row.customerPhone());
+        xlsxRow.createCell(10).setCellValue(row.customerEmail());
+        if (row.totalAmount() != null) {
+            xlsxRow.createCell(11).setCellValue(row.totalAmount().doubleValue());
+            xlsxRow.getCell(11).setCellStyle(styles.amount());
+        }
+        if (row.finalAmount() != null) {
+            xlsxRow.createCell(12).setCellValue(row.finalAmount().doubleValue());
+            xlsxRow.getCell(12).setCellStyle(styles.amount());
+        }
+        xlsxRow.createCell(13).setCellValue(row.bookingSource());
+        if (row.createdAt() != null) {
+            xlsxRow.createCell(14).setCellValue(row.createdAt());
+            xlsxRow.getCell(14).setCellStyle(styles.dateTime());
+        }
+    }
+
+    private void writeRow(Writer writer, BookingExportRow row) throws IOException {
+        writer.write(String.valueOf(row.bookingId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.date()));
+        writer.write(',');
+        writer.write(String.valueOf(row.timeStart()));
+        writer.write(',');
+        writer.write(String.valueOf(row.timeEnd()));
+        writer.write(',');
+        writeCell(writer, row.status() != null ? row.status().name() : null);
+        writeCell(writer, row.paymentStatus() != null ? row.paymentStatus().name() : null);
+        writeTextCell(writer, row.branchCode());
+        writeTextCell(writer, row.courtName());
+        writeTextCell(writer, row.customerName());
+        writeTextCell(writer, row.customerPhone());
+        writeTextCell(writer, row.customerEmail());
+        writeCell(writer, row.totalAmount() != null ? row.totalAmount().toPlainString() : null);
+        writeCell(writer, row.finalAmount() != null ? row.finalAmount().toPlainString() : null);
+        writeTextCell(writer, row.bookingSource());
+        writer.write(row.createdAt() != null ? row.createdAt().toString() : "");
+        writer.write('\n');
+    }
+
+    /**
+     * Write user-entered text: a leading = + - @ (or tab / CR) would make
+     * spreadsheets evaluate the cell as a formula, so it is prefixed with '
+     */
+    private static void writeTextCell(Writer writer, String value) throws IOException {
+        writeCell(writer, value != null && isFormulaLike(value) ? "'" + value : value);
+    }
+
+    static boolean isFormulaLike(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    /**
+     * Write a value followed by a comma, quoting per RFC 4180 when needed
+     */
+    private static void writeCell(Writer writer, String value) throws IOException {
+        if (value != null) {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (quote) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write(',');
+    }
+
+    private static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_EXPORT_DAYS) {
+            throw new IllegalArgumentException(
+                    String.format("Export range cannot exceed %d days", MAX_EXPORT_DAYS));
+        }
+    }
+}
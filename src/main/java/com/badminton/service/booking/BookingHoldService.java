@@ -0,0 +1,168 @@
+package com.badminton.service.booking;
+
+import com.badminton.dto.projection.BookingSlot;
+import com.badminton.entity.booking.Booking;
+import com.badminton.enums.BookingStatus;
+import com.badminton.event.booking.BookingSlotsReleasedEvent;
+import com.badminton.event.booking.BookingStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Payment holds for PENDING bookings.
+ * A new PENDING booking holds its slot until paymentDeadline; the sweeper
+ * cancels expired holds with set-based UPDATEs in bounded chunks (rows are
+ * claimed with FOR UPDATE SKIP LOCKED so several instances can sweep at once)
+ * and announces the released slots to the availability caches.
+ */
+@Slf4j
+@Service
+public class BookingHoldService {
+
+    static final String EXPIRY_REASON = "Payment deadline expired";
+
+    private static final String CLAIM_EXPIRED_SQL =
+            "SELECT id, court_id, branch_id, date, time_start, time_end FROM bookings " +
+            "WHERE status = 'PENDING' AND payment_deadline < ? " +
+            "ORDER BY payment_deadline LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String RELEASE_SQL =
+            "UPDATE bookings SET status = 'CANCELLED', cancelled_at = ?, cancellation_reason = ?, " +
+            "updated_at = ?, version = version + 1 " +
+            "WHERE status = 'PENDING' AND payment_deadline < ? AND id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration holdDuration;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final Counter holdsCreated;
+    private final Counter holdsExpired;
+    private final Counter holdsConverted;
+
+    public BookingHoldService(JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${booking.hold.duration:PT15M}") Duration holdDuration,
+            @Value("${booking.hold.sweep-chunk-size:500}") int chunkSize,
+            @Value("${booking.hold.sweep-max-chunks:20}") int maxChunksPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.holdDuration = holdDuration;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.holdsCreated = Counter.builder("booking.holds.created")
+                .description("PENDING bookings created with a payment hold")
+                .register(meterRegistry);
+        this.holdsExpired = Counter.builder("booking.holds.expired")
+                .description("Holds released by the sweeper after the payment deadline")
+                .register(meterRegistry);
+        this.holdsConverted = Counter.builder("booking.holds.converted")
+                .description("Holds confirmed before the payment deadline")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Give a new PENDING booking its hold deadline, call before saving
+     */
+    public void applyHold(Booking booking) {
+        if (booking.getStatus() == BookingStatus.PENDING && booking.getPaymentDeadline() == null) {
+            booking.setPaymentDeadline(LocalDateTime.now().plus(holdDuration));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        Booking booking = event.booking();
+        if (booking.getPaymentDeadline() == null) {
+            return;
+        }
+        if (event.isCreation() && event.newStatus() == BookingStatus.PENDING) {
+            holdsCreated.increment();
+        } else if (event.previousStatus() == BookingStatus.PENDING && event.newStatus() == BookingStatus.CONFIRMED) {
+            holdsConverted.increment();
+        }
+    }
+
+    /**
+     * Release expired holds in chunks, each chunk in its own short transaction
+     */
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval:PT15S}")
+    public int sweepExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer count = transactionTemplate.execute(status -> releaseChunk(now));
+            if (count == null || count == 0) {
+                break;
+            }
+            released += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+
+        if (released > 0) {
+            log.info("Released {} expired booking holds", released);
+        }
+        return released;
+    }
+
+    private int releaseChunk(LocalDateTime now) {
+        Timestamp cutoff = Timestamp.valueOf(now);
+
+        List<BookingSlot> claimed = jdbcTemplate.query(CLAIM_EXPIRED_SQL,
+                (rs, rowNum) -> new BookingSlot(
+                        rs.getLong("id"),
+                        rs.getLong("court_id"),
+                        rs.getLong("branch_id"),
+                        rs.getObject("date", LocalDate.class),
+                        rs.getObject("time_start", LocalTime.class),
+                        rs.getObject("time_end", LocalTime.class),
+                        BookingStatus.CANCELLED),
+                cutoff, chunkSize);
+
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(claimed.size(), "?"));
+        Object[] args = new Object[4 + claimed.size()];
+        args[0] = cutoff;
+        args[1] = EXPIRY_REASON;
+        args[2] = cutoff;
+        args[3] = cutoff;
+        for (int i = 0; i < claimed.size(); i++) {
+            args[4 + i] = claimed.get(i).bookingId();
+        }
+
+        int updated = jdbcTemplate.update(String.format(RELEASE_SQL, placeholders), args);
+        holdsExpired.increment(updated);
+
+        // delivered to the caches after this chunk commits
+        eventPublisher.publishEvent(new BookingSlotsReleasedEvent(claimed));
+        return updated;
+    }
+}
@@ -0,0 +1,208 @@
+package com.badminton.service.booking;
+
+import com.badminton.dto.projection.BookingSlot;
+import com.badminton.entity.booking.Booking;
+import com.badminton.enums.BookingStatus;
+import com.badminton.event.booking.BookingSlotsReleasedEvent;
+import com.badminton.event.booking.BookingStatusChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event-driven writer for booking_statistics.
+ * Booking transitions become per-(court, date) deltas that are coalesced in
+ * memory and flushed periodically as one batched
+ * INSERT ... ON DUPLICATE KEY UPDATE on uk_court_date, so concurrent bookings
+ * never contend on the entity's optimistic lock. Status buckets hold the
+ * current status of each booking: a transition moves one booking between buckets.
+ * Deltas not yet flushed are lost on a crash; backfill() repairs a date range.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingStatisticsAggregator {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = "INSERT INTO booking_statistics (" +
+            "court_id, date, total_bookings, confirmed_bookings, completed_bookings, cancelled_bookings, " +
+            "no_show_bookings, total_revenue, total_hours, average_booking_value, created_at, updated_at, version" +
+            // A value expression may refer to columns set earlier in the same row
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, " +
+            "IF(completed_bookings > 0, total_revenue / completed_bookings, 0), ?, ?, 0) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "total_bookings = total_bookings + VALUES(total_bookings), " +
+            "confirmed_bookings = confirmed_bookings + VALUES(confirmed_bookings), " +
+            "completed_bookings = completed_bookings + VALUES(completed_bookings), " +
+            "cancelled_bookings = cancelled_bookings + VALUES(cancelled_bookings), " +
+            "no_show_bookings = no_show_bookings + VALUES(no_show_bookings), " +
+            "total_revenue = total_revenue + VALUES(total_revenue), " +
+            "total_hours = total_hours + VALUES(total_hours), " +
+            "average_booking_value = IF(completed_bookings > 0, total_revenue / completed_bookings, 0), " +
+            "updated_at = VALUES(updated_at), " +
+            "version = version + 1";
+
+    private static final String BACKFILL_DELETE_SQL =
+            "DELETE FROM booking_statistics WHERE date BETWEEN ? AND ?";
+
+    private static final String BACKFILL_INSERT_SQL = "INSERT INTO booking_statistics (" +
+            "court_id, date, total_bookings, confirmed_bookings, completed_bookings, cancelled_bookings, " +
+            "no_show_bookings, total_revenue, total_hours, average_booking_value, created_at, updated_at, version) " +
+            "SELECT court_id, date, COUNT(*), " +
+            "SUM(status = 'CONFIRMED'), SUM(status = 'COMPLETED'), SUM(status = 'CANCELLED'), SUM(status = 'NO_SHOW'), " +
+            "COALESCE(SUM(CASE WHEN status = 'COMPLETED' THEN final_amount END), 0), " +
+            "COALESCE(SUM(CASE WHEN status = 'COMPLETED' THEN TIMESTAMPDIFF(MINUTE, time_start, time_end) END), 0) / 60, " +
+            "COALESCE(SUM(CASE WHEN status = 'COMPLETED' THEN final_amount END) / NULLIF(SUM(status = 'COMPLETED'), 0), 0), " +
+            "NOW(), NOW(), 0 " +
+            "FROM bookings WHERE date BETWEEN ? AND ? GROUP BY court_id, date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<StatsKey, StatsDelta> pending = new ConcurrentHashMap<>();
+
+    private record StatsKey(Long courtId, LocalDate date) {
+    }
+
+    /**
+     * Mutable delta, only touched inside ConcurrentHashMap.compute
+     */
+    private static final class StatsDelta {
+        int total;
+        int confirmed;
+        int completed;
+        int cancelled;
+        int noShow;
+        BigDecimal revenue = BigDecimal.ZERO;
+        long minutes;
+
+        void moveStatus(BookingStatus status, int delta) {
+            if (status == null) {
+                return;
+            }
+            switch (status) {
+                case CONFIRMED -> confirmed += delta;
+                case COMPLETED -> completed += delta;
+                case CANCELLED -> cancelled += delta;
+                case NO_SHOW -> noShow += delta;
+                default -> {
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        Booking booking = event.booking();
+        pending.compute(new StatsKey(event.getCourtId(), event.getDate()), (key, delta) -> {
+            StatsDelta d = delta != null ? delta : new StatsDelta();
+            if (event.isCreation()) {
+                d.total++;
+            }
+            d.moveStatus(event.previousStatus(), -1);
+            d.moveStatus(event.newStatus(), 1);
+
+            if (event.newStatus() == BookingStatus.COMPLETED) {
+                d.revenue = d.revenue.add(booking.getFinalAmount() != null ? booking.getFinalAmount() : BigDecimal.ZERO);
+                d.minutes += booking.getDurationInMinutes();
+            }
+            return d;
+        });
+    }
+
+    /**
+     * Expired holds: PENDING (no bucket) to CANCELLED
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingSlotsReleased(BookingSlotsReleasedEvent event) {
+        for (BookingSlot slot : event.slots()) {
+            pending.compute(new StatsKey(slot.courtId(), slot.date()), (key, delta) -> {
+                StatsDelta d = delta != null ? delta : new StatsDelta();
+                d.cancelled++;
+                return d;
+            });
+        }
+    }
+
+    /**
+     * Write all coalesced deltas in one batch
+     */
+    @Scheduled(fixedDelayString = "${booking.statistics.flush-interval:PT10S}")
+    @PreDestroy
+    public int flush() {
+        List<Map.Entry<StatsKey, StatsDelta>> drained = new ArrayList<>(pending.size());
+        for (StatsKey key : pending.keySet()) {
+            StatsDelta delta = pending.remove(key);
+            if (delta != null) {
+                drained.add(Map.entry(key, delta));
+            }
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, drained, BATCH_SIZE, (ps, entry) -> {
+                StatsDelta d = entry.getValue();
+                ps.setLong(1, entry.getKey().courtId());
+                ps.setObject(2, entry.getKey().date());
+                ps.setInt(3, d.total);
+                ps.setInt(4, d.confirmed);
+                ps.setInt(5, d.completed);
+                ps.setInt(6, d.cancelled);
+                ps.setInt(7, d.noShow);
+                ps.setBigDecimal(8, d.revenue);
+                ps.setBigDecimal(9, BigDecimal.valueOf(d.minutes).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP));
+                ps.setTimestamp(10, now);
+                ps.setTimestamp(11, now);
+            });
+        } catch (RuntimeException e) {
+            // put the deltas back so the next flush retries them
+            drained.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), BookingStatisticsAggregator::merge));
+            log.error("Failed to flush {} booking statistics deltas", drained.size(), e);
+            return 0;
+        }
+        return drained.size();
+    }
+
+    /**
+     * Rebuild statistics for a date range from the bookings table.
+     * Pending deltas are flushed first; run it off-peak, transitions committed
+     * while it runs may be counted twice.
+     */
+    @Transactional
+    public int backfill(LocalDate startDate, LocalDate endDate) {
+        flush();
+        jdbcTemplate.update(BACKFILL_DELETE_SQL, startDate, endDate);
+        int rows = jdbcTemplate.update(BACKFILL_INSERT_SQL, startDate, endDate);
+        log.info("Backfilled booking statistics {} - {}: {} court-days", startDate, endDate, rows);
+        return rows;
+    }
+
+    private static StatsDelta merge(StatsDelta a, StatsDelta b) {
+        a.total += b.total;
+        a.confirmed += b.confirmed;
+        a.completed += b.completed;
+        a.cancelled += b.cancelled;
+        a.noShow += b.noShow;
+        a.revenue = a.revenue.add(b.revenue);
+        a.minutes += b.minutes;
+        return a;
+    }
+}
@@ -0,0 +1,326 @@
+package com.badminton.service.booking;
+
+import com.badminton.dto.projection.BookingSlot;
+import com.badminton.entity.booking.Booking;
+import com.badminton.entity.court.Schedule;
+import com.badminton.enums.DayOfWeek;
+import com.badminton.event.booking.BookingSlotsReleasedEvent;
+import com.badminton.event.booking.BookingStatusChangedEvent;
+import com.badminton.repository.booking.BookingRepository;
+import com.badminton.repository.court.ScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory occupancy bitmap per (court, date).
+ * Each day is split into 5-minute cells; a set bit means the cell is held by
+ * a booking that still occupies the court (see BookingStatus.occupiesCourt).
+ * Bitmaps are replaced copy-on-write so reads never lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourtAvailabilityIndex {
+
+    public static final int CELL_MINUTES = 5;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int CELLS_PER_DAY = MINUTES_PER_DAY / CELL_MINUTES;
+    private static final int WORDS_PER_DAY = (CELLS_PER_DAY + 63) / 64;
+
+    // Days ahead of today kept warm after a rebuild
+    private static final int PRELOAD_DAYS = 30;
+
+    private final BookingRepository bookingRepository;
+    private final ScheduleRepository scheduleRepository;
+
+    private final Map<CourtDay, long[]> occupancy = new ConcurrentHashMap<>();
+    private final Set<LocalDate> loadedDates = ConcurrentHashMap.newKeySet();
+
+    // Court layout, refreshed with the schedules
+    private volatile Map<Long, Map<DayOfWeek, List<Schedule.TimeSlot>>> courtSlots = Map.of();
+    private volatile Map<Long, List<Long>> branchCourts = Map.of();
+
+    private record CourtDay(Long courtId, LocalDate date) {
+    }
+
+    // Queries
+
+    /**
+     * Check if the half-open range [startTime, endTime) is free on a court
+     */
+    public boolean isFree(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        ensureLoaded(date);
+        long[] words = occupancy.get(new CourtDay(courtId, date));
+        return words == null || !intersects(words, toCell(startTime), toEndCell(startTime, endTime));
+    }
+
+    /**
+     * Get free schedule slots for a court on a date
+     */
+    public List<Schedule.TimeSlot> getFreeSlots(Long courtId, LocalDate date) {
+        ensureLoaded(date);
+        List<Schedule.TimeSlot> slots = courtSlots
+                .getOrDefault(courtId, Map.of())
+                .getOrDefault(DayOfWeek.fromJavaTime(date.getDayOfWeek()), List.of());
+        long[] words = occupancy.get(new CourtDay(courtId, date));
+        if (words == null) {
+            return slots;
+        }
+
+        List<Schedule.TimeSlot> free = new ArrayList<>(slots.size());
+        for (Schedule.TimeSlot slot : slots) {
+            if (!intersects(words, toCell(slot.getStart()), toEndCell(slot.getStart(), slot.getEnd()))) {
+                free.add(slot);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Get free schedule slots for every court of a branch, keyed by court id
+     */
+    public Map<Long, List<Schedule.TimeSlot>> getFreeSlotsByBranch(Long branchId, LocalDate date) {
+        Map<Long, List<Schedule.TimeSlot>> result = new TreeMap<>();
+        for (Long courtId : branchCourts.getOrDefault(branchId, List.of())) {
+            result.put(courtId, getFreeSlots(courtId, date));
+        }
+        return result;
+    }
+
+    // Updates
+
+    public void markOccupied(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        occupancy.compute(new CourtDay(courtId, date), (key, words) -> {
+            long[] copy = words != null ? words.clone() : new long[WORDS_PER_DAY];
+            setRange(copy, toCell(startTime), toEndCell(startTime, endTime), true);
+            return copy;
+        });
+    }
+
+    public void markFree(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        occupancy.computeIfPresent(new CourtDay(courtId, date), (key, words) -> {
+            long[] copy = words.clone();
+            setRange(copy, toCell(startTime), toEndCell(startTime, endTime), false);
+            return isEmpty(copy) ? null : copy;
+        });
+    }
+
+    /**
+     * Keep the index in step with committed booking transitions
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (!loadedDates.contains(event.getDate())) {
+            return; // loaded from DB on first access
+        }
+
+        if (event.isSlotTaken()) {
+            markOccupied(event.getCourtId(), event.getDate(), event.getTimeStart(), event.getTimeEnd());
+        } else if (event.isSlotReleased()) {
+            markFree(event.getCourtId(), event.getDate(), event.getTimeStart(), event.getTimeEnd());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingSlotsReleased(BookingSlotsReleasedEvent event) {
+        for (BookingSlot slot : event.slots()) {
+            if (loadedDates.contains(slot.date())) {
+                markFree(slot.courtId(), slot.date(), slot.timeStart(), slot.timeEnd());
+            }
+        }
+    }
+
+    // Rebuild
+
+    /**
+     * Rebuild schedules and the next PRELOAD_DAYS of bookings from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        refreshSchedules();
+
+        LocalDate today = LocalDate.now();
+        LocalDate until = today.plusDays(PRELOAD_DAYS);
+
+        occupancy.clear();
+        loadedDates.clear();
+
+        List<BookingSlot> slots = bookingRepository.findOccupiedSlotsBetween(today, until);
+        slots.forEach(this::apply);
+        for (LocalDate date = today; !date.isAfter(until); date = date.plusDays(1)) {
+            loadedDates.add(date);
+        }
+
+        log.info("Availability index rebuilt: {} bookings, {} court-days, {} - {}",
+                slots.size(), occupancy.size(), today, until);
+    }
+
+    /**
+     * Reload court slot templates, call after schedules change
+     */
+    @Transactional(readOnly = true)
+    public void refreshSchedules() {
+        Map<Long, Map<DayOfWeek, List<Schedule.TimeSlot>>> slots = new ConcurrentHashMap<>();
+        Map<Long, List<Long>> courtsByBranch = new ConcurrentHashMap<>();
+
+        for (Schedule schedule : scheduleRepository.findAllAvailableWithCourt()) {
+            if (schedule.getSlotDuration() == null || schedule.getSlotDuration() <= 0) {
+                continue;
+            }
+            Long courtId = schedule.getCourt().getId();
+            Long branchId = schedule.getCourt().getBranch().getId();
+
+            slots.computeIfAbsent(courtId, id -> new EnumMap<>(DayOfWeek.class))
+                    .computeIfAbsent(schedule.getDayOfWeek(), day -> new ArrayList<>())
+                    .addAll(schedule.generateTimeSlots());
+
+            List<Long> courts = courtsByBranch.computeIfAbsent(branchId, id -> new ArrayList<>());
+            if (!courts.contains(courtId)) {
+                courts.add(courtId);
+            }
+        }
+
+        slots.values().forEach(byDay -> byDay.values()
+                .forEach(list -> list.sort((a, b) -> a.getStart().compareTo(b.getStart()))));
+
+        this.courtSlots = slots;
+        this.branchCourts = courtsByBranch;
+    }
+
+    /**
+     * Load a date outside the preloaded window with one range query
+     */
+    private void ensureLoaded(LocalDate date) {
+        if (loadedDates.contains(date)) {
+            return;
+        }
+        synchronized (loadedDates) {
+            if (loadedDates.contains(date)) {
+                return;
+            }
+            bookingRepository.findOccupiedSlotsBetween(date, date).forEach(this::apply);
+            loadedDates.add(date);
+        }
+    }
+
+    /**
+     * Drop days that are already over
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        occupancy.keySet().removeIf(key -> key.date().isBefore(today));
+        loadedDates.removeIf(date -> date.isBefore(today));
+    }
+
+    // Consistency Check
+
+    /**
+     * Compare the index with findActiveBookingsByBranchAndDate and repair
+     * drifted courts. Returns ids of courts that did not match.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> verify(Long branchId, LocalDate date) {
+        ensureLoaded(date);
+
+        Map<Long, long[]> expected = new ConcurrentHashMap<>();
+        for (Booking booking : bookingRepository.findActiveBookingsByBranchAndDate(branchId, date)) {
+            long[] words = expected.computeIfAbsent(booking.getCourt().getId(), id -> new long[WORDS_PER_DAY]);
+            setRange(words, toCell(booking.getTimeStart()),
+                    toEndCell(booking.getTimeStart(), booking.getTimeEnd()), true);
+        }
+
+        List<Long> courtIds = new ArrayList<>(branchCourts.getOrDefault(branchId, List.of()));
+        expected.keySet().stream().filter(id -> !courtIds.contains(id)).forEach(courtIds::add);
+
+        List<Long> mismatched = new ArrayList<>();
+        for (Long courtId : courtIds) {
+            long[] want = expected.get(courtId);
+            long[] have = occupancy.get(new CourtDay(courtId, date));
+            boolean same = (want == null || isEmpty(want))
+                    ? (have == null || isEmpty(have))
+                    : Arrays.equals(want, have);
+
+            if (!same) {
+                mismatched.add(courtId);
+                if (want == null) {
+                    occupancy.remove(new CourtDay(courtId, date));
+                } else {
+                    occupancy.put(new CourtDay(courtId, date), want);
+                }
+            }
+        }
+
+        if (!mismatched.isEmpty()) {
+            log.warn("Availability index drift on branch {} date {}: courts {}", branchId, date, mismatched);
+        }
+        return mismatched;
+    }
+
+    // Bitmap helpers
+
+    private void apply(BookingSlot slot) {
+        markOccupied(slot.courtId(), slot.date(), slot.timeStart(), slot.timeEnd());
+    }
+
+    private static int toCell(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / CELL_MINUTES;
+    }
+
+    /**
+     * Exclusive end cell, rounded up; an end of 00:00 means end of day
+     */
+    private static int toEndCell(LocalTime startTime, LocalTime endTime) {
+        int minutes = endTime.getHour() * 60 + endTime.getMinute();
+        if (minutes == 0 && !startTime.equals(LocalTime.MIDNIGHT)) {
+            minutes = MINUTES_PER_DAY;
+        }
+        return (minutes + CELL_MINUTES - 1) / CELL_MINUTES;
+    }
+
+    private static void setRange(long[] words, int from, int to, boolean value) {
+        for (int cell = from; cell < to && cell < CELLS_PER_DAY; cell++) {
+            if (value) {
+                words[cell >>> 6] |= 1L << cell;
+            } else {
+                words[cell >>> 6] &= ~(1L << cell);
+            }
+        }
+    }
+
+    private static boolean intersects(long[] words, int from, int to) {
+        for (int cell = from; cell < to && cell < CELLS_PER_DAY; cell++) {
+            if ((words[cell >>> 6] & (1L << cell)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
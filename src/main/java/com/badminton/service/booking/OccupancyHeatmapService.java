@@ -0,0 +1,287 @@
+package com.badminton.service.booking;
+
+import com.badminton.dto.projection.BookingSlot;
+import com.badminton.dto.response.booking.OccupancyHeatmapResponse;
+import com.badminton.entity.court.Schedule;
+import com.badminton.event.booking.BookingSlotsReleasedEvent;
+import com.badminton.event.booking.BookingStatusChangedEvent;
+import com.badminton.repository.booking.BookingRepository;
+import com.badminton.repository.court.ScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * In-memory occupancy cube: branch x court x day-of-week x hour.
+ * Booked minutes are kept per court and ISO week (Monday) in a 7x24 array, so
+ * a range of N weeks is N array sums per court. Capacity comes from the
+ * available Schedule rows. Maintained from booking transitions and rebuilt
+ * from one projection query at startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OccupancyHeatmapService {
+
+    public static final int MAX_WEEKS = 52;
+    private static final int HOURS = 24;
+    private static final int CELLS = 7 * HOURS;
+
+    private final BookingRepository bookingRepository;
+    private final ScheduleRepository scheduleRepository;
+
+    // courtId -> week start -> booked minutes [day * 24 + hour]
+    private final Map<Long, NavigableMap<LocalDate, AtomicIntegerArray>> bookedMinutes = new ConcurrentHashMap<>();
+    private final Map<Long, Long> courtBranch = new ConcurrentHashMap<>();
+
+    // courtId -> scheduled minutes per week [day * 24 + hour]
+    private volatile Map<Long, int[]> capacity = Map.of();
+
+    /**
+     * Heatmap of a branch over the last N weeks (including the current one)
+     */
+    public OccupancyHeatmapResponse getHeatmap(Long branchId, int weeks) {
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new IllegalArgumentException(
+                    String.format("Heatmap range must be between 1 and %d weeks", MAX_WEEKS));
+        }
+
+        LocalDate toDate = LocalDate.now();
+        LocalDate currentWeek = weekStart(toDate);
+        LocalDate fromWeek = currentWeek.minusWeeks(weeks - 1L);
+
+        long[] branchBooked = new long[CELLS];
+        long[] branchCapacity = new long[CELLS];
+        List<OccupancyHeatmapResponse.CourtHeatmap> courts = new ArrayList<>();
+
+        for (Map.Entry<Long, Long> entry : courtBranch.entrySet()) {
+            if (!entry.getValue().equals(branchId)) {
+                continue;
+            }
+            Long courtId = entry.getKey();
+
+            long[] booked = new long[CELLS];
+            NavigableMap<LocalDate, AtomicIntegerArray> byWeek = bookedMinutes.get(courtId);
+            if (byWeek != null) {
+                // Future weeks (bookings made in advance) are outside the capacity of the range
+                for (AtomicIntegerArray week : byWeek.subMap(fromWeek, true, currentWeek, true).values()) {
+                    for (int cell = 0; cell < CELLS; cell++) {
+                        booked[cell] += week.get(cell);
+                    }
+                }
+            }
+
+            long[] courtCapacity = new long[CELLS];
+            int[] weekly = capacity.get(courtId);
+            if (weekly != null) {
+                for (int cell = 0; cell < CELLS; cell++) {
+                    courtCapacity[cell] = (long) weekly[cell] * weeks;
+                }
+            }
+
+            for (int cell = 0; cell < CELLS; cell++) {
+                branchBooked[cell] += booked[cell];
+                branchCapacity[cell] += courtCapacity[cell];
+            }
+
+            courts.add(OccupancyHeatmapResponse.CourtHeatmap.builder()
+                    .courtId(courtId)
+                    .bookedMinutes(toMatrix(booked))
+                    .occupancyRate(toRates(booked, courtCapacity))
+                    .build());
+        }
+        courts.sort(Comparator.comparing(OccupancyHeatmapResponse.CourtHeatmap::getCourtId));
+
+        return OccupancyHeatmapResponse.builder()
+                .branchId(branchId)
+                .fromDate(fromWeek)
+                .toDate(toDate)
+                .weeks(weeks)
+                .bookedMinutes(toMatrix(branchBooked))
+                .occupancyRate(toRates(branchBooked, branchCapacity))
+                .peakHours(peakHours(branchBooked, branchCapacity, 5))
+                .courts(courts)
+                .build();
+    }
+
+    /**
+     * Scheduled hours of a court on a date, for BookingStatistics.calculateOccupancyRate
+     */
+    public BigDecimal getAvailableHours(Long courtId, LocalDate date) {
+        int[] weekly = capacity.get(courtId);
+        if (weekly == null) {
+            return BigDecimal.ZERO;
+        }
+        int day = date.getDayOfWeek().getValue() - 1;
+        long minutes = 0;
+        for (int hour = 0; hour < HOURS; hour++) {
+            minutes += weekly[day * HOURS + hour];
+        }
+        return BigDecimal.valueOf(minutes).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+    }
+
+    // Incremental maintenance
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        courtBranch.putIfAbsent(event.getCourtId(), event.getBranchId());
+        if (event.isSlotTaken()) {
+            add(event.getCourtId(), event.getDate(), event.getTimeStart(), event.getTimeEnd(), 1);
+        } else if (event.isSlotReleased()) {
+            add(event.getCourtId(), event.getDate(), event.getTimeStart(), event.getTimeEnd(), -1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingSlotsReleased(BookingSlotsReleasedEvent event) {
+        for (BookingSlot slot : event.slots()) {
+            add(slot.courtId(), slot.date(), slot.timeStart(), slot.timeEnd(), -1);
+        }
+    }
+
+    // Rebuild
+
+    /**
+     * Rebuild capacity and every booking from MAX_WEEKS weeks back on, advance
+     * bookings included: their weeks become current later and a cancellation
+     * must find them loaded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        refreshCapacity();
+
+        LocalDate from = oldestWeek();
+
+        bookedMinutes.clear();
+        List<BookingSlot> slots = bookingRepository.findOccupiedSlotsFrom(from);
+        for (BookingSlot slot : slots) {
+            courtBranch.putIfAbsent(slot.courtId(), slot.branchId());
+            add(slot.courtId(), slot.date(), slot.timeStart(), slot.timeEnd(), 1);
+        }
+        log.info("Occupancy heatmap rebuilt from {} bookings since {}", slots.size(), from);
+    }
+
+    /**
+     * Recompute weekly capacity from available schedules
+     */
+    @Scheduled(cron = "0 15 0 * * *")
+    @Transactional(readOnly = true)
+    public void refreshCapacity() {
+        Map<Long, int[]> weekly = new ConcurrentHashMap<>();
+        for (Schedule schedule : scheduleRepository.findAllAvailableWithCourt()) {
+            Long courtId = schedule.getCourt().getId();
+            courtBranch.put(courtId, schedule.getCourt().getBranch().getId());
+
+            int[] minutes = weekly.computeIfAbsent(courtId, id -> new int[CELLS]);
+            int day = schedule.getDayOfWeek().getValue() - 1;
+            spread(schedule.getTimeStart(), schedule.getTimeEnd(),
+                    (hour, count) -> minutes[day * HOURS + hour] += count);
+        }
+        this.capacity = weekly;
+
+        // keep at most MAX_WEEKS weeks
+        LocalDate oldest = oldestWeek();
+        bookedMinutes.values().forEach(byWeek -> byWeek.headMap(oldest, false).clear());
+    }
+
+    // Helpers
+
+    private void add(Long courtId, LocalDate date, LocalTime start, LocalTime end, int sign) {
+        LocalDate weekStart = weekStart(date);
+        if (weekStart.isBefore(oldestWeek())) {
+            // Not loaded or already pruned: a change there would leave a stray (or negative) week
+            return;
+        }
+        AtomicIntegerArray week = bookedMinutes
+                .computeIfAbsent(courtId, id -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(weekStart, w -> new AtomicIntegerArray(CELLS));
+        int day = date.getDayOfWeek().getValue() - 1;
+        spread(start, end, (hour, count) -> week.addAndGet(day * HOURS + hour, sign * count));
+    }
+
+    @FunctionalInterface
+    private interface HourConsumer {
+        void accept(int hour, int minutes);
+    }
+
+    /**
+     * Split [start, end) into minutes per hour of day
+     */
+    private static void spread(LocalTime start, LocalTime end, HourConsumer consumer) {
+        int from = start.getHour() * 60 + start.getMinute();
+        int to = end.getHour() * 60 + end.getMinute();
+        if (to == 0 && from > 0) {
+            to = HOURS * 60;
+        }
+        while (from < to) {
+            int hour = from / 60;
+            int hourEnd = Math.min(to, (hour + 1) * 60);
+            consumer.accept(hour, hourEnd - from);
+            from = hourEnd;
+        }
+    }
+
+    private static LocalDate oldestWeek() {
+        return weekStart(LocalDate.now()).minusWeeks(MAX_WEEKS - 1L);
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(java.time.DayOfWeek.MONDAY));
+    }
+
+    private static long[][] toMatrix(long[] cells) {
+        long[][] matrix = new long[7][HOURS];
+        for (int cell = 0; cell < CELLS; cell++) {
+            matrix[cell / HOURS][cell % HOURS] = cells[cell];
+        }
+        return matrix;
+    }
+
+    private static double[][] toRates(long[] booked, long[] capacity) {
+        double[][] matrix = new double[7][HOURS];
+        for (int cell = 0; cell < CELLS; cell++) {
+            matrix[cell / HOURS][cell % HOURS] = rate(booked[cell], capacity[cell]);
+        }
+        return matrix;
+    }
+
+    private static double rate(long booked, long capacity) {
+        return capacity > 0 ? Math.round(booked * 10000.0 / capacity) / 100.0 : 0.0;
+    }
+
+    private static List<OccupancyHeatmapResponse.PeakHour> peakHours(long[] booked, long[] capacity, int limit) {
+        List<OccupancyHeatmapResponse.PeakHour> peaks = new ArrayList<>();
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (booked[cell] > 0) {
+                peaks.add(OccupancyHeatmapResponse.PeakHour.builder()
+                        .dayOfWeek(cell / HOURS + 1)
+                        .hour(cell % HOURS)
+                        .bookedMinutes(booked[cell])
+                        .occupancyRate(rate(booked[cell], capacity[cell]))
+                        .build());
+            }
+        }
+        peaks.sort(Comparator.comparing(OccupancyHeatmapResponse.PeakHour::getBookedMinutes).reversed());
+        return peaks.size() > limit ? new ArrayList<>(peaks.subList(0, limit)) : peaks;
+    }
+}
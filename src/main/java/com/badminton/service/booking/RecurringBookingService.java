@@ -0,0 +1,271 @@
+package com.badminton.service.booking;
+
+import com.badminton.dto.projection.BookingSlot;
+import com.badminton.dto.response.booking.RecurringBookingResponse;
+import com.badminton.entity.booking.Booking;
+import com.badminton.enums.BookingStatus;
+import com.badminton.enums.BookingType;
+import com.badminton.enums.SearchDocumentType;
+import com.badminton.event.booking.BookingStatusChangedEvent;
+import com.badminton.event.search.SearchDocumentsChangedEvent;
+import com.badminton.repository.booking.BookingRepository;
+import com.badminton.util.BookingIntervalIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates weekly booking series in bulk.
+ * All occurrences are validated against one range query over (court_id, date),
+ * the first free occurrence is saved as the parent booking and the rest are
+ * written with a single JDBC batch (rewriteBatchedStatements turns it into one
+ * multi-row INSERT on MySQL). The generated ids are read back so the children's
+ * events carry complete bookings.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecurringBookingService {
+
+    public static final int MAX_OCCURRENCES = 52;
+    private static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_CHILD_SQL = "INSERT INTO bookings (" +
+            "branch_id, user_id, court_id, schedule_id, booking_type, date, time_start, time_end, " +
+            "status, total_amount, deposit_amount, discount_amount, final_amount, payment_status, " +
+            "customer_name, customer_phone, customer_email, number_of_players, notes, special_requests, " +
+            "parent_booking_id, recurrence_pattern, promotion_code, promotion_discount, cancellation_fee, " +
+            "points_earned, points_redeemed, booking_source, payment_deadline, created_by, created_at, updated_at, version" +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final BookingRepository bookingRepository;
+    private final SlotLockService slotLockService;
+    private final BookingHoldService bookingHoldService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Create a weekly series starting at template.date.
+     * With skipConflicts=false nothing is written when any occurrence conflicts;
+     * otherwise conflicting occurrences are skipped and reported.
+     */
+    @Transactional
+    public RecurringBookingResponse createWeeklySeries(Booking template, int occurrences, boolean skipConflicts) {
+        if (occurrences < 1 || occurrences > MAX_OCCURRENCES) {
+            throw new IllegalArgumentException(
+                    String.format("Recurring series must have between 1 and %d occurrences", MAX_OCCURRENCES));
+        }
+
+        Long courtId = template.getCourt().getId();
+        LocalDate firstDate = template.getDate();
+        LocalDate lastDate = firstDate.plusWeeks(occurrences - 1L);
+
+        // Expand and validate every occurrence against one range query
+        List<BookingSlot> candidates = new ArrayList<>(occurrences);
+        List<SlotLockService.SlotRange> ranges = new ArrayList<>(occurrences);
+        for (int i = 0; i < occurrences; i++) {
+            LocalDate date = firstDate.plusWeeks(i);
+            candidates.add(new BookingSlot(null, courtId, template.getBranch().getId(),
+                    date, template.getTimeStart(), template.getTimeEnd(), BookingStatus.PENDING));
+            ranges.add(new SlotLockService.SlotRange(courtId, date, template.getTimeStart(), template.getTimeEnd()));
+        }
+
+        // Hold every occurrence across nodes until this transaction completes
+        slotLockService.acquireForTransaction(ranges);
+
+        BookingIntervalIndex existing = BookingIntervalIndex.ofSlots(
+                bookingRepository.findOccupiedSlotsByCourtAndDateRange(courtId, firstDate, lastDate));
+
+        Map<LocalDate, Long> conflicts = new HashMap<>();
+        for (BookingIntervalIndex.Conflict conflict : existing.findConflicts(candidates)) {
+            conflicts.put(conflict.candidate().date(), conflict.conflictingBookingId());
+        }
+
+        String pattern = weeklyPattern(lastDate);
+        RecurringBookingResponse.RecurringBookingResponseBuilder response = RecurringBookingResponse.builder()
+                .courtId(courtId)
+                .timeStart(template.getTimeStart())
+                .timeEnd(template.getTimeEnd())
+                .recurrencePattern(pattern)
+                .requestedOccurrences(occurrences)
+                .conflictCount(conflicts.size());
+
+        List<LocalDate> freeDates = candidates.stream()
+                .map(BookingSlot::date)
+                .filter(date -> !conflicts.containsKey(date))
+                .toList();
+
+        if (freeDates.isEmpty() || (!conflicts.isEmpty() && !skipConflicts)) {
+            return response
+                    .createdOccurrences(0)
+                    .occurrences(toOccurrences(candidates, conflicts, false))
+                    .build();
+        }
+
+        // Parent goes through JPA so it gets an id, auditing and domain events
+        template.setDate(freeDates.get(0));
+        template.setBookingType(BookingType.RECURRING);
+        template.setRecurrencePattern(pattern);
+        bookingHoldService.applyHold(template);
+        Booking parent = bookingRepository.save(template);
+
+        List<Booking> children = new ArrayList<>(freeDates.size() - 1);
+        for (LocalDate date : freeDates.subList(1, freeDates.size())) {
+            children.add(copyOccurrence(parent, date));
+        }
+        insertChildren(children);
+
+        // JDBC writes bypass the entity, so announce the new bookings ourselves
+        children.forEach(child -> eventPublisher.publishEvent(
+                new BookingStatusChangedEvent(child, null, child.getStatus())));
+        eventPublisher.publishEvent(new SearchDocumentsChangedEvent(SearchDocumentType.BOOKING,
+                children.stream().map(Booking::getId).toList()));
+
+        log.info("Created recurring series {} with {} occurrences ({} conflicts) on court {}",
+                parent.getId(), freeDates.size(), conflicts.size(), courtId);
+
+        return response
+                .parentBookingId(parent.getId())
+                .createdOccurrences(freeDates.size())
+                .occurrences(toOccurrences(candidates, conflicts, true))
+                .build();
+    }
+
+    private Booking copyOccurrence(Booking parent, LocalDate date) {
+        Booking child = Booking.builder()
+                .branch(parent.getBranch())
+                .user(parent.getUser())
+                .court(parent.getCourt())
+                .schedule(parent.getSchedule())
+                .bookingType(BookingType.RECURRING)
+                .date(date)
+                .timeStart(parent.getTimeStart())
+                .timeEnd(parent.getTimeEnd())
+                .status(BookingStatus.PENDING)
+                .totalAmount(parent.getTotalAmount())
+                .depositAmount(parent.getDepositAmount())
+                .discountAmount(parent.getDiscountAmount())
+                .finalAmount(parent.getFinalAmount())
+                .paymentStatus(parent.getPaymentStatus())
+                .customerName(parent.getCustomerName())
+                .customerPhone(parent.getCustomerPhone())
+                .customerEmail(parent.getCustomerEmail())
+                .numberOfPlayers(parent.getNumberOfPlayers())
+                .notes(parent.getNotes())
+                .specialRequests(parent.getSpecialRequests())
+                .parentBookingId(parent.getId())
+                .recurrencePattern(parent.getRecurrencePattern())
+                .promotionCode(parent.getPromotionCode())
+                .promotionDiscount(parent.getPromotionDiscount())
+                .bookingSource(parent.getBookingSource())
+                .paymentDeadline(parent.getPaymentDeadline())
+                .build();
+        child.setCreatedBy(parent.getCreatedBy());
+        // The series is paid together: children share the parent's deadline, or get their own
+        bookingHoldService.applyHold(child);
+        return child;
+    }
+
+    /**
+     * Batch insert in chunks of BATCH_SIZE; each child gets its generated id
+     */
+    private void insertChildren(List<Booking> children) {
+        if (children.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_CHILD_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < children.size(); from += BATCH_SIZE) {
+                    List<Booking> chunk = children.subList(from, Math.min(from + BATCH_SIZE, children.size()));
+                    for (Booking b : chunk) {
+                        bindChild(ps, b, now);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (Booking b : chunk) {
+                            if (!keys.next()) {
+                                throw new IllegalStateException("Missing generated key for recurring booking on " + b.getDate());
+                            }
+                            b.setId(keys.getLong(1));
+                        }
+                    }
+                }
+                return null;
+            }
+        });
+        children.forEach(b -> {
+            b.setCreatedAt(now);
+            b.setUpdatedAt(now);
+            b.setVersion(0L);
+        });
+    }
+
+    private static void bindChild(PreparedStatement ps, Booking b, LocalDateTime now) throws SQLException {
+        ps.setLong(1, b.getBranch().getId());
+        ps.setLong(2, b.getUser().getId());
+        ps.setLong(3, b.getCourt().getId());
+        ps.setLong(4, b.getSchedule().getId());
+        ps.setString(5, b.getBookingType().name());
+        ps.setObject(6, b.getDate());
+        ps.setObject(7, b.getTimeStart());
+        ps.setObject(8, b.getTimeEnd());
+        ps.setString(9, b.getStatus().name());
+        ps.setBigDecimal(10, b.getTotalAmount());
+        ps.setBigDecimal(11, b.getDepositAmount());
+        ps.setBigDecimal(12, b.getDiscountAmount());
+        ps.setBigDecimal(13, b.getFinalAmount());
+        ps.setString(14, b.getPaymentStatus().name());
+        ps.setString(15, b.getCustomerName());
+        ps.setString(16, b.getCustomerPhone());
+        ps.setString(17, b.getCustomerEmail());
+        ps.setObject(18, b.getNumberOfPlayers());
+        ps.setString(19, b.getNotes());
+        ps.setString(20, b.getSpecialRequests());
+        ps.setLong(21, b.getParentBookingId());
+        ps.setString(22, b.getRecurrencePattern());
+        ps.setString(23, b.getPromotionCode());
+        ps.setBigDecimal(24, b.getPromotionDiscount());
+        ps.setBigDecimal(25, b.getCancellationFee());
+        ps.setInt(26, b.getPointsEarned());
+        ps.setInt(27, b.getPointsRedeemed());
+        ps.setString(28, b.getBookingSource());
+        ps.setTimestamp(29, b.getPaymentDeadline() != null ? Timestamp.valueOf(b.getPaymentDeadline()) : null);
+        ps.setObject(30, b.getCreatedBy());
+        ps.setTimestamp(31, Timestamp.valueOf(now));
+        ps.setTimestamp(32, Timestamp.valueOf(now));
+    }
+
+    private List<RecurringBookingResponse.Occurrence> toOccurrences(
+            List<BookingSlot> candidates, Map<LocalDate, Long> conflicts, boolean persisted) {
+        return candidates.stream()
+                .map(slot -> RecurringBookingResponse.Occurrence.builder()
+                        .date(slot.date())
+                        .created(persisted && !conflicts.containsKey(slot.date()))
+                        .conflictingBookingId(conflicts.get(slot.date()))
+                        .build())
+                .toList();
+    }
+
+    private static String weeklyPattern(LocalDate endDate) {
+        return String.format("{\"frequency\": \"WEEKLY\", \"interval\": 1, \"endDate\": \"%s\"}", endDate);
+    }
+}
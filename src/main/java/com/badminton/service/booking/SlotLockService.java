@@ -0,0 +1,177 @@
+package com.badminton.service.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cross-instance slot reservation on Redis.
+ * Each court-day is a sorted set of held ranges (exact minutes, scored by
+ * expiry); all ranges of a court are checked and taken in one Lua call (all or
+ * nothing) with a short TTL, so two nodes can never both pass the conflict
+ * check for overlapping ranges, while back-to-back ranges never block each
+ * other. Keys are hash-tagged by court only, so a whole recurring series stays
+ * on one Redis Cluster slot.
+ */
+@Slf4j
+@Service
+public class SlotLockService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final String KEY_PREFIX = "booking:slot:";
+
+    private static final DefaultRedisScript<Long> ACQUIRE_SCRIPT =
+            script("scripts/slot-lock-acquire.lua");
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT =
+            script("scripts/slot-lock-release.lua");
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public SlotLockService(StringRedisTemplate redisTemplate,
+            @Value("${booking.slot-lock.ttl:PT30S}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Handle of an acquired reservation
+     */
+    public record SlotLock(String token, List<CourtHold> holds) {
+    }
+
+    /**
+     * Ranges held on one court: court-day keys and the member added to each
+     */
+    public record CourtHold(List<String> keys, List<String> members) {
+    }
+
+    /**
+     * Request for one range when several are locked together
+     */
+    public record SlotRange(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+    }
+
+    /**
+     * Try to reserve [startTime, endTime) on a court; empty when another owner holds any slot
+     */
+    public Optional<SlotLock> tryAcquire(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return tryAcquire(List.of(new SlotRange(courtId, date, startTime, endTime)));
+    }
+
+    /**
+     * Try to reserve several ranges at once (e.g. a recurring series), all or nothing
+     */
+    public Optional<SlotLock> tryAcquire(List<SlotRange> ranges) {
+        Map<Long, List<SlotRange>> byCourt = new LinkedHashMap<>();
+        for (SlotRange range : ranges) {
+            byCourt.computeIfAbsent(range.courtId(), id -> new ArrayList<>()).add(range);
+        }
+        if (byCourt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // One script call per court: a call may only touch keys of one cluster slot
+        String token = UUID.randomUUID().toString();
+        List<CourtHold> holds = new ArrayList<>(byCourt.size());
+        for (List<SlotRange> courtRanges : byCourt.values()) {
+            Optional<CourtHold> hold = tryAcquireCourt(token, courtRanges);
+            if (hold.isEmpty()) {
+                release(new SlotLock(token, holds));
+                return Optional.empty();
+            }
+            holds.add(hold.get());
+        }
+        return Optional.of(new SlotLock(token, holds));
+    }
+
+    /**
+     * Reserve the ranges until the current transaction completes.
+     * Releasing after commit means the booking row is visible before other nodes can lock again.
+     */
+    public SlotLock acquireForTransaction(List<SlotRange> ranges) {
+        SlotLock lock = tryAcquire(ranges)
+                .orElseThrow(() -> new IllegalStateException("Time slot is being booked by another customer"));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(lock);
+                }
+            });
+        }
+        return lock;
+    }
+
+    /**
+     * Release ranges still held by the lock; expired or stolen ranges are left alone
+     */
+    public void release(SlotLock lock) {
+        for (CourtHold hold : lock.holds()) {
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, hold.keys(), hold.members().toArray());
+            } catch (RuntimeException e) {
+                // ranges expire on their own after the TTL
+                log.warn("Failed to release slot lock {}: {}", lock.token(), e.getMessage());
+            }
+        }
+    }
+
+    private Optional<CourtHold> tryAcquireCourt(String token, List<SlotRange> ranges) {
+        List<String> keys = new ArrayList<>(ranges.size());
+        List<String> members = new ArrayList<>(ranges.size());
+        List<String> args = new ArrayList<>(2 + 2 * ranges.size());
+        args.add(token);
+        args.add(String.valueOf(ttl.toMillis()));
+        for (SlotRange range : ranges) {
+            int start = minuteOfDay(range.startTime());
+            int end = minuteOfDay(range.endTime());
+            if (end == 0 && start > 0) {
+                end = MINUTES_PER_DAY;
+            }
+            keys.add(key(range.courtId(), range.date()));
+            members.add(token + ":" + start + ":" + end);
+            args.add(String.valueOf(start));
+            args.add(String.valueOf(end));
+        }
+
+        Long result = redisTemplate.execute(ACQUIRE_SCRIPT, keys, args.toArray());
+        if (result == null || result != 0L) {
+            log.debug("Slot lock contention on {}",
+                    result != null && result > 0 ? ranges.get(result.intValue() - 1) : ranges);
+            return Optional.empty();
+        }
+        return Optional.of(new CourtHold(keys, members));
+    }
+
+    static String key(Long courtId, LocalDate date) {
+        return KEY_PREFIX + "{" + courtId + "}:" + date;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static DefaultRedisScript<Long> script(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
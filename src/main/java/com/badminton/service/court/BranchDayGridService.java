@@ -0,0 +1,233 @@
+package com.badminton.service.court;
+
+import com.badminton.dto.projection.BookingSlot;
+import com.badminton.dto.response.court.BranchDayGridResponse;
+import com.badminton.entity.court.Court;
+import com.badminton.entity.court.CourtMaintenance;
+import com.badminton.entity.court.Schedule;
+import com.badminton.enums.BookingStatus;
+import com.badminton.enums.DayOfWeek;
+import com.badminton.event.booking.BookingSlotsReleasedEvent;
+import com.badminton.event.booking.BookingStatusChangedEvent;
+import com.badminton.repository.booking.BookingRepository;
+import com.badminton.repository.court.CourtMaintenanceRepository;
+import com.badminton.repository.court.CourtRepository;
+import com.badminton.repository.court.ScheduleRepository;
+import com.badminton.util.BookingIntervalIndex;
+import com.badminton.util.CourtPriceTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read model for a branch's daily booking board.
+ * Loads courts, schedules, maintenance and bookings with one query each (pricing
+ * comes from CourtPriceTableCache), without touching the lazy Court collections.
+ * Grids are cached per (branch, date), dropped on booking transitions of that
+ * branch-day and expired after a short TTL to bound staleness across instances.
+ * Expired grids are swept periodically and the cache holds at most maxEntries
+ * grids; when full, the grids closest to expiry make room.
+ */
+@Service
+public class BranchDayGridService {
+
+    private final CourtRepository courtRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final CourtMaintenanceRepository courtMaintenanceRepository;
+    private final BookingRepository bookingRepository;
+    private final CourtPriceTableCache courtPriceTableCache;
+    private final Duration cacheTtl;
+    private final int maxEntries;
+
+    private final Map<GridKey, CachedGrid> cache = new ConcurrentHashMap<>();
+
+    private record GridKey(Long branchId, LocalDate date) {
+    }
+
+    private record CachedGrid(BranchDayGridResponse grid, LocalDateTime expiresAt) {
+    }
+
+    public BranchDayGridService(CourtRepository courtRepository,
+            ScheduleRepository scheduleRepository,
+            CourtMaintenanceRepository courtMaintenanceRepository,
+            BookingRepository bookingRepository,
+            CourtPriceTableCache courtPriceTableCache,
+            @Value("${booking.grid.cache-ttl:PT60S}") Duration cacheTtl,
+            @Value("${booking.grid.cache-max-entries:2000}") int maxEntries) {
+        this.courtRepository = courtRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.courtMaintenanceRepository = courtMaintenanceRepository;
+        this.bookingRepository = bookingRepository;
+        this.courtPriceTableCache = courtPriceTableCache;
+        this.cacheTtl = cacheTtl;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the grid for a branch-day, from cache when fresh
+     */
+    public BranchDayGridResponse getGrid(Long branchId, LocalDate date) {
+        GridKey key = new GridKey(branchId, date);
+        CachedGrid cached = cache.get(key);
+        if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            return cached.grid();
+        }
+
+        BranchDayGridResponse grid = loadGrid(branchId, date);
+        if (cache.size() >= maxEntries && !cache.containsKey(key)) {
+            makeRoom();
+        }
+        cache.put(key, new CachedGrid(grid, LocalDateTime.now().plus(cacheTtl)));
+        return grid;
+    }
+
+    /**
+     * Drop expired grids; a branch-day nobody asks for again would otherwise stay forever
+     */
+    @Scheduled(fixedDelayString = "${booking.grid.cache-sweep-interval:PT60S}")
+    public int sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int before = cache.size();
+        cache.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+        return before - cache.size();
+    }
+
+    public void invalidate(Long branchId, LocalDate date) {
+        cache.remove(new GridKey(branchId, date));
+    }
+
+    public void invalidateBranch(Long branchId) {
+        cache.keySet().removeIf(key -> key.branchId().equals(branchId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        invalidate(event.getBranchId(), event.getDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingSlotsReleased(BookingSlotsReleasedEvent event) {
+        event.slots().forEach(slot -> invalidate(slot.branchId(), slot.date()));
+    }
+
+    /**
+     * Sweep expired grids, then evict the ones closest to expiry until a tenth of the cache is free
+     */
+    private synchronized void makeRoom() {
+        if (sweepExpired() > 0 && cache.size() < maxEntries) {
+            return;
+        }
+        int excess = cache.size() - maxEntries + Math.max(1, maxEntries / 10);
+        cache.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.comparing(CachedGrid::expiresAt)))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(cache::remove);
+    }
+
+    /**
+     * Build the grid with a fixed number of queries regardless of court count
+     */
+    public BranchDayGridResponse loadGrid(Long branchId, LocalDate date) {
+        DayOfWeek dayOfWeek = DayOfWeek.fromJavaTime(date.getDayOfWeek());
+
+        List<Court> courts = new ArrayList<>(courtRepository.findByBranchId(branchId));
+        courts.sort(Comparator.comparing(Court::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Court::getId));
+
+        Map<Long, List<Schedule>> schedules = new HashMap<>();
+        for (Schedule schedule : scheduleRepository.findAvailableByBranchAndDay(branchId, dayOfWeek)) {
+            schedules.computeIfAbsent(schedule.getCourt().getId(), id -> new ArrayList<>()).add(schedule);
+        }
+
+        Set<Long> maintenanceCourts = new HashSet<>();
+        for (CourtMaintenance maintenance : courtMaintenanceRepository.findBlockingByBranchAndDate(branchId, date)) {
+            maintenanceCourts.add(maintenance.getCourt().getId());
+        }
+
+        List<BookingSlot> bookings = bookingRepository.findOccupiedSlotsByBranchAndDate(branchId, date);
+        BookingIntervalIndex bookingIndex = BookingIntervalIndex.ofSlots(bookings);
+        Map<Long, BookingStatus> bookingStatus = new HashMap<>(bookings.size() * 2);
+        bookings.forEach(b -> bookingStatus.put(b.bookingId(), b.status()));
+
+        courtPriceTableCache.preloadBranch(branchId);
+
+        List<BranchDayGridResponse.CourtRow> rows = new ArrayList<>(courts.size());
+        for (Court court : courts) {
+            boolean underMaintenance = maintenanceCourts.contains(court.getId()) || court.isUnderMaintenance();
+            CourtPriceTable prices = courtPriceTableCache.getTable(court.getId());
+
+            List<BranchDayGridResponse.SlotCell> cells = new ArrayList<>();
+            for (Schedule schedule : schedules.getOrDefault(court.getId(), List.of())) {
+                if (schedule.getSlotDuration() == null || schedule.getSlotDuration() <= 0) {
+                    continue;
+                }
+                for (Schedule.TimeSlot slot : schedule.generateTimeSlots()) {
+                    cells.add(toCell(court.getId(), date, slot, underMaintenance, prices, bookingIndex, bookingStatus));
+                }
+            }
+
+            rows.add(BranchDayGridResponse.CourtRow.builder()
+                    .courtId(court.getId())
+                    .name(court.getName())
+                    .courtType(court.getCourtType())
+                    .status(court.getStatus().name())
+                    .underMaintenance(underMaintenance)
+                    .slots(cells)
+                    .build());
+        }
+
+        return BranchDayGridResponse.builder()
+                .branchId(branchId)
+                .date(date)
+                .courts(rows)
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private BranchDayGridResponse.SlotCell toCell(Long courtId, LocalDate date, Schedule.TimeSlot slot,
+            boolean underMaintenance, CourtPriceTable prices,
+            BookingIntervalIndex bookingIndex, Map<Long, BookingStatus> bookingStatus) {
+        BranchDayGridResponse.SlotCell.SlotCellBuilder cell = BranchDayGridResponse.SlotCell.builder()
+                .start(slot.getStart())
+                .end(slot.getEnd());
+
+        if (prices.isPriced(date, slot.getStart(), slot.getEnd())) {
+            try {
+                cell.price(prices.quote(date, slot.getStart(), slot.getEnd()));
+            } catch (IllegalArgumentException e) {
+                // slot shorter than the band's minimum duration, shown without price
+            }
+        }
+
+        if (underMaintenance) {
+            return cell.state("MAINTENANCE").build();
+        }
+
+        Optional<Long> bookingId = bookingIndex.findConflict(courtId, date, slot.getStart(), slot.getEnd());
+        if (bookingId.isEmpty()) {
+            return cell.state("FREE").build();
+        }
+
+        BookingStatus status = bookingStatus.get(bookingId.get());
+        return cell
+                .bookingId(bookingId.get())
+                .state(status == BookingStatus.PENDING ? "PENDING" : "BOOKED")
+                .build();
+    }
+}
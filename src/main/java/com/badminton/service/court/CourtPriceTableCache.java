@@ -0,0 +1,122 @@
+package com.badminton.service.court;
+
+import com.badminton.entity.court.CourtPricing;
+import com.badminton.event.court.CourtPricingChangedEvent;
+import com.badminton.repository.court.CourtPricingRepository;
+import com.badminton.util.CourtPriceTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled CourtPriceTable per court, built from active CourtPricing rows
+ * on first use and dropped whenever a pricing row of the court changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourtPriceTableCache {
+
+    private final CourtPricingRepository courtPricingRepository;
+
+    private final Map<Long, CourtPriceTable> tables = new ConcurrentHashMap<>();
+    private final Map<Long, List<Long>> branchCourts = new ConcurrentHashMap<>();
+
+    /**
+     * Get the compiled table for a court
+     */
+    @Transactional(readOnly = true)
+    public CourtPriceTable getTable(Long courtId) {
+        return tables.computeIfAbsent(courtId,
+                id -> CourtPriceTable.compile(courtPricingRepository.findByCourtIdAndIsActiveTrue(id)));
+    }
+
+    /**
+     * Quote a booking on one court
+     */
+    public BigDecimal quote(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return getTable(courtId).quote(date, startTime, endTime);
+    }
+
+    /**
+     * Quote the same time range on every priced court of a branch, for the booking grid.
+     * Courts without pricing for the whole range are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> quoteBranch(Long branchId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Map<Long, BigDecimal> quotes = new TreeMap<>();
+        for (Long courtId : preloadBranch(branchId)) {
+            CourtPriceTable table = getTable(courtId);
+            if (!table.isPriced(date, startTime, endTime)) {
+                continue;
+            }
+            try {
+                quotes.put(courtId, table.quote(date, startTime, endTime));
+            } catch (IllegalArgumentException e) {
+                log.debug("Court {} cannot be quoted for {} {}-{}: {}", courtId, date, startTime, endTime, e.getMessage());
+            }
+        }
+        return quotes;
+    }
+
+    /**
+     * Drop the compiled table of a court and its branch's court list, both are rebuilt on next use.
+     * The branch entry goes by branch id: a court priced for the first time is not in the cached list yet.
+     */
+    public void invalidate(Long courtId, Long branchId) {
+        tables.remove(courtId);
+        if (branchId != null) {
+            branchCourts.remove(branchId);
+        } else {
+            branchCourts.values().removeIf(courts -> courts.contains(courtId));
+        }
+    }
+
+    /**
+     * Runs after the pricing change commits, so a reader racing the write
+     * cannot cache the old table again afterwards
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricingChanged(CourtPricingChangedEvent event) {
+        invalidate(event.courtId(), event.branchId());
+    }
+
+    public void invalidateAll() {
+        tables.clear();
+        branchCourts.clear();
+    }
+
+    /**
+     * Load all pricing of a branch with one query and compile every court at once.
+     * Returns the ids of the priced courts.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> preloadBranch(Long branchId) {
+        List<Long> cached = branchCourts.get(branchId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<Long, List<CourtPricing>> byCourt = new HashMap<>();
+        for (CourtPricing pricing : courtPricingRepository.findActiveByBranchId(branchId)) {
+            byCourt.computeIfAbsent(pricing.getCourt().getId(), id -> new ArrayList<>()).add(pricing);
+        }
+        byCourt.forEach((courtId, pricings) -> tables.put(courtId, CourtPriceTable.compile(pricings)));
+
+        List<Long> courtIds = List.copyOf(byCourt.keySet());
+        branchCourts.put(branchId, courtIds);
+        return courtIds;
+    }
+}
@@ -0,0 +1,246 @@
+package com.badminton.service.post;
+
+import com.badminton.dto.response.post.CommentThreadResponse;
+import com.badminton.dto.response.post.CommentThreadResponse.CommentNode;
+import com.badminton.entity.post.PostComment;
+import com.badminton.entity.user.User;
+import com.badminton.enums.CommentStatus;
+import com.badminton.repository.post.PostCommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comment threads on a materialized path.
+ * Every comment stores its thread root and ancestor path (PostComment.prePersist),
+ * so a page of threads is two indexed queries regardless of depth: the
+ * top-level page (keyset cursor on createdAt, id) and all approved replies of
+ * those roots. The tree is assembled in memory in O(n). reply_count holds
+ * approved direct replies and is kept current with atomic UPDATEs on
+ * approval and removal.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentThreadService {
+
+    public static final int MAX_DEPTH = 8;
+    public static final int MAX_PAGE_SIZE = 50;
+
+    private static final String BACKFILL_ROOTS_SQL =
+            "UPDATE post_comments SET path = '/', depth = 0, root_id = NULL " +
+            "WHERE parent_id IS NULL AND path IS NULL";
+
+    private static final String BACKFILL_LEVEL_SQL =
+            "UPDATE post_comments c JOIN post_comments p ON c.parent_id = p.id " +
+            "SET c.path = CONCAT(p.path, p.id, '/'), c.depth = p.depth + 1, c.root_id = COALESCE(p.root_id, p.id) " +
+            "WHERE c.path IS NULL AND p.path IS NOT NULL";
+
+    private static final String RECOUNT_REPLIES_SQL =
+            "UPDATE post_comments p LEFT JOIN (" +
+            "SELECT parent_id, COUNT(*) AS replies FROM post_comments " +
+            "WHERE parent_id IS NOT NULL AND status = 'APPROVED' AND deleted_at IS NULL GROUP BY parent_id" +
+            ") r ON r.parent_id = p.id SET p.reply_count = COALESCE(r.replies, 0)";
+
+    private final PostCommentRepository postCommentRepository;
+    private final PostCounterBuffer postCounterBuffer;
+    private final JdbcTemplate jdbcTemplate;
+
+    private record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    // Writes
+
+    /**
+     * Save a reply under parent; replies beyond MAX_DEPTH attach to the deepest allowed ancestor
+     */
+    @Transactional
+    public PostComment reply(PostComment parent, PostComment reply) {
+        PostComment target = parent;
+        while (target.getDepth() >= MAX_DEPTH - 1 && target.getParent() != null) {
+            target = target.getParent();
+        }
+        reply.setPost(target.getPost());
+        reply.setParent(target);
+        PostComment saved = postCommentRepository.save(reply);
+        if (saved.getStatus() == CommentStatus.APPROVED) {
+            onBecameVisible(saved);
+        }
+        return saved;
+    }
+
+    @Transactional
+    public PostComment approve(Long commentId, User approver) {
+        PostComment comment = postCommentRepository.findById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("Không tìm thấy bình luận"));
+        comment.approve(approver);
+        onBecameVisible(comment);
+        return comment;
+    }
+
+    /**
+     * Soft-delete a comment; its replies stay and are re-attached to the nearest visible ancestor when loaded.
+     * Only this row is marked: delete() would cascade to the replies.
+     */
+    @Transactional
+    public void remove(Long commentId) {
+        PostComment comment = postCommentRepository.findById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("Không tìm thấy bình luận"));
+        if (comment.getStatus() == CommentStatus.APPROVED) {
+            if (comment.getParent() != null) {
+                postCommentRepository.decrementReplyCount(comment.getParent().getId());
+            }
+            postCounterBuffer.recordComment(comment.getPost().getId(), false);
+        }
+        // Versioned single-row UPDATE; save() also publishes the search index change
+        comment.setDeletedAt(LocalDateTime.now());
+        postCommentRepository.save(comment);
+    }
+
+    private void onBecameVisible(PostComment comment) {
+        if (comment.getParent() != null) {
+            postCommentRepository.incrementReplyCount(comment.getParent().getId());
+        }
+        postCounterBuffer.recordComment(comment.getPost().getId(), true);
+    }
+
+    // Reads
+
+    /**
+     * One page of threads (top-level comments with all their approved replies)
+     */
+    @Transactional(readOnly = true)
+    public CommentThreadResponse loadThreads(Long postId, String cursor, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        PageRequest page = PageRequest.of(0, size + 1);
+
+        List<PostComment> roots;
+        if (cursor == null || cursor.isBlank()) {
+            roots = postCommentRepository.findTopLevelThreads(postId, page);
+        } else {
+            Cursor c = decodeCursor(cursor);
+            roots = postCommentRepository.findTopLevelThreadsBefore(postId, c.createdAt(), c.id(), page);
+        }
+
+        boolean hasMore = roots.size() > size;
+        if (hasMore) {
+            roots = roots.subList(0, size);
+        }
+
+        List<Long> rootIds = roots.stream().map(PostComment::getId).toList();
+        List<PostComment> replies = rootIds.isEmpty()
+                ? List.of()
+                : postCommentRepository.findThreadReplies(postId, rootIds);
+
+        PostComment last = roots.isEmpty() ? null : roots.get(roots.size() - 1);
+        return CommentThreadResponse.builder()
+                .postId(postId)
+                .comments(assemble(roots, replies))
+                .hasMore(hasMore)
+                .nextCursor(hasMore && last != null ? encodeCursor(last) : null)
+                .build();
+    }
+
+    /**
+     * A comment and everything below it
+     */
+    @Transactional(readOnly = true)
+    public CommentNode loadSubtree(Long commentId) {
+        PostComment comment = postCommentRepository.findById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("Không tìm thấy bình luận"));
+        String prefix = comment.getPath() + comment.getId() + "/";
+        List<PostComment> descendants = postCommentRepository.findSubtree(comment.getPost().getId(), prefix);
+        return assemble(List.of(comment), descendants).get(0);
+    }
+
+    /**
+     * Build the forest in O(n): replies arrive parents-first (ordered by depth),
+     * each is hung under its parent or, when that one is hidden, the nearest
+     * visible ancestor from its path
+     */
+    private static List<CommentNode> assemble(List<PostComment> roots, List<PostComment> replies) {
+        Map<Long, CommentNode> nodes = new HashMap<>(roots.size() + replies.size());
+        List<CommentNode> forest = new ArrayList<>(roots.size());
+        for (PostComment root : roots) {
+            CommentNode node = toNode(root);
+            nodes.put(root.getId(), node);
+            forest.add(node);
+        }
+
+        for (PostComment reply : replies) {
+            List<Long> ancestors = reply.getAncestorIds();
+            CommentNode parent = null;
+            for (int i = ancestors.size() - 1; i >= 0 && parent == null; i--) {
+                parent = nodes.get(ancestors.get(i));
+            }
+            if (parent == null) {
+                continue; // whole branch hidden
+            }
+            CommentNode node = toNode(reply);
+            parent.getReplies().add(node);
+            nodes.put(reply.getId(), node);
+        }
+        return forest;
+    }
+
+    private static CommentNode toNode(PostComment comment) {
+        return CommentNode.builder()
+                .id(comment.getId())
+                .parentId(comment.getParent() != null ? comment.getParent().getId() : null)
+                .userId(comment.getUser().getId())
+                .userName(comment.getUser().getName())
+                .content(comment.getContent())
+                .likeCount(comment.getLikeCount())
+                .replyCount(comment.getReplyCount())
+                .depth(comment.getDepth())
+                .isEdited(comment.getIsEdited())
+                .createdAt(comment.getCreatedAt())
+                .build();
+    }
+
+    private static String encodeCursor(PostComment comment) {
+        String raw = comment.getCreatedAt() + "|" + comment.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor không hợp lệ", e);
+        }
+    }
+
+    // Maintenance
+
+    /**
+     * Fill path/root/depth for comments written before threads were materialized
+     * (one UPDATE per tree level) and recompute reply counts
+     */
+    @Transactional
+    public int backfillThreads() {
+        int updated = jdbcTemplate.update(BACKFILL_ROOTS_SQL);
+        int level;
+        do {
+            level = jdbcTemplate.update(BACKFILL_LEVEL_SQL);
+            updated += level;
+        } while (level > 0);
+        jdbcTemplate.update(RECOUNT_REPLIES_SQL);
+        log.info("Backfilled thread paths of {} comments", updated);
+        return updated;
+    }
+}
@@ -0,0 +1,215 @@
+package com.badminton.service.post;
+
+import com.badminton.entity.post.Post;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind buffer for post view/share/like/comment counters.
+ * Increments land in striped LongAdders instead of row-locking UPDATEs and are
+ * flushed as one batched UPDATE every post.counters.flush-interval.
+ * Crash-loss bound: increments recorded since the last successful flush
+ * (at most flush-interval worth of traffic); a graceful shutdown flushes first.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostCounterBuffer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String FLUSH_SQL = "UPDATE posts SET " +
+            "view_count = view_count + ?, " +
+            "share_count = share_count + ?, " +
+            "like_count = GREATEST(like_count + ?, 0), " +
+            "comment_count = GREATEST(comment_count + ?, 0), " +
+            // MySQL evaluates SET left to right, so this sees the new counts
+            "engagement_rate = IF(view_count > 0, " +
+            "ROUND((like_count + comment_count + share_count) * 100 / view_count, 2), 0) " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostTrendingService trendingService;
+
+    private final Map<Long, Counters> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Running totals per post; flushed* remember what was already written.
+     * writers counts increments in progress, retired is set while the entry is being evicted.
+     */
+    private static final class Counters {
+        final LongAdder views = new LongAdder();
+        final LongAdder shares = new LongAdder();
+        final LongAdder likes = new LongAdder();
+        final LongAdder comments = new LongAdder();
+        final LongAdder writers = new LongAdder();
+        volatile boolean retired;
+        long flushedViews;
+        long flushedShares;
+        long flushedLikes;
+        long flushedComments;
+
+        boolean isIdle() {
+            return views.sum() == flushedViews && shares.sum() == flushedShares
+                    && likes.sum() == flushedLikes && comments.sum() == flushedComments;
+        }
+    }
+
+    private record Delta(Long postId, Counters counters, long views, long shares, long likes, long comments) {
+        boolean isEmpty() {
+            return views == 0 && shares == 0 && likes == 0 && comments == 0;
+        }
+    }
+
+    // Recording
+
+    public void recordView(Long postId) {
+        record(postId, c -> c.views.increment());
+        trendingService.recordView(postId);
+    }
+
+    public void recordShare(Long postId) {
+        record(postId, c -> c.shares.increment());
+        trendingService.recordShare(postId);
+    }
+
+    public void recordLike(Long postId, boolean liked) {
+        record(postId, c -> c.likes.add(liked ? 1 : -1));
+        if (liked) {
+            trendingService.recordLike(postId);
+        }
+    }
+
+    public void recordComment(Long postId, boolean added) {
+        record(postId, c -> c.comments.add(added ? 1 : -1));
+        if (added) {
+            trendingService.recordComment(postId);
+        }
+    }
+
+    // Reads (persisted + pending)
+
+    public long getViewCount(Post post) {
+        Counters c = pending.get(post.getId());
+        return post.getViewCount() + (c != null ? c.views.sum() - c.flushedViews : 0);
+    }
+
+    public long getShareCount(Post post) {
+        Counters c = pending.get(post.getId());
+        return post.getShareCount() + (c != null ? c.shares.sum() - c.flushedShares : 0);
+    }
+
+    public long getLikeCount(Post post) {
+        Counters c = pending.get(post.getId());
+        return Math.max(0, post.getLikeCount() + (c != null ? c.likes.sum() - c.flushedLikes : 0));
+    }
+
+    public long getCommentCount(Post post) {
+        Counters c = pending.get(post.getId());
+        return Math.max(0, post.getCommentCount() + (c != null ? c.comments.sum() - c.flushedComments : 0));
+    }
+
+    /**
+     * Pending (unflushed) view increments of a post
+     */
+    public long getPendingViews(Long postId) {
+        Counters c = pending.get(postId);
+        return c != null ? c.views.sum() - c.flushedViews : 0;
+    }
+
+    // Flushing
+
+    /**
+     * Write all pending deltas in one batch; synchronized so flushed* are only
+     * advanced by one thread
+     */
+    @Scheduled(fixedDelayString = "${post.counters.flush-interval:PT5S}")
+    @PreDestroy
+    public synchronized int flush() {
+        List<Delta> deltas = new ArrayList<>();
+        for (Map.Entry<Long, Counters> entry : pending.entrySet()) {
+            Counters c = entry.getValue();
+            Delta delta = new Delta(entry.getKey(), c,
+                    c.views.sum() - c.flushedViews,
+                    c.shares.sum() - c.flushedShares,
+                    c.likes.sum() - c.flushedLikes,
+                    c.comments.sum() - c.flushedComments);
+
+            if (delta.isEmpty()) {
+                evictIdle(entry.getKey(), c);
+            } else {
+                deltas.add(delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, deltas, BATCH_SIZE, (ps, d) -> {
+                ps.setLong(1, d.views());
+                ps.setLong(2, d.shares());
+                ps.setLong(3, d.likes());
+                ps.setLong(4, d.comments());
+                ps.setLong(5, d.postId());
+            });
+        } catch (RuntimeException e) {
+            // flushed* untouched, the same deltas are retried next time
+            log.error("Failed to flush counters of {} posts", deltas.size(), e);
+            return 0;
+        }
+
+        for (Delta d : deltas) {
+            d.counters().flushedViews += d.views();
+            d.counters().flushedShares += d.shares();
+            d.counters().flushedLikes += d.likes();
+            d.counters().flushedComments += d.comments();
+        }
+        return deltas.size();
+    }
+
+    /**
+     * Apply an increment to the post's entry; an entry being evicted is not
+     * written to, the increment waits for the eviction to finish and retries
+     */
+    private void record(Long postId, Consumer<Counters> increment) {
+        while (true) {
+            Counters c = pending.computeIfAbsent(postId, id -> new Counters());
+            c.writers.increment();
+            try {
+                if (!c.retired) {
+                    increment.accept(c);
+                    return;
+                }
+            } finally {
+                c.writers.decrement();
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Drop an idle entry. retired is raised before the checks: a writer that
+     * started earlier is still counted in writers or its increment is already
+     * visible, and one that starts later sees retired and retries on a fresh entry.
+     */
+    private void evictIdle(Long postId, Counters c) {
+        c.retired = true;
+        if (c.writers.sum() == 0 && c.isIdle()) {
+            pending.remove(postId, c);
+        } else {
+            c.retired = false;
+        }
+    }
+}
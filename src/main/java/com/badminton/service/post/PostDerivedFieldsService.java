@@ -0,0 +1,74 @@
+package com.badminton.service.post;
+
+import com.badminton.entity.post.Post;
+import com.badminton.enums.SearchDocumentType;
+import com.badminton.event.search.SearchDocumentsChangedEvent;
+import com.badminton.util.PostTextAnalyzer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Backfill of the post columns derived from content (reading time, excerpt,
+ * first image, keywords, engagement rate) for rows written before they were
+ * persisted. New writes fill them in Post.prePersist/preUpdate.
+ * Works in id-ordered chunks so only one chunk of content is in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostDerivedFieldsService {
+
+    private static final int CHUNK_SIZE = 200;
+    private static final int KEYWORD_COUNT = 10;
+
+    private static final String SELECT_SQL = "SELECT id, content FROM posts " +
+            "WHERE content_keywords IS NULL AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_SQL = "UPDATE posts SET reading_time = ?, first_image = ?, " +
+            "content_keywords = ?, excerpt = COALESCE(excerpt, ?), " +
+            "engagement_rate = IF(view_count > 0, " +
+            "ROUND((like_count + comment_count + share_count) * 100 / view_count, 2), 0) " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record Derived(long id, PostTextAnalyzer.Analysis analysis) {
+    }
+
+    /**
+     * Fill derived columns of all posts that do not have them yet
+     */
+    public int backfill() {
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            List<Derived> chunk = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new Derived(
+                    rs.getLong("id"), PostTextAnalyzer.analyze(rs.getString("content"), KEYWORD_COUNT)),
+                    lastId, CHUNK_SIZE);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            jdbcTemplate.batchUpdate(UPDATE_SQL, chunk, CHUNK_SIZE, (ps, d) -> {
+                ps.setInt(1, d.analysis().readingTime());
+                ps.setString(2, d.analysis().firstImage(Post.MAX_IMAGE_URL_LENGTH));
+                ps.setString(3, String.join(",", d.analysis().keywords()));
+                ps.setString(4, d.analysis().excerpt(Post.EXCERPT_LENGTH));
+                ps.setLong(5, d.id());
+            });
+            // Excerpts may have been filled in; they are searchable
+            eventPublisher.publishEvent(new SearchDocumentsChangedEvent(SearchDocumentType.POST,
+                    chunk.stream().map(Derived::id).toList()));
+            total += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).id();
+        }
+        log.info("Backfilled derived fields of {} posts", total);
+        return total;
+    }
+}
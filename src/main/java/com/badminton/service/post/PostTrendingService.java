@@ -0,0 +1,388 @@
+package com.badminton.service.post;
+
+import com.badminton.entity.post.Post;
+import com.badminton.enums.PostType;
+import com.badminton.repository.post.PostRepository;
+import com.badminton.repository.post.PostViewRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Time-decayed trending scores for posts.
+ * Engagement events add weight * 2^((t - landmark) / halfLife) to a post
+ * (forward decay): older events weigh exponentially less, yet stored scores
+ * never have to be decayed in place and only grow, so a bounded top-K per
+ * group (all posts, each category, each PostType) is maintained incrementally.
+ * The landmark is moved forward daily to keep the exponent small.
+ * refresh() flips Post.isTrending for the global top-K with two bulk UPDATEs;
+ * only the instance holding the Redis sync lease writes the flags, so
+ * instances with different rankings do not flip them back and forth.
+ * Scores are per instance; removed likes/comments do not lower a score.
+ */
+@Slf4j
+@Service
+public class PostTrendingService {
+
+    public static final double VIEW_WEIGHT = 1;
+    public static final double LIKE_WEIGHT = 3;
+    public static final double COMMENT_WEIGHT = 5;
+    public static final double SHARE_WEIGHT = 8;
+
+    private static final String GLOBAL_GROUP = "all";
+    private static final long REBASE_INTERVAL_MILLIS = Duration.ofDays(1).toMillis();
+    private static final double PRUNE_THRESHOLD = 0.05;
+    private static final int META_CHUNK_SIZE = 1000;
+    private static final int SEED_HALF_LIVES = 4;
+    private static final String SYNC_LEASE_KEY = "post:trending:sync-lease";
+
+    private static final DefaultRedisScript<Long> LEASE_SCRIPT = leaseScript();
+
+    private final PostRepository postRepository;
+    private final PostViewRollupRepository rollupRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final double halfLifeMillis;
+    private final int size;
+    private final Duration syncLease;
+    private final String instanceToken = UUID.randomUUID().toString();
+    private boolean syncLeader;
+
+    private final ReadWriteLock landmarkLock = new ReentrantReadWriteLock();
+    private volatile long landmarkMillis = System.currentTimeMillis();
+
+    private final Map<Long, PostScore> scores = new ConcurrentHashMap<>();
+    private final Map<String, TopK> groups = new ConcurrentHashMap<>();
+    private final Set<Long> flagged = ConcurrentHashMap.newKeySet();
+
+    public PostTrendingService(PostRepository postRepository,
+            PostViewRollupRepository rollupRepository,
+            StringRedisTemplate redisTemplate,
+            @Value("${post.trending.half-life:PT6H}") Duration halfLife,
+            @Value("${post.trending.size:20}") int size,
+            @Value("${post.trending.sync-lease:PT3M}") Duration syncLease) {
+        this.postRepository = postRepository;
+        this.rollupRepository = rollupRepository;
+        this.redisTemplate = redisTemplate;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.size = size;
+        this.syncLease = syncLease;
+    }
+
+    /**
+     * Score relative to the landmark; category/type are resolved lazily because
+     * events only carry the post id. Mutated inside scores.compute.
+     */
+    private static final class PostScore {
+        volatile double value;
+        Long categoryId;
+        PostType postType;
+        boolean resolved;
+        boolean published;
+    }
+
+    private record Entry(Long postId, double score) {
+    }
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingDouble(Entry::score).thenComparing(Entry::postId);
+
+    /**
+     * Bounded ranking of one group, lowest score first
+     */
+    private static final class TopK {
+        private final int capacity;
+        private final TreeSet<Entry> ranked = new TreeSet<>(ORDER);
+        private final Map<Long, Entry> byPost = new HashMap<>();
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(Long postId, double score) {
+            Entry current = byPost.get(postId);
+            if (current != null) {
+                if (current.score() >= score) {
+                    return;
+                }
+                ranked.remove(current);
+            } else if (ranked.size() >= capacity) {
+                Entry lowest = ranked.first();
+                if (lowest.score() >= score) {
+                    return;
+                }
+                ranked.pollFirst();
+                byPost.remove(lowest.postId());
+            }
+            Entry entry = new Entry(postId, score);
+            ranked.add(entry);
+            byPost.put(postId, entry);
+        }
+
+        synchronized List<Long> top(int limit) {
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+            Iterator<Entry> it = ranked.descendingIterator();
+            while (it.hasNext() && ids.size() < limit) {
+                ids.add(it.next().postId());
+            }
+            return ids;
+        }
+    }
+
+    // Events
+
+    public void recordView(Long postId) {
+        add(postId, VIEW_WEIGHT, System.currentTimeMillis());
+    }
+
+    public void recordLike(Long postId) {
+        add(postId, LIKE_WEIGHT, System.currentTimeMillis());
+    }
+
+    public void recordComment(Long postId) {
+        add(postId, COMMENT_WEIGHT, System.currentTimeMillis());
+    }
+
+    public void recordShare(Long postId) {
+        add(postId, SHARE_WEIGHT, System.currentTimeMillis());
+    }
+
+    /**
+     * Make a freshly published post eligible without waiting for the next refresh
+     */
+    public void onPostPublished(Post post) {
+        PostScore score = scores.computeIfAbsent(post.getId(), id -> new PostScore());
+        resolve(post.getId(), score, post.getCategory() != null ? post.getCategory().getId() : null,
+                post.getPostType(), true);
+    }
+
+    private void add(Long postId, double weight, long atMillis) {
+        landmarkLock.readLock().lock();
+        try {
+            double scaled = weight * Math.pow(2, (atMillis - landmarkMillis) / halfLifeMillis);
+            PostScore score = scores.compute(postId, (id, current) -> {
+                PostScore s = current != null ? current : new PostScore();
+                s.value += scaled;
+                return s;
+            });
+            if (score.published) {
+                offer(postId, score);
+            }
+        } finally {
+            landmarkLock.readLock().unlock();
+        }
+    }
+
+    private void offer(Long postId, PostScore score) {
+        double value = score.value;
+        group(GLOBAL_GROUP).offer(postId, value);
+        if (score.categoryId != null) {
+            group("category:" + score.categoryId).offer(postId, value);
+        }
+        if (score.postType != null) {
+            group("type:" + score.postType.name()).offer(postId, value);
+        }
+    }
+
+    private TopK group(String key) {
+        return groups.computeIfAbsent(key, k -> new TopK(size));
+    }
+
+    // Reads (O(K))
+
+    public List<Long> getTrending(int limit) {
+        return top(GLOBAL_GROUP, limit);
+    }
+
+    public List<Long> getTrendingByCategory(Long categoryId, int limit) {
+        return top("category:" + categoryId, limit);
+    }
+
+    public List<Long> getTrendingByType(PostType postType, int limit) {
+        return top("type:" + postType.name(), limit);
+    }
+
+    /**
+     * Current decayed score of a post
+     */
+    public double getScore(Long postId) {
+        PostScore score = scores.get(postId);
+        if (score == null) {
+            return 0;
+        }
+        return score.value * Math.pow(2, (landmarkMillis - System.currentTimeMillis()) / halfLifeMillis);
+    }
+
+    private List<Long> top(String groupKey, int limit) {
+        TopK topK = groups.get(groupKey);
+        return topK != null ? topK.top(Math.min(limit, size)) : List.of();
+    }
+
+    // Maintenance
+
+    /**
+     * Seed scores from the hourly view rollups
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis((long) halfLifeMillis * SEED_HALF_LIVES));
+        List<Object[]> rows = rollupRepository.findHourlyViewsSince(since);
+        ZoneId zone = ZoneId.systemDefault();
+        for (Object[] row : rows) {
+            LocalDateTime bucketMiddle = ((LocalDateTime) row[1]).plusMinutes(30);
+            long views = ((Number) row[2]).longValue();
+            add((Long) row[0], views * VIEW_WEIGHT, bucketMiddle.atZone(zone).toInstant().toEpochMilli());
+        }
+        log.info("Trending scores seeded from {} hourly rollups since {}", rows.size(), since);
+        refresh();
+    }
+
+    /**
+     * Resolve new posts, rebase when due and, on the lease holder, sync
+     * isTrending with the global top-K
+     */
+    @Scheduled(fixedDelayString = "${post.trending.refresh-interval:PT1M}")
+    @Transactional
+    public synchronized void refresh() {
+        if (System.currentTimeMillis() - landmarkMillis > REBASE_INTERVAL_MILLIS) {
+            rebase();
+        }
+        resolvePending();
+        if (!holdsSyncLease()) {
+            return;
+        }
+
+        Set<Long> trending = new HashSet<>(getTrending(size));
+        List<Long> toSet = trending.stream().filter(id -> !flagged.contains(id)).toList();
+        List<Long> toClear = flagged.stream().filter(id -> !trending.contains(id)).toList();
+        if (!toSet.isEmpty()) {
+            postRepository.bulkUpdateTrending(toSet, true);
+        }
+        if (!toClear.isEmpty()) {
+            postRepository.bulkUpdateTrending(toClear, false);
+        }
+        flagged.addAll(toSet);
+        toClear.forEach(flagged::remove);
+    }
+
+    /**
+     * Take or renew the sync lease; a new holder reloads the flags written by the previous one
+     */
+    private boolean holdsSyncLease() {
+        boolean leader;
+        try {
+            Long result = redisTemplate.execute(LEASE_SCRIPT, List.of(SYNC_LEASE_KEY),
+                    instanceToken, String.valueOf(syncLease.toMillis()));
+            leader = result != null && result == 1L;
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew the trending sync lease: {}", e.getMessage());
+            leader = false;
+        }
+        if (leader && !syncLeader) {
+            flagged.clear();
+            flagged.addAll(postRepository.findTrendingPostIds());
+            log.info("Trending flags are now synced by this instance");
+        }
+        syncLeader = leader;
+        return leader;
+    }
+
+    private void resolvePending() {
+        List<Long> pending = new ArrayList<>();
+        scores.forEach((id, score) -> {
+            if (!score.resolved) {
+                pending.add(id);
+            }
+        });
+
+        for (int from = 0; from < pending.size(); from += META_CHUNK_SIZE) {
+            List<Long> chunk = pending.subList(from, Math.min(from + META_CHUNK_SIZE, pending.size()));
+            Map<Long, Object[]> meta = new HashMap<>();
+            for (Object[] row : postRepository.findPublishedPostMeta(chunk)) {
+                meta.put((Long) row[0], row);
+            }
+            for (Long id : chunk) {
+                PostScore score = scores.get(id);
+                if (score == null) {
+                    continue;
+                }
+                Object[] row = meta.get(id);
+                if (row != null) {
+                    resolve(id, score, (Long) row[1], (PostType) row[2], true);
+                } else {
+                    resolve(id, score, null, null, false);
+                }
+            }
+        }
+    }
+
+    private void resolve(Long postId, PostScore score, Long categoryId, PostType postType, boolean published) {
+        scores.computeIfPresent(postId, (id, s) -> {
+            s.categoryId = categoryId;
+            s.postType = postType;
+            s.published = published;
+            s.resolved = true;
+            return s;
+        });
+        if (published) {
+            offer(postId, score);
+        }
+    }
+
+    /**
+     * Move the landmark to now: rescale every score, drop negligible ones and
+     * rebuild the rankings. Publication is re-checked on the next resolve.
+     */
+    private void rebase() {
+        landmarkLock.writeLock().lock();
+        try {
+            long now = System.currentTimeMillis();
+            double factor = Math.pow(2, (landmarkMillis - now) / halfLifeMillis);
+            landmarkMillis = now;
+
+            groups.clear();
+            scores.entrySet().removeIf(entry -> {
+                PostScore s = entry.getValue();
+                s.value *= factor;
+                if (s.value < PRUNE_THRESHOLD) {
+                    return true;
+                }
+                s.resolved = false;
+                return false;
+            });
+        } finally {
+            landmarkLock.writeLock().unlock();
+        }
+    }
+
+    private static DefaultRedisScript<Long> leaseScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/lease-acquire.lua"));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
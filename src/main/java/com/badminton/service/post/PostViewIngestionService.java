@@ -0,0 +1,260 @@
+package com.badminton.service.post;
+
+import com.badminton.dto.projection.PostViewRecord;
+import com.badminton.dto.request.post.TrackPostViewRequest;
+import com.badminton.util.UserAgentParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous post_views ingestion.
+ * Request threads only offer the raw view to a bounded queue (never block);
+ * a small worker pool parses the user agent and writes rows with JDBC batch
+ * INSERTs of up to post.views.batch-size. Under pressure the queue degrades
+ * gracefully: above the high-water mark only 1 in post.views.overload-sample-rate
+ * views is kept, and when full views are dropped. Both are counted in
+ * post.views.dropped. View counters are bumped on enqueue, so Post.viewCount
+ * stays exact even when the detail row is sampled away.
+ */
+@Slf4j
+@Service
+public class PostViewIngestionService {
+
+    private static final String INSERT_SQL = "INSERT INTO post_views " +
+            "(post_id, user_id, ip_address, user_agent, referrer, device_type, browser, os, " +
+            "country, city, session_id, time_spent_seconds, scroll_depth_percentage, " +
+            "created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final double HIGH_WATER_RATIO = 0.8;
+
+    private record PendingView(TrackPostViewRequest request, LocalDateTime viewedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostCounterBuffer counterBuffer;
+    private final PostUniqueViewCounter uniqueViewCounter;
+    private final PostViewRollupService rollupService;
+    private final BlockingQueue<PendingView> queue;
+    private final int highWaterMark;
+    private final int batchSize;
+    private final int workers;
+    private final int overloadSampleRate;
+    private final Duration pollTimeout;
+
+    private final Counter enqueued;
+    private final Counter written;
+    private final Counter droppedFull;
+    private final Counter droppedSampled;
+    private final Counter droppedFailed;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public PostViewIngestionService(JdbcTemplate jdbcTemplate,
+            PostCounterBuffer counterBuffer,
+            PostUniqueViewCounter uniqueViewCounter,
+            PostViewRollupService rollupService,
+            MeterRegistry meterRegistry,
+            @Value("${post.views.queue-capacity:100000}") int queueCapacity,
+            @Value("${post.views.batch-size:500}") int batchSize,
+            @Value("${post.views.workers:2}") int workers,
+            @Value("${post.views.overload-sample-rate:4}") int overloadSampleRate,
+            @Value("${post.views.poll-timeout:PT0.2S}") Duration pollTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.counterBuffer = counterBuffer;
+        this.uniqueViewCounter = uniqueViewCounter;
+        this.rollupService = rollupService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.highWaterMark = (int) (queueCapacity * HIGH_WATER_RATIO);
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.overloadSampleRate = Math.max(1, overloadSampleRate);
+        this.pollTimeout = pollTimeout;
+
+        this.enqueued = Counter.builder("post.views.enqueued")
+                .description("Post views accepted into the ingestion queue")
+                .register(meterRegistry);
+        this.written = Counter.builder("post.views.written")
+                .description("Post view rows inserted")
+                .register(meterRegistry);
+        this.droppedFull = droppedCounter(meterRegistry, "queue_full");
+        this.droppedSampled = droppedCounter(meterRegistry, "sampled");
+        this.droppedFailed = droppedCounter(meterRegistry, "write_failed");
+        Gauge.builder("post.views.queue.size", queue, BlockingQueue::size)
+                .description("Post views waiting to be written")
+                .register(meterRegistry);
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("post.views.dropped")
+                .description("Post view rows not written")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "post-view-writer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::drainLoop);
+        }
+    }
+
+    /**
+     * Stop accepting work and let the workers drain what is already queued
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Post view writers did not drain in time, {} views lost", queue.size());
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Record a view from the request thread; never blocks.
+     * Returns false when the detail row was dropped (the view still counts).
+     */
+    public boolean submit(TrackPostViewRequest request) {
+        counterBuffer.recordView(request.getPostId());
+
+        if (queue.size() >= highWaterMark
+                && ThreadLocalRandom.current().nextInt(overloadSampleRate) != 0) {
+            droppedSampled.increment();
+            return false;
+        }
+        if (!queue.offer(new PendingView(request, LocalDateTime.now()))) {
+            droppedFull.increment();
+            return false;
+        }
+        enqueued.increment();
+        return true;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    // Workers
+
+    private void drainLoop() {
+        List<PendingView> pending = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingView first = queue.poll(pollTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                pending.add(first);
+                queue.drainTo(pending, batchSize - 1);
+                List<PostViewRecord> views = parse(pending);
+                write(views);
+                publish(views);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                droppedFailed.increment(pending.size());
+                log.error("Failed to write batch of {} post views", pending.size(), e);
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+
+    private List<PostViewRecord> parse(List<PendingView> pending) {
+        List<PostViewRecord> views = new ArrayList<>(pending.size());
+        for (PendingView p : pending) {
+            TrackPostViewRequest r = p.request();
+            UserAgentParser.UserAgentInfo ua = UserAgentParser.parse(r.getUserAgent());
+            views.add(new PostViewRecord(
+                    r.getPostId(),
+                    r.getUserId(),
+                    truncate(r.getIpAddress(), 45),
+                    r.getUserAgent(),
+                    truncate(r.getReferrer(), 255),
+                    ua.deviceType(),
+                    ua.browser(),
+                    ua.os(),
+                    truncate(r.getCountry(), 2),
+                    truncate(r.getCity(), 100),
+                    truncate(r.getSessionId(), 255),
+                    r.getTimeSpentSeconds(),
+                    r.getScrollDepthPercentage(),
+                    p.viewedAt()));
+        }
+        return views;
+    }
+
+    private void write(List<PostViewRecord> views) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, views, batchSize, (ps, v) -> {
+            ps.setLong(1, v.postId());
+            ps.setObject(2, v.userId(), Types.BIGINT);
+            ps.setString(3, v.ipAddress());
+            ps.setString(4, v.userAgent());
+            ps.setString(5, v.referrer());
+            ps.setString(6, v.deviceType());
+            ps.setString(7, v.browser());
+            ps.setString(8, v.os());
+            ps.setString(9, v.country());
+            ps.setString(10, v.city());
+            ps.setString(11, v.sessionId());
+            ps.setObject(12, v.timeSpentSeconds(), Types.INTEGER);
+            ps.setObject(13, v.scrollDepthPercentage(), Types.INTEGER);
+            ps.setTimestamp(14, Timestamp.valueOf(v.viewedAt()));
+            ps.setTimestamp(15, now);
+        });
+        written.increment(views.size());
+    }
+
+    /**
+     * Feed derived structures; a failure here must not count the rows as lost
+     */
+    private void publish(List<PostViewRecord> views) {
+        try {
+            rollupService.record(views);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record rollups for {} post views", views.size(), e);
+        }
+        try {
+            uniqueViewCounter.record(views);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record unique viewers for {} post views", views.size(), e);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
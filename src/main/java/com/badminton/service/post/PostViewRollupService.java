@@ -0,0 +1,297 @@
+package com.badminton.service.post;
+
+import com.badminton.dto.projection.PostViewRecord;
+import com.badminton.enums.PostViewDimension;
+import com.badminton.enums.RollupGranularity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incremental writer for post_view_rollups.
+ * Every ingested view adds to an hourly and a daily bucket for TOTAL and for
+ * each dimension it carries; deltas are coalesced in memory and flushed as one
+ * batched INSERT ... ON DUPLICATE KEY UPDATE on uk_rollup. backfill() rebuilds
+ * a date range from raw post_views, and pruneRawViews() deletes raw rows past
+ * post.views.raw-retention once they only matter through the rollups.
+ * Hourly rollups are pruned past post.views.hourly-rollup-retention; daily ones are kept.
+ */
+@Slf4j
+@Service
+public class PostViewRollupService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PRUNE_CHUNK_SIZE = 10_000;
+
+    private static final List<PostViewDimension> BREAKDOWNS = Arrays.stream(PostViewDimension.values())
+            .filter(PostViewDimension::isBreakdown)
+            .toList();
+
+    private static final String UPSERT_SQL = "INSERT INTO post_view_rollups (" +
+            "post_id, granularity, bucket_start, dimension, dimension_value, view_count, " +
+            "time_spent_sum, time_spent_count, scroll_depth_sum, scroll_depth_count, created_at, updated_at, version" +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "view_count = view_count + VALUES(view_count), " +
+            "time_spent_sum = time_spent_sum + VALUES(time_spent_sum), " +
+            "time_spent_count = time_spent_count + VALUES(time_spent_count), " +
+            "scroll_depth_sum = scroll_depth_sum + VALUES(scroll_depth_sum), " +
+            "scroll_depth_count = scroll_depth_count + VALUES(scroll_depth_count), " +
+            "updated_at = VALUES(updated_at), " +
+            "version = version + 1";
+
+    private static final String BACKFILL_DELETE_SQL =
+            "DELETE FROM post_view_rollups WHERE bucket_start >= ? AND bucket_start < ?";
+
+    private static final String BACKFILL_INSERT_SQL = "INSERT INTO post_view_rollups (" +
+            "post_id, granularity, bucket_start, dimension, dimension_value, view_count, " +
+            "time_spent_sum, time_spent_count, scroll_depth_sum, scroll_depth_count, created_at, updated_at, version) " +
+            "SELECT post_id, '%1$s', %2$s, '%3$s', %4$s, COUNT(*), " +
+            "COALESCE(SUM(time_spent_seconds), 0), COUNT(time_spent_seconds), " +
+            "COALESCE(SUM(scroll_depth_percentage), 0), COUNT(scroll_depth_percentage), NOW(), NOW(), 0 " +
+            "FROM post_views WHERE created_at >= ? AND created_at < ?%5$s " +
+            "GROUP BY post_id, %2$s, %4$s";
+
+    private static final String PRUNE_SQL = "DELETE FROM post_views WHERE created_at < ? LIMIT ?";
+
+    private static final String PRUNE_HOURLY_SQL =
+            "DELETE FROM post_view_rollups WHERE granularity = 'HOUR' AND bucket_start < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration rawRetention;
+    private final Duration hourlyRetention;
+
+    private final Map<RollupKey, RollupDelta> pending = new ConcurrentHashMap<>();
+
+    public PostViewRollupService(JdbcTemplate jdbcTemplate,
+            @Value("${post.views.raw-retention:P90D}") Duration rawRetention,
+            @Value("${post.views.hourly-rollup-retention:P30D}") Duration hourlyRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rawRetention = rawRetention;
+        this.hourlyRetention = hourlyRetention;
+    }
+
+    private record RollupKey(Long postId, RollupGranularity granularity, LocalDateTime bucketStart,
+            PostViewDimension dimension, String dimensionValue) {
+    }
+
+    /**
+     * Mutable delta, only touched inside ConcurrentHashMap.compute
+     */
+    private static final class RollupDelta {
+        long views;
+        long timeSpentSum;
+        long timeSpentCount;
+        long scrollDepthSum;
+        long scrollDepthCount;
+
+        void add(PostViewRecord v) {
+            views++;
+            if (v.timeSpentSeconds() != null) {
+                timeSpentSum += v.timeSpentSeconds();
+                timeSpentCount++;
+            }
+            if (v.scrollDepthPercentage() != null) {
+                scrollDepthSum += v.scrollDepthPercentage();
+                scrollDepthCount++;
+            }
+        }
+
+        RollupDelta merge(RollupDelta other) {
+            views += other.views;
+            timeSpentSum += other.timeSpentSum;
+            timeSpentCount += other.timeSpentCount;
+            scrollDepthSum += other.scrollDepthSum;
+            scrollDepthCount += other.scrollDepthCount;
+            return this;
+        }
+    }
+
+    // Recording
+
+    /**
+     * Add a batch of ingested views to the pending buckets
+     */
+    public void record(List<PostViewRecord> views) {
+        for (PostViewRecord v : views) {
+            LocalDateTime hour = v.viewedAt().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = v.viewedAt().truncatedTo(ChronoUnit.DAYS);
+            for (PostViewDimension dimension : BREAKDOWNS) {
+                String value = dimensionValue(v, dimension);
+                if (value == null || value.isEmpty() && dimension != PostViewDimension.TOTAL) {
+                    continue;
+                }
+                add(new RollupKey(v.postId(), RollupGranularity.HOUR, hour, dimension, value), v);
+                add(new RollupKey(v.postId(), RollupGranularity.DAY, day, dimension, value), v);
+            }
+        }
+    }
+
+    private void add(RollupKey key, PostViewRecord view) {
+        pending.compute(key, (k, delta) -> {
+            RollupDelta d = delta != null ? delta : new RollupDelta();
+            d.add(view);
+            return d;
+        });
+    }
+
+    private static String dimensionValue(PostViewRecord v, PostViewDimension dimension) {
+        return switch (dimension) {
+            case TOTAL -> "";
+            case DEVICE -> v.deviceType();
+            case BROWSER -> v.browser();
+            case OS -> v.os();
+            case COUNTRY -> v.country();
+            case CITY -> v.city();
+            case REFERRER -> v.referrer();
+            default -> throw new IllegalArgumentException("Not a rollup dimension: " + dimension);
+        };
+    }
+
+    // Flushing
+
+    /**
+     * Write all coalesced deltas in one batch
+     */
+    @Scheduled(fixedDelayString = "${post.views.rollup-flush-interval:PT10S}")
+    @PreDestroy
+    public int flush() {
+        List<Map.Entry<RollupKey, RollupDelta>> drained = new ArrayList<>(pending.size());
+        for (RollupKey key : pending.keySet()) {
+            RollupDelta delta = pending.remove(key);
+            if (delta != null) {
+                drained.add(Map.entry(key, delta));
+            }
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, drained, BATCH_SIZE, (ps, entry) -> {
+                RollupKey k = entry.getKey();
+                RollupDelta d = entry.getValue();
+                ps.setLong(1, k.postId());
+                ps.setString(2, k.granularity().name());
+                ps.setTimestamp(3, Timestamp.valueOf(k.bucketStart()));
+                ps.setString(4, k.dimension().name());
+                ps.setString(5, k.dimensionValue());
+                ps.setLong(6, d.views);
+                ps.setLong(7, d.timeSpentSum);
+                ps.setLong(8, d.timeSpentCount);
+                ps.setLong(9, d.scrollDepthSum);
+                ps.setLong(10, d.scrollDepthCount);
+                ps.setTimestamp(11, now);
+                ps.setTimestamp(12, now);
+            });
+        } catch (RuntimeException e) {
+            // put the deltas back so the next flush retries them
+            drained.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), RollupDelta::merge));
+            log.error("Failed to flush {} post view rollup deltas", drained.size(), e);
+            return 0;
+        }
+        return drained.size();
+    }
+
+    // Backfill & retention
+
+    /**
+     * Rebuild rollups for [startDate, endDate] from raw post_views.
+     * Pending deltas are flushed first; run it off-peak, views ingested for the
+     * range while it runs may be counted twice. Days already pruned from
+     * post_views must not be backfilled.
+     */
+    @Transactional
+    public int backfill(LocalDate startDate, LocalDate endDate) {
+        flush();
+        Timestamp from = Timestamp.valueOf(startDate.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(endDate.plusDays(1).atStartOfDay());
+
+        jdbcTemplate.update(BACKFILL_DELETE_SQL, from, to);
+        int rows = 0;
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            for (PostViewDimension dimension : BREAKDOWNS) {
+                rows += jdbcTemplate.update(backfillSql(granularity, dimension), from, to);
+            }
+        }
+        log.info("Backfilled post view rollups {} - {}: {} rows", startDate, endDate, rows);
+        return rows;
+    }
+
+    private static String backfillSql(RollupGranularity granularity, PostViewDimension dimension) {
+        String bucket = granularity == RollupGranularity.HOUR
+                ? "DATE_FORMAT(created_at, '%Y-%m-%d %H:00:00')"
+                : "DATE(created_at)";
+        String column = switch (dimension) {
+            case TOTAL -> null;
+            case DEVICE -> "device_type";
+            case BROWSER -> "browser";
+            case OS -> "os";
+            case COUNTRY -> "country";
+            case CITY -> "city";
+            case REFERRER -> "referrer";
+            default -> throw new IllegalArgumentException("Not a rollup dimension: " + dimension);
+        };
+        String value = column != null ? column : "''";
+        String filter = column != null ? " AND " + column + " IS NOT NULL AND " + column + " <> ''" : "";
+        return String.format(BACKFILL_INSERT_SQL, granularity.name(), bucket, dimension.name(), value, filter);
+    }
+
+    /**
+     * Delete raw views older than post.views.raw-retention in bounded chunks.
+     * Rollups and HyperLogLog sketches keep serving analytics for that period;
+     * only exact audits (PostUniqueViewCounter.countExact) lose the pruned rows.
+     */
+    @Scheduled(cron = "${post.views.prune-cron:0 30 3 * * *}")
+    public int pruneRawViews() {
+        flush();
+        Timestamp cutoff = Timestamp.valueOf(LocalDate.now().minusDays(rawRetention.toDays()).atStartOfDay());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PRUNE_SQL, cutoff, PRUNE_CHUNK_SIZE);
+            total += deleted;
+        } while (deleted == PRUNE_CHUNK_SIZE);
+
+        if (total > 0) {
+            log.info("Pruned {} post views older than {}", total, cutoff);
+        }
+        return total;
+    }
+
+    /**
+     * Delete hourly rollups older than post.views.hourly-rollup-retention in
+     * bounded chunks; daily rollups are kept and serve older ranges
+     */
+    @Scheduled(cron = "${post.views.prune-cron:0 30 3 * * *}")
+    public int pruneHourlyRollups() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDate.now().minusDays(hourlyRetention.toDays()).atStartOfDay());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PRUNE_HOURLY_SQL, cutoff, PRUNE_CHUNK_SIZE);
+            total += deleted;
+        } while (deleted == PRUNE_CHUNK_SIZE);
+
+        if (total > 0) {
+            log.info("Pruned {} hourly post view rollups older than {}", total, cutoff);
+        }
+        return total;
+    }
+}
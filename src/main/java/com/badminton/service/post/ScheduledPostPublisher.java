@@ -0,0 +1,69 @@
+package com.badminton.service.post;
+
+import com.badminton.entity.post.Post;
+import com.badminton.enums.PostStatus;
+import com.badminton.repository.post.PostRepository;
+import com.badminton.service.scheduling.DelayedTaskHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes SCHEDULED posts at their scheduledAt.
+ * Tasks are queued by ScheduledTaskListener whenever a scheduled post is saved.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduledPostPublisher implements DelayedTaskHandler {
+
+    public static final String TASK_TYPE = "post.publish";
+
+    private final PostRepository postRepository;
+    private final PostTrendingService postTrendingService;
+
+    @Override
+    public String type() {
+        return TASK_TYPE;
+    }
+
+    @Override
+    @Transactional
+    public void execute(Long postId) {
+        Post post = postRepository.findById(postId).orElse(null);
+        // Unscheduled, deleted or moved to a later time since the task was queued
+        if (post == null || post.getStatus() != PostStatus.SCHEDULED || post.getScheduledAt() == null
+                || post.getScheduledAt().isAfter(LocalDateTime.now())) {
+            return;
+        }
+
+        post.publish(post.getAuthor());
+        log.info("Published scheduled post {}", postId);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                postTrendingService.onPostPublished(post);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, LocalDateTime> loadPending() {
+        List<Object[]> rows = postRepository.findScheduledPublishTimes();
+        Map<Long, LocalDateTime> pending = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            pending.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,28 @@
+package com.badminton.service.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Work that DelayedTaskScheduler runs for an entity at a given time.
+ * Tasks are not cancelled when the entity changes; execute() must re-check
+ * the entity and do nothing (or reschedule) when the task no longer applies.
+ */
+public interface DelayedTaskHandler {
+
+    /**
+     * Task type, unique across handlers (e.g. "post.publish")
+     */
+    String type();
+
+    /**
+     * Run the task for one entity; called on one node at a time, but run again
+     * when that node dies or stalls past its lease, so it must be idempotent
+     */
+    void execute(Long id);
+
+    /**
+     * Due times of all pending tasks, read from the database at startup
+     */
+    Map<Long, LocalDateTime> loadPending();
+}
@@ -0,0 +1,152 @@
+package com.badminton.service.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cluster-wide delay queue on a Redis sorted set (member "type:id", score = due
+ * epoch millis). Every node polls only the due head of the set, so nothing is
+ * scanned in MySQL except once per handler at startup. Due tasks are claimed
+ * by a script that moves them to an in-flight set scored by lease expiry, so
+ * each is handed to one node; the entry is removed once the task has run, and
+ * a task whose lease runs out (the node died mid-task) is queued again.
+ * Rescheduling is a ZADD that overwrites the previous due time.
+ */
+@Slf4j
+@Service
+public class DelayedTaskScheduler {
+
+    private static final String QUEUE_KEY = "scheduler:delayed";
+    private static final String IN_FLIGHT_KEY = "scheduler:delayed:in-flight";
+    private static final List<String> KEYS = List.of(QUEUE_KEY, IN_FLIGHT_KEY);
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> CLAIM_SCRIPT = claimScript();
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, DelayedTaskHandler> handlers = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final Duration lease;
+
+    public DelayedTaskScheduler(StringRedisTemplate redisTemplate,
+            List<DelayedTaskHandler> handlers,
+            MeterRegistry meterRegistry,
+            @Value("${scheduler.delayed.batch-size:100}") int batchSize,
+            @Value("${scheduler.delayed.retry-delay:PT30S}") Duration retryDelay,
+            @Value("${scheduler.delayed.lease:PT5M}") Duration lease) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        this.lease = lease;
+        for (DelayedTaskHandler handler : handlers) {
+            if (this.handlers.put(handler.type(), handler) != null) {
+                throw new IllegalStateException("Duplicate delayed task type: " + handler.type());
+            }
+        }
+    }
+
+    /**
+     * Schedule (or move) the task of the given type for an entity
+     */
+    public void schedule(String type, Long id, LocalDateTime dueAt) {
+        redisTemplate.opsForZSet().add(QUEUE_KEY, member(type, id), toMillis(dueAt));
+    }
+
+    public void cancel(String type, Long id) {
+        redisTemplate.opsForZSet().remove(QUEUE_KEY, member(type, id));
+    }
+
+    /**
+     * Load pending tasks from the database. Idempotent, so every node may run it;
+     * it also recovers tasks lost with the Redis data.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPending() {
+        for (DelayedTaskHandler handler : handlers.values()) {
+            Map<Long, LocalDateTime> pending = handler.loadPending();
+            if (pending.isEmpty()) {
+                continue;
+            }
+            Set<TypedTuple<String>> tuples = new HashSet<>(pending.size() * 2);
+            pending.forEach((id, dueAt) ->
+                    tuples.add(TypedTuple.of(member(handler.type(), id), (double) toMillis(dueAt))));
+            redisTemplate.opsForZSet().add(QUEUE_KEY, tuples);
+            log.info("Loaded {} pending {} tasks", pending.size(), handler.type());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.delayed.poll-interval:PT0.5S}")
+    public void dispatchDue() {
+        @SuppressWarnings("unchecked")
+        List<String> claimed = redisTemplate.execute(CLAIM_SCRIPT, KEYS,
+                String.valueOf(System.currentTimeMillis()), String.valueOf(lease.toMillis()),
+                String.valueOf(batchSize));
+        if (claimed == null) {
+            return;
+        }
+        for (String member : claimed) {
+            run(member);
+        }
+    }
+
+    private void run(String member) {
+        int separator = member.lastIndexOf(':');
+        String type = member.substring(0, separator);
+        DelayedTaskHandler handler = handlers.get(type);
+        if (handler == null) {
+            log.warn("No handler for delayed task {}", member);
+            redisTemplate.opsForZSet().remove(IN_FLIGHT_KEY, member);
+            return;
+        }
+        Long id = Long.valueOf(member.substring(separator + 1));
+        try {
+            handler.execute(id);
+            meterRegistry.counter("scheduler.delayed.executed", "type", type).increment();
+        } catch (Exception e) {
+            log.error("Delayed task {} failed, retrying in {}", member, retryDelay, e);
+            meterRegistry.counter("scheduler.delayed.failed", "type", type).increment();
+            // Keeps a due time set by a reschedule made meanwhile
+            redisTemplate.opsForZSet().addIfAbsent(QUEUE_KEY, member,
+                    System.currentTimeMillis() + retryDelay.toMillis());
+        }
+        // Done (or queued for retry): end the lease
+        redisTemplate.opsForZSet().remove(IN_FLIGHT_KEY, member);
+    }
+
+    private static String member(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static DefaultRedisScript<List> claimScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/delayed-task-claim.lua"));
+        script.setResultType(List.class);
+        return script;
+    }
+}
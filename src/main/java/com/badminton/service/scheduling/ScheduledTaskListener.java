@@ -0,0 +1,58 @@
+package com.badminton.service.scheduling;
+
+import com.badminton.entity.post.Post;
+import com.badminton.entity.tournament.Tournament;
+import com.badminton.enums.PostStatus;
+import com.badminton.enums.TournamentStatus;
+import com.badminton.service.post.ScheduledPostPublisher;
+import com.badminton.service.tournament.TournamentRegistrationCloser;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that queues delayed tasks when a schedule is saved. Stale tasks
+ * (post unscheduled, registration closed early) are left in the queue; their
+ * handlers skip entities whose state no longer matches.
+ */
+@Component
+public class ScheduledTaskListener {
+
+    private final DelayedTaskScheduler scheduler;
+
+    public ScheduledTaskListener(@Lazy DelayedTaskScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        if (entity instanceof Post post) {
+            if (post.getStatus() == PostStatus.SCHEDULED && post.getScheduledAt() != null) {
+                afterCommit(() -> scheduler.schedule(ScheduledPostPublisher.TASK_TYPE, post.getId(),
+                        post.getScheduledAt()));
+            }
+        } else if (entity instanceof Tournament tournament) {
+            if (tournament.getStatus() == TournamentStatus.OPEN && tournament.getRegistrationEnd() != null) {
+                afterCommit(() -> scheduler.schedule(TournamentRegistrationCloser.TASK_TYPE, tournament.getId(),
+                        TournamentRegistrationCloser.closesAt(tournament)));
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.badminton.service.search;
+
+import com.badminton.enums.CommentStatus;
+import com.badminton.enums.PostStatus;
+import com.badminton.enums.SearchDocumentType;
+import com.badminton.util.BookingUtils;
+import com.badminton.util.InvertedIndex.Field;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Indexable view of a row, one field layout per type.
+ * Restricted documents (unpublished posts, unapproved comments) only show up
+ * in admin searches.
+ */
+public record SearchDocument(SearchDocumentType type, long id, List<Field> fields, boolean restricted) {
+
+    static SearchDocument post(long id, String title, String excerpt, String content, String keywords, String status) {
+        return new SearchDocument(SearchDocumentType.POST, id, List.of(
+                Field.text(title, 3f),
+                Field.text(keywords, 2f),
+                Field.text(excerpt, 1.5f),
+                Field.html(content, 1f)),
+                !PostStatus.PUBLISHED.name().equals(status));
+    }
+
+    static SearchDocument product(long id, String name, String description, String sku) {
+        return new SearchDocument(SearchDocumentType.PRODUCT, id, List.of(
+                Field.text(name, 3f),
+                Field.identifier(sku, 2f),
+                Field.html(description, 1f)),
+                false);
+    }
+
+    static SearchDocument tournament(long id, String name, String code, String description) {
+        return new SearchDocument(SearchDocumentType.TOURNAMENT, id, List.of(
+                Field.text(name, 3f),
+                Field.identifier(code, 2f),
+                Field.html(description, 1f)),
+                false);
+    }
+
+    static SearchDocument booking(long id, LocalDate date, String customerName, String phone, String email) {
+        return new SearchDocument(SearchDocumentType.BOOKING, id, List.of(
+                Field.identifier(date != null ? BookingUtils.generateReference(id, date) : null, 3f),
+                Field.text(customerName, 2f),
+                Field.identifier(phone, 2f),
+                Field.identifier(email, 1f)),
+                false);
+    }
+
+    static SearchDocument comment(long id, String content, String status) {
+        return new SearchDocument(SearchDocumentType.COMMENT, id, List.of(
+                Field.html(content, 1f)),
+                !CommentStatus.APPROVED.name().equals(status));
+    }
+}
@@ -0,0 +1,356 @@
+package com.badminton.service.search;
+
+import com.badminton.entity.base.BaseEntity;
+import com.badminton.entity.booking.Booking;
+import com.badminton.entity.post.Post;
+import com.badminton.entity.post.PostComment;
+import com.badminton.entity.product.Product;
+import com.badminton.entity.tournament.Tournament;
+import com.badminton.enums.SearchDocumentType;
+import com.badminton.event.search.SearchDocumentsChangedEvent;
+import com.badminton.repository.booking.BookingRepository;
+import com.badminton.repository.post.PostCommentRepository;
+import com.badminton.repository.post.PostRepository;
+import com.badminton.repository.product.ProductRepository;
+import com.badminton.repository.tournament.TournamentRepository;
+import com.badminton.util.InvertedIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Full-text search over posts, products, tournaments, bookings and comments.
+ * One in-memory InvertedIndex per type, rebuilt from MySQL (streamed, no entity
+ * hydration) at startup, nightly and on demand. Writes announce the changed
+ * rows with SearchDocumentsChangedEvent (a domain event of the searchable
+ * entities, published explicitly after JDBC and bulk writes); after commit the
+ * ids are broadcast over Redis pub/sub and every instance re-reads those rows,
+ * so all indexes follow writes made anywhere. Queries are folded like slugs,
+ * so "cau long" matches "Cầu lông". Searches return ids ranked by BM25 and
+ * entities are then loaded by primary key in one query.
+ */
+@Slf4j
+@Service
+public class SearchIndexService {
+
+    private static final String CHANGES_CHANNEL = "search:index:changes";
+    private static final int REINDEX_CHUNK_SIZE = 500;
+
+    private static final Map<SearchDocumentType, String> SELECT_SQL = new EnumMap<>(Map.of(
+            SearchDocumentType.POST,
+            "SELECT id, title, excerpt, content, meta_keywords, status FROM posts",
+            SearchDocumentType.PRODUCT,
+            "SELECT id, name, description, sku FROM products",
+            SearchDocumentType.TOURNAMENT,
+            "SELECT id, name, tournament_code, description FROM tournaments",
+            SearchDocumentType.BOOKING,
+            "SELECT id, date, customer_name, customer_phone, customer_email FROM bookings",
+            SearchDocumentType.COMMENT,
+            "SELECT id, content, status FROM post_comments"));
+
+    // Soft-deleted rows are not indexed
+    private static final Map<SearchDocumentType, String> LIVE_FILTER = new EnumMap<>(Map.of(
+            SearchDocumentType.POST, "deleted_at IS NULL",
+            SearchDocumentType.PRODUCT, "deleted_at IS NULL",
+            SearchDocumentType.TOURNAMENT, "deleted_at IS NULL",
+            SearchDocumentType.COMMENT, "deleted_at IS NULL"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final PostRepository postRepository;
+    private final ProductRepository productRepository;
+    private final TournamentRepository tournamentRepository;
+    private final BookingRepository bookingRepository;
+    private final PostCommentRepository postCommentRepository;
+    private final Counter prefixTruncations;
+
+    private final Map<SearchDocumentType, InvertedIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<SearchDocumentType, List<Change>> rebuildBacklog = new EnumMap<>(SearchDocumentType.class);
+    private final Object writeLock = new Object();
+
+    /**
+     * Pending write; document null means removal
+     */
+    private record Change(SearchDocumentType type, long id, SearchDocument document) {
+    }
+
+    public SearchIndexService(DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            PostRepository postRepository,
+            ProductRepository productRepository,
+            TournamentRepository tournamentRepository,
+            BookingRepository bookingRepository,
+            PostCommentRepository postCommentRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        // MySQL Connector/J only streams rows with this fetch size
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.postRepository = postRepository;
+        this.productRepository = productRepository;
+        this.tournamentRepository = tournamentRepository;
+        this.bookingRepository = bookingRepository;
+        this.postCommentRepository = postCommentRepository;
+        this.prefixTruncations = Counter.builder("search.prefix.truncated")
+                .description("Searches whose last word matched more terms than are expanded")
+                .register(meterRegistry);
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            indexes.put(type, new InvertedIndex());
+        }
+    }
+
+    /**
+     * Subscribe once constructed: the listener calls back into this service
+     */
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener((message, pattern) -> onBroadcast(message), new ChannelTopic(CHANGES_CHANNEL));
+    }
+
+    // Incremental updates
+
+    public void index(SearchDocument document) {
+        apply(new Change(document.type(), document.id(), document));
+    }
+
+    public void remove(SearchDocumentType type, long id) {
+        apply(new Change(type, id, null));
+    }
+
+    /**
+     * Broadcast committed changes to every instance, this one included
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentsChanged(SearchDocumentsChangedEvent event) {
+        if (event.ids().isEmpty()) {
+            return;
+        }
+        StringJoiner message = new StringJoiner(",", event.type().name() + ":", "");
+        event.ids().forEach(id -> message.add(String.valueOf(id)));
+        try {
+            redisTemplate.convertAndSend(CHANGES_CHANNEL, message.toString());
+        } catch (RuntimeException e) {
+            // other instances catch up at the next rebuild
+            log.warn("Failed to broadcast {} search changes, applying them locally: {}", event.type(), e.getMessage());
+            reindex(event.type(), event.ids());
+        }
+    }
+
+    private void onBroadcast(Message message) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            int separator = body.indexOf(':');
+            SearchDocumentType type = SearchDocumentType.valueOf(body.substring(0, separator));
+            List<Long> ids = Arrays.stream(body.substring(separator + 1).split(","))
+                    .map(Long::valueOf)
+                    .toList();
+            reindex(type, ids);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply search changes '{}': {}", body, e.getMessage());
+        }
+    }
+
+    /**
+     * Re-read rows from the database: live rows are (re)indexed, deleted ones removed
+     */
+    public void reindex(SearchDocumentType type, Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        String filter = LIVE_FILTER.get(type);
+        for (int from = 0; from < all.size(); from += REINDEX_CHUNK_SIZE) {
+            List<Long> chunk = all.subList(from, Math.min(from + REINDEX_CHUNK_SIZE, all.size()));
+            String sql = SELECT_SQL.get(type) + " WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")"
+                    + (filter != null ? " AND " + filter : "");
+            Set<Long> missing = new HashSet<>(chunk);
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                SearchDocument document = map(type, rs);
+                missing.remove(document.id());
+                index(document);
+            }, chunk.toArray());
+            missing.forEach(id -> remove(type, id));
+        }
+    }
+
+    private void apply(Change change) {
+        synchronized (writeLock) {
+            write(indexes.get(change.type()), change);
+            List<Change> backlog = rebuildBacklog.get(change.type());
+            if (backlog != null) {
+                backlog.add(change);
+            }
+        }
+    }
+
+    private static void write(InvertedIndex index, Change change) {
+        if (change.document() != null) {
+            index.put(change.id(), change.document().fields(), change.document().restricted());
+        } else {
+            index.remove(change.id());
+        }
+    }
+
+    // Search
+
+    /**
+     * Ranked ids of one type; restricted documents only when includeRestricted
+     */
+    public Page<Long> search(SearchDocumentType type, String keyword, Pageable pageable, boolean includeRestricted) {
+        InvertedIndex.Result result = indexes.get(type)
+                .search(keyword, includeRestricted, (int) pageable.getOffset(), pageable.getPageSize());
+        if (result.truncated()) {
+            prefixTruncations.increment();
+            log.debug("Last word of '{}' matched too many {} terms, only the most frequent were searched",
+                    keyword, type);
+        }
+        return new PageImpl<>(result.ids(), pageable, result.total());
+    }
+
+    public Page<Post> searchPublishedPosts(String keyword, Pageable pageable) {
+        return load(search(SearchDocumentType.POST, keyword, pageable, false), postRepository);
+    }
+
+    public Page<Post> searchAllPosts(String keyword, Pageable pageable) {
+        return load(search(SearchDocumentType.POST, keyword, pageable, true), postRepository);
+    }
+
+    public Page<Product> searchProducts(String keyword, Pageable pageable) {
+        return load(search(SearchDocumentType.PRODUCT, keyword, pageable, false), productRepository);
+    }
+
+    public Page<Tournament> searchTournaments(String keyword, Pageable pageable) {
+        return load(search(SearchDocumentType.TOURNAMENT, keyword, pageable, false), tournamentRepository);
+    }
+
+    public Page<Booking> searchBookings(String keyword, Pageable pageable) {
+        return load(search(SearchDocumentType.BOOKING, keyword, pageable, false), bookingRepository);
+    }
+
+    public Page<PostComment> searchComments(String keyword, Pageable pageable) {
+        return load(search(SearchDocumentType.COMMENT, keyword, pageable, false), postCommentRepository);
+    }
+
+    /**
+     * Fetch a page of ids in one query and keep the ranking order
+     */
+    private static <T extends BaseEntity> Page<T> load(Page<Long> ids, JpaRepository<T, Long> repository) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : repository.findAllById(ids.getContent())) {
+            byId.put(entity.getId(), entity);
+        }
+        List<T> ordered = ids.getContent().stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+
+    // Rebuild
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${search.index.rebuild-cron:0 0 4 * * *}")
+    public void rebuildAll() {
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            try {
+                rebuild(type);
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild {} search index, keeping the current one", type, e);
+            }
+        }
+    }
+
+    /**
+     * Build a fresh index from the database and swap it in; writes that arrive
+     * meanwhile go to the live index and are replayed onto the new one
+     */
+    public int rebuild(SearchDocumentType type) {
+        synchronized (writeLock) {
+            if (rebuildBacklog.containsKey(type)) {
+                throw new IllegalStateException("Đang tạo lại chỉ mục " + type.getVietnameseName());
+            }
+            rebuildBacklog.put(type, new ArrayList<>());
+        }
+
+        InvertedIndex fresh = new InvertedIndex();
+        try {
+            String filter = LIVE_FILTER.get(type);
+            String sql = SELECT_SQL.get(type) + (filter != null ? " WHERE " + filter : "");
+            streamingJdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                SearchDocument document = map(type, rs);
+                fresh.put(document.id(), document.fields(), document.restricted());
+            });
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                rebuildBacklog.remove(type);
+            }
+            throw e;
+        }
+
+        synchronized (writeLock) {
+            rebuildBacklog.remove(type).forEach(change -> write(fresh, change));
+            indexes.put(type, fresh);
+        }
+        log.info("Search index {} rebuilt with {} documents", type, fresh.size());
+        return fresh.size();
+    }
+
+    private static SearchDocument map(SearchDocumentType type, ResultSet rs) throws SQLException {
+        return switch (type) {
+            case POST -> SearchDocument.post(rs.getLong("id"), rs.getString("title"),
+                    rs.getString("excerpt"), rs.getString("content"),
+                    rs.getString("meta_keywords"), rs.getString("status"));
+            case PRODUCT -> SearchDocument.product(rs.getLong("id"), rs.getString("name"),
+                    rs.getString("description"), rs.getString("sku"));
+            case TOURNAMENT -> SearchDocument.tournament(rs.getLong("id"), rs.getString("name"),
+                    rs.getString("tournament_code"), rs.getString("description"));
+            case BOOKING -> {
+                Date date = rs.getDate("date");
+                yield SearchDocument.booking(rs.getLong("id"), date != null ? date.toLocalDate() : null,
+                        rs.getString("customer_name"), rs.getString("customer_phone"),
+                        rs.getString("customer_email"));
+            }
+            case COMMENT -> SearchDocument.comment(rs.getLong("id"), rs.getString("content"),
+                    rs.getString("status"));
+        };
+    }
+}
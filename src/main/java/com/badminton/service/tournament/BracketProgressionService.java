@@ -0,0 +1,250 @@
+package com.badminton.service.tournament;
+
+import com.badminton.enums.MatchStatus;
+import com.badminton.enums.RoundType;
+import com.badminton.event.tournament.MatchCompletedEvent;
+import com.badminton.util.BracketGraph;
+import com.badminton.util.BracketGraph.Change;
+import com.badminton.util.BracketGraph.Outcome;
+import com.badminton.util.StandingsTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves winners (and, in double elimination, losers) along the bracket when a
+ * match is completed or decided by walkover.
+ * Each tournament's bracket is loaded once into a BracketGraph; a result is
+ * propagated in memory, byes it causes included, and the changed matches are
+ * written in one batch inside the transaction that completed the match, with
+ * the round and tournament counters. A rollback drops the graph so it is
+ * reloaded from the database.
+ * Once the last group-stage match is decided, the knockout slots waiting for a
+ * placeholder ("A1") are filled from the final group standings in one batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BracketProgressionService {
+
+    private static final String BYE_REASON = "Miễn đấu do không có đối thủ";
+
+    private static final String LOAD_SQL =
+            "SELECT id, round_id, best_of_sets, status, is_walkover, participant1_id, participant2_id, " +
+            "participant1_source, participant2_source, winner_id, next_match_id, next_match_slot, " +
+            "loser_next_match_id, loser_next_match_slot FROM tournament_matches WHERE tournament_id = ?";
+
+    private static final String UPDATE_MATCH_SQL =
+            "UPDATE tournament_matches SET participant1_id = ?, participant2_id = ?, status = ?, winner_id = ?, " +
+            "is_walkover = ?, walkover_reason = ?, participant1_score = ?, participant2_score = ?, " +
+            "actual_end_time = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+
+    // Void matches count as decided so the round can still complete
+    private static final String UPDATE_ROUND_SQL =
+            "UPDATE tournament_rounds SET completed_matches = completed_matches + ?, " +
+            "is_completed = completed_matches >= total_matches WHERE id = ?";
+
+    private static final String UPDATE_TOURNAMENT_SQL =
+            "UPDATE tournaments SET completed_matches = completed_matches + ? WHERE id = ?";
+
+    // Serializes the seating of one tournament between the transactions of its last group matches
+    private static final String LOCK_TOURNAMENT_SQL =
+            "SELECT id FROM tournaments WHERE id = ? FOR UPDATE";
+
+    private static final String OPEN_GROUP_MATCHES_SQL =
+            "SELECT COUNT(*) FROM tournament_matches m JOIN tournament_rounds r ON r.id = m.round_id " +
+            "WHERE m.tournament_id = ? AND r.round_type = 'GROUP_STAGE' " +
+            "AND m.status NOT IN ('COMPLETED', 'WALKOVER', 'CANCELLED')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StandingsService standingsService;
+
+    private final Map<Long, BracketGraph> graphs = new ConcurrentHashMap<>();
+
+    /**
+     * Runs in the completing transaction (published by TournamentMatchRepository.save())
+     */
+    @EventListener
+    @Transactional
+    public void onMatchCompleted(MatchCompletedEvent event) {
+        Long tournamentId = event.tournamentId();
+        BracketGraph graph = graph(tournamentId);
+        if (!graph.contains(event.matchId())) {
+            // Match added after the graph was loaded
+            evict(tournamentId);
+            graph = graph(tournamentId);
+        }
+        Outcome outcome;
+        synchronized (graph) {
+            outcome = graph.complete(event.matchId(), event.winnerId(), event.getLoserId(), event.walkover());
+        }
+        dropOnRollback(tournamentId, graph);
+        persist(tournamentId, outcome);
+
+        if (!outcome.changes().isEmpty()) {
+            log.debug("Match {} propagated to {} matches, {} decided", event.matchId(),
+                    outcome.changes().size(), outcome.decided());
+        }
+    }
+
+    /**
+     * After the group match is committed, so the standings read include it and the
+     * two transactions of concurrent last group matches both see each other
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onGroupMatchCompleted(MatchCompletedEvent event) {
+        if (event.roundType() == RoundType.GROUP_STAGE) {
+            seatQualifiers(event.tournamentId());
+        }
+    }
+
+    /**
+     * Fill the knockout slots of a finished group stage from the final standings.
+     * Does nothing while a group match is still open; slots already filled are
+     * kept, so calling it again is harmless. Returns the number of matches changed.
+     */
+    @Transactional
+    public int seatQualifiers(Long tournamentId) {
+        jdbcTemplate.queryForObject(LOCK_TOURNAMENT_SQL, Long.class, tournamentId);
+        Integer open = jdbcTemplate.queryForObject(OPEN_GROUP_MATCHES_SQL, Integer.class, tournamentId);
+        if (open == null || open > 0) {
+            return 0;
+        }
+
+        Map<String, Long> qualifiers = new HashMap<>();
+        standingsService.computeStandings(tournamentId).forEach((group, rows) -> {
+            for (StandingsTable.Row row : rows) {
+                qualifiers.put(group + row.rank(), row.participantId());
+            }
+        });
+
+        // Reloaded under the lock: the cached graph may predate another node's writes
+        evict(tournamentId);
+        BracketGraph graph = graph(tournamentId);
+        Outcome outcome;
+        synchronized (graph) {
+            outcome = graph.seat(qualifiers);
+        }
+        dropOnRollback(tournamentId, graph);
+        persist(tournamentId, outcome);
+
+        if (!outcome.changes().isEmpty()) {
+            log.info("Seated group qualifiers of tournament {} into {} knockout matches, {} decided by bye",
+                    tournamentId, outcome.changes().size(), outcome.decided());
+        }
+        return outcome.changes().size();
+    }
+
+    /**
+     * Drop a tournament's graph, e.g. after its bracket was regenerated or edited by hand
+     */
+    public void evict(Long tournamentId) {
+        graphs.remove(tournamentId);
+    }
+
+    private BracketGraph graph(Long tournamentId) {
+        BracketGraph graph = graphs.get(tournamentId);
+        if (graph != null) {
+            return graph;
+        }
+        BracketGraph loaded = load(tournamentId);
+        BracketGraph existing = graphs.putIfAbsent(tournamentId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private BracketGraph load(Long tournamentId) {
+        BracketGraph graph = new BracketGraph();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            graph.addMatch(
+                    rs.getLong("id"),
+                    rs.getObject("round_id", Long.class),
+                    rs.getInt("best_of_sets"),
+                    MatchStatus.valueOf(rs.getString("status")),
+                    rs.getBoolean("is_walkover"),
+                    rs.getObject("participant1_id", Long.class),
+                    rs.getObject("participant2_id", Long.class),
+                    rs.getString("participant1_source"),
+                    rs.getString("participant2_source"),
+                    rs.getObject("winner_id", Long.class),
+                    rs.getObject("next_match_id", Long.class),
+                    rs.getObject("next_match_slot", Integer.class),
+                    rs.getObject("loser_next_match_id", Long.class),
+                    rs.getObject("loser_next_match_slot", Integer.class));
+        }, tournamentId);
+        graph.seal();
+        return graph;
+    }
+
+    private void dropOnRollback(Long tournamentId, BracketGraph graph) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    graphs.remove(tournamentId, graph);
+                }
+            }
+        });
+    }
+
+    private void persist(Long tournamentId, Outcome outcome) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (!outcome.changes().isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_MATCH_SQL, outcome.changes(), outcome.changes().size(), (ps, c) -> {
+                setLong(ps, 1, c.participant1Id());
+                setLong(ps, 2, c.participant2Id());
+                ps.setString(3, c.status().name());
+                setLong(ps, 4, c.winnerId());
+                ps.setBoolean(5, c.bye());
+                ps.setString(6, c.bye() ? BYE_REASON : null);
+                ps.setInt(7, c.participant1Score());
+                ps.setInt(8, c.participant2Score());
+                ps.setTimestamp(9, isDecided(c) ? now : null);
+                ps.setTimestamp(10, now);
+                ps.setLong(11, c.matchId());
+            });
+        }
+
+        List<Map.Entry<Long, Integer>> rounds = new ArrayList<>(outcome.decidedPerRound().entrySet());
+        if (!rounds.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ROUND_SQL, rounds, rounds.size(), (ps, e) -> {
+                ps.setInt(1, e.getValue());
+                ps.setLong(2, e.getKey());
+            });
+        }
+        jdbcTemplate.update(UPDATE_TOURNAMENT_SQL, outcome.decided(), tournamentId);
+    }
+
+    private static boolean isDecided(Change change) {
+        return change.status() == MatchStatus.COMPLETED || change.status() == MatchStatus.CANCELLED;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
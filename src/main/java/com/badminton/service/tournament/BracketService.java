@@ -0,0 +1,255 @@
+package com.badminton.service.tournament;
+
+import com.badminton.entity.tournament.Tournament;
+import com.badminton.entity.tournament.TournamentParticipant;
+import com.badminton.enums.ParticipantStatus;
+import com.badminton.repository.tournament.TournamentMatchRepository;
+import com.badminton.repository.tournament.TournamentParticipantRepository;
+import com.badminton.repository.tournament.TournamentRepository;
+import com.badminton.util.BracketBuilder;
+import com.badminton.util.BracketBuilder.MatchPlan;
+import com.badminton.util.BracketBuilder.Plan;
+import com.badminton.util.BracketBuilder.RoundPlan;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Generates and stores the bracket of a tournament.
+ * The whole structure is built in memory by BracketBuilder and written with
+ * JDBC batches: rounds in one batch, matches one batch per dependency level,
+ * deepest first (final before semi-finals). The ids generated for a level are
+ * known before the level feeding into it is inserted, so next_match_id and
+ * loser_next_match_id are written with the row and never patched afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BracketService {
+
+    private static final int DEFAULT_BEST_OF_SETS = 3;
+
+    private static final String INSERT_ROUND_SQL =
+            "INSERT INTO tournament_rounds (tournament_id, round_number, name, round_type, total_matches, " +
+            "completed_matches, is_completed, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, 0, false, ?, ?, 0)";
+
+    private static final String INSERT_MATCH_SQL =
+            "INSERT INTO tournament_matches (tournament_id, round_id, match_number, bracket_position, " +
+            "participant1_id, participant2_id, participant1_source, participant2_source, status, " +
+            "participant1_score, participant2_score, best_of_sets, is_walkover, is_live, " +
+            "next_match_id, next_match_slot, next_match_position, loser_next_match_id, loser_next_match_slot, " +
+            "created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'SCHEDULED', 0, 0, ?, false, false, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String UPDATE_GROUP_SQL =
+            "UPDATE tournament_participants SET group_name = ? WHERE id = ?";
+
+    private static final String UPDATE_TOTAL_MATCHES_SQL =
+            "UPDATE tournaments SET total_matches = ? WHERE id = ?";
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentParticipantRepository participantRepository;
+    private final TournamentMatchRepository matchRepository;
+    private final StandingsService standingsService;
+    private final BracketProgressionService progressionService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Generate the bracket for the tournament's format
+     */
+    @Transactional
+    public Plan generate(Long tournamentId) {
+        return generate(tournamentId, 1, 0);
+    }
+
+    /**
+     * Generate the bracket; for ROUND_ROBIN, groupCount > 1 plays round-robin groups
+     * followed by a knockout of the top advancePerGroup of each group
+     */
+    @Transactional
+    public Plan generate(Long tournamentId, int groupCount, int advancePerGroup) {
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new IllegalArgumentException("Không tìm thấy giải đấu"));
+        if (matchRepository.existsByTournamentId(tournamentId)) {
+            throw new IllegalStateException("Giải đấu đã có nhánh đấu");
+        }
+
+        List<Long> entrants = seededEntrants(tournamentId);
+        Plan plan = switch (tournament.getTournamentFormat()) {
+            case SINGLE_ELIMINATION, KNOCKOUT -> BracketBuilder.singleElimination(entrants);
+            case DOUBLE_ELIMINATION -> BracketBuilder.doubleElimination(entrants);
+            case ROUND_ROBIN -> groupCount > 1
+                    ? BracketBuilder.groupsThenKnockout(entrants, groupCount, advancePerGroup)
+                    : BracketBuilder.roundRobin(entrants);
+            // Pairings depend on earlier results; generated round by round elsewhere
+            case SWISS, LADDER -> throw new IllegalArgumentException(
+                    "Thể thức " + tournament.getTournamentFormat().getVietnameseName()
+                            + " chưa hỗ trợ tạo nhánh đấu tự động");
+        };
+
+        persist(tournamentId, plan);
+        // Groups were just assigned
+        standingsService.evict(tournamentId);
+        progressionService.evict(tournamentId);
+        log.info("Generated {} bracket for tournament {}: {} entrants, {} rounds, {} matches",
+                tournament.getTournamentFormat(), tournamentId, entrants.size(),
+                plan.rounds().size(), plan.matches().size());
+        return plan;
+    }
+
+    /**
+     * Confirmed entrants in seed order: seeded ones by seed number, the rest drawn at random
+     */
+    private List<Long> seededEntrants(Long tournamentId) {
+        List<Long> entrants = new ArrayList<>();
+        for (TournamentParticipant p : participantRepository.findSeededParticipants(tournamentId)) {
+            if (p.getStatus() == ParticipantStatus.CONFIRMED) {
+                entrants.add(p.getId());
+            }
+        }
+        List<Long> unseeded = new ArrayList<>();
+        for (TournamentParticipant p : participantRepository.findConfirmedParticipantsByTournament(tournamentId)) {
+            if (p.getSeedNumber() == null) {
+                unseeded.add(p.getId());
+            }
+        }
+        Collections.shuffle(unseeded);
+        entrants.addAll(unseeded);
+        return entrants;
+    }
+
+    // Persistence
+
+    private void persist(Long tournamentId, Plan plan) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[] roundSizes = new int[plan.rounds().size()];
+        for (MatchPlan m : plan.matches()) {
+            roundSizes[m.getRoundIndex()]++;
+        }
+        long[] roundIds = insertRounds(tournamentId, plan.rounds(), roundSizes, now);
+
+        // Deepest level first so every link target already has its id
+        Map<Integer, List<MatchPlan>> levels = new TreeMap<>(Collections.reverseOrder());
+        for (MatchPlan m : plan.matches()) {
+            levels.computeIfAbsent(m.getDepth(), d -> new ArrayList<>()).add(m);
+        }
+        long[] matchIds = new long[plan.matches().size()];
+        for (List<MatchPlan> level : levels.values()) {
+            insertMatches(tournamentId, level, roundIds, matchIds, now);
+        }
+
+        if (!plan.groups().isEmpty()) {
+            List<Map.Entry<Long, String>> groups = new ArrayList<>(plan.groups().entrySet());
+            jdbcTemplate.batchUpdate(UPDATE_GROUP_SQL, groups, groups.size(), (ps, e) -> {
+                ps.setString(1, e.getValue());
+                ps.setLong(2, e.getKey());
+            });
+        }
+        jdbcTemplate.update(UPDATE_TOTAL_MATCHES_SQL, plan.matches().size(), tournamentId);
+    }
+
+    private long[] insertRounds(Long tournamentId, List<RoundPlan> rounds, int[] roundSizes, Timestamp now) {
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_ROUND_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < rounds.size(); i++) {
+                    RoundPlan round = rounds.get(i);
+                    ps.setLong(1, tournamentId);
+                    ps.setInt(2, round.number());
+                    ps.setString(3, round.name());
+                    ps.setString(4, round.type().name());
+                    ps.setInt(5, roundSizes[i]);
+                    ps.setTimestamp(6, now);
+                    ps.setTimestamp(7, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                long[] ids = new long[rounds.size()];
+                readKeys(ps, ids, null);
+                return ids;
+            }
+        });
+    }
+
+    private void insertMatches(Long tournamentId, List<MatchPlan> level, long[] roundIds, long[] matchIds,
+            Timestamp now) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_MATCH_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (MatchPlan m : level) {
+                    ps.setLong(1, tournamentId);
+                    ps.setLong(2, roundIds[m.getRoundIndex()]);
+                    ps.setInt(3, m.getIndex() + 1);
+                    ps.setString(4, m.getBracketPosition());
+                    setLong(ps, 5, m.getParticipant1Id());
+                    setLong(ps, 6, m.getParticipant2Id());
+                    ps.setString(7, m.getParticipant1Source());
+                    ps.setString(8, m.getParticipant2Source());
+                    ps.setInt(9, DEFAULT_BEST_OF_SETS);
+                    boolean advances = m.getWinnerTo() >= 0;
+                    setLong(ps, 10, advances ? matchIds[m.getWinnerTo()] : null);
+                    setInt(ps, 11, advances ? m.getWinnerSlot() : null);
+                    ps.setString(12, advances ? "winner" : null);
+                    boolean drops = m.getLoserTo() >= 0;
+                    setLong(ps, 13, drops ? matchIds[m.getLoserTo()] : null);
+                    setInt(ps, 14, drops ? m.getLoserSlot() : null);
+                    ps.setTimestamp(15, now);
+                    ps.setTimestamp(16, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                readKeys(ps, matchIds, level);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Generated keys come back in batch order; level maps them to plan indexes (null: identity)
+     */
+    private static void readKeys(PreparedStatement ps, long[] ids, List<MatchPlan> level) throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            int i = 0;
+            while (keys.next()) {
+                ids[level == null ? i : level.get(i).getIndex()] = keys.getLong(1);
+                i++;
+            }
+            int expected = level == null ? ids.length : level.size();
+            if (i != expected) {
+                throw new IllegalStateException("Expected " + expected + " generated keys, got " + i);
+            }
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+}
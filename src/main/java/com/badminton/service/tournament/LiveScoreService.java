@@ -0,0 +1,511 @@
+package com.badminton.service.tournament;
+
+import com.badminton.dto.request.tournament.UpdateMatchScoreRequest;
+import com.badminton.dto.response.tournament.LiveScoreUpdate;
+import com.badminton.entity.tournament.MatchSet;
+import com.badminton.entity.tournament.TournamentMatch;
+import com.badminton.entity.user.User;
+import com.badminton.enums.MatchStatus;
+import com.badminton.repository.tournament.MatchSetRepository;
+import com.badminton.service.tournament.LiveScoreStore.SetRow;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live scoring of tournament matches.
+ * The score of every match in progress is kept in memory; a rally point only
+ * changes that state and is pushed to /topic/matches/{id}. MySQL is written
+ * when a set or the match ends and by the periodic snapshot of changed sets,
+ * which is also what a restarted node recovers from.
+ * The tournament topic gets at most one message per broadcast interval with
+ * the latest update of every changed match, so thousands of viewers of a
+ * tournament cost a handful of fan-outs per second rather than one per point.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveScoreService {
+
+    private static final int POINTS_TO_WIN = 21;
+    private static final int MAX_POINTS = 30;
+
+    // May score any match; anybody else only the matches they referee
+    private static final Set<String> SCORING_ROLES = Set.of("ROLE_ADMIN", "ROLE_MANAGER");
+
+    private final LiveScoreStore store;
+    private final MatchSetRepository setRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<Long, LiveMatch> liveMatches = new ConcurrentHashMap<>();
+
+    // tournamentId -> matchId -> latest update not yet broadcast on the tournament topic
+    private final Map<Long, Map<Long, LiveScoreUpdate>> pendingByTournament = new ConcurrentHashMap<>();
+
+    /**
+     * Start a scheduled match and begin its first set
+     */
+    public LiveScoreUpdate start(Long matchId) {
+        TournamentMatch match = store.startMatch(matchId);
+        LiveMatch live = new LiveMatch(match);
+        liveMatches.put(matchId, live);
+        LiveScoreUpdate update;
+        synchronized (live) {
+            update = live.snapshot();
+        }
+        publish(update);
+        return update;
+    }
+
+    /**
+     * Rally point for participant slot 1 or 2
+     */
+    public LiveScoreUpdate point(Long matchId, int slot) {
+        if (slot != 1 && slot != 2) {
+            throw new IllegalArgumentException("Vị trí vận động viên không hợp lệ");
+        }
+        LiveMatch live = getLive(matchId);
+        LiveScoreUpdate update;
+        synchronized (live) {
+            live.checkActive();
+            LiveMatch.Saved saved = live.save();
+            live.history.push(slot);
+            if (slot == 1) {
+                live.score1++;
+            } else {
+                live.score2++;
+            }
+            live.seq++;
+            live.dirty = true;
+            try {
+                update = isSetWon(live.score1, live.score2) ? finishSet(live) : live.delta();
+            } catch (RuntimeException e) {
+                // The set could not be stored: take the point back so a retry does not count it twice
+                live.restore(saved);
+                throw e;
+            }
+        }
+        publish(update);
+        return update;
+    }
+
+    /**
+     * Take back the last point of the current set
+     */
+    public LiveScoreUpdate undo(Long matchId) {
+        LiveMatch live = getLive(matchId);
+        LiveScoreUpdate update;
+        synchronized (live) {
+            live.checkActive();
+            if (live.history.isEmpty()) {
+                throw new IllegalStateException("Không có điểm để hoàn tác trong set hiện tại");
+            }
+            if (live.history.pop() == 1) {
+                live.score1--;
+            } else {
+                live.score2--;
+            }
+            live.seq++;
+            live.dirty = true;
+            update = live.delta();
+        }
+        publish(update);
+        return update;
+    }
+
+    /**
+     * Replace the whole score, e.g. a referee correction; isCompleted ends the match
+     */
+    public LiveScoreUpdate applyScores(UpdateMatchScoreRequest request) {
+        LiveMatch live = getLive(request.getMatchId());
+        LiveScoreUpdate update;
+        synchronized (live) {
+            live.checkActive();
+            List<UpdateMatchScoreRequest.SetScore> sets = new ArrayList<>(request.getSetScores());
+            sets.sort((a, b) -> Integer.compare(a.getSetNumber(), b.getSetNumber()));
+
+            List<int[]> finished = new ArrayList<>();
+            int sets1 = 0;
+            int sets2 = 0;
+            int[] current = {0, 0};
+            for (int i = 0; i < sets.size(); i++) {
+                UpdateMatchScoreRequest.SetScore set = sets.get(i);
+                if (set.getSetNumber() != i + 1) {
+                    throw new IllegalArgumentException("Số thứ tự set không liên tục");
+                }
+                int s1 = set.getParticipant1Score();
+                int s2 = set.getParticipant2Score();
+                if (isSetWon(s1, s2)) {
+                    finished.add(new int[]{s1, s2});
+                    if (s1 > s2) {
+                        sets1++;
+                    } else {
+                        sets2++;
+                    }
+                } else if (i == sets.size() - 1 && !isInvalidScore(s1, s2)) {
+                    current = new int[]{s1, s2};
+                } else {
+                    throw new IllegalArgumentException("Điểm set " + set.getSetNumber() + " không hợp lệ");
+                }
+                if (Math.max(sets1, sets2) > live.setsToWin() || (Math.max(sets1, sets2) == live.setsToWin()
+                        && i < sets.size() - 1)) {
+                    throw new IllegalArgumentException("Số set vượt quá thể thức trận đấu");
+                }
+            }
+
+            boolean decided = Math.max(sets1, sets2) == live.setsToWin();
+            if (Boolean.TRUE.equals(request.getIsCompleted()) && !decided) {
+                throw new IllegalArgumentException("Trận đấu chưa xác định được người thắng");
+            }
+
+            LiveMatch.Saved saved = live.save();
+            live.finishedSets.clear();
+            live.finishedSets.addAll(finished);
+            live.score1 = current[0];
+            live.score2 = current[1];
+            live.history.clear();
+            // Durations are unknown after a correction
+            live.setStartedAt = null;
+            live.seq++;
+            live.dirty = true;
+
+            try {
+                if (decided) {
+                    completeMatch(live);
+                } else {
+                    store.saveScore(live.rows(), sets1, sets2);
+                    live.dirty = false;
+                }
+            } catch (RuntimeException e) {
+                live.restore(saved);
+                throw e;
+            }
+            update = live.snapshot();
+        }
+        publish(update);
+        return update;
+    }
+
+    /**
+     * Reject a scoring message from anybody but an admin, a manager or the match's referee
+     */
+    public void checkScorer(Long matchId, Principal principal) {
+        if (!(principal instanceof Authentication authentication) || !authentication.isAuthenticated()) {
+            throw new AccessDeniedException("Bạn cần đăng nhập để cập nhật tỉ số");
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (SCORING_ROLES.contains(authority.getAuthority())) {
+                return;
+            }
+        }
+        Long userId = authentication.getPrincipal() instanceof User user ? user.getId() : null;
+        LiveMatch live = liveMatches.get(matchId);
+        Long refereeId;
+        if (live != null) {
+            refereeId = live.refereeId;
+        } else {
+            TournamentMatch match = store.findMatch(matchId);
+            refereeId = match.getReferee() != null ? match.getReferee().getId() : null;
+        }
+        if (userId == null || !userId.equals(refereeId)) {
+            throw new AccessDeniedException("Chỉ trọng tài của trận đấu mới được cập nhật tỉ số");
+        }
+    }
+
+    /**
+     * Full state of a match for a new subscriber
+     */
+    public LiveScoreUpdate snapshot(Long matchId) {
+        LiveMatch live = getLive(matchId);
+        synchronized (live) {
+            return live.snapshot();
+        }
+    }
+
+    /**
+     * Coalesced tournament topic: one message per tournament with every match changed since the last tick
+     */
+    @Scheduled(fixedDelayString = "${tournament.live.broadcast-interval:PT0.25S}")
+    public void broadcastTournaments() {
+        for (Map.Entry<Long, Map<Long, LiveScoreUpdate>> entry : pendingByTournament.entrySet()) {
+            Map<Long, LiveScoreUpdate> pending = entry.getValue();
+            List<LiveScoreUpdate> batch = new ArrayList<>(pending.size());
+            for (Map.Entry<Long, LiveScoreUpdate> e : pending.entrySet()) {
+                // Keeps an update that replaced this one meanwhile for the next tick
+                if (pending.remove(e.getKey(), e.getValue())) {
+                    batch.add(e.getValue());
+                }
+            }
+            if (!batch.isEmpty()) {
+                messagingTemplate.convertAndSend("/topic/tournaments/" + entry.getKey() + "/scores", batch);
+            }
+        }
+    }
+
+    /**
+     * Persist the current set of every match changed since the last snapshot, in one batch
+     */
+    @Scheduled(fixedDelayString = "${tournament.live.snapshot-interval:PT15S}")
+    public void snapshotSets() {
+        List<SetRow> rows = new ArrayList<>();
+        List<LiveMatch> snapshotted = new ArrayList<>();
+        for (LiveMatch live : liveMatches.values()) {
+            synchronized (live) {
+                if (live.dirty && !live.completed) {
+                    rows.add(live.currentRow());
+                    live.dirty = false;
+                    snapshotted.add(live);
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            store.saveSets(rows);
+        } catch (RuntimeException e) {
+            for (LiveMatch live : snapshotted) {
+                live.dirty = true;
+            }
+            log.error("Failed to snapshot {} live sets", rows.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotSets();
+    }
+
+    private LiveMatch getLive(Long matchId) {
+        LiveMatch live = liveMatches.get(matchId);
+        if (live != null) {
+            return live;
+        }
+        // Not started on this node since the last restart: recover from the last snapshot
+        TournamentMatch match = store.findMatch(matchId);
+        if (match.getStatus() != MatchStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Trận đấu không diễn ra");
+        }
+        LiveMatch recovered = new LiveMatch(match);
+        recovered.setStartedAt = null;
+        for (MatchSet set : setRepository.findSetsByMatchOrdered(matchId)) {
+            if (Boolean.TRUE.equals(set.getIsCompleted())) {
+                recovered.finishedSets.add(new int[]{set.getParticipant1Score(), set.getParticipant2Score()});
+            } else {
+                recovered.score1 = set.getParticipant1Score();
+                recovered.score2 = set.getParticipant2Score();
+            }
+        }
+        LiveMatch existing = liveMatches.putIfAbsent(matchId, recovered);
+        return existing != null ? existing : recovered;
+    }
+
+    private LiveScoreUpdate finishSet(LiveMatch live) {
+        live.finishedSets.add(new int[]{live.score1, live.score2});
+        live.score1 = 0;
+        live.score2 = 0;
+        live.history.clear();
+
+        int[] sets = live.setsWon();
+        if (Math.max(sets[0], sets[1]) == live.setsToWin()) {
+            completeMatch(live);
+        } else {
+            // The finished set and the new empty one
+            List<SetRow> rows = live.rows();
+            store.saveScore(rows.subList(rows.size() - 2, rows.size()), sets[0], sets[1]);
+            live.dirty = false;
+        }
+        live.setStartedAt = LocalDateTime.now();
+        return live.snapshot();
+    }
+
+    private void completeMatch(LiveMatch live) {
+        int[] sets = live.setsWon();
+        Long winnerId = sets[0] > sets[1] ? live.participant1Id : live.participant2Id;
+        List<SetRow> rows = live.rows();
+        // Only finished sets; the empty set started after the last one is dropped
+        store.completeMatch(rows.subList(0, live.finishedSets.size()), winnerId);
+        live.completed = true;
+        live.winnerId = winnerId;
+        live.dirty = false;
+        liveMatches.remove(live.matchId, live);
+        log.info("Match {} completed {}-{}, winner {}", live.matchId, sets[0], sets[1], winnerId);
+    }
+
+    private void publish(LiveScoreUpdate update) {
+        messagingTemplate.convertAndSend("/topic/matches/" + update.getMatchId(), update);
+        pendingByTournament.computeIfAbsent(update.getTournamentId(), id -> new ConcurrentHashMap<>())
+                .put(update.getMatchId(), update);
+    }
+
+    /**
+     * A set is won at 21 with a two-point lead, or at 30 (golden point)
+     */
+    private static boolean isSetWon(int s1, int s2) {
+        int high = Math.max(s1, s2);
+        int low = Math.min(s1, s2);
+        return high == MAX_POINTS && low == MAX_POINTS - 1
+                || high >= POINTS_TO_WIN && high - low >= 2 && (high == POINTS_TO_WIN || high - low == 2);
+    }
+
+    /**
+     * Score that can never occur in a set still in play
+     */
+    private static boolean isInvalidScore(int s1, int s2) {
+        int high = Math.max(s1, s2);
+        int low = Math.min(s1, s2);
+        return high >= MAX_POINTS || high > POINTS_TO_WIN && high - low > 2;
+    }
+
+    /**
+     * In-memory score of one match; guarded by its own monitor.
+     * A change that has to be stored is made on the state and taken back with
+     * restore() when the store fails, so memory never runs ahead of MySQL.
+     */
+    private static final class LiveMatch {
+
+        private final long matchId;
+        private final long tournamentId;
+        private final Long participant1Id;
+        private final Long participant2Id;
+        private final Long refereeId;
+        private final int bestOfSets;
+
+        private final List<int[]> finishedSets = new ArrayList<>();
+        // Slots of the points of the current set, most recent first
+        private final Deque<Integer> history = new ArrayDeque<>();
+        private int score1;
+        private int score2;
+        private LocalDateTime setStartedAt = LocalDateTime.now();
+
+        private long seq;
+        private boolean dirty;
+        private boolean completed;
+        private Long winnerId;
+
+        /**
+         * Score state before a change; finished sets are never modified in place
+         */
+        private record Saved(List<int[]> finishedSets, List<Integer> history, int score1, int score2,
+                LocalDateTime setStartedAt, long seq, boolean dirty) {
+        }
+
+        private LiveMatch(TournamentMatch match) {
+            this.matchId = match.getId();
+            this.tournamentId = match.getTournament().getId();
+            this.participant1Id = match.getParticipant1().getId();
+            this.participant2Id = match.getParticipant2().getId();
+            this.refereeId = match.getReferee() != null ? match.getReferee().getId() : null;
+            this.bestOfSets = match.getBestOfSets() != null ? match.getBestOfSets() : 3;
+        }
+
+        private Saved save() {
+            return new Saved(new ArrayList<>(finishedSets), new ArrayList<>(history), score1, score2,
+                    setStartedAt, seq, dirty);
+        }
+
+        private void restore(Saved saved) {
+            finishedSets.clear();
+            finishedSets.addAll(saved.finishedSets());
+            history.clear();
+            history.addAll(saved.history());
+            score1 = saved.score1();
+            score2 = saved.score2();
+            setStartedAt = saved.setStartedAt();
+            seq = saved.seq();
+            dirty = saved.dirty();
+        }
+
+        private int setsToWin() {
+            return bestOfSets / 2 + 1;
+        }
+
+        private int[] setsWon() {
+            int[] won = new int[2];
+            for (int[] set : finishedSets) {
+                won[set[0] > set[1] ? 0 : 1]++;
+            }
+            return won;
+        }
+
+        private void checkActive() {
+            if (completed) {
+                throw new IllegalStateException("Trận đấu đã kết thúc");
+            }
+        }
+
+        private SetRow currentRow() {
+            return new SetRow(matchId, finishedSets.size() + 1, score1, score2, null, null, false);
+        }
+
+        /**
+         * Finished sets followed by the current one
+         */
+        private List<SetRow> rows() {
+            List<SetRow> rows = new ArrayList<>(finishedSets.size() + 1);
+            for (int i = 0; i < finishedSets.size(); i++) {
+                int[] set = finishedSets.get(i);
+                boolean last = i == finishedSets.size() - 1;
+                rows.add(new SetRow(matchId, i + 1, set[0], set[1],
+                        set[0] > set[1] ? participant1Id : participant2Id,
+                        last && setStartedAt != null
+                                ? (int) Duration.between(setStartedAt, LocalDateTime.now()).toMinutes() : null,
+                        true));
+            }
+            rows.add(currentRow());
+            return rows;
+        }
+
+        private LiveScoreUpdate delta() {
+            int[] sets = setsWon();
+            return LiveScoreUpdate.builder()
+                    .matchId(matchId)
+                    .tournamentId(tournamentId)
+                    .seq(seq)
+                    .setNumber(finishedSets.size() + 1)
+                    .participant1Score(score1)
+                    .participant2Score(score2)
+                    .participant1Sets(sets[0])
+                    .participant2Sets(sets[1])
+                    .build();
+        }
+
+        private LiveScoreUpdate snapshot() {
+            List<LiveScoreUpdate.SetScore> sets = new ArrayList<>(finishedSets.size());
+            for (int i = 0; i < finishedSets.size(); i++) {
+                sets.add(LiveScoreUpdate.SetScore.builder()
+                        .setNumber(i + 1)
+                        .participant1Score(finishedSets.get(i)[0])
+                        .participant2Score(finishedSets.get(i)[1])
+                        .build());
+            }
+            LiveScoreUpdate update = delta();
+            update.setCompletedSets(sets);
+            if (completed) {
+                update.setSetNumber(null);
+                update.setParticipant1Score(null);
+                update.setParticipant2Score(null);
+                update.setMatchCompleted(true);
+                update.setWinnerId(winnerId);
+            }
+            return update;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.badminton.service.tournament;
+
+import com.badminton.entity.tournament.TournamentMatch;
+import com.badminton.entity.tournament.TournamentParticipant;
+import com.badminton.repository.tournament.TournamentMatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MySQL side of live scoring: set rows are upserted in batches (snapshots and
+ * finished sets), the match row is only touched at start and completion
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveScoreStore {
+
+    private static final String UPSERT_SET_SQL =
+            "INSERT INTO match_sets (match_id, set_number, participant1_score, participant2_score, winner_id, " +
+            "duration_minutes, is_completed, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0) " +
+            "ON DUPLICATE KEY UPDATE participant1_score = VALUES(participant1_score), " +
+            "participant2_score = VALUES(participant2_score), winner_id = VALUES(winner_id), " +
+            "duration_minutes = VALUES(duration_minutes), is_completed = VALUES(is_completed), " +
+            "updated_at = VALUES(updated_at), version = version + 1";
+
+    private static final String DELETE_SETS_AFTER_SQL =
+            "DELETE FROM match_sets WHERE match_id = ? AND set_number > ?";
+
+    private static final String UPDATE_MATCH_SCORE_SQL =
+            "UPDATE tournament_matches SET participant1_score = ?, participant2_score = ?, updated_at = ? " +
+            "WHERE id = ? AND status = 'IN_PROGRESS'";
+
+    private final TournamentMatchRepository matchRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Current or final score of one set
+     */
+    public record SetRow(long matchId, int setNumber, int participant1Score, int participant2Score,
+            Long winnerId, Integer durationMinutes, boolean completed) {
+    }
+
+    @Transactional
+    public TournamentMatch startMatch(Long matchId) {
+        TournamentMatch match = findMatch(matchId);
+        if (match.getParticipant1() == null || match.getParticipant2() == null) {
+            throw new IllegalStateException("Trận đấu chưa đủ vận động viên");
+        }
+        match.start();
+        return match;
+    }
+
+    @Transactional(readOnly = true)
+    public TournamentMatch findMatch(Long matchId) {
+        return matchRepository.findById(matchId)
+                .orElseThrow(() -> new IllegalArgumentException("Không tìm thấy trận đấu"));
+    }
+
+    /**
+     * Upsert set scores in one batch
+     */
+    @Transactional
+    public void saveSets(List<SetRow> sets) {
+        if (sets.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SET_SQL, sets, sets.size(), (ps, set) -> {
+            ps.setLong(1, set.matchId());
+            ps.setInt(2, set.setNumber());
+            ps.setInt(3, set.participant1Score());
+            ps.setInt(4, set.participant2Score());
+            if (set.winnerId() != null) {
+                ps.setLong(5, set.winnerId());
+            } else {
+                ps.setNull(5, Types.BIGINT);
+            }
+            if (set.durationMinutes() != null) {
+                ps.setInt(6, set.durationMinutes());
+            } else {
+                ps.setNull(6, Types.INTEGER);
+            }
+            ps.setBoolean(7, set.completed());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    /**
+     * Drop sets a score correction no longer has
+     */
+    @Transactional
+    public void deleteSetsAfter(long matchId, int lastSetNumber) {
+        jdbcTemplate.update(DELETE_SETS_AFTER_SQL, matchId, lastSetNumber);
+    }
+
+    @Transactional
+    public void saveSetsWon(long matchId, int participant1Sets, int participant2Sets) {
+        jdbcTemplate.update(UPDATE_MATCH_SCORE_SQL, participant1Sets, participant2Sets,
+                Timestamp.valueOf(LocalDateTime.now()), matchId);
+    }
+
+    /**
+     * Store sets of a match still in play (the last one is the current set) and
+     * the sets won so far in one transaction, dropping sets a score correction
+     * no longer has
+     */
+    @Transactional
+    public void saveScore(List<SetRow> sets, int participant1Sets, int participant2Sets) {
+        long matchId = sets.get(0).matchId();
+        deleteSetsAfter(matchId, sets.get(sets.size() - 1).setNumber());
+        saveSets(sets);
+        saveSetsWon(matchId, participant1Sets, participant2Sets);
+    }
+
+    /**
+     * Store the final sets and complete the match (participant statistics)
+     */
+    @Transactional
+    public void completeMatch(List<SetRow> sets, Long winnerId) {
+        long matchId = sets.get(0).matchId();
+        deleteSetsAfter(matchId, sets.get(sets.size() - 1).setNumber());
+        saveSets(sets);
+
+        TournamentMatch match = findMatch(matchId);
+        int sets1 = 0;
+        int sets2 = 0;
+        int points1 = 0;
+        int points2 = 0;
+        StringBuilder details = new StringBuilder("[");
+        for (SetRow set : sets) {
+            points1 += set.participant1Score();
+            points2 += set.participant2Score();
+            if (set.completed() && set.participant1Score() > set.participant2Score()) {
+                sets1++;
+            } else if (set.completed() && set.participant2Score() > set.participant1Score()) {
+                sets2++;
+            }
+            if (details.length() > 1) {
+                details.append(", ");
+            }
+            details.append("{\"set\": ").append(set.setNumber())
+                    .append(", \"p1\": ").append(set.participant1Score())
+                    .append(", \"p2\": ").append(set.participant2Score()).append('}');
+        }
+        details.append(']');
+
+        TournamentParticipant winner = winnerId.equals(match.getParticipant1().getId())
+                ? match.getParticipant1() : match.getParticipant2();
+        match.setParticipant1Score(sets1);
+        match.setParticipant2Score(sets2);
+        match.setScoreDetails(details.toString());
+        match.complete(winner, points1, points2);
+
+        // Publishes MatchCompletedEvent: bracket progression, round and tournament counters, standings
+        matchRepository.save(match);
+    }
+}
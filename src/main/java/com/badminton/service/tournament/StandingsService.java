@@ -0,0 +1,244 @@
+package com.badminton.service.tournament;
+
+import com.badminton.entity.tournament.TournamentMatch;
+import com.badminton.entity.tournament.TournamentParticipant;
+import com.badminton.enums.RoundType;
+import com.badminton.event.tournament.MatchCompletedEvent;
+import com.badminton.repository.tournament.MatchSetRepository;
+import com.badminton.repository.tournament.TournamentMatchRepository;
+import com.badminton.repository.tournament.TournamentParticipantRepository;
+import com.badminton.util.StandingsTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Round-robin group standings, kept in memory per tournament.
+ * A tournament's tables are built from the database on first read (sets and
+ * points taken from MatchSet rows) and then follow MatchCompletedEvent, one O(1)
+ * row update per result. rebuild() recomputes the tables from MatchSet, reports
+ * every difference from the incrementally maintained ones and installs the
+ * rebuilt tables.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StandingsService {
+
+    // Group key of a round-robin tournament played without groups
+    public static final String NO_GROUP = "";
+
+    private final TournamentParticipantRepository participantRepository;
+    private final TournamentMatchRepository matchRepository;
+    private final MatchSetRepository setRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, TournamentStandings> tournaments = new ConcurrentHashMap<>();
+
+    /**
+     * Tables of one tournament; guarded by its own monitor
+     */
+    private static final class TournamentStandings {
+        final Map<Long, String> groupOf = new HashMap<>();
+        final Map<String, StandingsTable> groups = new TreeMap<>();
+        // Makes a result that is both in the loaded rows and in a later event count once
+        final Set<Long> appliedMatches = new HashSet<>();
+        boolean loaded;
+    }
+
+    /**
+     * Standings of every group, by group name
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<StandingsTable.Row>> getStandings(Long tournamentId) {
+        TournamentStandings standings = load(tournamentId);
+        synchronized (standings) {
+            Map<String, List<StandingsTable.Row>> result = new LinkedHashMap<>();
+            standings.groups.forEach((group, table) -> result.put(group, table.standings()));
+            return result;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<StandingsTable.Row> getGroupStandings(Long tournamentId, String groupName) {
+        TournamentStandings standings = load(tournamentId);
+        synchronized (standings) {
+            StandingsTable table = standings.groups.get(groupName != null ? groupName : NO_GROUP);
+            if (table == null) {
+                throw new IllegalArgumentException("Không tìm thấy bảng đấu " + groupName);
+            }
+            return table.standings();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchCompleted(MatchCompletedEvent event) {
+        if (!isRoundRobin(event.roundType())) {
+            return;
+        }
+        TournamentStandings standings = tournaments.get(event.tournamentId());
+        if (standings == null) {
+            // Not read yet; the result is picked up when the tables are built
+            return;
+        }
+        synchronized (standings) {
+            if (!standings.loaded) {
+                return;
+            }
+            apply(standings, event.matchId(), event.participant1Id(), event.participant2Id(), event.winnerId(),
+                    event.participant1Sets(), event.participant2Sets(),
+                    event.participant1Points(), event.participant2Points());
+        }
+    }
+
+    /**
+     * Recompute the tournament's tables from MatchSet and install them.
+     * Returns the differences from the incrementally maintained tables; empty when they agree.
+     */
+    @Transactional(readOnly = true)
+    public List<String> rebuild(Long tournamentId) {
+        List<String> differences = new ArrayList<>();
+        TournamentStandings standings = tournaments.computeIfAbsent(tournamentId, id -> new TournamentStandings());
+        // Events wait for the rebuild and are then applied on top of it (or skipped as already read)
+        synchronized (standings) {
+            TournamentStandings rebuilt = new TournamentStandings();
+            build(tournamentId, rebuilt);
+            if (standings.loaded) {
+                compare(standings, rebuilt, differences);
+            }
+            standings.groupOf.clear();
+            standings.groupOf.putAll(rebuilt.groupOf);
+            standings.groups.clear();
+            standings.groups.putAll(rebuilt.groups);
+            standings.appliedMatches.clear();
+            standings.appliedMatches.addAll(rebuilt.appliedMatches);
+            standings.loaded = true;
+        }
+
+        if (!differences.isEmpty()) {
+            meterRegistry.counter("tournament.standings.mismatches").increment(differences.size());
+            log.warn("Standings of tournament {} differed from a rebuild: {}", tournamentId, differences);
+        }
+        return differences;
+    }
+
+    /**
+     * Standings of every group recomputed from the database, leaving the cached
+     * tables alone: seating knockout qualifiers must not depend on events still
+     * being applied
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<StandingsTable.Row>> computeStandings(Long tournamentId) {
+        TournamentStandings standings = new TournamentStandings();
+        build(tournamentId, standings);
+        Map<String, List<StandingsTable.Row>> result = new LinkedHashMap<>();
+        standings.groups.forEach((group, table) -> result.put(group, table.standings()));
+        return result;
+    }
+
+    /**
+     * Drop a tournament's tables, e.g. after its bracket was regenerated
+     */
+    public void evict(Long tournamentId) {
+        tournaments.remove(tournamentId);
+    }
+
+    private TournamentStandings load(Long tournamentId) {
+        TournamentStandings standings = tournaments.computeIfAbsent(tournamentId, id -> new TournamentStandings());
+        synchronized (standings) {
+            if (!standings.loaded) {
+                build(tournamentId, standings);
+                standings.loaded = true;
+            }
+        }
+        return standings;
+    }
+
+    private void build(Long tournamentId, TournamentStandings standings) {
+        for (TournamentParticipant p : participantRepository.findConfirmedParticipantsByTournament(tournamentId)) {
+            String group = p.getGroupName() != null ? p.getGroupName() : NO_GROUP;
+            standings.groupOf.put(p.getId(), group);
+            standings.groups.computeIfAbsent(group, g -> new StandingsTable()).addParticipant(p.getId());
+        }
+
+        // matchId -> {sets1, sets2, points1, points2}
+        Map<Long, int[]> totals = new HashMap<>();
+        for (Object[] row : setRepository.findCompletedSetScoresByTournament(tournamentId)) {
+            int[] t = totals.computeIfAbsent((Long) row[0], id -> new int[4]);
+            int s1 = (Integer) row[1];
+            int s2 = (Integer) row[2];
+            if (s1 > s2) {
+                t[0]++;
+            } else if (s2 > s1) {
+                t[1]++;
+            }
+            t[2] += s1;
+            t[3] += s2;
+        }
+
+        for (TournamentMatch m : matchRepository.findCompletedRoundRobinMatches(tournamentId)) {
+            if (m.getParticipant1() == null || m.getParticipant2() == null || m.getWinner() == null) {
+                continue;
+            }
+            // A walkover has no sets played; it counts with the sets recorded on the match
+            int[] t = Boolean.TRUE.equals(m.getIsWalkover())
+                    ? new int[]{m.getParticipant1Score(), m.getParticipant2Score(), 0, 0}
+                    : totals.getOrDefault(m.getId(), new int[4]);
+            apply(standings, m.getId(), m.getParticipant1().getId(), m.getParticipant2().getId(),
+                    m.getWinner().getId(), t[0], t[1], t[2], t[3]);
+        }
+    }
+
+    private void apply(TournamentStandings standings, Long matchId, Long participant1Id, Long participant2Id,
+            Long winnerId, int sets1, int sets2, int points1, int points2) {
+        if (participant1Id == null || participant2Id == null || !standings.appliedMatches.add(matchId)) {
+            return;
+        }
+        String group = standings.groupOf.get(participant1Id);
+        if (group == null || !group.equals(standings.groupOf.get(participant2Id))) {
+            log.warn("Match {} is not between two participants of the same group, skipped in standings", matchId);
+            return;
+        }
+        standings.groups.get(group).record(participant1Id, participant2Id, winnerId,
+                sets1, sets2, points1, points2);
+    }
+
+    private static void compare(TournamentStandings current, TournamentStandings rebuilt, List<String> differences) {
+        Set<String> groups = new HashSet<>(current.groups.keySet());
+        groups.addAll(rebuilt.groups.keySet());
+        for (String group : groups) {
+            List<StandingsTable.Row> expected = rowsOf(rebuilt, group);
+            List<StandingsTable.Row> actual = rowsOf(current, group);
+            for (int i = 0; i < Math.max(expected.size(), actual.size()); i++) {
+                StandingsTable.Row e = i < expected.size() ? expected.get(i) : null;
+                StandingsTable.Row a = i < actual.size() ? actual.get(i) : null;
+                if (!Objects.equals(e, a)) {
+                    differences.add("group '" + group + "' rank " + (i + 1) + ": expected " + e + ", was " + a);
+                }
+            }
+        }
+    }
+
+    private static List<StandingsTable.Row> rowsOf(TournamentStandings standings, String group) {
+        StandingsTable table = standings.groups.get(group);
+        return table != null ? table.standings() : List.of();
+    }
+
+    private static boolean isRoundRobin(RoundType roundType) {
+        return roundType == RoundType.GROUP_STAGE || roundType == RoundType.ROUND_ROBIN;
+    }
+}
@@ -0,0 +1,71 @@
+package com.badminton.service.tournament;
+
+import com.badminton.entity.tournament.Tournament;
+import com.badminton.enums.TournamentStatus;
+import com.badminton.repository.tournament.TournamentRepository;
+import com.badminton.service.scheduling.DelayedTaskHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Closes registration of OPEN tournaments when their registration window ends
+ * (start of the day after registrationEnd)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TournamentRegistrationCloser implements DelayedTaskHandler {
+
+    public static final String TASK_TYPE = "tournament.registration-close";
+
+    private final TournamentRepository tournamentRepository;
+
+    /**
+     * When registration of a tournament closes
+     */
+    public static LocalDateTime closesAt(Tournament tournament) {
+        return closesAt(tournament.getRegistrationEnd());
+    }
+
+    private static LocalDateTime closesAt(LocalDate registrationEnd) {
+        return registrationEnd.plusDays(1).atStartOfDay();
+    }
+
+    @Override
+    public String type() {
+        return TASK_TYPE;
+    }
+
+    @Override
+    @Transactional
+    public void execute(Long tournamentId) {
+        Tournament tournament = tournamentRepository.findById(tournamentId).orElse(null);
+        // Already closed/started/cancelled, or the window was extended since the task was queued
+        if (tournament == null || tournament.getStatus() != TournamentStatus.OPEN
+                || closesAt(tournament).isAfter(LocalDateTime.now())) {
+            return;
+        }
+
+        tournament.closeRegistration();
+        log.info("Closed registration of tournament {}", tournamentId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, LocalDateTime> loadPending() {
+        List<Object[]> rows = tournamentRepository.findOpenRegistrationDeadlines();
+        Map<Long, LocalDateTime> pending = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            pending.put((Long) row[0], closesAt((LocalDate) row[1]));
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,374 @@
+package com.badminton.service.tournament;
+
+import com.badminton.entity.court.Schedule;
+import com.badminton.entity.tournament.Tournament;
+import com.badminton.entity.tournament.TournamentMatch;
+import com.badminton.entity.tournament.TournamentParticipant;
+import com.badminton.enums.MatchStatus;
+import com.badminton.enums.RoundType;
+import com.badminton.repository.tournament.TournamentMatchRepository;
+import com.badminton.repository.tournament.TournamentRepository;
+import com.badminton.service.booking.CourtAvailabilityIndex;
+import com.badminton.util.MatchScheduler;
+import com.badminton.util.MatchScheduler.Assignment;
+import com.badminton.util.MatchScheduler.Job;
+import com.badminton.util.MatchScheduler.Result;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Assigns courts, start times and referees to tournament matches.
+ * Court windows come from CourtAvailabilityIndex (schedules minus bookings)
+ * minus matches of other tournaments at the branch; the assignment itself is
+ * MatchScheduler. Results are written with one JDBC batch. After an overrun
+ * only the matches that no longer fit are moved (right-shift repair).
+ */
+@Slf4j
+@Service
+public class TournamentSchedulingService {
+
+    private static final int TIME_STEP_MINUTES = 5;
+
+    private static final String UPDATE_MATCH_SQL =
+            "UPDATE tournament_matches SET court_id = ?, scheduled_time = ?, referee_id = ?, " +
+            "updated_at = ?, version = version + 1 WHERE id = ? AND status = 'SCHEDULED'";
+
+    private static final String UPDATE_ROUND_DATES_SQL =
+            "UPDATE tournament_rounds r JOIN (" +
+            "SELECT round_id, MIN(DATE(scheduled_time)) AS first_day, MAX(DATE(scheduled_time)) AS last_day " +
+            "FROM tournament_matches WHERE tournament_id = ? AND scheduled_time IS NOT NULL GROUP BY round_id" +
+            ") m ON m.round_id = r.id SET r.start_date = m.first_day, r.end_date = m.last_day";
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentMatchRepository matchRepository;
+    private final CourtAvailabilityIndex availabilityIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration matchDuration;
+    private final Duration restTime;
+    private final Duration changeover;
+    private final int searchIterations;
+
+    public TournamentSchedulingService(TournamentRepository tournamentRepository,
+            TournamentMatchRepository matchRepository,
+            CourtAvailabilityIndex availabilityIndex,
+            JdbcTemplate jdbcTemplate,
+            @Value("${tournament.schedule.match-duration:PT45M}") Duration matchDuration,
+            @Value("${tournament.schedule.rest-time:PT20M}") Duration restTime,
+            @Value("${tournament.schedule.changeover:PT5M}") Duration changeover,
+            @Value("${tournament.schedule.search-iterations:500}") int searchIterations) {
+        this.tournamentRepository = tournamentRepository;
+        this.matchRepository = matchRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.matchDuration = matchDuration;
+        this.restTime = restTime;
+        this.changeover = changeover;
+        this.searchIterations = searchIterations;
+    }
+
+    /**
+     * Minute grid of one tournament: minute 0 is the first tournament day at 00:00
+     */
+    private record Clock(LocalDateTime origin) {
+
+        int toMinute(LocalDateTime time) {
+            return (int) Duration.between(origin, time).toMinutes();
+        }
+
+        LocalDateTime toTime(int minute) {
+            return origin.plusMinutes(minute);
+        }
+    }
+
+    // Full Run
+
+    /**
+     * Schedule every SCHEDULED match of the tournament from now on; referees from
+     * refereePool are given to matches that have none
+     */
+    @Transactional
+    public Result schedule(Long tournamentId, Collection<Long> refereePool) {
+        Tournament tournament = findTournament(tournamentId);
+        Clock clock = new Clock(tournament.getStartDate().atStartOfDay());
+        int now = Math.max(0, ceil(clock.toMinute(LocalDateTime.now())));
+
+        List<TournamentMatch> matches = matchRepository.findForScheduling(tournamentId);
+        MatchScheduler scheduler = newScheduler(tournament, clock);
+        scheduler.addRefereePool(refereePool);
+        Map<Long, List<Long>> feeders = feeders(matches);
+
+        List<Job> jobs = new ArrayList<>();
+        for (TournamentMatch match : matches) {
+            if (match.getStatus() == MatchStatus.SCHEDULED) {
+                jobs.add(job(match, feeders, now, null));
+            } else {
+                holdFixed(scheduler, match, clock, now);
+            }
+        }
+
+        long started = System.nanoTime();
+        Result result = scheduler.schedule(jobs, searchIterations, tournamentId);
+        if (!result.unscheduled().isEmpty()) {
+            throw new IllegalStateException("Không đủ sân trống để xếp lịch "
+                    + result.unscheduled().size() + "/" + jobs.size() + " trận đấu");
+        }
+
+        write(result.assignments().values(), clock);
+        jdbcTemplate.update(UPDATE_ROUND_DATES_SQL, tournamentId);
+        log.info("Scheduled {} matches of tournament {} in {} ms, last match ends {}",
+                jobs.size(), tournamentId, (System.nanoTime() - started) / 1_000_000,
+                clock.toTime(result.makespan()));
+        return result;
+    }
+
+    // Incremental Repair
+
+    /**
+     * A match is expected to end at expectedEnd instead of its planned end: move
+     * the pending matches that now collide with it (or with anything moved
+     * because of it). Matches never move earlier and keep their court when it is
+     * free. Returns the number of matches moved.
+     */
+    @Transactional
+    public int rescheduleAfterOverrun(Long matchId, LocalDateTime expectedEnd) {
+        TournamentMatch overrun = matchRepository.findById(matchId)
+                .orElseThrow(() -> new IllegalArgumentException("Không tìm thấy trận đấu"));
+        Tournament tournament = overrun.getTournament();
+        Clock clock = new Clock(tournament.getStartDate().atStartOfDay());
+        int now = Math.max(0, ceil(clock.toMinute(LocalDateTime.now())));
+
+        List<TournamentMatch> matches = matchRepository.findForScheduling(tournament.getId());
+        MatchScheduler scheduler = newScheduler(tournament, clock);
+        Map<Long, List<Long>> feeders = feeders(matches);
+
+        List<TournamentMatch> pending = new ArrayList<>();
+        for (TournamentMatch match : matches) {
+            if (match.getId().equals(matchId)) {
+                int start = clock.toMinute(Objects.requireNonNullElse(match.getActualStartTime(), match.getScheduledTime()));
+                hold(scheduler, match, start, Math.max(now, clock.toMinute(expectedEnd)));
+            } else if (match.getStatus() == MatchStatus.SCHEDULED && match.getScheduledTime() != null
+                    && match.getCourt() != null) {
+                pending.add(match);
+            } else {
+                holdFixed(scheduler, match, clock, now);
+            }
+        }
+
+        pending.sort(Comparator.comparing(TournamentMatch::getScheduledTime).thenComparing(TournamentMatch::getId));
+        List<Job> jobs = new ArrayList<>(pending.size());
+        for (TournamentMatch match : pending) {
+            int planned = clock.toMinute(match.getScheduledTime());
+            jobs.add(job(match, feeders, Math.max(planned, now), match.getCourt().getId()));
+        }
+        Result result = scheduler.repair(jobs);
+        if (!result.unscheduled().isEmpty()) {
+            log.warn("Overrun of match {} pushed {} matches past the tournament end",
+                    matchId, result.unscheduled().size());
+        }
+
+        List<Assignment> moved = new ArrayList<>();
+        for (TournamentMatch match : pending) {
+            Assignment a = result.assignments().get(match.getId());
+            if (a != null && (a.start() != clock.toMinute(match.getScheduledTime())
+                    || a.courtId() != match.getCourt().getId())) {
+                moved.add(a);
+            }
+        }
+        write(moved, clock);
+        if (!moved.isEmpty()) {
+            jdbcTemplate.update(UPDATE_ROUND_DATES_SQL, tournament.getId());
+            log.info("Overrun of match {} (until {}) moved {} matches", matchId, expectedEnd, moved.size());
+        }
+        return moved.size();
+    }
+
+    // Model
+
+    private Tournament findTournament(Long tournamentId) {
+        return tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new IllegalArgumentException("Không tìm thấy giải đấu"));
+    }
+
+    /**
+     * Courts of the tournament branch over the tournament days, with their free
+     * windows and the time other tournaments already hold
+     */
+    private MatchScheduler newScheduler(Tournament tournament, Clock clock) {
+        LocalDate first = tournament.getStartDate();
+        LocalDate last = tournament.getEndDate();
+        int days = (int) (last.toEpochDay() - first.toEpochDay()) + 1;
+        MatchScheduler scheduler = new MatchScheduler(minutes(restTime), minutes(changeover), days * 24 * 60);
+
+        Long branchId = tournament.getBranch().getId();
+        Map<Long, List<int[]>> windows = new HashMap<>();
+        for (int day = 0; day < days; day++) {
+            LocalDate date = first.plusDays(day);
+            int dayStart = day * 24 * 60;
+            availabilityIndex.getFreeSlotsByBranch(branchId, date).forEach((courtId, slots) -> {
+                List<int[]> courtWindows = windows.computeIfAbsent(courtId, id -> new ArrayList<>());
+                for (Schedule.TimeSlot slot : slots) {
+                    int start = dayStart + slot.getStart().toSecondOfDay() / 60;
+                    int end = dayStart + (slot.getEnd().equals(LocalTime.MIDNIGHT)
+                            ? 24 * 60 : slot.getEnd().toSecondOfDay() / 60);
+                    // Adjacent free slots form one window
+                    int[] previous = courtWindows.isEmpty() ? null : courtWindows.get(courtWindows.size() - 1);
+                    if (previous != null && previous[1] == start) {
+                        previous[1] = end;
+                    } else {
+                        courtWindows.add(new int[]{start, end});
+                    }
+                }
+            });
+        }
+        windows.forEach(scheduler::addCourt);
+
+        List<Object[]> usage = matchRepository.findOtherTournamentCourtUsage(branchId, tournament.getId(),
+                clock.origin(), clock.origin().plusDays(days));
+        for (Object[] row : usage) {
+            int start = clock.toMinute((LocalDateTime) row[1]);
+            scheduler.occupyCourt((Long) row[0], start, start + duration((Integer) row[2]));
+        }
+        return scheduler;
+    }
+
+    private Job job(TournamentMatch match, Map<Long, List<Long>> feeders, int notBefore, Long preferredCourt) {
+        return new Job(match.getId(),
+                match.getRound() != null ? match.getRound().getRoundNumber() : 0,
+                participantIds(match),
+                match.getReferee() != null ? match.getReferee().getId() : null,
+                duration(match.getBestOfSets()),
+                feeders.getOrDefault(match.getId(), List.of()),
+                notBefore,
+                preferredCourt);
+    }
+
+    /**
+     * Keep resources of a match that is not being placed: live matches hold their
+     * court, players and referee at least until now; finished ones only feed later matches
+     */
+    private void holdFixed(MatchScheduler scheduler, TournamentMatch match, Clock clock, int now) {
+        if (match.getStatus() == MatchStatus.IN_PROGRESS) {
+            LocalDateTime startedAt = Objects.requireNonNullElse(match.getActualStartTime(), match.getScheduledTime());
+            int start = startedAt != null ? clock.toMinute(startedAt) : now;
+            hold(scheduler, match, start, Math.max(now, start + duration(match.getBestOfSets())));
+        } else if (match.getActualEndTime() != null) {
+            scheduler.fixedEnd(match.getId(), clock.toMinute(match.getActualEndTime()));
+        }
+    }
+
+    private void hold(MatchScheduler scheduler, TournamentMatch match, int start, int end) {
+        if (match.getCourt() != null) {
+            scheduler.occupyCourt(match.getCourt().getId(), start, end);
+        }
+        for (Long participantId : participantIds(match)) {
+            scheduler.occupyParticipant(participantId, start, end);
+        }
+        if (match.getReferee() != null) {
+            scheduler.occupyReferee(match.getReferee().getId(), start, end);
+        }
+        scheduler.fixedEnd(match.getId(), end);
+    }
+
+    /**
+     * Matches feeding each match through nextMatchId / loserNextMatchId. A match
+     * waiting for a group-stage placeholder ("A1") is fed by every group match:
+     * qualifiers are seated once the whole group stage is decided.
+     */
+    private static Map<Long, List<Long>> feeders(List<TournamentMatch> matches) {
+        Map<Long, List<Long>> feeders = new HashMap<>();
+        List<Long> groupMatches = new ArrayList<>();
+        for (TournamentMatch match : matches) {
+            if (match.getNextMatchId() != null) {
+                feeders.computeIfAbsent(match.getNextMatchId(), id -> new ArrayList<>(2)).add(match.getId());
+            }
+            if (match.getLoserNextMatchId() != null) {
+                feeders.computeIfAbsent(match.getLoserNextMatchId(), id -> new ArrayList<>(2)).add(match.getId());
+            }
+            if (match.getRound() != null && match.getRound().getRoundType() == RoundType.GROUP_STAGE) {
+                groupMatches.add(match.getId());
+            }
+        }
+        if (!groupMatches.isEmpty()) {
+            for (TournamentMatch match : matches) {
+                if (waitsForQualifier(match.getParticipant1(), match.getParticipant1Source())
+                        || waitsForQualifier(match.getParticipant2(), match.getParticipant2Source())) {
+                    feeders.computeIfAbsent(match.getId(), id -> new ArrayList<>(groupMatches.size()))
+                            .addAll(groupMatches);
+                }
+            }
+        }
+        return feeders;
+    }
+
+    /**
+     * Empty slot whose source is a group placeholder rather than "W:" / "L:" of a match
+     */
+    private static boolean waitsForQualifier(TournamentParticipant participant, String source) {
+        return participant == null && source != null && !source.startsWith("W:") && !source.startsWith("L:");
+    }
+
+    private static List<Long> participantIds(TournamentMatch match) {
+        List<Long> ids = new ArrayList<>(2);
+        if (match.getParticipant1() != null) {
+            ids.add(match.getParticipant1().getId());
+        }
+        if (match.getParticipant2() != null) {
+            ids.add(match.getParticipant2().getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Planned length of a match; match-duration is for best of 3
+     */
+    private int duration(Integer bestOfSets) {
+        int sets = bestOfSets != null ? bestOfSets : 3;
+        return ceil(minutes(matchDuration) * sets / 3);
+    }
+
+    private static int minutes(Duration duration) {
+        return (int) duration.toMinutes();
+    }
+
+    private static int ceil(int minute) {
+        return Math.floorDiv(minute + TIME_STEP_MINUTES - 1, TIME_STEP_MINUTES) * TIME_STEP_MINUTES;
+    }
+
+    // Write-back
+
+    private void write(Collection<Assignment> assignments, Clock clock) {
+        if (assignments.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Assignment> rows = new ArrayList<>(assignments);
+        jdbcTemplate.batchUpdate(UPDATE_MATCH_SQL, rows, rows.size(), (ps, a) -> {
+            ps.setLong(1, a.courtId());
+            ps.setTimestamp(2, Timestamp.valueOf(clock.toTime(a.start())));
+            if (a.refereeId() != null) {
+                ps.setLong(3, a.refereeId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setTimestamp(4, now);
+            ps.setLong(5, a.matchId());
+        });
+    }
+}
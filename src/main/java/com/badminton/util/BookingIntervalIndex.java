@@ -0,0 +1,151 @@
+package com.badminton.util;
+
+import com.badminton.dto.projection.BookingSlot;
+import com.badminton.entity.booking.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable conflict index over bookings, keyed by (court, date).
+ * Each timeline is sorted by start time with a running maximum of end times,
+ * so an overlap query is one binary search: O(log n).
+ * Overlap is half-open and matches the repository predicate
+ * startTime < :endTime AND endTime > :startTime; times become minutes of the
+ * day as in BookingUtils.isTimeSlotOverlap, an end of 00:00 being 1440.
+ */
+public final class BookingIntervalIndex {
+
+    private final Map<Key, Timeline> timelines;
+
+    private record Key(Long courtId, LocalDate date) {
+    }
+
+    /**
+     * Result of a batch check: the candidate and the booking it collides with
+     */
+    public record Conflict(BookingSlot candidate, Long conflictingBookingId) {
+    }
+
+    private BookingIntervalIndex(Map<Key, Timeline> timelines) {
+        this.timelines = timelines;
+    }
+
+    /**
+     * Build from entities, keeping only bookings that hold their court
+     */
+    public static BookingIntervalIndex of(Collection<Booking> bookings) {
+        List<BookingSlot> slots = new ArrayList<>(bookings.size());
+        for (Booking b : bookings) {
+            slots.add(new BookingSlot(b.getId(), b.getCourt().getId(), null,
+                    b.getDate(), b.getTimeStart(), b.getTimeEnd(), b.getStatus()));
+        }
+        return ofSlots(slots);
+    }
+
+    /**
+     * Build from projections, keeping only bookings that hold their court
+     */
+    public static BookingIntervalIndex ofSlots(Collection<BookingSlot> slots) {
+        Map<Key, List<BookingSlot>> grouped = new HashMap<>();
+        for (BookingSlot slot : slots) {
+            if (slot.status() != null && !slot.status().occupiesCourt()) {
+                continue;
+            }
+            grouped.computeIfAbsent(new Key(slot.courtId(), slot.date()), k -> new ArrayList<>()).add(slot);
+        }
+
+        Map<Key, Timeline> timelines = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, list) -> timelines.put(key, new Timeline(list)));
+        return new BookingIntervalIndex(timelines);
+    }
+
+    /**
+     * Check if [startTime, endTime) overlaps any indexed booking
+     */
+    public boolean overlaps(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return findConflict(courtId, date, startTime, endTime).isPresent();
+    }
+
+    /**
+     * Find one booking overlapping [startTime, endTime), if any
+     */
+    public Optional<Long> findConflict(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Timeline timeline = timelines.get(new Key(courtId, date));
+        if (timeline == null) {
+            return Optional.empty();
+        }
+        return timeline.findConflict(BookingUtils.toMinute(startTime), BookingUtils.toEndMinute(startTime, endTime));
+    }
+
+    /**
+     * Check a whole batch (e.g. every occurrence of a recurring series) in one pass
+     */
+    public List<Conflict> findConflicts(Collection<BookingSlot> candidates) {
+        List<Conflict> conflicts = new ArrayList<>();
+        for (BookingSlot candidate : candidates) {
+            findConflict(candidate.courtId(), candidate.date(), candidate.timeStart(), candidate.timeEnd())
+                    .ifPresent(id -> conflicts.add(new Conflict(candidate, id)));
+        }
+        return conflicts;
+    }
+
+    public boolean isEmpty() {
+        return timelines.isEmpty();
+    }
+
+    private static final class Timeline {
+        private final int[] starts;
+        private final int[] maxEnds;
+        private final Long[] maxEndIds;
+
+        Timeline(List<BookingSlot> slots) {
+            BookingSlot[] sorted = slots.toArray(new BookingSlot[0]);
+            Arrays.sort(sorted, (a, b) -> a.timeStart().compareTo(b.timeStart()));
+
+            starts = new int[sorted.length];
+            maxEnds = new int[sorted.length];
+            maxEndIds = new Long[sorted.length];
+
+            for (int i = 0; i < sorted.length; i++) {
+                starts[i] = BookingUtils.toMinute(sorted[i].timeStart());
+                int end = BookingUtils.toEndMinute(sorted[i].timeStart(), sorted[i].timeEnd());
+                if (i > 0 && maxEnds[i - 1] >= end) {
+                    maxEnds[i] = maxEnds[i - 1];
+                    maxEndIds[i] = maxEndIds[i - 1];
+                } else {
+                    maxEnds[i] = end;
+                    maxEndIds[i] = sorted[i].bookingId();
+                }
+            }
+        }
+
+        Optional<Long> findConflict(int start, int end) {
+            // last booking with start < end
+            int lo = 0;
+            int hi = starts.length - 1;
+            int last = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < end) {
+                    last = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            // some booking starting before our end must also end after our start
+            if (last >= 0 && maxEnds[last] > start) {
+                return Optional.ofNullable(maxEndIds[last]);
+            }
+            return Optional.empty();
+        }
+    }
+}
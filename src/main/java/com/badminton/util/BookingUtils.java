@@ -12,13 +12,32 @@ import java.util.List;
 
 public class BookingUtils {
 
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
     /**
-     * Check if time slots overlap
+     * Check if time slots overlap (half-open, back-to-back slots do not overlap).
+     * An end of 00:00 is midnight at the end of the day, as in BookingIntervalIndex.
      */
     public static boolean isTimeSlotOverlap(
             LocalTime start1, LocalTime end1,
             LocalTime start2, LocalTime end2) {
-        return !(end1.isBefore(start2) || start1.isAfter(end2));
+        return toMinute(start1) < toEndMinute(start2, end2)
+                && toMinute(start2) < toEndMinute(start1, end1);
+    }
+
+    /**
+     * Minute of the day (seconds are ignored)
+     */
+    public static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Minute of the day of an end time: 00:00 after a later start means end of day (1440)
+     */
+    public static int toEndMinute(LocalTime startTime, LocalTime endTime) {
+        int end = toMinute(endTime);
+        return end == 0 && toMinute(startTime) > 0 ? MINUTES_PER_DAY : end;
     }
 
     /**
@@ -33,13 +52,25 @@ public class BookingUtils {
         return existingBookings.stream()
                 .filter(b -> b.getCourt().getId().equals(court.getId()))
                 .filter(b -> b.getDate().equals(date))
-                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED ||
-                        b.getStatus() == BookingStatus.PENDING)
+                .filter(b -> b.getStatus().occupiesCourt())
                 .anyMatch(b -> isTimeSlotOverlap(
                         b.getTimeStart(), b.getTimeEnd(),
                         startTime, endTime));
     }
 
+    /**
+     * Check if booking conflicts with a prebuilt interval index, O(log n).
+     * Build the index once with BookingIntervalIndex.of() when checking many bookings.
+     */
+    public static boolean hasConflict(
+            BookingIntervalIndex index,
+            Court court,
+            LocalDate date,
+            LocalTime startTime,
+            LocalTime endTime) {
+        return index.overlaps(court.getId(), date, startTime, endTime);
+    }
+
     /**
      * Calculate cancellation fee
      */
@@ -0,0 +1,572 @@
+package com.badminton.util;
+
+import com.badminton.enums.RoundType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory tournament bracket generation.
+ * A bracket is first laid out in full (power-of-two draw, complete losers
+ * bracket) with every match slot fed by a participant, a placeholder, the
+ * winner/loser of another match, or nothing (a bye). One pass in creation
+ * order (which is topological) then drops every match that lacks two real
+ * entrants and routes its only entrant straight to the following match, so
+ * byes never produce walkover rows. The resulting plan has matches with
+ * links by plan index; persisting it is up to the caller.
+ */
+public final class BracketBuilder {
+
+    private static final String FINAL_POSITION = "F";
+
+    private BracketBuilder() {
+    }
+
+    /**
+     * One round of the plan; number is 1-based in playing order
+     */
+    public record RoundPlan(int number, String name, RoundType type) {
+    }
+
+    /**
+     * One match of the plan; participants are null until decided, in which case
+     * the source labels say where they come from (e.g. "A1", "W:SF1", "L:WB-QF2")
+     */
+    public static final class MatchPlan {
+        private final int index;
+        private final int roundIndex;
+        private final int depth;
+        private final String bracketPosition;
+        private final Long participant1Id;
+        private final Long participant2Id;
+        private final String participant1Source;
+        private final String participant2Source;
+        private int winnerTo = -1;
+        private int winnerSlot;
+        private int loserTo = -1;
+        private int loserSlot;
+
+        private MatchPlan(int index, int roundIndex, int depth, String bracketPosition,
+                Source in1, Source in2) {
+            this.index = index;
+            this.roundIndex = roundIndex;
+            this.depth = depth;
+            this.bracketPosition = bracketPosition;
+            this.participant1Id = in1.participantId;
+            this.participant2Id = in2.participantId;
+            this.participant1Source = in1.participantId == null ? in1.label() : null;
+            this.participant2Source = in2.participantId == null ? in2.label() : null;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Index into Plan.rounds()
+         */
+        public int getRoundIndex() {
+            return roundIndex;
+        }
+
+        /**
+         * Longest chain of matches this one depends on (1 when both entrants are known up front)
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        public String getBracketPosition() {
+            return bracketPosition;
+        }
+
+        public Long getParticipant1Id() {
+            return participant1Id;
+        }
+
+        public Long getParticipant2Id() {
+            return participant2Id;
+        }
+
+        public String getParticipant1Source() {
+            return participant1Source;
+        }
+
+        public String getParticipant2Source() {
+            return participant2Source;
+        }
+
+        /**
+         * Plan index of the match the winner advances to, -1 for none
+         */
+        public int getWinnerTo() {
+            return winnerTo;
+        }
+
+        /**
+         * Slot (1 or 2) the winner takes in winnerTo
+         */
+        public int getWinnerSlot() {
+            return winnerSlot;
+        }
+
+        /**
+         * Plan index of the match the loser drops to (double elimination), -1 for none
+         */
+        public int getLoserTo() {
+            return loserTo;
+        }
+
+        public int getLoserSlot() {
+            return loserSlot;
+        }
+    }
+
+    /**
+     * Generated bracket: rounds in playing order, matches numbered 1..n in plan
+     * order, and the group of each participant for group stages
+     */
+    public record Plan(List<RoundPlan> rounds, List<MatchPlan> matches, Map<Long, String> groups) {
+    }
+
+    // Formats
+
+    /**
+     * Single elimination; top seeds receive the byes
+     */
+    public static Plan singleElimination(List<Long> seededIds) {
+        requireEntrants(seededIds, 2);
+        Layout layout = new Layout();
+        layout.knockout(0, "", "", seeds(seededIds));
+        return layout.resolve(Map.of());
+    }
+
+    /**
+     * Double elimination: winners bracket, losers bracket and a single grand final
+     */
+    public static Plan doubleElimination(List<Long> seededIds) {
+        requireEntrants(seededIds, 2);
+        Layout layout = new Layout();
+        List<List<Node>> winners = layout.knockout(0, "WB-", "Nhánh thắng - ", seeds(seededIds));
+        Node winnersFinal = winners.get(winners.size() - 1).get(0);
+
+        // Losers bracket: losers of WB round 1 play each other, then every later WB
+        // round's losers meet the LB survivors ("minor" round) before the survivors
+        // halve ("major" round). Dropped losers are fed in alternating order to
+        // delay rematches.
+        Source losersChampion;
+        if (winners.size() == 1) {
+            losersChampion = Source.loserOf(winnersFinal);
+        } else {
+            int lbRound = 1;
+            List<Source> survivors = new ArrayList<>();
+            List<Node> first = winners.get(0);
+            for (int i = 0; i + 1 < first.size(); i += 2) {
+                Node n = layout.node(0, "LB-" + lbRound, null, RoundType.LOSERS_BRACKET,
+                        "LB" + lbRound + "-" + (i / 2 + 1), Source.loserOf(first.get(i)), Source.loserOf(first.get(i + 1)));
+                survivors.add(Source.winnerOf(n));
+            }
+            for (int r = 1; r < winners.size(); r++) {
+                lbRound++;
+                List<Node> dropped = new ArrayList<>(winners.get(r));
+                if (r % 2 == 1) {
+                    Collections.reverse(dropped);
+                }
+                List<Source> next = new ArrayList<>(survivors.size());
+                for (int i = 0; i < survivors.size(); i++) {
+                    Node n = layout.node(0, "LB-" + lbRound, null, RoundType.LOSERS_BRACKET,
+                            "LB" + lbRound + "-" + (i + 1), survivors.get(i), Source.loserOf(dropped.get(i)));
+                    next.add(Source.winnerOf(n));
+                }
+                survivors = next;
+                if (survivors.size() > 1) {
+                    lbRound++;
+                    next = new ArrayList<>(survivors.size() / 2);
+                    for (int i = 0; i + 1 < survivors.size(); i += 2) {
+                        Node n = layout.node(0, "LB-" + lbRound, null,
+                                RoundType.LOSERS_BRACKET, "LB" + lbRound + "-" + (i / 2 + 1),
+                                survivors.get(i), survivors.get(i + 1));
+                        next.add(Source.winnerOf(n));
+                    }
+                    survivors = next;
+                }
+            }
+            losersChampion = survivors.get(0);
+        }
+
+        layout.node(0, "GF", RoundType.GRAND_FINAL.getVietnameseName(), RoundType.GRAND_FINAL, "GF",
+                Source.winnerOf(winnersFinal), losersChampion);
+        return layout.resolve(Map.of());
+    }
+
+    /**
+     * Round robin (circle method); with an odd field each round one entrant rests
+     */
+    public static Plan roundRobin(List<Long> seededIds) {
+        requireEntrants(seededIds, 2);
+        Layout layout = new Layout();
+        layout.roundRobin(0, "", "", "Lượt ", RoundType.ROUND_ROBIN, seeds(seededIds));
+        return layout.resolve(Map.of());
+    }
+
+    /**
+     * Round-robin groups (seeds snaked across groups) followed by a single
+     * elimination bracket of the top advancePerGroup of every group
+     */
+    public static Plan groupsThenKnockout(List<Long> seededIds, int groupCount, int advancePerGroup) {
+        if (groupCount < 2) {
+            throw new IllegalArgumentException("Số bảng đấu phải từ 2 trở lên");
+        }
+        requireEntrants(seededIds, groupCount * 2);
+        if (advancePerGroup < 1 || advancePerGroup > seededIds.size() / groupCount) {
+            throw new IllegalArgumentException("Số đội đi tiếp mỗi bảng không hợp lệ");
+        }
+
+        List<List<Source>> groups = new ArrayList<>(groupCount);
+        for (int g = 0; g < groupCount; g++) {
+            groups.add(new ArrayList<>());
+        }
+        Map<Long, String> groupOf = new HashMap<>(seededIds.size() * 2);
+        for (int i = 0; i < seededIds.size(); i++) {
+            int row = i / groupCount;
+            int column = i % groupCount;
+            int g = row % 2 == 0 ? column : groupCount - 1 - column;
+            groups.get(g).add(Source.participant(seededIds.get(i)));
+            groupOf.put(seededIds.get(i), groupName(g));
+        }
+
+        Layout layout = new Layout();
+        for (int g = 0; g < groupCount; g++) {
+            layout.roundRobin(0, "GS-", groupName(g) + "-", "Vòng bảng - Lượt ", RoundType.GROUP_STAGE, groups.get(g));
+        }
+
+        // Knockout seeds: all group winners, then all runners-up, ...
+        int count = groupCount * advancePerGroup;
+        List<Source> advancing = new ArrayList<>(count);
+        int[] seedGroup = new int[count];
+        for (int rank = 1; rank <= advancePerGroup; rank++) {
+            for (int g = 0; g < groupCount; g++) {
+                seedGroup[advancing.size()] = g;
+                advancing.add(Source.placeholder(groupName(g) + rank));
+            }
+        }
+        separateGroups(advancing, seedGroup, groupCount);
+        layout.knockout(1, "", "", advancing);
+        return layout.resolve(groupOf);
+    }
+
+    /**
+     * Swap equally ranked seeds between first-round pairs until no pair (where
+     * avoidable) has both entrants from the same group
+     */
+    private static void separateGroups(List<Source> seeds, int[] seedGroup, int groupCount) {
+        int[] order = drawOrder(Integer.highestOneBit(seeds.size() - 1) << 1);
+        int count = seeds.size();
+        for (int i = 0; i < order.length; i += 2) {
+            int a = order[i] - 1;
+            int b = order[i + 1] - 1;
+            if (b >= count || seedGroup[a] != seedGroup[b]) {
+                continue;
+            }
+            for (int j = 0; j < order.length; j += 2) {
+                int c = order[j] - 1;
+                int d = order[j + 1] - 1;
+                // d must have b's rank (same block of groupCount seeds) to keep the seeding fair
+                if (j == i || d >= count || d / groupCount != b / groupCount
+                        || seedGroup[d] == seedGroup[a] || seedGroup[b] == seedGroup[c]) {
+                    continue;
+                }
+                Collections.swap(seeds, b, d);
+                int swap = seedGroup[b];
+                seedGroup[b] = seedGroup[d];
+                seedGroup[d] = swap;
+                break;
+            }
+        }
+    }
+
+    private static void requireEntrants(List<Long> seededIds, int min) {
+        if (seededIds.size() < min) {
+            throw new IllegalArgumentException("Cần ít nhất " + min + " vận động viên để tạo nhánh đấu");
+        }
+    }
+
+    private static List<Source> seeds(List<Long> participantIds) {
+        List<Source> sources = new ArrayList<>(participantIds.size());
+        for (Long id : participantIds) {
+            sources.add(Source.participant(id));
+        }
+        return sources;
+    }
+
+    private static String groupName(int g) {
+        return g < 26 ? String.valueOf((char) ('A' + g)) : "G" + (g + 1);
+    }
+
+    /**
+     * Seed numbers (1-based) in draw order for a power-of-two bracket: 1 v n, n/2 v n/2+1, ...
+     * so that seeds 1 and 2 can only meet in the final
+     */
+    static int[] drawOrder(int size) {
+        int[] order = {1};
+        while (order.length < size) {
+            int next = order.length * 2;
+            int[] expanded = new int[next];
+            for (int i = 0; i < order.length; i++) {
+                expanded[2 * i] = order[i];
+                expanded[2 * i + 1] = next + 1 - order[i];
+            }
+            order = expanded;
+        }
+        return order;
+    }
+
+    // Layout
+
+    /**
+     * Where a match slot gets its entrant from
+     */
+    private record Source(Long participantId, String placeholder, Node match, boolean loser) {
+
+        static final Source EMPTY = new Source(null, null, null, false);
+
+        static Source participant(Long id) {
+            return new Source(id, null, null, false);
+        }
+
+        static Source placeholder(String label) {
+            return new Source(null, label, null, false);
+        }
+
+        static Source winnerOf(Node node) {
+            return new Source(null, null, node, false);
+        }
+
+        static Source loserOf(Node node) {
+            return new Source(null, null, node, true);
+        }
+
+        boolean isEmpty() {
+            return participantId == null && placeholder == null && match == null;
+        }
+
+        String label() {
+            if (placeholder != null) {
+                return placeholder;
+            }
+            return match != null ? (loser ? "L:" : "W:") + match.position : null;
+        }
+    }
+
+    private static final class Node {
+        final int stage;
+        final String roundKey;
+        final String roundName;
+        final RoundType roundType;
+        final String position;
+        final Source[] in;
+        // Set by resolve()
+        boolean real;
+        int depth;
+        MatchPlan plan;
+        Source winnerOut = Source.EMPTY;
+
+        Node(int stage, String roundKey, String roundName, RoundType roundType, String position, Source in1, Source in2) {
+            this.stage = stage;
+            this.roundKey = roundKey;
+            this.roundName = roundName;
+            this.roundType = roundType;
+            this.position = position;
+            this.in = new Source[]{in1, in2};
+        }
+    }
+
+    private static final class Layout {
+        private final List<Node> nodes = new ArrayList<>();
+
+        Node node(int stage, String roundKey, String roundName, RoundType roundType, String position,
+                Source in1, Source in2) {
+            Node n = new Node(stage, roundKey, roundName, roundType, position, in1, in2);
+            nodes.add(n);
+            return n;
+        }
+
+        /**
+         * Full power-of-two single elimination over the given seeds; returns the rounds' nodes
+         */
+        List<List<Node>> knockout(int stage, String prefix, String namePrefix, List<Source> seeds) {
+            int size = Integer.highestOneBit(seeds.size() - 1) << 1;
+            int[] order = drawOrder(size);
+            int rounds = Integer.numberOfTrailingZeros(size);
+
+            List<List<Node>> result = new ArrayList<>(rounds);
+            List<Source> entrants = new ArrayList<>(size);
+            for (int seed : order) {
+                entrants.add(seed <= seeds.size() ? seeds.get(seed - 1) : Source.EMPTY);
+            }
+            for (int r = 1; r <= rounds; r++) {
+                int matches = entrants.size() / 2;
+                RoundType type = knockoutRoundType(matches);
+                String name = namePrefix + knockoutRoundName(type, matches);
+                List<Node> round = new ArrayList<>(matches);
+                List<Source> next = new ArrayList<>(matches);
+                for (int i = 0; i < matches; i++) {
+                    String position = prefix + knockoutPosition(type, matches, i + 1);
+                    Node n = node(stage, prefix + "R" + r, name, type, position,
+                            entrants.get(2 * i), entrants.get(2 * i + 1));
+                    round.add(n);
+                    next.add(Source.winnerOf(n));
+                }
+                result.add(round);
+                entrants = next;
+            }
+            return result;
+        }
+
+        void roundRobin(int stage, String roundPrefix, String positionPrefix, String namePrefix, RoundType type,
+                List<Source> entrants) {
+            List<Source> circle = new ArrayList<>(entrants);
+            if (circle.size() % 2 == 1) {
+                circle.add(Source.EMPTY);
+            }
+            int n = circle.size();
+            for (int r = 1; r < n; r++) {
+                int match = 0;
+                for (int i = 0; i < n / 2; i++) {
+                    Source home = circle.get(i);
+                    Source away = circle.get(n - 1 - i);
+                    // Alternate the fixed entrant's side so nobody is always listed first
+                    if (i == 0 && r % 2 == 0) {
+                        Source swap = home;
+                        home = away;
+                        away = swap;
+                    }
+                    if (!home.isEmpty() && !away.isEmpty()) {
+                        match++;
+                    }
+                    node(stage, roundPrefix + "R" + r, namePrefix + r, type,
+                            positionPrefix + "R" + r + "-" + match, home, away);
+                }
+                // Rotate all but the first entrant one step
+                circle.add(1, circle.remove(n - 1));
+            }
+        }
+
+        /**
+         * Drop matches without two entrants, link the remaining ones and group them into rounds
+         */
+        Plan resolve(Map<Long, String> groups) {
+            List<Node> real = new ArrayList<>(nodes.size());
+            for (Node n : nodes) {
+                Source a = forward(n.in[0]);
+                Source b = forward(n.in[1]);
+                n.in[0] = a;
+                n.in[1] = b;
+                if (a.isEmpty() || b.isEmpty()) {
+                    n.winnerOut = a.isEmpty() ? b : a;
+                    continue;
+                }
+                n.real = true;
+                n.depth = 1 + Math.max(depthOf(a), depthOf(b));
+                real.add(n);
+            }
+
+            // Rounds in playing order: stage, then the earliest match depth, then creation order
+            Map<String, int[]> roundOrder = new LinkedHashMap<>();
+            Map<String, Node> roundSample = new HashMap<>();
+            for (Node n : real) {
+                int[] key = roundOrder.computeIfAbsent(n.roundKey, k -> new int[]{n.stage, n.depth, roundOrder.size()});
+                key[1] = Math.min(key[1], n.depth);
+                roundSample.putIfAbsent(n.roundKey, n);
+            }
+            List<String> keys = new ArrayList<>(roundOrder.keySet());
+            keys.sort(Comparator.<String>comparingInt(k -> roundOrder.get(k)[0])
+                    .thenComparingInt(k -> roundOrder.get(k)[1])
+                    .thenComparingInt(k -> roundOrder.get(k)[2]));
+            List<RoundPlan> rounds = new ArrayList<>(keys.size());
+            Map<String, Integer> roundIndex = new HashMap<>(keys.size() * 2);
+            int losersRound = 0;
+            for (String key : keys) {
+                Node sample = roundSample.get(key);
+                roundIndex.put(key, rounds.size());
+                // Losers bracket rounds emptied by byes are skipped, so renumber the rest
+                String name = sample.roundType == RoundType.LOSERS_BRACKET
+                        ? RoundType.LOSERS_BRACKET.getVietnameseName() + " - Vòng " + ++losersRound
+                        : sample.roundName;
+                rounds.add(new RoundPlan(rounds.size() + 1, name, sample.roundType));
+            }
+
+            real.sort(Comparator.comparingInt((Node n) -> roundIndex.get(n.roundKey)));
+            List<MatchPlan> matches = new ArrayList<>(real.size());
+            for (Node n : real) {
+                n.plan = new MatchPlan(matches.size(), roundIndex.get(n.roundKey), n.depth, n.position, n.in[0], n.in[1]);
+                matches.add(n.plan);
+            }
+            for (Node n : real) {
+                for (int slot = 0; slot < 2; slot++) {
+                    Source s = n.in[slot];
+                    if (s.match == null) {
+                        continue;
+                    }
+                    MatchPlan from = s.match.plan;
+                    if (s.loser) {
+                        from.loserTo = n.plan.index;
+                        from.loserSlot = slot + 1;
+                    } else {
+                        from.winnerTo = n.plan.index;
+                        from.winnerSlot = slot + 1;
+                    }
+                }
+            }
+            return new Plan(rounds, matches, groups);
+        }
+
+        /**
+         * Follow a source through dropped matches: the winner of a dropped match is
+         * its only entrant and it has no loser
+         */
+        private static Source forward(Source s) {
+            if (s.match == null || s.match.real) {
+                return s;
+            }
+            return s.loser ? Source.EMPTY : s.match.winnerOut;
+        }
+
+        private static int depthOf(Source s) {
+            return s.match != null ? s.match.depth : 0;
+        }
+    }
+
+    private static RoundType knockoutRoundType(int matches) {
+        return switch (matches) {
+            case 1 -> RoundType.FINAL;
+            case 2 -> RoundType.SEMI_FINAL;
+            case 4 -> RoundType.QUARTER_FINAL;
+            case 8 -> RoundType.ROUND_OF_16;
+            case 16 -> RoundType.ROUND_OF_32;
+            case 32 -> RoundType.ROUND_OF_64;
+            default -> RoundType.PRELIMINARY;
+        };
+    }
+
+    private static String knockoutRoundName(RoundType type, int matches) {
+        return type == RoundType.PRELIMINARY ? "Vòng " + matches * 2 : type.getVietnameseName();
+    }
+
+    private static String knockoutPosition(RoundType type, int matches, int number) {
+        return switch (type) {
+            case FINAL -> FINAL_POSITION;
+            case SEMI_FINAL -> "SF" + number;
+            case QUARTER_FINAL -> "QF" + number;
+            case ROUND_OF_16 -> "R16-" + number;
+            case ROUND_OF_32 -> "R32-" + number;
+            case ROUND_OF_64 -> "R64-" + number;
+            default -> "R" + matches * 2 + "-" + number;
+        };
+    }
+}
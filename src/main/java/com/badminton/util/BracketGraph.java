@@ -0,0 +1,283 @@
+package com.badminton.util;
+
+import com.badminton.enums.MatchStatus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory bracket of one tournament: matches linked by where their winner
+ * and loser play next (next_match_id / loser_next_match_id and slot).
+ * complete() places the winner and loser of a match and follows the
+ * consequences: a match with one entrant and a slot nobody can reach any more
+ * (the loser of a walkover does not drop to the losers bracket, a void match
+ * sends nobody) is a bye won by walkover, and a match with two such slots is
+ * void. Each step moves one match deeper, so a chain of byes costs O(depth)
+ * and needs no lookups beyond the graph. seat() fills the knockout slots that
+ * wait for group-stage qualifiers the same way. Not thread-safe.
+ */
+public final class BracketGraph {
+
+    /**
+     * Final state of a match changed by a completion (not the completed match itself)
+     */
+    public record Change(long matchId, Long roundId, Long participant1Id, Long participant2Id,
+            MatchStatus status, Long winnerId, boolean bye, int participant1Score, int participant2Score) {
+    }
+
+    /**
+     * Matches to write, and matches decided per round including the completed one
+     */
+    public record Outcome(List<Change> changes, Map<Long, Integer> decidedPerRound, int decided) {
+    }
+
+    private static final class Node {
+        final long id;
+        final Long roundId;
+        final int bestOfSets;
+        final Long[] participants = new Long[3];
+        // No entrant will ever arrive in this slot
+        final boolean[] dead = new boolean[3];
+        // Group-stage placeholder ("A1") or feeder label; null: nothing is expected
+        final String[] sources = new String[3];
+        MatchStatus status;
+        Long winnerId;
+        boolean walkover;
+        int score1;
+        int score2;
+
+        final Long winnerToId;
+        final int winnerSlot;
+        final Long loserToId;
+        final int loserSlot;
+        Node winnerTo;
+        Node loserTo;
+        boolean fed1;
+        boolean fed2;
+
+        Node(long id, Long roundId, int bestOfSets, Long winnerToId, Integer winnerSlot,
+                Long loserToId, Integer loserSlot) {
+            this.id = id;
+            this.roundId = roundId;
+            this.bestOfSets = bestOfSets;
+            this.winnerToId = winnerToId;
+            this.winnerSlot = winnerSlot != null ? winnerSlot : 0;
+            this.loserToId = loserToId;
+            this.loserSlot = loserSlot != null ? loserSlot : 0;
+        }
+
+        boolean isOpen() {
+            return status == MatchStatus.SCHEDULED || status == MatchStatus.POSTPONED;
+        }
+
+        boolean isFilled(int slot) {
+            return participants[slot] != null;
+        }
+    }
+
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private boolean sealed;
+
+    /**
+     * Register a match as stored; call seal() once all matches are added
+     */
+    public void addMatch(long id, Long roundId, int bestOfSets, MatchStatus status, boolean walkover,
+            Long participant1Id, Long participant2Id, String participant1Source, String participant2Source,
+            Long winnerId, Long nextMatchId, Integer nextMatchSlot, Long loserNextMatchId, Integer loserNextMatchSlot) {
+        Node node = new Node(id, roundId, bestOfSets, nextMatchId, nextMatchSlot, loserNextMatchId, loserNextMatchSlot);
+        node.status = status;
+        node.walkover = walkover;
+        node.participants[1] = participant1Id;
+        node.participants[2] = participant2Id;
+        node.sources[1] = participant1Source;
+        node.sources[2] = participant2Source;
+        node.winnerId = winnerId;
+        nodes.put(id, node);
+    }
+
+    /**
+     * Link the matches and work out which empty slots can no longer be filled
+     */
+    public void seal() {
+        for (Node node : nodes.values()) {
+            node.winnerTo = link(node.winnerToId, node.winnerSlot);
+            node.loserTo = link(node.loserToId, node.loserSlot);
+            feed(node.winnerTo, node.winnerSlot);
+            feed(node.loserTo, node.loserSlot);
+        }
+        for (Node node : nodes.values()) {
+            if (node.status == MatchStatus.CANCELLED) {
+                markDead(node.winnerTo, node.winnerSlot);
+                markDead(node.loserTo, node.loserSlot);
+            } else if (node.status == MatchStatus.COMPLETED && node.walkover) {
+                markDead(node.loserTo, node.loserSlot);
+            }
+        }
+        for (Node node : nodes.values()) {
+            for (int slot = 1; slot <= 2; slot++) {
+                boolean fed = slot == 1 ? node.fed1 : node.fed2;
+                if (!node.isFilled(slot) && !fed && node.sources[slot] == null) {
+                    node.dead[slot] = true;
+                }
+            }
+        }
+        sealed = true;
+    }
+
+    public boolean contains(long matchId) {
+        return nodes.containsKey(matchId);
+    }
+
+    /**
+     * Record the result of a match and propagate it.
+     * loserId is ignored for a walkover: the loser does not play on.
+     */
+    public Outcome complete(long matchId, long winnerId, Long loserId, boolean walkover) {
+        if (!sealed) {
+            throw new IllegalStateException("Bracket graph is not sealed");
+        }
+        Node match = nodes.get(matchId);
+        if (match == null) {
+            throw new IllegalArgumentException("Match " + matchId + " is not in the bracket");
+        }
+
+        Map<Long, Integer> decidedPerRound = new HashMap<>();
+        match.status = MatchStatus.COMPLETED;
+        match.winnerId = winnerId;
+        match.walkover = walkover;
+        countDecided(match, decidedPerRound);
+
+        Set<Node> changed = new LinkedHashSet<>();
+        Deque<Node> work = new ArrayDeque<>();
+        send(match.winnerTo, match.winnerSlot, winnerId, changed, work);
+        send(match.loserTo, match.loserSlot, walkover ? null : loserId, changed, work);
+
+        return propagate(changed, work, decidedPerRound, 1);
+    }
+
+    /**
+     * Fill the slots waiting for a group-stage placeholder ("A1") from the final
+     * group standings and propagate the byes that causes. A placeholder with no
+     * qualifier (a group smaller than its places) leaves its slot dead.
+     * Slots already filled are kept, so seating twice changes nothing.
+     */
+    public Outcome seat(Map<String, Long> qualifiers) {
+        if (!sealed) {
+            throw new IllegalStateException("Bracket graph is not sealed");
+        }
+        Set<Node> changed = new LinkedHashSet<>();
+        Deque<Node> work = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            if (!node.isOpen()) {
+                continue;
+            }
+            for (int slot = 1; slot <= 2; slot++) {
+                boolean fed = slot == 1 ? node.fed1 : node.fed2;
+                if (node.sources[slot] != null && !fed && !node.isFilled(slot) && !node.dead[slot]) {
+                    send(node, slot, qualifiers.get(node.sources[slot]), changed, work);
+                }
+            }
+        }
+        return propagate(changed, work, new HashMap<>(), 0);
+    }
+
+    /**
+     * Decide the byes and void matches reachable from the queued matches
+     */
+    private Outcome propagate(Set<Node> changed, Deque<Node> work, Map<Long, Integer> decidedPerRound, int decided) {
+        while (!work.isEmpty()) {
+            Node node = work.poll();
+            if (!node.isOpen()) {
+                continue;
+            }
+            boolean bye1 = node.isFilled(1) && node.dead[2];
+            boolean bye2 = node.isFilled(2) && node.dead[1];
+            if (bye1 || bye2) {
+                node.status = MatchStatus.COMPLETED;
+                node.walkover = true;
+                node.winnerId = node.participants[bye1 ? 1 : 2];
+                // Same score as a walkover: the winner takes every set
+                node.score1 = bye1 ? node.bestOfSets : 0;
+                node.score2 = bye1 ? 0 : node.bestOfSets;
+                changed.add(node);
+                countDecided(node, decidedPerRound);
+                decided++;
+                send(node.winnerTo, node.winnerSlot, node.winnerId, changed, work);
+                send(node.loserTo, node.loserSlot, null, changed, work);
+            } else if (node.dead[1] && node.dead[2]) {
+                node.status = MatchStatus.CANCELLED;
+                changed.add(node);
+                countDecided(node, decidedPerRound);
+                decided++;
+                send(node.winnerTo, node.winnerSlot, null, changed, work);
+                send(node.loserTo, node.loserSlot, null, changed, work);
+            }
+        }
+
+        List<Change> changes = new ArrayList<>(changed.size());
+        for (Node node : changed) {
+            changes.add(new Change(node.id, node.roundId, node.participants[1], node.participants[2],
+                    node.status, node.winnerId, node.walkover && node.status == MatchStatus.COMPLETED,
+                    node.score1, node.score2));
+        }
+        return new Outcome(changes, decidedPerRound, decided);
+    }
+
+    /**
+     * Place an entrant in a slot, or mark it dead when participantId is null
+     */
+    private static void send(Node target, int slot, Long participantId, Set<Node> changed, Deque<Node> work) {
+        if (target == null) {
+            return;
+        }
+        if (participantId == null) {
+            target.dead[slot] = true;
+        } else if (target.participants[slot] == null) {
+            target.participants[slot] = participantId;
+            changed.add(target);
+        } else if (!target.participants[slot].equals(participantId)) {
+            throw new IllegalStateException("Slot " + slot + " of match " + target.id
+                    + " already holds participant " + target.participants[slot]);
+        }
+        work.add(target);
+    }
+
+    private Node link(Long targetId, int slot) {
+        if (targetId == null) {
+            return null;
+        }
+        Node target = nodes.get(targetId);
+        if (target == null || (slot != 1 && slot != 2)) {
+            throw new IllegalStateException("Broken bracket link to match " + targetId + " slot " + slot);
+        }
+        return target;
+    }
+
+    private static void feed(Node target, int slot) {
+        if (target != null) {
+            if (slot == 1) {
+                target.fed1 = true;
+            } else {
+                target.fed2 = true;
+            }
+        }
+    }
+
+    private static void markDead(Node target, int slot) {
+        if (target != null && !target.isFilled(slot)) {
+            target.dead[slot] = true;
+        }
+    }
+
+    private static void countDecided(Node node, Map<Long, Integer> decidedPerRound) {
+        if (node.roundId != null) {
+            decidedPerRound.merge(node.roundId, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.badminton.util;
+
+import com.badminton.entity.court.CourtPricing;
+import com.badminton.enums.DayOfWeek;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Compiled price table for one court: 7 days x 5-minute cells holding the
+ * hourly price (in cents) of the active CourtPricing row covering the cell.
+ * A quote sums the cells it covers, so bookings that cross from one pricing
+ * band into another (e.g. NORMAL into PEAK) are priced per band.
+ */
+public final class CourtPriceTable {
+
+    public static final int CELL_MINUTES = 5;
+    private static final int CELLS_PER_DAY = BookingUtils.MINUTES_PER_DAY / CELL_MINUTES;
+    private static final long NO_PRICE = -1L;
+
+    // [day-1][cell] hourly price in cents, NO_PRICE when not priced
+    private final long[][] hourlyCents = new long[7][CELLS_PER_DAY];
+    private final int[][] minDuration = new int[7][CELLS_PER_DAY];
+    private final int[][] maxDuration = new int[7][CELLS_PER_DAY];
+
+    private CourtPriceTable() {
+        for (long[] day : hourlyCents) {
+            Arrays.fill(day, NO_PRICE);
+        }
+    }
+
+    /**
+     * Compile active pricing rows; the first row covering a cell wins,
+     * same as CourtUtils.findPricing
+     */
+    public static CourtPriceTable compile(Collection<CourtPricing> pricings) {
+        CourtPriceTable table = new CourtPriceTable();
+
+        for (CourtPricing pricing : pricings) {
+            if (!Boolean.TRUE.equals(pricing.getIsActive()) || pricing.getPrice() == null) {
+                continue;
+            }
+            int day = pricing.getDayOfWeek().getValue() - 1;
+            long cents = pricing.getPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            int from = BookingUtils.toMinute(pricing.getTimeStart()) / CELL_MINUTES;
+            int to = BookingUtils.toEndMinute(pricing.getTimeStart(), pricing.getTimeEnd()) / CELL_MINUTES;
+
+            for (int cell = from; cell < to && cell < CELLS_PER_DAY; cell++) {
+                if (table.hourlyCents[day][cell] == NO_PRICE) {
+                    table.hourlyCents[day][cell] = cents;
+                    table.minDuration[day][cell] = pricing.getMinBookingDuration();
+                    table.maxDuration[day][cell] = pricing.getMaxBookingDuration();
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Check if every minute of [startTime, endTime) is priced
+     */
+    public boolean isPriced(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        long[] day = hourlyCents[DayOfWeek.fromJavaTime(date.getDayOfWeek()).getValue() - 1];
+        int start = BookingUtils.toMinute(startTime);
+        int end = BookingUtils.toEndMinute(startTime, endTime);
+        for (int cell = start / CELL_MINUTES; cell * CELL_MINUTES < end; cell++) {
+            if (day[cell] == NO_PRICE) {
+                return false;
+            }
+        }
+        return start < end;
+    }
+
+    /**
+     * Quote [startTime, endTime) on a date, splitting across pricing bands.
+     * Duration limits come from the band the booking starts in.
+     */
+    public BigDecimal quote(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int dayIndex = DayOfWeek.fromJavaTime(date.getDayOfWeek()).getValue() - 1;
+        long[] day = hourlyCents[dayIndex];
+        int start = BookingUtils.toMinute(startTime);
+        int end = BookingUtils.toEndMinute(startTime, endTime);
+
+        if (start >= end) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+
+        int startCell = start / CELL_MINUTES;
+        if (day[startCell] == NO_PRICE) {
+            throw new IllegalArgumentException("No pricing found for the specified time");
+        }
+
+        int duration = end - start;
+        if (duration < minDuration[dayIndex][startCell]) {
+            throw new IllegalArgumentException("Duration below minimum: " + minDuration[dayIndex][startCell] + " minutes");
+        }
+        if (duration > maxDuration[dayIndex][startCell]) {
+            throw new IllegalArgumentException("Duration exceeds maximum: " + maxDuration[dayIndex][startCell] + " minutes");
+        }
+
+        // sum of hourly cents x minutes, divided once at the end
+        long centMinutes = 0;
+        for (int cell = startCell; cell * CELL_MINUTES < end; cell++) {
+            if (day[cell] == NO_PRICE) {
+                throw new IllegalArgumentException("No pricing found for the specified time");
+            }
+            int cellStart = Math.max(start, cell * CELL_MINUTES);
+            int cellEnd = Math.min(end, (cell + 1) * CELL_MINUTES);
+            centMinutes += day[cell] * (cellEnd - cellStart);
+        }
+
+        return BigDecimal.valueOf(centMinutes)
+                .divide(BigDecimal.valueOf(60L * 100L), 2, RoundingMode.HALF_UP);
+    }
+}
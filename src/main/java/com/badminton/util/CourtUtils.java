@@ -25,23 +25,15 @@ public class CourtUtils {
     }
 
     /**
-     * Calculate booking price
+     * Calculate booking price, split across every pricing band the booking covers.
+     * Prefer CourtPriceTableCache on hot paths, this compiles the table per call.
      */
     public static BigDecimal calculateBookingPrice(
             Court court,
             LocalDate date,
             LocalTime startTime,
             LocalTime endTime) {
-        DayOfWeek dayOfWeek = DayOfWeek.fromJavaTime(date.getDayOfWeek());
-
-        Optional<CourtPricing> pricing = findPricing(court, dayOfWeek, startTime);
-
-        if (pricing.isEmpty()) {
-            throw new IllegalArgumentException("No pricing found for the specified time");
-        }
-
-        long durationMinutes = java.time.Duration.between(startTime, endTime).toMinutes();
-        return pricing.get().calculatePrice((int) durationMinutes);
+        return CourtPriceTable.compile(court.getPricings()).quote(date, startTime, endTime);
     }
 
     /**
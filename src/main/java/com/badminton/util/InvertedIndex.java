@@ -0,0 +1,351 @@
+package com.badminton.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking.
+ * Documents get dense internal ids in insertion order, so every posting list
+ * is sorted and multi-term queries are intersections driven by the rarest
+ * term (binary search in the others). All query terms must match; the last
+ * one is a prefix (search-as-you-type), expanded to its most frequent
+ * completions when it has too many (the result says so). Identifier fields (codes, phones) are
+ * indexed with their suffixes so a prefix query on them behaves like
+ * LIKE '%kw%'. Updates tombstone the old document; tombstones are compacted
+ * away once they exceed a quarter of the index.
+ */
+public final class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_SUFFIX_LENGTH = 3;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    /**
+     * One indexed field of a document
+     */
+    public record Field(String text, float weight, boolean html, boolean identifier) {
+
+        public static Field text(String text, float weight) {
+            return new Field(text, weight, false, false);
+        }
+
+        public static Field html(String text, float weight) {
+            return new Field(text, weight, true, false);
+        }
+
+        public static Field identifier(String text, float weight) {
+            return new Field(text, weight, false, true);
+        }
+    }
+
+    /**
+     * A page of matching external ids, best first, plus the total match count.
+     * truncated: the last word had more completions than are expanded and the
+     * rarest ones were left out, so total may be short.
+     */
+    public record Result(List<Long> ids, int total, boolean truncated) {
+
+        static final Result EMPTY = new Result(List.of(), 0, false);
+    }
+
+    private record Expansion(Postings postings, boolean truncated) {
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        /**
+         * Position of doc at or after from; negative (-(insertion point) - 1) when absent
+         */
+        int seek(int doc, int from) {
+            return Arrays.binarySearch(docs, from, size, doc);
+        }
+    }
+
+    private record Hit(long id, float score) {
+    }
+
+    private static final Comparator<Hit> WORST_FIRST =
+            Comparator.comparingDouble(Hit::score).thenComparing(Hit::id, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> docOf = new HashMap<>();
+    private long[] externalIds = new long[1024];
+    private float[] lengths = new float[1024];
+    private final BitSet deleted = new BitSet();
+    private final BitSet restricted = new BitSet();
+    private int maxDoc;
+    private int deletedCount;
+    private double totalLength;
+
+    // Writes
+
+    /**
+     * Add or replace a document; restricted ones are only returned on request
+     */
+    public void put(long id, List<Field> fields, boolean restrictedDoc) {
+        Map<String, Float> weights = new HashMap<>();
+        float length = 0;
+        for (Field field : fields) {
+            if (field.text() == null || field.text().isEmpty()) {
+                continue;
+            }
+            for (String token : TextNormalizer.tokenize(field.text(), field.html())) {
+                weights.merge(token, field.weight(), Float::sum);
+                length += field.weight();
+                if (field.identifier()) {
+                    for (int i = 1; i + MIN_SUFFIX_LENGTH <= token.length(); i++) {
+                        weights.merge(token.substring(i), field.weight() / 2, Float::sum);
+                    }
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int doc = maxDoc++;
+            if (doc == externalIds.length) {
+                externalIds = Arrays.copyOf(externalIds, doc * 2);
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+            externalIds[doc] = id;
+            lengths[doc] = length;
+            totalLength += length;
+            restricted.set(doc, restrictedDoc);
+            docOf.put(id, doc);
+            weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Integer doc = docOf.remove(id);
+        if (doc == null) {
+            return;
+        }
+        deleted.set(doc);
+        deletedCount++;
+        totalLength -= lengths[doc];
+        if (deletedCount > 1024 && deletedCount * 4 > maxDoc) {
+            compact();
+        }
+    }
+
+    /**
+     * Drop tombstoned documents and renumber the rest (order is preserved)
+     */
+    private void compact() {
+        int[] remap = new int[maxDoc];
+        int next = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                externalIds[next] = externalIds[doc];
+                lengths[next] = lengths[doc];
+                restricted.set(next, restricted.get(doc));
+                next++;
+            }
+        }
+        restricted.clear(next, maxDoc);
+
+        terms.values().removeIf(p -> {
+            int size = 0;
+            for (int i = 0; i < p.size; i++) {
+                int doc = remap[p.docs[i]];
+                if (doc >= 0) {
+                    p.docs[size] = doc;
+                    p.weights[size] = p.weights[i];
+                    size++;
+                }
+            }
+            p.size = size;
+            return size == 0;
+        });
+
+        docOf.replaceAll((id, doc) -> remap[doc]);
+        deleted.clear();
+        deletedCount = 0;
+        maxDoc = next;
+    }
+
+    // Reads
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return maxDoc - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search; page is [offset, offset + limit) of the matches
+     */
+    public Result search(String query, boolean includeRestricted, int offset, int limit) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Result.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size() - 1; i++) {
+                Postings p = terms.get(tokens.get(i));
+                if (p == null) {
+                    return Result.EMPTY;
+                }
+                lists.add(p);
+            }
+            Expansion last = expandPrefix(tokens.get(tokens.size() - 1));
+            if (last == null) {
+                return Result.EMPTY;
+            }
+            lists.add(last.postings());
+            lists.sort(Comparator.comparingInt(p -> p.size));
+
+            return rank(lists, includeRestricted, offset, limit, last.truncated());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Union of the postings of the terms starting with prefix; past
+     * MAX_PREFIX_EXPANSIONS terms only the ones in the most documents are kept
+     */
+    private Expansion expandPrefix(String prefix) {
+        NavigableMap<String, Postings> matches = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        if (matches.size() == 1) {
+            return new Expansion(matches.firstEntry().getValue(), false);
+        }
+
+        Collection<Postings> expanded = matches.values();
+        boolean truncated = matches.size() > MAX_PREFIX_EXPANSIONS;
+        if (truncated) {
+            PriorityQueue<Postings> largest = new PriorityQueue<>(MAX_PREFIX_EXPANSIONS + 1,
+                    Comparator.comparingInt(p -> p.size));
+            for (Postings p : matches.values()) {
+                largest.add(p);
+                if (largest.size() > MAX_PREFIX_EXPANSIONS) {
+                    largest.poll();
+                }
+            }
+            expanded = largest;
+        }
+
+        Map<Integer, Float> union = new HashMap<>();
+        for (Postings p : expanded) {
+            for (int i = 0; i < p.size; i++) {
+                union.merge(p.docs[i], p.weights[i], Float::sum);
+            }
+        }
+        int[] docs = union.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        Postings merged = new Postings();
+        merged.docs = docs;
+        merged.weights = new float[docs.length];
+        merged.size = docs.length;
+        for (int i = 0; i < docs.length; i++) {
+            merged.weights[i] = union.get(docs[i]);
+        }
+        return new Expansion(merged, truncated);
+    }
+
+    private Result rank(List<Postings> lists, boolean includeRestricted, int offset, int limit, boolean truncated) {
+        int live = maxDoc - deletedCount;
+        float avgLength = live > 0 ? (float) (totalLength / live) : 1;
+        float[] idf = new float[lists.size()];
+        for (int t = 0; t < lists.size(); t++) {
+            int df = lists.get(t).size;
+            idf[t] = (float) Math.log(1 + (live - df + 0.5) / (df + 0.5));
+        }
+
+        int wanted = offset + limit;
+        PriorityQueue<Hit> top = new PriorityQueue<>(wanted + 1, WORST_FIRST);
+        int[] cursors = new int[lists.size()];
+        int total = 0;
+
+        Postings driver = lists.get(0);
+        candidates:
+        for (int i = 0; i < driver.size; i++) {
+            int doc = driver.docs[i];
+            if (deleted.get(doc) || (!includeRestricted && restricted.get(doc))) {
+                continue;
+            }
+            float norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+            float score = idf[0] * bm25(driver.weights[i], norm);
+            for (int t = 1; t < lists.size(); t++) {
+                Postings p = lists.get(t);
+                int at = p.seek(doc, cursors[t]);
+                if (at < 0) {
+                    cursors[t] = -at - 1;
+                    if (cursors[t] == p.size) {
+                        break candidates; // a term ran out, nothing further can match
+                    }
+                    continue candidates;
+                }
+                cursors[t] = at;
+                score += idf[t] * bm25(p.weights[at], norm);
+            }
+            total++;
+            top.add(new Hit(externalIds[doc], score));
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().id());
+        }
+        Collections.reverse(ids);
+        List<Long> page = offset < ids.size() ? ids.subList(offset, ids.size()) : List.of();
+        return new Result(new ArrayList<>(page), total, truncated);
+    }
+
+    private static float bm25(float weight, float norm) {
+        return weight * (K1 + 1) / (weight + norm);
+    }
+}
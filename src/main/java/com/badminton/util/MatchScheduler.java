@@ -0,0 +1,465 @@
+package com.badminton.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Court/time assignment for tournament matches.
+ * Time is in minutes from a caller-chosen origin. Courts, participants and
+ * referees are timelines of busy intervals; a court is busy outside its free
+ * windows. A match is placed at the earliest minute where a court, all of its
+ * known participants (with rest time on both sides) and a referee are free and
+ * every feeding match has finished plus rest time.
+ *
+ * schedule() decodes a priority order (critical path first) greedily and then
+ * improves it by local search: swapping two matches in the order without
+ * breaking dependencies, kept when makespan and total finish time do not get
+ * worse. repair() right-shifts an existing schedule after an overrun, keeping
+ * each match's time and court whenever still feasible.
+ */
+public final class MatchScheduler {
+
+    private static final int UNBOUNDED = Integer.MAX_VALUE / 2;
+
+    private final int restMinutes;
+    private final int changeoverMinutes;
+    private final int horizon;
+
+    private final Map<Long, Timeline> courts = new LinkedHashMap<>();
+    private final Map<Long, Timeline> participants = new HashMap<>();
+    private final Map<Long, Timeline> referees = new HashMap<>();
+    private final List<Long> refereePool = new ArrayList<>();
+    private final Map<Long, Integer> fixedEnds = new HashMap<>();
+
+    /**
+     * One match to place; participants holds the entrants already known, feeders
+     * the matches whose winner/loser plays in it
+     */
+    public record Job(long id, int round, List<Long> participants, Long refereeId, int duration,
+            List<Long> feeders, int notBefore, Long preferredCourt) {
+    }
+
+    public record Assignment(long matchId, long courtId, int start, int end, Long refereeId) {
+    }
+
+    /**
+     * Outcome of a run; unscheduled lists matches that did not fit before the horizon
+     */
+    public record Result(Map<Long, Assignment> assignments, List<Long> unscheduled, int makespan) {
+    }
+
+    public MatchScheduler(int restMinutes, int changeoverMinutes, int horizon) {
+        this.restMinutes = restMinutes;
+        this.changeoverMinutes = changeoverMinutes;
+        this.horizon = horizon;
+    }
+
+    // Resources
+
+    /**
+     * Register a court with its free windows ([start, end) pairs, sorted or not)
+     */
+    public void addCourt(long courtId, List<int[]> freeWindows) {
+        Timeline timeline = new Timeline();
+        List<int[]> windows = new ArrayList<>(freeWindows);
+        windows.sort(Comparator.comparingInt(w -> w[0]));
+        int cursor = Integer.MIN_VALUE / 2;
+        for (int[] window : windows) {
+            if (window[0] > cursor) {
+                timeline.add(cursor, window[0]);
+            }
+            cursor = Math.max(cursor, window[1]);
+        }
+        timeline.add(Math.min(Math.max(cursor, 0), horizon), UNBOUNDED);
+        courts.put(courtId, timeline);
+    }
+
+    public void occupyCourt(long courtId, int start, int end) {
+        Timeline timeline = courts.get(courtId);
+        if (timeline != null) {
+            timeline.add(start, end + changeoverMinutes);
+        }
+    }
+
+    public void occupyParticipant(long participantId, int start, int end) {
+        participants.computeIfAbsent(participantId, id -> new Timeline()).add(start, end + restMinutes);
+    }
+
+    public void occupyReferee(long refereeId, int start, int end) {
+        referees.computeIfAbsent(refereeId, id -> new Timeline()).add(start, end);
+    }
+
+    /**
+     * Referees that may be assigned to matches without one
+     */
+    public void addRefereePool(Collection<Long> refereeIds) {
+        for (Long id : refereeIds) {
+            if (!refereePool.contains(id)) {
+                refereePool.add(id);
+                referees.computeIfAbsent(id, k -> new Timeline());
+            }
+        }
+    }
+
+    /**
+     * End of a match that is not being scheduled (played, live or kept) and feeds a job
+     */
+    public void fixedEnd(long matchId, int end) {
+        fixedEnds.put(matchId, end);
+    }
+
+    // Runs
+
+    /**
+     * Greedy placement in critical-path order followed by up to iterations local search moves
+     */
+    public Result schedule(List<Job> jobs, int iterations, long seed) {
+        List<Job> order = initialOrder(jobs);
+        Result best = decode(order);
+        long bestCost = cost(best);
+
+        Random random = new Random(seed);
+        for (int it = 0; it < iterations && order.size() > 1; it++) {
+            int i = random.nextInt(order.size());
+            int j = random.nextInt(order.size());
+            if (i == j) {
+                continue;
+            }
+            int lo = Math.min(i, j);
+            int hi = Math.max(i, j);
+            if (!canSwap(order, lo, hi)) {
+                continue;
+            }
+            swap(order, lo, hi);
+            Result candidate = decode(order);
+            long candidateCost = cost(candidate);
+            if (candidateCost <= bestCost) {
+                best = candidate;
+                bestCost = candidateCost;
+            } else {
+                swap(order, lo, hi);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Place jobs in the given order (current start times), never earlier than
+     * notBefore and on preferredCourt whenever it is free at the earliest time
+     */
+    public Result repair(List<Job> jobsInOrder) {
+        return decode(jobsInOrder);
+    }
+
+    private Result decode(List<Job> order) {
+        Map<Long, Timeline> courtState = copy(courts);
+        Map<Long, Timeline> participantState = copy(participants);
+        Map<Long, Timeline> refereeState = copy(referees);
+        Map<Long, Integer> refereeLoad = new HashMap<>();
+        Map<Long, Integer> ends = new HashMap<>(fixedEnds);
+        Set<Long> jobIds = new HashSet<>(order.size() * 2);
+        order.forEach(j -> jobIds.add(j.id()));
+
+        Map<Long, Assignment> assignments = new LinkedHashMap<>(order.size() * 2);
+        List<Long> unscheduled = new ArrayList<>();
+        int makespan = 0;
+
+        for (Job job : order) {
+            int t = job.notBefore();
+            boolean blocked = false;
+            for (Long feeder : job.feeders()) {
+                Integer end = ends.get(feeder);
+                if (end == null && jobIds.contains(feeder)) {
+                    blocked = true; // feeder itself could not be placed
+                } else if (end != null) {
+                    t = Math.max(t, end + restMinutes);
+                }
+            }
+            Placement placement = blocked ? null
+                    : place(job, t, courtState, participantState, refereeState, refereeLoad);
+            if (placement == null) {
+                unscheduled.add(job.id());
+                continue;
+            }
+
+            int end = placement.start + job.duration();
+            courtState.get(placement.courtId).add(placement.start, end + changeoverMinutes);
+            for (Long p : job.participants()) {
+                participantState.computeIfAbsent(p, id -> new Timeline()).add(placement.start, end + restMinutes);
+            }
+            if (placement.refereeId != null) {
+                refereeState.computeIfAbsent(placement.refereeId, id -> new Timeline()).add(placement.start, end);
+                refereeLoad.merge(placement.refereeId, 1, Integer::sum);
+            }
+            ends.put(job.id(), end);
+            makespan = Math.max(makespan, end);
+            assignments.put(job.id(), new Assignment(job.id(), placement.courtId, placement.start, end,
+                    placement.refereeId));
+        }
+        return new Result(assignments, unscheduled, makespan);
+    }
+
+    private record Placement(long courtId, int start, Long refereeId) {
+    }
+
+    /**
+     * Earliest feasible start at or after t; every retry moves t forward and
+     * courts are busy from the horizon on, so the loop ends
+     */
+    private Placement place(Job job, int t, Map<Long, Timeline> courtState, Map<Long, Timeline> participantState,
+            Map<Long, Timeline> refereeState, Map<Long, Integer> refereeLoad) {
+        int duration = job.duration();
+        while (true) {
+            // Participants (rest time after the match is part of the reserved span)
+            boolean moved;
+            do {
+                moved = false;
+                for (Long p : job.participants()) {
+                    Timeline timeline = participantState.get(p);
+                    if (timeline != null) {
+                        int next = timeline.nextFree(t, duration + restMinutes);
+                        if (next > t) {
+                            t = next;
+                            moved = true;
+                        }
+                    }
+                }
+            } while (moved);
+            if (t >= horizon) {
+                return null;
+            }
+
+            // Court: preferred one if free at t, else the earliest
+            Long courtId = null;
+            int courtStart = UNBOUNDED;
+            Timeline preferred = job.preferredCourt() != null ? courtState.get(job.preferredCourt()) : null;
+            if (preferred != null && preferred.nextFree(t, duration + changeoverMinutes) == t) {
+                courtId = job.preferredCourt();
+                courtStart = t;
+            } else {
+                for (Map.Entry<Long, Timeline> court : courtState.entrySet()) {
+                    int start = court.getValue().nextFree(t, duration + changeoverMinutes);
+                    if (start < courtStart) {
+                        courtStart = start;
+                        courtId = court.getKey();
+                    }
+                }
+            }
+            if (courtId == null || courtStart >= horizon) {
+                return null;
+            }
+            if (courtStart > t) {
+                t = courtStart;
+                continue;
+            }
+
+            // Referee: keep the assigned one, else the least loaded free one from the pool
+            if (job.refereeId() != null) {
+                Timeline timeline = refereeState.get(job.refereeId());
+                int next = timeline != null ? timeline.nextFree(t, duration) : t;
+                if (next > t) {
+                    t = next;
+                    continue;
+                }
+                return new Placement(courtId, t, job.refereeId());
+            }
+            if (refereePool.isEmpty()) {
+                return new Placement(courtId, t, null);
+            }
+            Long refereeId = null;
+            int nextFree = UNBOUNDED;
+            for (Long candidate : refereePool) {
+                int next = refereeState.get(candidate).nextFree(t, duration);
+                if (next == t && (refereeId == null
+                        || refereeLoad.getOrDefault(candidate, 0) < refereeLoad.getOrDefault(refereeId, 0))) {
+                    refereeId = candidate;
+                }
+                nextFree = Math.min(nextFree, next);
+            }
+            if (refereeId != null) {
+                return new Placement(courtId, t, refereeId);
+            }
+            t = nextFree;
+        }
+    }
+
+    // Ordering
+
+    /**
+     * Topological order, longest remaining chain first, then round and id
+     */
+    private List<Job> initialOrder(List<Job> jobs) {
+        Map<Long, Job> byId = new HashMap<>(jobs.size() * 2);
+        jobs.forEach(j -> byId.put(j.id(), j));
+        Map<Long, List<Job>> successors = new HashMap<>();
+        Map<Long, Integer> pending = new HashMap<>();
+        for (Job job : jobs) {
+            int count = 0;
+            for (Long feeder : job.feeders()) {
+                if (byId.containsKey(feeder)) {
+                    successors.computeIfAbsent(feeder, k -> new ArrayList<>()).add(job);
+                    count++;
+                }
+            }
+            pending.put(job.id(), count);
+        }
+
+        // Tail: the job's duration plus the longest chain after it
+        Map<Long, Integer> tail = new HashMap<>(jobs.size() * 2);
+        List<Job> reverse = topological(jobs, successors, new HashMap<>(pending));
+        for (int i = reverse.size() - 1; i >= 0; i--) {
+            Job job = reverse.get(i);
+            int longest = 0;
+            for (Job next : successors.getOrDefault(job.id(), List.of())) {
+                longest = Math.max(longest, tail.get(next.id()) + restMinutes);
+            }
+            tail.put(job.id(), job.duration() + longest);
+        }
+
+        PriorityQueue<Job> ready = new PriorityQueue<>(Comparator
+                .comparingInt((Job j) -> -tail.get(j.id()))
+                .thenComparingInt(Job::round)
+                .thenComparingLong(Job::id));
+        jobs.stream().filter(j -> pending.get(j.id()) == 0).forEach(ready::add);
+        List<Job> order = new ArrayList<>(jobs.size());
+        while (!ready.isEmpty()) {
+            Job job = ready.poll();
+            order.add(job);
+            for (Job next : successors.getOrDefault(job.id(), List.of())) {
+                if (pending.merge(next.id(), -1, Integer::sum) == 0) {
+                    ready.add(next);
+                }
+            }
+        }
+        if (order.size() != jobs.size()) {
+            throw new IllegalArgumentException("Match dependencies contain a cycle");
+        }
+        return order;
+    }
+
+    private static List<Job> topological(List<Job> jobs, Map<Long, List<Job>> successors, Map<Long, Integer> pending) {
+        List<Job> order = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            if (pending.get(job.id()) == 0) {
+                order.add(job);
+            }
+        }
+        for (int i = 0; i < order.size(); i++) {
+            for (Job next : successors.getOrDefault(order.get(i).id(), List.of())) {
+                if (pending.merge(next.id(), -1, Integer::sum) == 0) {
+                    order.add(next);
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Swapping lo and hi keeps the order topological when nothing in between
+     * depends on the job at lo and the job at hi depends on nothing from lo on
+     */
+    private static boolean canSwap(List<Job> order, int lo, int hi) {
+        Job first = order.get(lo);
+        Job second = order.get(hi);
+        for (int k = lo + 1; k <= hi; k++) {
+            if (order.get(k).feeders().contains(first.id())) {
+                return false;
+            }
+        }
+        for (int k = lo; k < hi; k++) {
+            if (second.feeders().contains(order.get(k).id())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void swap(List<Job> order, int i, int j) {
+        Job tmp = order.get(i);
+        order.set(i, order.get(j));
+        order.set(j, tmp);
+    }
+
+    /**
+     * Unplaced matches dominate, then makespan, then the sum of finish times
+     */
+    private static long cost(Result result) {
+        long sumEnds = 0;
+        for (Assignment a : result.assignments().values()) {
+            sumEnds += a.end();
+        }
+        long n = Math.max(1, result.assignments().size());
+        return result.unscheduled().size() * (long) UNBOUNDED * n + result.makespan() * n + sumEnds;
+    }
+
+    private static Map<Long, Timeline> copy(Map<Long, Timeline> source) {
+        Map<Long, Timeline> copy = new LinkedHashMap<>(source.size() * 2);
+        source.forEach((id, timeline) -> copy.put(id, timeline.copy()));
+        return copy;
+    }
+
+    /**
+     * Disjoint busy intervals [start, end), merged on insert
+     */
+    private static final class Timeline {
+        private final TreeMap<Integer, Integer> busy;
+
+        Timeline() {
+            this.busy = new TreeMap<>();
+        }
+
+        private Timeline(TreeMap<Integer, Integer> busy) {
+            this.busy = busy;
+        }
+
+        void add(int start, int end) {
+            if (end <= start) {
+                return;
+            }
+            Map.Entry<Integer, Integer> before = busy.floorEntry(start);
+            if (before != null && before.getValue() >= start) {
+                start = before.getKey();
+                end = Math.max(end, before.getValue());
+            }
+            Map.Entry<Integer, Integer> next = busy.ceilingEntry(start);
+            while (next != null && next.getKey() <= end) {
+                end = Math.max(end, next.getValue());
+                busy.remove(next.getKey());
+                next = busy.ceilingEntry(start);
+            }
+            busy.put(start, end);
+        }
+
+        /**
+         * Earliest start >= t of a free span of the given length
+         */
+        int nextFree(int t, int length) {
+            int candidate = t;
+            Map.Entry<Integer, Integer> covering = busy.floorEntry(candidate);
+            if (covering != null && covering.getValue() > candidate) {
+                candidate = covering.getValue();
+            }
+            for (Map.Entry<Integer, Integer> interval : busy.tailMap(candidate, false).entrySet()) {
+                if (interval.getKey() >= candidate + length) {
+                    break;
+                }
+                candidate = interval.getValue();
+            }
+            return candidate;
+        }
+
+        Timeline copy() {
+            return new Timeline(new TreeMap<>(busy));
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.badminton.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Regex-free text pipeline behind PostUtils, with the exact output of the
+ * regex versions it replaced (tag stripping as "<[^>]*>", entities decoded in
+ * the old replace order, keywords as whitespace-separated words without stop
+ * words). One walk over the HTML produces the plain text and finds the first
+ * image; one walk over the plain text counts words and collects keywords.
+ * The two cannot be fused: entities are decoded, and the text trimmed, only
+ * once the characters are in the output. No pattern is compiled.
+ */
+public final class PostTextAnalyzer {
+
+    public static final int WORDS_PER_MINUTE = 200;
+    private static final int MIN_KEYWORD_LENGTH = 4;
+    private static final Set<String> STOP_WORDS =
+            Set.of("the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for");
+
+    /**
+     * Everything derived from a post body
+     */
+    public record Analysis(String plainText, int wordCount, String firstImage, List<String> keywords) {
+
+        public int readingTime() {
+            return Math.max(1, (int) Math.ceil(wordCount / (double) WORDS_PER_MINUTE));
+        }
+
+        /**
+         * First image, or null when its URL does not fit maxLength
+         */
+        public String firstImage(int maxLength) {
+            return firstImage != null && firstImage.length() <= maxLength ? firstImage : null;
+        }
+
+        public String excerpt(int maxLength) {
+            return PostTextAnalyzer.excerpt(plainText, maxLength);
+        }
+    }
+
+    private record Stripped(String plainText, String firstImage) {
+    }
+
+    private record Words(int count, List<String> keywords) {
+    }
+
+    private PostTextAnalyzer() {
+    }
+
+    // Slug
+
+    /**
+     * Lowercase ASCII slug: diacritics folded, other symbols dropped,
+     * ASCII whitespace/hyphen runs collapsed to one hyphen, no leading/trailing hyphen
+     */
+    public static String slugify(String text) {
+        StringBuilder slug = new StringBuilder(text.length());
+        boolean pendingHyphen = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char folded = TextNormalizer.fold(c);
+            if (TextNormalizer.isTokenChar(folded)) {
+                if (pendingHyphen && !slug.isEmpty()) {
+                    slug.append('-');
+                }
+                pendingHyphen = false;
+                slug.append(folded);
+            } else if (c == '-' || isSpace(c)) {
+                pendingHyphen = true;
+            }
+        }
+        return slug.toString();
+    }
+
+    // HTML
+
+    /**
+     * Plain text of an HTML fragment (trimmed)
+     */
+    public static String stripHtml(String html) {
+        return analyze(html, 0).plainText();
+    }
+
+    /**
+     * Keywords are the maxKeywords most frequent words longer than 3 chars;
+     * equal counts keep HashMap order, as the regex version did
+     */
+    public static Analysis analyze(String html, int maxKeywords) {
+        if (html == null || html.isEmpty()) {
+            return new Analysis("", 0, null, List.of());
+        }
+        Stripped stripped = strip(html);
+        Words words = words(stripped.plainText(), maxKeywords);
+        return new Analysis(stripped.plainText(), words.count(), stripped.firstImage(), words.keywords());
+    }
+
+    /**
+     * Cut plain text to maxLength at a word boundary, with "..."
+     */
+    public static String excerpt(String plainText, int maxLength) {
+        if (plainText.length() <= maxLength) {
+            return plainText;
+        }
+        int lastSpace = plainText.lastIndexOf(' ', maxLength - 3);
+        if (lastSpace > 0) {
+            return plainText.substring(0, lastSpace) + "...";
+        }
+        return plainText.substring(0, maxLength - 3) + "...";
+    }
+
+    /**
+     * Drop "<...>" (a '<' with no '>' after it is text), then decode entities
+     * on the remaining text: nbsp, amp, lt, gt, quot, each applied once in that
+     * order, so "&amp;lt;" becomes "<" but "&amp;amp;" stays "&amp;".
+     * Every "<img" met on the way, in a tag or not, is tried for the first image.
+     */
+    private static Stripped strip(String html) {
+        StringBuilder text = new StringBuilder(html.length());
+        String firstImage = null;
+        int lastTagEnd = html.lastIndexOf('>');
+        // A '&' decoded from "&amp;": only entities decoded after amp may start with it
+        int decodedAmp = -1;
+        boolean inTag = false;
+        for (int i = 0; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (c == '<' && firstImage == null && html.startsWith("<img", i)) {
+                firstImage = imageAt(html, i);
+            }
+            if (inTag) {
+                inTag = c != '>';
+                continue;
+            }
+            if (c == '<' && i < lastTagEnd) {
+                inTag = true;
+                continue;
+            }
+            text.append(c);
+            if (c == ';') {
+                decodedAmp = decodeEntity(text, decodedAmp);
+            }
+        }
+        return new Stripped(text.toString().trim(), firstImage);
+    }
+
+    /**
+     * Decode the entity text ends with, if any; returns the position of a '&' decoded here or decodedAmp
+     */
+    private static int decodeEntity(StringBuilder text, int decodedAmp) {
+        if (endsWith(text, "&lt;")) {
+            replaceEnd(text, 4, '<');
+        } else if (endsWith(text, "&gt;")) {
+            replaceEnd(text, 4, '>');
+        } else if (endsWith(text, "&quot;")) {
+            replaceEnd(text, 6, '"');
+        } else if (endsWith(text, "&nbsp;") && text.length() - 6 != decodedAmp) {
+            replaceEnd(text, 6, ' ');
+        } else if (endsWith(text, "&amp;") && text.length() - 5 != decodedAmp) {
+            replaceEnd(text, 5, '&');
+            return text.length() - 1;
+        }
+        return decodedAmp;
+    }
+
+    private static boolean endsWith(StringBuilder text, String suffix) {
+        int from = text.length() - suffix.length();
+        if (from < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (text.charAt(from + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void replaceEnd(StringBuilder text, int length, char c) {
+        text.setLength(text.length() - length);
+        text.append(c);
+    }
+
+    /**
+     * src of the {@code <img ... src="...">} starting at tag as matched by
+     * {@code <img[^>]+src="([^"]+)"}: case-sensitive, double quotes only,
+     * the last src=" of the tag wins; null when it has none
+     */
+    private static String imageAt(String html, int tag) {
+        int attributes = tag + 4;
+        int tagEnd = html.indexOf('>', attributes);
+        int limit = tagEnd >= 0 ? tagEnd : html.length();
+        for (int src = html.lastIndexOf("src=\"", limit - 5); src > attributes;
+                src = html.lastIndexOf("src=\"", src - 1)) {
+            int close = html.indexOf('"', src + 5);
+            if (close > src + 5) {
+                return html.substring(src + 5, close);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Number of whitespace-separated words (split("\\s+") on trimmed text) and,
+     * when maxKeywords > 0, keywords: lowercased words with stop words removed
+     * where they stand as a whole ASCII word ("\\bthe\\b"), words longer than
+     * 3 chars counted. Lowercasing adds or removes no ASCII whitespace, so the
+     * word count is the same on either text.
+     */
+    private static Words words(String plainText, int maxKeywords) {
+        boolean collect = maxKeywords > 0;
+        String text = collect ? plainText.toLowerCase() : plainText;
+        Map<String, Integer> frequencies = new HashMap<>();
+        StringBuilder word = new StringBuilder();
+        int count = 0;
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && isSpace(text.charAt(i))) {
+                i++;
+            }
+            if (i < text.length()) {
+                count++;
+            }
+            if (!collect) {
+                while (i < text.length() && !isSpace(text.charAt(i))) {
+                    i++;
+                }
+                continue;
+            }
+            word.setLength(0);
+            while (i < text.length() && !isSpace(text.charAt(i))) {
+                int runEnd = i;
+                while (runEnd < text.length() && isWordChar(text, runEnd)) {
+                    runEnd++;
+                }
+                if (runEnd > i) {
+                    String run = text.substring(i, runEnd);
+                    if (!STOP_WORDS.contains(run)) {
+                        word.append(run);
+                    }
+                    i = runEnd;
+                } else {
+                    word.append(text.charAt(i++));
+                }
+            }
+            if (word.length() >= MIN_KEYWORD_LENGTH) {
+                String key = word.toString();
+                frequencies.put(key, frequencies.getOrDefault(key, 0) + 1);
+            }
+        }
+
+        // Stable sort over HashMap order, like the stream the regex version used
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>(frequencies.entrySet());
+        ranked.sort((a, b) -> b.getValue().compareTo(a.getValue()));
+        List<String> keywords = new ArrayList<>(Math.min(maxKeywords, ranked.size()));
+        for (Map.Entry<String, Integer> entry : ranked.subList(0, Math.min(maxKeywords, ranked.size()))) {
+            keywords.add(entry.getKey());
+        }
+        return new Words(count, List.copyOf(keywords));
+    }
+
+    /**
+     * Word char of the regex word boundary: ASCII [A-Za-z0-9_], or a
+     * non-spacing mark on a word char
+     */
+    private static boolean isWordChar(String text, int at) {
+        char c = text.charAt(at);
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_') {
+            return true;
+        }
+        return Character.getType(c) == Character.NON_SPACING_MARK && at > 0 && isWordChar(text, at - 1);
+    }
+
+    /**
+     * Regex \s: ASCII whitespace only
+     */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
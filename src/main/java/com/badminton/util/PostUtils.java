@@ -3,11 +3,15 @@ package com.badminton.util;
 import com.badminton.entity.post.Post;
 
 import java.time.LocalDateTime;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class PostUtils {
 
+    private static final Pattern SCRIPT_TAG = Pattern.compile("<script[^>]*>.*?</script>");
+    private static final Pattern IFRAME_TAG = Pattern.compile("<iframe[^>]*>.*?</iframe>");
+    private static final Pattern EVENT_HANDLER_DOUBLE_QUOTED = Pattern.compile("on\\w+=\"[^\"]*\"");
+    private static final Pattern EVENT_HANDLER_SINGLE_QUOTED = Pattern.compile("on\\w+='[^']*'");
+
     /**
      * Generate unique slug
      */
@@ -25,33 +29,22 @@ public class PostUtils {
      * Generate slug from text
      */
     public static String generateSlug(String text) {
-        return text.toLowerCase()
-                .replaceAll("[àáạảãâầấậẩẫăằắặẳẵ]", "a")
-                .replaceAll("[èéẹẻẽêềếệểễ]", "e")
-                .replaceAll("[ìíịỉĩ]", "i")
-                .replaceAll("[òóọỏõôồốộổỗơờớợởỡ]", "o")
-                .replaceAll("[ùúụủũưừứựửữ]", "u")
-                .replaceAll("[ỳýỵỷỹ]", "y")
-                .replaceAll("[đ]", "d")
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-+", "-")
-                .replaceAll("^-|-$", "")
-                .trim();
+        return PostTextAnalyzer.slugify(text);
+    }
+
+    /**
+     * Derive plain text, word count, first image and keywords together;
+     * prefer this over calling the single-purpose helpers below one by one
+     */
+    public static PostTextAnalyzer.Analysis analyze(String htmlContent, int maxKeywords) {
+        return PostTextAnalyzer.analyze(htmlContent, maxKeywords);
     }
 
     /**
      * Extract first image from content
      */
     public static String extractFirstImage(String htmlContent) {
-        Pattern pattern = Pattern.compile("<img[^>]+src=\"([^\"]+)\"");
-        Matcher matcher = pattern.matcher(htmlContent);
-
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-
-        return null;
+        return PostTextAnalyzer.analyze(htmlContent, 0).firstImage();
     }
 
     /**
@@ -62,46 +55,21 @@ public class PostUtils {
             return null;
         }
 
-        return html.replaceAll("<[^>]*>", "")
-                .replaceAll("&nbsp;", " ")
-                .replaceAll("&amp;", "&")
-                .replaceAll("&lt;", "<")
-                .replaceAll("&gt;", ">")
-                .replaceAll("&quot;", "\"")
-                .trim();
+        return PostTextAnalyzer.stripHtml(html);
     }
 
     /**
      * Calculate reading time
      */
     public static int calculateReadingTime(String content) {
-        String plainText = stripHtml(content);
-        int wordCount = plainText.split("\\s+").length;
-
-        // Average reading speed: 200 words per minute
-        int minutes = (int) Math.ceil(wordCount / 200.0);
-
-        return Math.max(1, minutes);
+        return PostTextAnalyzer.analyze(content, 0).readingTime();
     }
 
     /**
      * Generate excerpt
      */
     public static String generateExcerpt(String content, int maxLength) {
-        String plainText = stripHtml(content);
-
-        if (plainText.length() <= maxLength) {
-            return plainText;
-        }
-
-        // Find last space before maxLength
-        int lastSpace = plainText.lastIndexOf(' ', maxLength - 3);
-
-        if (lastSpace > 0) {
-            return plainText.substring(0, lastSpace) + "...";
-        }
-
-        return plainText.substring(0, maxLength - 3) + "...";
+        return PostTextAnalyzer.analyze(content, 0).excerpt(maxLength);
     }
 
     /**
@@ -122,42 +90,18 @@ public class PostUtils {
         }
 
         // Remove dangerous tags and attributes
-        return html.replaceAll("<script[^>]*>.*?</script>", "")
-                .replaceAll("<iframe[^>]*>.*?</iframe>", "")
-                .replaceAll("javascript:", "")
-                .replaceAll("on\\w+=\"[^\"]*\"", "")
-                .replaceAll("on\\w+='[^']*'", "");
+        String sanitized = SCRIPT_TAG.matcher(html).replaceAll("");
+        sanitized = IFRAME_TAG.matcher(sanitized).replaceAll("");
+        sanitized = sanitized.replace("javascript:", "");
+        sanitized = EVENT_HANDLER_DOUBLE_QUOTED.matcher(sanitized).replaceAll("");
+        return EVENT_HANDLER_SINGLE_QUOTED.matcher(sanitized).replaceAll("");
     }
 
     /**
      * Extract keywords from content
      */
     public static String[] extractKeywords(String content, int maxKeywords) {
-        String plainText = stripHtml(content).toLowerCase();
-
-        // Remove common words (stop words)
-        String[] stopWords = { "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for" };
-
-        for (String stopWord : stopWords) {
-            plainText = plainText.replaceAll("\\b" + stopWord + "\\b", "");
-        }
-
-        // Split into words and count frequency
-        String[] words = plainText.split("\\s+");
-        java.util.Map<String, Integer> wordFreq = new java.util.HashMap<>();
-
-        for (String word : words) {
-            if (word.length() > 3) {
-                wordFreq.put(word, wordFreq.getOrDefault(word, 0) + 1);
-            }
-        }
-
-        // Sort by frequency and return top keywords
-        return wordFreq.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(maxKeywords)
-                .map(java.util.Map.Entry::getKey)
-                .toArray(String[]::new);
+        return PostTextAnalyzer.analyze(content, maxKeywords).keywords().toArray(String[]::new);
     }
 
     /**
@@ -0,0 +1,209 @@
+package com.badminton.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Standings of one round-robin group, kept sorted as results come in.
+ * A result updates the two rows in O(1); the order is kept by match wins and
+ * only the blocks of rows whose wins were touched are re-ranked. Rows level on
+ * wins are separated by, in turn: wins in the matches among the tied rows
+ * (head-to-head), set ratio, point ratio. Whenever a criterion splits a block,
+ * every part that is still tied starts again from head-to-head; what no
+ * criterion separates is ordered by participant id, so the order is always
+ * deterministic. Not thread-safe.
+ */
+public final class StandingsTable {
+
+    /**
+     * One line of the table; rank starts at 1
+     */
+    public record Row(long participantId, int rank, int played, int won, int lost,
+            int setsWon, int setsLost, int pointsWon, int pointsLost) {
+    }
+
+    private static final class Entry {
+        final long participantId;
+        int position;
+        int played;
+        int won;
+        int lost;
+        int setsWon;
+        int setsLost;
+        int pointsWon;
+        int pointsLost;
+        // opponent id -> matches won against that opponent
+        final Map<Long, Integer> beaten = new HashMap<>();
+        // scratch value while ranking a tied block
+        double key;
+
+        Entry(long participantId) {
+            this.participantId = participantId;
+        }
+
+        void record(boolean winner, int setsFor, int setsAgainst, int pointsFor, int pointsAgainst) {
+            played++;
+            if (winner) {
+                won++;
+            } else {
+                lost++;
+            }
+            setsWon += setsFor;
+            setsLost += setsAgainst;
+            pointsWon += pointsFor;
+            pointsLost += pointsAgainst;
+        }
+    }
+
+    private static final int CRITERIA = 3;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // Sorted by wins descending, ties resolved
+    private final List<Entry> order = new ArrayList<>();
+
+    public void addParticipant(long participantId) {
+        if (entries.containsKey(participantId)) {
+            return;
+        }
+        Entry entry = new Entry(participantId);
+        entry.position = order.size();
+        entries.put(participantId, entry);
+        order.add(entry);
+        rankBlock(0);
+    }
+
+    public boolean contains(long participantId) {
+        return entries.containsKey(participantId);
+    }
+
+    /**
+     * Apply one result; sets and points are per participant
+     */
+    public void record(long participant1Id, long participant2Id, long winnerId,
+            int participant1Sets, int participant2Sets, int participant1Points, int participant2Points) {
+        Entry p1 = entry(participant1Id);
+        Entry p2 = entry(participant2Id);
+        if (winnerId != participant1Id && winnerId != participant2Id) {
+            throw new IllegalArgumentException("Winner " + winnerId + " did not play the match");
+        }
+        p1.record(winnerId == participant1Id, participant1Sets, participant2Sets, participant1Points, participant2Points);
+        p2.record(winnerId == participant2Id, participant2Sets, participant1Sets, participant2Points, participant1Points);
+
+        Entry winner = winnerId == participant1Id ? p1 : p2;
+        Entry loser = winner == p1 ? p2 : p1;
+        winner.beaten.merge(loser.participantId, 1, Integer::sum);
+
+        // Only the winner's wins changed: move it above the rows it now has more wins than
+        int pos = winner.position;
+        while (pos > 0 && order.get(pos - 1).won < winner.won) {
+            Entry above = order.get(pos - 1);
+            order.set(pos, above);
+            above.position = pos;
+            pos--;
+        }
+        order.set(pos, winner);
+        winner.position = pos;
+
+        rankBlock(winner.won);
+        rankBlock(winner.won - 1);
+        if (loser.won != winner.won && loser.won != winner.won - 1) {
+            rankBlock(loser.won);
+        }
+    }
+
+    /**
+     * Current standings, best first
+     */
+    public List<Row> standings() {
+        List<Row> rows = new ArrayList<>(order.size());
+        for (int i = 0; i < order.size(); i++) {
+            Entry e = order.get(i);
+            rows.add(new Row(e.participantId, i + 1, e.played, e.won, e.lost,
+                    e.setsWon, e.setsLost, e.pointsWon, e.pointsLost));
+        }
+        return rows;
+    }
+
+    public int size() {
+        return order.size();
+    }
+
+    private Entry entry(long participantId) {
+        Entry entry = entries.get(participantId);
+        if (entry == null) {
+            throw new IllegalArgumentException("Participant " + participantId + " is not in this group");
+        }
+        return entry;
+    }
+
+    /**
+     * Re-rank the contiguous rows with the given number of wins
+     */
+    private void rankBlock(int wins) {
+        int start = 0;
+        while (start < order.size() && order.get(start).won > wins) {
+            start++;
+        }
+        int end = start;
+        while (end < order.size() && order.get(end).won == wins) {
+            end++;
+        }
+        if (end - start < 2) {
+            return;
+        }
+        rank(order.subList(start, end));
+        for (int i = start; i < end; i++) {
+            order.get(i).position = i;
+        }
+    }
+
+    private static void rank(List<Entry> block) {
+        if (block.size() < 2) {
+            return;
+        }
+        for (int criterion = 0; criterion < CRITERIA; criterion++) {
+            for (Entry e : block) {
+                e.key = key(e, block, criterion);
+            }
+            block.sort((a, b) -> Double.compare(b.key, a.key));
+            if (block.get(0).key == block.get(block.size() - 1).key) {
+                continue;
+            }
+            // Split into parts with equal keys first: ranking a part overwrites the keys
+            List<int[]> parts = new ArrayList<>();
+            int from = 0;
+            for (int i = 1; i <= block.size(); i++) {
+                if (i == block.size() || block.get(i).key != block.get(from).key) {
+                    parts.add(new int[]{from, i});
+                    from = i;
+                }
+            }
+            for (int[] part : parts) {
+                rank(block.subList(part[0], part[1]));
+            }
+            return;
+        }
+        block.sort((a, b) -> Long.compare(a.participantId, b.participantId));
+    }
+
+    private static double key(Entry e, List<Entry> block, int criterion) {
+        return switch (criterion) {
+            case 0 -> {
+                int wins = 0;
+                for (Entry other : block) {
+                    wins += e.beaten.getOrDefault(other.participantId, 0);
+                }
+                yield wins;
+            }
+            // won / (won + lost) orders the same way as won / lost, without dividing by zero
+            case 1 -> share(e.setsWon, e.setsLost);
+            default -> share(e.pointsWon, e.pointsLost);
+        };
+    }
+
+    private static double share(int won, int lost) {
+        return won + lost == 0 ? 0 : (double) won / (won + lost);
+    }
+}
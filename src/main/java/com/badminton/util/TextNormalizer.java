@@ -0,0 +1,117 @@
+package com.badminton.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Char-level folding of Vietnamese text to lowercase ASCII (the same mapping
+ * PostUtils.generateSlug applies with regexes) and a tokenizer built on it.
+ * Folding is a single table lookup per char, so text is normalized in one pass
+ * without intermediate strings.
+ */
+public final class TextNormalizer {
+
+    public static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final char[] FOLD = new char[0x1F00];
+
+    static {
+        for (char c = 0; c < FOLD.length; c++) {
+            FOLD[c] = Character.toLowerCase(c);
+        }
+        map("àáạảãâầấậẩẫăằắặẳẵ", 'a');
+        map("èéẹẻẽêềếệểễ", 'e');
+        map("ìíịỉĩ", 'i');
+        map("òóọỏõôồốộổỗơờớợởỡ", 'o');
+        map("ùúụủũưừứựửữ", 'u');
+        map("ỳýỵỷỹ", 'y');
+        map("đ", 'd');
+    }
+
+    private static void map(String chars, char target) {
+        for (char c : chars.toCharArray()) {
+            FOLD[c] = target;
+            char upper = Character.toUpperCase(c);
+            if (upper < FOLD.length) {
+                FOLD[upper] = target;
+            }
+        }
+    }
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lowercase, diacritic-free form of a char (chars outside the table are only lowercased)
+     */
+    public static char fold(char c) {
+        return c < FOLD.length ? FOLD[c] : Character.toLowerCase(c);
+    }
+
+    /**
+     * Whether a folded char belongs to a token
+     */
+    public static boolean isTokenChar(char folded) {
+        return (folded >= 'a' && folded <= 'z') || (folded >= '0' && folded <= '9');
+    }
+
+    /**
+     * Folded copy of a string
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(text.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Folded [a-z0-9]+ tokens of plain text
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * Folded tokens; with html, markup between '<' and '>' is skipped
+     */
+    public static List<String> tokenize(String text, boolean html) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder(MAX_TOKEN_LENGTH);
+        boolean inTag = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (html) {
+                if (c == '<') {
+                    inTag = true;
+                } else if (c == '>' && inTag) {
+                    inTag = false;
+                    c = ' ';
+                }
+                if (inTag) {
+                    c = ' ';
+                }
+            }
+            char folded = fold(c);
+            if (isTokenChar(folded)) {
+                if (token.length() < MAX_TOKEN_LENGTH) {
+                    token.append(folded);
+                }
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+}
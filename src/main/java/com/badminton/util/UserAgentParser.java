@@ -0,0 +1,121 @@
+package com.badminton.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lightweight user-agent classifier (device type, browser, OS) based on plain
+ * substring checks. Real traffic repeats a small set of UA strings, so results
+ * are memoized in a bounded cache.
+ */
+public final class UserAgentParser {
+
+    public static final String DESKTOP = "DESKTOP";
+    public static final String MOBILE = "MOBILE";
+    public static final String TABLET = "TABLET";
+    public static final String BOT = "BOT";
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final int CACHE_LIMIT = 10_000;
+    private static final int MAX_UA_LENGTH = 512;
+
+    private static final Map<String, UserAgentInfo> CACHE = new ConcurrentHashMap<>();
+
+    public record UserAgentInfo(String deviceType, String browser, String os) {
+    }
+
+    private static final UserAgentInfo UNKNOWN_INFO = new UserAgentInfo(UNKNOWN, UNKNOWN, UNKNOWN);
+
+    private UserAgentParser() {
+    }
+
+    /**
+     * Classify a user-agent string
+     */
+    public static UserAgentInfo parse(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return UNKNOWN_INFO;
+        }
+        UserAgentInfo cached = CACHE.get(userAgent);
+        if (cached != null) {
+            return cached;
+        }
+
+        String ua = (userAgent.length() > MAX_UA_LENGTH ? userAgent.substring(0, MAX_UA_LENGTH) : userAgent)
+                .toLowerCase(Locale.ROOT);
+        UserAgentInfo info = new UserAgentInfo(detectDevice(ua), detectBrowser(ua), detectOs(ua));
+
+        if (CACHE.size() >= CACHE_LIMIT) {
+            // Long tail of unique strings: start over rather than track recency
+            CACHE.clear();
+        }
+        CACHE.put(userAgent, info);
+        return info;
+    }
+
+    private static String detectDevice(String ua) {
+        if (ua.contains("bot") || ua.contains("crawler") || ua.contains("spider")) {
+            return BOT;
+        }
+        if (ua.contains("ipad") || ua.contains("tablet")
+                || (ua.contains("android") && !ua.contains("mobile"))) {
+            return TABLET;
+        }
+        if (ua.contains("mobi") || ua.contains("iphone") || ua.contains("ipod")) {
+            return MOBILE;
+        }
+        return DESKTOP;
+    }
+
+    private static String detectBrowser(String ua) {
+        // Order matters: Edge/Opera/Coc Coc UAs also advertise Chrome and Safari
+        if (ua.contains("edg/") || ua.contains("edge/")) {
+            return "Edge";
+        }
+        if (ua.contains("opr/") || ua.contains("opera")) {
+            return "Opera";
+        }
+        if (ua.contains("coc_coc_browser")) {
+            return "Coc Coc";
+        }
+        if (ua.contains("samsungbrowser")) {
+            return "Samsung Internet";
+        }
+        if (ua.contains("firefox/") || ua.contains("fxios/")) {
+            return "Firefox";
+        }
+        if (ua.contains("chrome/") || ua.contains("crios/")) {
+            return "Chrome";
+        }
+        if (ua.contains("safari/")) {
+            return "Safari";
+        }
+        if (ua.contains("msie") || ua.contains("trident/")) {
+            return "Internet Explorer";
+        }
+        return UNKNOWN;
+    }
+
+    private static String detectOs(String ua) {
+        if (ua.contains("windows")) {
+            return "Windows";
+        }
+        if (ua.contains("iphone") || ua.contains("ipad") || ua.contains("ipod")) {
+            return "iOS";
+        }
+        if (ua.contains("android")) {
+            return "Android";
+        }
+        if (ua.contains("mac os x") || ua.contains("macintosh")) {
+            return "macOS";
+        }
+        if (ua.contains("cros")) {
+            return "ChromeOS";
+        }
+        if (ua.contains("linux")) {
+            return "Linux";
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,18 @@
+-- Claim due delayed tasks by moving them to the in-flight set under a lease.
+-- KEYS[1]: queue (score = due millis), KEYS[2]: in-flight set (score = lease expiry millis)
+-- ARGV[1]: now in milliseconds, ARGV[2]: lease duration in milliseconds, ARGV[3]: batch size
+-- Tasks whose lease ran out (claimer died or stalled) go back to the queue first,
+-- unless they were rescheduled meanwhile. Returns the claimed members.
+local now = tonumber(ARGV[1])
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', now, 'LIMIT', 0, ARGV[3])
+for _, member in ipairs(expired) do
+    redis.call('ZREM', KEYS[2], member)
+    redis.call('ZADD', KEYS[1], 'NX', now, member)
+end
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'LIMIT', 0, ARGV[3])
+local leaseEnd = now + tonumber(ARGV[2])
+for _, member in ipairs(due) do
+    redis.call('ZREM', KEYS[1], member)
+    redis.call('ZADD', KEYS[2], leaseEnd, member)
+end
+return due
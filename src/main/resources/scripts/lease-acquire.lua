@@ -0,0 +1,13 @@
+-- Take or renew a lease held by one instance.
+-- KEYS[1]: lease key, ARGV[1]: instance token, ARGV[2]: lease duration in milliseconds
+-- Returns 1 when the caller holds the lease afterwards, 0 when another instance does.
+local owner = redis.call('GET', KEYS[1])
+if owner == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    return 1
+end
+if not owner then
+    redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+    return 1
+end
+return 0
@@ -0,0 +1,27 @@
+-- Acquire all ranges atomically or none.
+-- KEYS: court-day keys (one per range, may repeat), ARGV[1]: owner token, ARGV[2]: ttl in milliseconds,
+-- ARGV[2i+1], ARGV[2i+2]: start and end minute of the range on KEYS[i].
+-- Each key is a sorted set of held ranges ("token:start:end") scored by their expiry time.
+-- Returns 0 on success, otherwise the 1-based index of the first range overlapping another owner's.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local token = ARGV[1]
+local ttl = tonumber(ARGV[2])
+for i, key in ipairs(KEYS) do
+    redis.call('ZREMRANGEBYSCORE', key, '-inf', now)
+    local startMinute = tonumber(ARGV[2 * i + 1])
+    local endMinute = tonumber(ARGV[2 * i + 2])
+    for _, held in ipairs(redis.call('ZRANGE', key, 0, -1)) do
+        local owner, heldStart, heldEnd = string.match(held, '^(.+):(%d+):(%d+)$')
+        if owner ~= token and tonumber(heldStart) < endMinute and startMinute < tonumber(heldEnd) then
+            return i
+        end
+    end
+end
+for i, key in ipairs(KEYS) do
+    redis.call('ZADD', key, now + ttl, token .. ':' .. ARGV[2 * i + 1] .. ':' .. ARGV[2 * i + 2])
+    if redis.call('PTTL', key) < ttl then
+        redis.call('PEXPIRE', key, ttl)
+    end
+end
+return 0
@@ -0,0 +1,8 @@
+-- Release ranges still held; a range that expired and was taken by another owner has another member.
+-- KEYS: court-day keys, ARGV[i]: member ("token:start:end") added on KEYS[i]
+-- Returns the number of ranges released.
+local released = 0
+for i, key in ipairs(KEYS) do
+    released = released + redis.call('ZREM', key, ARGV[i])
+end
+return released
@@ -0,0 +1,95 @@
+package com.badminton.benchmark;
+
+import com.badminton.enums.MatchStatus;
+import com.badminton.util.BracketBuilder;
+import com.badminton.util.BracketBuilder.MatchPlan;
+import com.badminton.util.BracketBuilder.Plan;
+import com.badminton.util.BracketGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating the bracket of a large tournament (1024 entrants by default) in
+ * every format, and loading a double-elimination plan into a BracketGraph as
+ * BracketProgressionService does on the first result.
+ * Run with: java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.badminton.benchmark.BracketBuilderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BracketBuilderBenchmark {
+
+    @Param({"1024"})
+    public int entrants;
+
+    private List<Long> ids;
+    private Plan doubleEliminationPlan;
+
+    @Setup
+    public void setUp() {
+        ids = new ArrayList<>(entrants);
+        for (long i = 1; i <= entrants; i++) {
+            ids.add(i);
+        }
+        doubleEliminationPlan = BracketBuilder.doubleElimination(ids);
+    }
+
+    @Benchmark
+    public Plan singleElimination() {
+        return BracketBuilder.singleElimination(ids);
+    }
+
+    @Benchmark
+    public Plan doubleElimination() {
+        return BracketBuilder.doubleElimination(ids);
+    }
+
+    @Benchmark
+    public Plan roundRobin() {
+        return BracketBuilder.roundRobin(ids);
+    }
+
+    @Benchmark
+    public Plan groupsThenKnockout() {
+        return BracketBuilder.groupsThenKnockout(ids, entrants / 4, 2);
+    }
+
+    @Benchmark
+    public BracketGraph loadDoubleEliminationGraph() {
+        BracketGraph graph = new BracketGraph();
+        for (MatchPlan m : doubleEliminationPlan.matches()) {
+            graph.addMatch(m.getIndex(), (long) m.getRoundIndex(), 3, MatchStatus.SCHEDULED, false,
+                    m.getParticipant1Id(), m.getParticipant2Id(),
+                    m.getParticipant1Source(), m.getParticipant2Source(), null,
+                    m.getWinnerTo() >= 0 ? (long) m.getWinnerTo() : null,
+                    m.getWinnerTo() >= 0 ? m.getWinnerSlot() : null,
+                    m.getLoserTo() >= 0 ? (long) m.getLoserTo() : null,
+                    m.getLoserTo() >= 0 ? m.getLoserSlot() : null);
+        }
+        graph.seal();
+        return graph;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BracketBuilderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.badminton.benchmark;
+
+import com.badminton.dto.projection.BookingSlot;
+import com.badminton.entity.court.Court;
+import com.badminton.entity.court.CourtPricing;
+import com.badminton.entity.court.Schedule;
+import com.badminton.enums.BookingStatus;
+import com.badminton.enums.DayOfWeek;
+import com.badminton.repository.booking.BookingRepository;
+import com.badminton.repository.court.CourtMaintenanceRepository;
+import com.badminton.repository.court.CourtPricingRepository;
+import com.badminton.repository.court.CourtRepository;
+import com.badminton.repository.court.ScheduleRepository;
+import com.badminton.service.court.BranchDayGridService;
+import com.badminton.service.court.CourtPriceTableCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Branch day grid for a branch of N courts open 06:00-22:00 in one-hour slots,
+ * half of them booked. "warm" is a cached request (target: under 20ms), "cold"
+ * builds the grid from the loaded rows. Repositories are stubbed, so database
+ * time is not included: cold adds the four queries on top of this.
+ * Run with: java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.badminton.benchmark.BranchDayGridBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchDayGridBenchmark {
+
+    private static final long BRANCH_ID = 1L;
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    @Param({"8", "40"})
+    public int courts;
+
+    private BranchDayGridService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DayOfWeek day = DayOfWeek.fromJavaTime(DATE.getDayOfWeek());
+        List<Court> courtRows = new ArrayList<>();
+        List<Schedule> schedules = new ArrayList<>();
+        List<CourtPricing> pricings = new ArrayList<>();
+        List<BookingSlot> bookings = new ArrayList<>();
+        long bookingId = 1;
+        for (long id = 1; id <= courts; id++) {
+            Court court = Court.builder().name("Sân " + id).displayOrder((int) id).build();
+            court.setId(id);
+            courtRows.add(court);
+            schedules.add(Schedule.builder().court(court).dayOfWeek(day)
+                    .timeStart(LocalTime.of(6, 0)).timeEnd(LocalTime.of(22, 0)).build());
+            pricings.add(CourtPricing.builder().court(court).dayOfWeek(day)
+                    .timeStart(LocalTime.of(6, 0)).timeEnd(LocalTime.of(22, 0))
+                    .price(BigDecimal.valueOf(120_000)).build());
+            for (int hour = 6; hour < 22; hour += 2) {
+                bookings.add(new BookingSlot(bookingId++, id, BRANCH_ID, DATE,
+                        LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), BookingStatus.CONFIRMED));
+            }
+        }
+
+        CourtRepository courtRepository = mock(CourtRepository.class);
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        CourtMaintenanceRepository courtMaintenanceRepository = mock(CourtMaintenanceRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        CourtPricingRepository courtPricingRepository = mock(CourtPricingRepository.class);
+        when(courtRepository.findByBranchId(BRANCH_ID)).thenReturn(courtRows);
+        when(scheduleRepository.findAvailableByBranchAndDay(BRANCH_ID, day)).thenReturn(schedules);
+        when(courtMaintenanceRepository.findBlockingByBranchAndDate(anyLong(), any())).thenReturn(List.of());
+        when(bookingRepository.findOccupiedSlotsByBranchAndDate(BRANCH_ID, DATE)).thenReturn(bookings);
+        when(courtPricingRepository.findActiveByBranchId(BRANCH_ID)).thenReturn(pricings);
+
+        service = new BranchDayGridService(courtRepository, scheduleRepository, courtMaintenanceRepository,
+                bookingRepository, new CourtPriceTableCache(courtPricingRepository), Duration.ofHours(1), 2000);
+        service.getGrid(BRANCH_ID, DATE);
+    }
+
+    @Benchmark
+    public Object warm() {
+        return service.getGrid(BRANCH_ID, DATE);
+    }
+
+    @Benchmark
+    public Object cold() {
+        return service.loadGrid(BRANCH_ID, DATE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BranchDayGridBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.badminton.benchmark;
+
+import com.badminton.util.PostTextAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deriving reading time, excerpt, first image and keywords from a post body:
+ * PostTextAnalyzer against the regex helpers it replaced (strip, split,
+ * stop-word replaceAll), run one after the other as Post.prePersist used to.
+ * Run with: java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.badminton.benchmark.PostTextAnalyzerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostTextAnalyzerBenchmark {
+
+    private static final String PARAGRAPH = "<p>Giải <strong>cầu lông</strong> mở rộng năm nay có hơn 200 vận động viên "
+            + "tham gia &amp; thi đấu trong 3 ngày. The final &quot;match&quot; at the main court was watched by "
+            + "an audience of 1,500 people &nbsp;and streamed for fans.</p>\n";
+
+    private static final String[] STOP_WORDS = {"the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for"};
+
+    @Param({"2000", "50000"})
+    public int length;
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        StringBuilder html = new StringBuilder("<h2>Tổng kết giải đấu</h2>\n<img class=\"cover\" src=\"/uploads/cover.jpg\">\n");
+        while (html.length() < length) {
+            html.append(PARAGRAPH);
+        }
+        content = html.toString();
+    }
+
+    @Benchmark
+    public void analyzer(Blackhole blackhole) {
+        PostTextAnalyzer.Analysis analysis = PostTextAnalyzer.analyze(content, 10);
+        blackhole.consume(analysis.readingTime());
+        blackhole.consume(analysis.excerpt(200));
+        blackhole.consume(analysis.firstImage());
+        blackhole.consume(analysis.keywords());
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        String plainText = stripHtml(content);
+        blackhole.consume(Math.max(1, (int) Math.ceil(stripHtml(content).split("\\s+").length / 200.0)));
+        blackhole.consume(PostTextAnalyzer.excerpt(plainText, 200));
+        Matcher image = Pattern.compile("<img[^>]+src=\"([^\"]+)\"").matcher(content);
+        blackhole.consume(image.find() ? image.group(1) : null);
+        blackhole.consume(keywords(content, 10));
+    }
+
+    private static String stripHtml(String html) {
+        return html.replaceAll("<[^>]*>", "")
+                .replaceAll("&nbsp;", " ")
+                .replaceAll("&amp;", "&")
+                .replaceAll("&lt;", "<")
+                .replaceAll("&gt;", ">")
+                .replaceAll("&quot;", "\"")
+                .trim();
+    }
+
+    private static String[] keywords(String content, int maxKeywords) {
+        String plainText = stripHtml(content).toLowerCase();
+        for (String stopWord : STOP_WORDS) {
+            plainText = plainText.replaceAll("\\b" + stopWord + "\\b", "");
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String word : plainText.split("\\s+")) {
+            if (word.length() > 3) {
+                frequencies.put(word, frequencies.getOrDefault(word, 0) + 1);
+            }
+        }
+        return frequencies.entrySet().stream()
+                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
+                .limit(maxKeywords)
+                .map(Map.Entry::getKey)
+                .toArray(String[]::new);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PostTextAnalyzerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.badminton.benchmark;
+
+import com.badminton.service.booking.SlotLockService;
+import com.badminton.service.booking.SlotLockService.SlotLock;
+import com.badminton.service.booking.SlotLockService.SlotRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention on the slot lock scripts: eight threads booking random one-hour
+ * ranges (any start minute) on a few courts of one day, and 52-week series on
+ * one court. The acquire script scans the held ranges of a court-day, so the
+ * cost grows with the number of ranges held at once.
+ * Run with: java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.badminton.benchmark.SlotLockBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class SlotLockBenchmark {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    @Param({"1", "4"})
+    public int courts;
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private SlotLockService service;
+
+    @Setup(Level.Trial)
+    public void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        service = new SlotLockService(new StringRedisTemplate(connectionFactory), Duration.ofSeconds(30));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    /**
+     * Acquire and release one booking; the result counts contended attempts
+     */
+    @Benchmark
+    public void singleBooking(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long courtId = 1 + random.nextInt(courts);
+        LocalTime start = LocalTime.of(6, 0).plusMinutes(random.nextInt(16 * 60));
+        Optional<SlotLock> lock = service.tryAcquire(courtId, DATE, start, start.plusHours(1));
+        lock.ifPresent(service::release);
+        blackhole.consume(lock.isPresent());
+    }
+
+    /**
+     * Acquire and release a 52-week series in one script call
+     */
+    @Benchmark
+    public void weeklySeries(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long courtId = 1 + random.nextInt(courts);
+        LocalTime start = LocalTime.of(6, 0).plusMinutes(random.nextInt(16 * 60));
+        List<SlotRange> ranges = new ArrayList<>(52);
+        for (int i = 0; i < 52; i++) {
+            ranges.add(new SlotRange(courtId, DATE.plusWeeks(i), start, start.plusHours(1)));
+        }
+        Optional<SlotLock> lock = service.tryAcquire(ranges);
+        lock.ifPresent(service::release);
+        blackhole.consume(lock.isPresent());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SlotLockBenchmark.class.getSimpleName()).build()).run();
+    }
+}
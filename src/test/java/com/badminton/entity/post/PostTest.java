@@ -0,0 +1,61 @@
+package com.badminton.entity.post;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostTest {
+
+    @Test
+    void generatedExcerptFollowsContent() {
+        Post post = new Post();
+        post.setContent("<p>First version</p>");
+        post.refreshDerivedFields();
+        assertThat(post.getExcerpt()).isEqualTo("First version");
+
+        post.setContent("<p>Second version</p>");
+        post.refreshDerivedFields();
+
+        assertThat(post.getExcerpt()).isEqualTo("Second version");
+    }
+
+    @Test
+    void excerptWrittenByHandIsKept() {
+        Post post = new Post();
+        post.setContent("<p>First version</p>");
+        post.setExcerpt("Hand-written summary");
+        post.refreshDerivedFields();
+
+        post.setContent("<p>Second version</p>");
+        post.refreshDerivedFields();
+
+        assertThat(post.getExcerpt()).isEqualTo("Hand-written summary");
+    }
+
+    @Test
+    void excerptSetInTheSameEditAsContentIsKept() {
+        Post post = new Post();
+        post.setContent("<p>First version</p>");
+        post.refreshDerivedFields();
+
+        post.setContent("<p>Second version</p>");
+        post.setExcerpt("New summary");
+        post.refreshDerivedFields();
+
+        assertThat(post.getExcerpt()).isEqualTo("New summary");
+    }
+
+    @Test
+    void unchangedGeneratedExcerptSentBackIsStillRegenerated() {
+        Post post = new Post();
+        post.setContent("<p>First version</p>");
+        post.refreshDerivedFields();
+
+        // An edit form posting every field back
+        post.setExcerpt("First version");
+        post.setContent("<p>Second version</p>");
+        post.refreshDerivedFields();
+
+        assertThat(post.getExcerpt()).isEqualTo("Second version");
+    }
+}
@@ -0,0 +1,142 @@
+package com.badminton.service.booking;
+
+import com.badminton.dto.projection.BookingExportRow;
+import com.badminton.enums.BookingStatus;
+import com.badminton.enums.PaymentStatus;
+import com.badminton.repository.booking.BookingRepository;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingExportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 12, 31);
+
+    private BookingRepository bookingRepository;
+    private BookingExportService service;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        service = new BookingExportService(bookingRepository, mock(TransactionTemplate.class));
+    }
+
+    @Test
+    void formulaLikeTextIsEscaped() {
+        BookingExportRow row = row(1L, "=HYPERLINK(\"http://x\",\"y\")", "+84901234567", "@SUM(A1)");
+        when(bookingRepository.streamExportRowsByBranch(anyLong(), any(), any())).thenReturn(Stream.of(row));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeCsv(1L, FROM, TO, out);
+
+        String line = out.toString(StandardCharsets.UTF_8).split("\n")[1];
+        assertThat(line).contains(",\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",");
+        assertThat(line).contains(",'+84901234567,");
+        assertThat(line).contains(",'@SUM(A1),");
+        // Amounts are not text and keep their sign
+        assertThat(line).contains(",-5.00,");
+    }
+
+    @Test
+    void plainTextIsWrittenAsIs() {
+        assertThat(BookingExportService.isFormulaLike("Nguyễn Văn A")).isFalse();
+        assertThat(BookingExportService.isFormulaLike("")).isFalse();
+        assertThat(BookingExportService.isFormulaLike("-1+1")).isTrue();
+        assertThat(BookingExportService.isFormulaLike("\t=1")).isTrue();
+    }
+
+    @Test
+    void xlsxHasTypedCellsAndPlainText() throws IOException {
+        BookingExportRow row = row(7L, "=HYPERLINK(\"http://x\",\"y\")", "+84901234567", "WEB");
+        when(bookingRepository.streamExportRowsByBranch(anyLong(), any(), any())).thenReturn(Stream.of(row));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = service.writeXlsx(1L, FROM, TO, out);
+
+        assertThat(written).isEqualTo(1);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("booking_id");
+            Row cells = sheet.getRow(1);
+            assertThat(cells.getCell(0).getNumericCellValue()).isEqualTo(7.0);
+            assertThat(cells.getCell(1).getLocalDateTimeCellValue().toLocalDate()).isEqualTo(FROM);
+            // Text is a string cell, not a formula, so it needs no escaping
+            assertThat(cells.getCell(8).getStringCellValue()).isEqualTo("=HYPERLINK(\"http://x\",\"y\")");
+            assertThat(cells.getCell(12).getNumericCellValue()).isEqualTo(100000.0);
+        }
+    }
+
+    /**
+     * One million rows, the size the export must handle under a 100 MB heap.
+     * Rows are produced lazily and the output is discarded; the heap in use
+     * late in the export must not have grown with the rows already written.
+     */
+    @Test
+    void csvHeapStaysBoundedWhileStreaming() {
+        assertHeapBounded(1_000_000, out -> service.writeCsv(1L, FROM, TO, out));
+    }
+
+    @Test
+    void xlsxHeapStaysBoundedWhileStreaming() {
+        assertHeapBounded(1_000_000, out -> service.writeXlsx(1L, FROM, TO, out));
+    }
+
+    private void assertHeapBounded(int rows, ToLongFunction<OutputStream> export) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long[] usedAtStart = new long[1];
+        long[] usedLate = new long[1];
+
+        when(bookingRepository.streamExportRowsByBranch(anyLong(), any(), any())).thenAnswer(invocation ->
+                LongStream.rangeClosed(1, rows).mapToObj(id -> {
+                    if (id == 1) {
+                        usedAtStart[0] = usedHeapAfterGc(memory);
+                    } else if (id == rows - 1000) {
+                        usedLate[0] = usedHeapAfterGc(memory);
+                    }
+                    return row(id, "Khách hàng " + id, "0901234567", "WEB");
+                }));
+
+        long written = export.applyAsLong(OutputStream.nullOutputStream());
+
+        assertThat(written).isEqualTo(rows);
+        // Holding 1M rows (or their output) would take several hundred MB
+        assertThat(usedLate[0] - usedAtStart[0]).isLessThan(16L * 1024 * 1024);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static BookingExportRow row(long id, String customerName, String customerPhone, String source) {
+        return new BookingExportRow(id, FROM, LocalTime.of(18, 0), LocalTime.of(19, 0),
+                BookingStatus.CONFIRMED, PaymentStatus.COMPLETED, "HN01", "Sân 1",
+                customerName, customerPhone, "khach@example.com",
+                new BigDecimal("-5.00"), new BigDecimal("100000.00"), source, LocalDateTime.of(2026, 1, 1, 9, 0));
+    }
+}
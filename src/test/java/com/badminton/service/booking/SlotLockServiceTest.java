@@ -0,0 +1,176 @@
+package com.badminton.service.booking;
+
+import com.badminton.service.booking.SlotLockService.SlotLock;
+import com.badminton.service.booking.SlotLockService.SlotRange;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lock scripts against an embedded Redis
+ */
+class SlotLockServiceTest {
+
+    private static final long COURT_ID = 7L;
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private SlotLockService service;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(redisTemplate.keys("booking:slot:*"));
+        service = new SlotLockService(redisTemplate, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void overlappingRangesConflict() {
+        assertThat(acquire(COURT_ID, DATE, "10:00", "11:00")).isPresent();
+
+        assertThat(acquire(COURT_ID, DATE, "10:30", "11:30")).isEmpty();
+        assertThat(acquire(COURT_ID, DATE, "09:00", "10:01")).isEmpty();
+        assertThat(acquire(COURT_ID, DATE, "10:15", "10:45")).isEmpty();
+    }
+
+    @Test
+    void backToBackRangesOffTheQuarterHourDoNotBlock() {
+        assertThat(acquire(COURT_ID, DATE, "10:10", "11:10")).isPresent();
+        assertThat(acquire(COURT_ID, DATE, "11:10", "12:10")).isPresent();
+        assertThat(acquire(COURT_ID, DATE, "09:05", "10:10")).isPresent();
+
+        assertThat(acquire(COURT_ID, DATE, "11:05", "11:15")).isEmpty();
+    }
+
+    @Test
+    void otherCourtsAndDatesAreIndependent() {
+        assertThat(acquire(COURT_ID, DATE, "10:00", "11:00")).isPresent();
+
+        assertThat(acquire(COURT_ID + 1, DATE, "10:00", "11:00")).isPresent();
+        assertThat(acquire(COURT_ID, DATE.plusDays(1), "10:00", "11:00")).isPresent();
+    }
+
+    @Test
+    void rangeEndingAtMidnightCoversTheEndOfTheDay() {
+        assertThat(acquire(COURT_ID, DATE, "23:00", "00:00")).isPresent();
+
+        assertThat(acquire(COURT_ID, DATE, "23:30", "00:00")).isEmpty();
+        assertThat(acquire(COURT_ID, DATE, "22:00", "23:00")).isPresent();
+    }
+
+    @Test
+    void releaseFreesTheRange() {
+        SlotLock lock = acquire(COURT_ID, DATE, "10:00", "11:00").orElseThrow();
+
+        service.release(lock);
+
+        assertThat(acquire(COURT_ID, DATE, "10:00", "11:00")).isPresent();
+    }
+
+    @Test
+    void releaseLeavesRangesOfOtherOwnersAlone() {
+        SlotLock first = acquire(COURT_ID, DATE, "10:00", "11:00").orElseThrow();
+        acquire(COURT_ID, DATE, "11:00", "12:00").orElseThrow();
+
+        service.release(first);
+        service.release(first);
+
+        assertThat(acquire(COURT_ID, DATE, "11:30", "12:30")).isEmpty();
+    }
+
+    @Test
+    void expiredRangesNoLongerBlock() throws InterruptedException {
+        SlotLockService shortLived = new SlotLockService(redisTemplate, Duration.ofMillis(100));
+        assertThat(shortLived.tryAcquire(COURT_ID, DATE, time("10:00"), time("11:00"))).isPresent();
+
+        Thread.sleep(250);
+
+        assertThat(acquire(COURT_ID, DATE, "10:00", "11:00")).isPresent();
+    }
+
+    @Test
+    void seriesIsAllOrNothing() {
+        acquire(COURT_ID, DATE.plusWeeks(30), "18:00", "19:00").orElseThrow();
+
+        assertThat(service.tryAcquire(weekly(COURT_ID, 52, "18:30", "19:30"))).isEmpty();
+
+        // Nothing of the failed series is left behind
+        assertThat(acquire(COURT_ID, DATE, "18:30", "19:30")).isPresent();
+        assertThat(acquire(COURT_ID, DATE.plusWeeks(51), "18:30", "19:30")).isPresent();
+    }
+
+    @Test
+    void seriesOfOneCourtIsTakenInOneClusterSlot() {
+        SlotLock lock = service.tryAcquire(weekly(COURT_ID, 52, "18:00", "19:00")).orElseThrow();
+
+        assertThat(lock.holds()).hasSize(1);
+        assertThat(lock.holds().get(0).keys())
+                .hasSize(52)
+                .allSatisfy(key -> assertThat(key).startsWith("booking:slot:{" + COURT_ID + "}:"));
+    }
+
+    @Test
+    void rangesOnSeveralCourtsAreReleasedWhenOneCourtConflicts() {
+        acquire(COURT_ID + 1, DATE, "10:00", "11:00").orElseThrow();
+
+        List<SlotRange> ranges = List.of(
+                new SlotRange(COURT_ID, DATE, time("10:00"), time("11:00")),
+                new SlotRange(COURT_ID + 1, DATE, time("10:00"), time("11:00")));
+        assertThat(service.tryAcquire(ranges)).isEmpty();
+
+        assertThat(acquire(COURT_ID, DATE, "10:00", "11:00")).isPresent();
+    }
+
+    private Optional<SlotLock> acquire(long courtId, LocalDate date, String start, String end) {
+        return service.tryAcquire(courtId, date, time(start), time(end));
+    }
+
+    private static List<SlotRange> weekly(long courtId, int weeks, String start, String end) {
+        List<SlotRange> ranges = new ArrayList<>(weeks);
+        for (int i = 0; i < weeks; i++) {
+            ranges.add(new SlotRange(courtId, DATE.plusWeeks(i), time(start), time(end)));
+        }
+        return ranges;
+    }
+
+    private static LocalTime time(String value) {
+        return LocalTime.parse(value);
+    }
+}
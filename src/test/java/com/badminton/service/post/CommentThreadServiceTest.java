@@ -0,0 +1,76 @@
+package com.badminton.service.post;
+
+import com.badminton.entity.post.Post;
+import com.badminton.entity.post.PostComment;
+import com.badminton.enums.CommentStatus;
+import com.badminton.repository.post.PostCommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentThreadServiceTest {
+
+    private PostCommentRepository postCommentRepository;
+    private PostCounterBuffer postCounterBuffer;
+    private CommentThreadService service;
+
+    @BeforeEach
+    void setUp() {
+        postCommentRepository = mock(PostCommentRepository.class);
+        postCounterBuffer = mock(PostCounterBuffer.class);
+        service = new CommentThreadService(postCommentRepository, postCounterBuffer, mock(JdbcTemplate.class));
+    }
+
+    @Test
+    void removeSoftDeletesOnlyTheCommentAndUpdatesCounters() {
+        Post post = new Post();
+        post.setId(1L);
+        PostComment parent = comment(10L, post, null);
+        PostComment comment = comment(11L, post, parent);
+        PostComment reply = comment(12L, post, comment);
+        comment.getReplies().add(reply);
+        when(postCommentRepository.findById(11L)).thenReturn(Optional.of(comment));
+
+        service.remove(11L);
+
+        assertThat(comment.getDeletedAt()).isNotNull();
+        assertThat(reply.getDeletedAt()).isNull();
+        verify(postCommentRepository).save(comment);
+        verify(postCommentRepository, never()).delete(any(PostComment.class));
+        verify(postCommentRepository).decrementReplyCount(10L);
+        verify(postCounterBuffer).recordComment(1L, false);
+    }
+
+    @Test
+    void removingAPendingCommentLeavesCountersAlone() {
+        Post post = new Post();
+        post.setId(1L);
+        PostComment comment = comment(11L, post, null);
+        comment.setStatus(CommentStatus.PENDING);
+        when(postCommentRepository.findById(11L)).thenReturn(Optional.of(comment));
+
+        service.remove(11L);
+
+        assertThat(comment.getDeletedAt()).isNotNull();
+        verify(postCounterBuffer, never()).recordComment(any(), anyBoolean());
+    }
+
+    private static PostComment comment(Long id, Post post, PostComment parent) {
+        PostComment comment = new PostComment();
+        comment.setId(id);
+        comment.setPost(post);
+        comment.setParent(parent);
+        comment.setStatus(CommentStatus.APPROVED);
+        return comment;
+    }
+}
@@ -0,0 +1,136 @@
+package com.badminton.service.scheduling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Claim, lease and retry of delayed tasks against an embedded Redis
+ */
+class DelayedTaskSchedulerTest {
+
+    private static final String TYPE = "test.task";
+    private static final String QUEUE_KEY = "scheduler:delayed";
+    private static final String IN_FLIGHT_KEY = "scheduler:delayed:in-flight";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RecordingHandler handler;
+    private DelayedTaskScheduler scheduler;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(List.of(QUEUE_KEY, IN_FLIGHT_KEY));
+        handler = new RecordingHandler();
+        scheduler = new DelayedTaskScheduler(redisTemplate, List.of(handler), new SimpleMeterRegistry(),
+                100, Duration.ofSeconds(30), Duration.ofMinutes(5));
+    }
+
+    @Test
+    void dueTaskRunsOnceAndLeavesNoLease() {
+        scheduler.schedule(TYPE, 1L, LocalDateTime.now().minusSeconds(1));
+        scheduler.schedule(TYPE, 2L, LocalDateTime.now().plusHours(1));
+
+        scheduler.dispatchDue();
+        scheduler.dispatchDue();
+
+        assertThat(handler.executed).containsExactly(1L);
+        assertThat(redisTemplate.opsForZSet().score(QUEUE_KEY, TYPE + ":1")).isNull();
+        assertThat(redisTemplate.opsForZSet().zCard(IN_FLIGHT_KEY)).isZero();
+    }
+
+    @Test
+    void failedTaskIsQueuedForRetry() {
+        handler.failing = true;
+        scheduler.schedule(TYPE, 1L, LocalDateTime.now().minusSeconds(1));
+
+        long before = System.currentTimeMillis();
+        scheduler.dispatchDue();
+
+        Double retryAt = redisTemplate.opsForZSet().score(QUEUE_KEY, TYPE + ":1");
+        assertThat(retryAt).isGreaterThanOrEqualTo(before + 30_000.0);
+        assertThat(redisTemplate.opsForZSet().zCard(IN_FLIGHT_KEY)).isZero();
+    }
+
+    @Test
+    void taskWithExpiredLeaseIsClaimedAgain() {
+        // Claimed by a node that died before finishing
+        redisTemplate.opsForZSet().add(IN_FLIGHT_KEY, TYPE + ":1", System.currentTimeMillis() - 1);
+
+        scheduler.dispatchDue();
+
+        assertThat(handler.executed).containsExactly(1L);
+        assertThat(redisTemplate.opsForZSet().zCard(IN_FLIGHT_KEY)).isZero();
+    }
+
+    @Test
+    void taskUnderLeaseIsNotClaimedAgain() {
+        redisTemplate.opsForZSet().add(IN_FLIGHT_KEY, TYPE + ":1", System.currentTimeMillis() + 60_000);
+
+        scheduler.dispatchDue();
+
+        assertThat(handler.executed).isEmpty();
+        assertThat(redisTemplate.opsForZSet().score(IN_FLIGHT_KEY, TYPE + ":1")).isNotNull();
+    }
+
+    private static final class RecordingHandler implements DelayedTaskHandler {
+
+        final List<Long> executed = new ArrayList<>();
+        boolean failing;
+
+        @Override
+        public String type() {
+            return TYPE;
+        }
+
+        @Override
+        public void execute(Long id) {
+            if (failing) {
+                throw new IllegalStateException("failed");
+            }
+            executed.add(id);
+        }
+
+        @Override
+        public Map<Long, LocalDateTime> loadPending() {
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.badminton.service.tournament;
+
+import com.badminton.dto.response.tournament.LiveScoreUpdate;
+import com.badminton.entity.tournament.Tournament;
+import com.badminton.entity.tournament.TournamentMatch;
+import com.badminton.entity.tournament.TournamentParticipant;
+import com.badminton.entity.user.User;
+import com.badminton.enums.MatchStatus;
+import com.badminton.repository.tournament.MatchSetRepository;
+import com.badminton.service.tournament.LiveScoreStore.SetRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LiveScoreServiceTest {
+
+    private static final long MATCH_ID = 5L;
+    private static final long REFEREE_ID = 40L;
+
+    private LiveScoreStore store;
+    private LiveScoreService service;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(LiveScoreStore.class);
+        service = new LiveScoreService(store, mock(MatchSetRepository.class), mock(SimpMessagingTemplate.class));
+        when(store.startMatch(MATCH_ID)).thenReturn(match());
+        service.start(MATCH_ID);
+    }
+
+    @Test
+    void failedSetWriteTakesThePointBack() {
+        points(1, 20);
+        doThrow(new DataAccessResourceFailureException("down")).when(store).saveScore(anyList(), anyInt(), anyInt());
+
+        assertThatThrownBy(() -> service.point(MATCH_ID, 1)).isInstanceOf(DataAccessResourceFailureException.class);
+
+        LiveScoreUpdate state = service.snapshot(MATCH_ID);
+        assertThat(state.getCompletedSets()).isEmpty();
+        assertThat(state.getParticipant1Score()).isEqualTo(20);
+    }
+
+    @Test
+    void failedCompletionDoesNotAddAPhantomSet() {
+        points(1, 21);
+        points(1, 20);
+        doThrow(new DataAccessResourceFailureException("down")).when(store).completeMatch(anyList(), anyLong());
+
+        assertThatThrownBy(() -> service.point(MATCH_ID, 1)).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(service.snapshot(MATCH_ID).getCompletedSets()).hasSize(1);
+
+        reset(store);
+        LiveScoreUpdate update = service.point(MATCH_ID, 1);
+
+        assertThat(update.getMatchCompleted()).isTrue();
+        assertThat(update.getCompletedSets()).hasSize(2);
+        verify(store).completeMatch(rowsOfTwoSets(), eq(11L));
+    }
+
+    @Test
+    void onlyTheRefereeOrAManagerMayScore() {
+        assertThatCode(() -> service.checkScorer(MATCH_ID, authentication(REFEREE_ID, "ROLE_USER")))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> service.checkScorer(MATCH_ID, authentication(41L, "ROLE_MANAGER")))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> service.checkScorer(MATCH_ID, authentication(41L, "ROLE_USER")))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> service.checkScorer(MATCH_ID, null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private void points(int slot, int count) {
+        for (int i = 0; i < count; i++) {
+            service.point(MATCH_ID, slot);
+        }
+    }
+
+    private static List<SetRow> rowsOfTwoSets() {
+        return argThat(rows -> rows.size() == 2
+                && rows.stream().allMatch(SetRow::completed));
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(long userId, String role) {
+        User user = new User();
+        user.setId(userId);
+        return new UsernamePasswordAuthenticationToken(user, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+
+    private static TournamentMatch match() {
+        Tournament tournament = new Tournament();
+        tournament.setId(1L);
+        TournamentParticipant participant1 = new TournamentParticipant();
+        participant1.setId(11L);
+        TournamentParticipant participant2 = new TournamentParticipant();
+        participant2.setId(12L);
+        User referee = new User();
+        referee.setId(REFEREE_ID);
+
+        TournamentMatch match = new TournamentMatch();
+        match.setId(MATCH_ID);
+        match.setTournament(tournament);
+        match.setParticipant1(participant1);
+        match.setParticipant2(participant2);
+        match.setReferee(referee);
+        match.setBestOfSets(3);
+        match.setStatus(MatchStatus.IN_PROGRESS);
+        return match;
+    }
+}
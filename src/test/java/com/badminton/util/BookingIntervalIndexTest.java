@@ -0,0 +1,102 @@
+package com.badminton.util;
+
+import com.badminton.dto.projection.BookingSlot;
+import com.badminton.enums.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingIntervalIndexTest {
+
+    private static final long COURT = 1L;
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    private static BookingSlot slot(long id, String start, String end, BookingStatus status) {
+        return new BookingSlot(id, COURT, 10L, DATE, LocalTime.parse(start), LocalTime.parse(end), status);
+    }
+
+    private static BookingIntervalIndex index(BookingSlot... slots) {
+        return BookingIntervalIndex.ofSlots(List.of(slots));
+    }
+
+    @Test
+    void touchingRangesDoNotConflict() {
+        BookingIntervalIndex index = index(slot(1, "18:00", "19:00", BookingStatus.CONFIRMED));
+
+        assertThat(index.overlaps(COURT, DATE, LocalTime.parse("17:00"), LocalTime.parse("18:00"))).isFalse();
+        assertThat(index.overlaps(COURT, DATE, LocalTime.parse("19:00"), LocalTime.parse("20:00"))).isFalse();
+        assertThat(index.findConflict(COURT, DATE, LocalTime.parse("18:59"), LocalTime.parse("20:00")))
+                .contains(1L);
+        assertThat(index.findConflict(COURT, DATE, LocalTime.parse("17:00"), LocalTime.parse("18:01")))
+                .contains(1L);
+    }
+
+    @Test
+    void endOfMidnightIsTheEndOfTheDay() {
+        BookingIntervalIndex index = index(slot(1, "22:00", "00:00", BookingStatus.CONFIRMED));
+
+        assertThat(index.findConflict(COURT, DATE, LocalTime.parse("23:30"), LocalTime.parse("00:00")))
+                .contains(1L);
+        assertThat(index.findConflict(COURT, DATE, LocalTime.parse("23:00"), LocalTime.parse("23:30")))
+                .contains(1L);
+        assertThat(index.overlaps(COURT, DATE, LocalTime.parse("21:00"), LocalTime.parse("22:00"))).isFalse();
+        // A range from midnight is the start of the day
+        assertThat(index.overlaps(COURT, DATE, LocalTime.parse("00:00"), LocalTime.parse("01:00"))).isFalse();
+    }
+
+    @Test
+    void longBookingHiddenBehindShortOnesIsFound() {
+        BookingIntervalIndex index = index(
+                slot(1, "08:00", "20:00", BookingStatus.CONFIRMED),
+                slot(2, "09:00", "10:00", BookingStatus.CONFIRMED),
+                slot(3, "11:00", "12:00", BookingStatus.PENDING));
+
+        assertThat(index.findConflict(COURT, DATE, LocalTime.parse("15:00"), LocalTime.parse("16:00")))
+                .contains(1L);
+        assertThat(index.overlaps(COURT, DATE, LocalTime.parse("20:00"), LocalTime.parse("21:00"))).isFalse();
+    }
+
+    @Test
+    void releasedBookingsAndOtherCourtDaysAreIgnored() {
+        BookingIntervalIndex index = index(
+                slot(1, "18:00", "19:00", BookingStatus.CANCELLED),
+                slot(2, "18:00", "19:00", BookingStatus.NO_SHOW));
+
+        assertThat(index.isEmpty()).isTrue();
+        assertThat(index(slot(3, "18:00", "19:00", BookingStatus.CONFIRMED))
+                .overlaps(COURT, DATE.plusDays(1), LocalTime.parse("18:00"), LocalTime.parse("19:00"))).isFalse();
+    }
+
+    @Test
+    void batchCheckReportsEachCollidingCandidate() {
+        BookingIntervalIndex index = index(slot(1, "18:00", "19:00", BookingStatus.CONFIRMED));
+        BookingSlot clash = slot(0, "18:30", "19:30", null);
+        BookingSlot free = slot(0, "19:00", "20:00", null);
+
+        assertThat(index.findConflicts(List.of(clash, free)))
+                .containsExactly(new BookingIntervalIndex.Conflict(clash, 1L));
+    }
+
+    @Test
+    void agreesWithBookingUtilsOnEveryQuarterHourRange() {
+        LocalTime bookedStart = LocalTime.parse("22:00");
+        LocalTime bookedEnd = LocalTime.MIDNIGHT;
+        BookingIntervalIndex index = index(slot(1, "22:00", "00:00", BookingStatus.CONFIRMED));
+        assertThat(BookingUtils.isTimeSlotOverlap(bookedStart, bookedEnd,
+                LocalTime.parse("23:00"), LocalTime.parse("23:30"))).isTrue();
+
+        for (int start = 0; start < 24 * 60; start += 15) {
+            for (int end = start + 15; end <= 24 * 60; end += 15) {
+                LocalTime from = LocalTime.of(start / 60, start % 60);
+                LocalTime to = end == 24 * 60 ? LocalTime.MIDNIGHT : LocalTime.of(end / 60, end % 60);
+                assertThat(index.overlaps(COURT, DATE, from, to))
+                        .as("%s-%s", from, to)
+                        .isEqualTo(BookingUtils.isTimeSlotOverlap(bookedStart, bookedEnd, from, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.badminton.util;
+
+import com.badminton.util.BracketBuilder.MatchPlan;
+import com.badminton.util.BracketBuilder.Plan;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BracketBuilderTest {
+
+    @Test
+    void singleEliminationHasOneMatchPerEliminatedEntrant() {
+        for (int n = 2; n <= 70; n++) {
+            Plan plan = BracketBuilder.singleElimination(ids(n));
+            assertThat(plan.matches()).as("n=%d", n).hasSize(n - 1);
+            assertWellFormed(plan, "SE" + n);
+        }
+    }
+
+    @Test
+    void doubleEliminationEliminatesEveryEntrantTwiceButTheChampion() {
+        for (int n = 2; n <= 70; n++) {
+            Plan plan = BracketBuilder.doubleElimination(ids(n));
+            assertThat(plan.matches()).as("n=%d", n).hasSize(2 * n - 2);
+            assertWellFormed(plan, "DE" + n);
+        }
+    }
+
+    @Test
+    void roundRobinPlaysEveryPairOnceAndNobodyTwiceInARound() {
+        for (int n = 2; n <= 40; n++) {
+            Plan plan = BracketBuilder.roundRobin(ids(n));
+            assertThat(plan.matches()).as("n=%d", n).hasSize(n * (n - 1) / 2);
+            assertWellFormed(plan, "RR" + n);
+
+            Set<String> pairs = new HashSet<>();
+            Set<String> playing = new HashSet<>();
+            for (MatchPlan m : plan.matches()) {
+                long a = Math.min(m.getParticipant1Id(), m.getParticipant2Id());
+                long b = Math.max(m.getParticipant1Id(), m.getParticipant2Id());
+                assertThat(pairs.add(a + "-" + b)).as("n=%d pair %d-%d", n, a, b).isTrue();
+                assertThat(playing.add(m.getRoundIndex() + ":" + a)).as("n=%d round %d", n, m.getRoundIndex()).isTrue();
+                assertThat(playing.add(m.getRoundIndex() + ":" + b)).as("n=%d round %d", n, m.getRoundIndex()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void groupsThenKnockoutFeedsEveryKnockoutSlotFromAPlaceholderOrAMatch() {
+        for (int groups = 2; groups <= 8; groups++) {
+            for (int n = 2 * groups; n <= 40; n++) {
+                for (int advance = 1; advance <= Math.min(n / groups, 4); advance++) {
+                    Plan plan = BracketBuilder.groupsThenKnockout(ids(n), groups, advance);
+                    assertWellFormed(plan, "G" + groups + "n" + n + "a" + advance);
+                    assertThat(plan.groups()).hasSize(n);
+                }
+            }
+        }
+    }
+
+    @Test
+    void groupsThenKnockoutUsesGroupAndRankPlaceholders() {
+        Plan plan = BracketBuilder.groupsThenKnockout(ids(12), 4, 2);
+
+        Set<String> placeholders = new HashSet<>();
+        for (MatchPlan m : plan.matches()) {
+            for (String source : new String[]{m.getParticipant1Source(), m.getParticipant2Source()}) {
+                if (isPlaceholder(source)) {
+                    placeholders.add(source);
+                }
+            }
+        }
+
+        assertThat(placeholders).containsExactlyInAnyOrder("A1", "A2", "B1", "B2", "C1", "C2", "D1", "D2");
+        assertThat(new HashSet<>(plan.groups().values())).containsExactlyInAnyOrder("A", "B", "C", "D");
+    }
+
+    /**
+     * Every slot is filled by exactly one of: a participant, one feeding match,
+     * a placeholder; a match is deeper than every match feeding it
+     */
+    private static void assertWellFormed(Plan plan, String label) {
+        List<MatchPlan> matches = plan.matches();
+        Map<String, Integer> feeds = new HashMap<>();
+        for (MatchPlan m : matches) {
+            if (m.getWinnerTo() >= 0) {
+                feeds.merge(m.getWinnerTo() + ":" + m.getWinnerSlot(), 1, Integer::sum);
+                assertThat(matches.get(m.getWinnerTo()).getDepth()).as(label).isGreaterThan(m.getDepth());
+            }
+            if (m.getLoserTo() >= 0) {
+                feeds.merge(m.getLoserTo() + ":" + m.getLoserSlot(), 1, Integer::sum);
+                assertThat(matches.get(m.getLoserTo()).getDepth()).as(label).isGreaterThan(m.getDepth());
+            }
+        }
+        for (MatchPlan m : matches) {
+            for (int slot = 1; slot <= 2; slot++) {
+                Long participantId = slot == 1 ? m.getParticipant1Id() : m.getParticipant2Id();
+                String source = slot == 1 ? m.getParticipant1Source() : m.getParticipant2Source();
+                int inputs = (participantId != null ? 1 : 0) + feeds.getOrDefault(m.getIndex() + ":" + slot, 0)
+                        + (isPlaceholder(source) ? 1 : 0);
+                assertThat(inputs).as("%s match %s slot %d", label, m.getBracketPosition(), slot).isEqualTo(1);
+            }
+        }
+    }
+
+    private static boolean isPlaceholder(String source) {
+        return source != null && !source.startsWith("W:") && !source.startsWith("L:");
+    }
+
+    private static List<Long> ids(int n) {
+        List<Long> ids = new ArrayList<>(n);
+        for (long i = 1; i <= n; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,182 @@
+package com.badminton.util;
+
+import com.badminton.enums.MatchStatus;
+import com.badminton.util.BracketBuilder.MatchPlan;
+import com.badminton.util.BracketBuilder.Plan;
+import com.badminton.util.BracketGraph.Change;
+import com.badminton.util.BracketGraph.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BracketGraphTest {
+
+    // Match ids are plan indexes offset like database ids would be
+    private static final long ID_OFFSET = 1000;
+
+    @Test
+    void everyMatchIsDecidedWhenTheBracketIsPlayedOut() {
+        Random random = new Random(3);
+        for (int n = 2; n <= 70; n++) {
+            for (int trial = 0; trial < 10; trial++) {
+                boolean doubleElimination = trial % 2 == 1;
+                Plan plan = doubleElimination
+                        ? BracketBuilder.doubleElimination(ids(n))
+                        : BracketBuilder.singleElimination(ids(n));
+                // Half of the runs decide about a third of the matches by walkover
+                Bracket bracket = new Bracket(plan);
+                int decided = bracket.playOut(random, trial < 5 ? 0 : 0.3);
+
+                assertThat(decided).as("n=%d de=%s trial=%d", n, doubleElimination, trial)
+                        .isEqualTo(plan.matches().size());
+            }
+        }
+    }
+
+    @Test
+    void walkoverLoserDoesNotDropToTheLosersBracket() {
+        Plan plan = BracketBuilder.doubleElimination(ids(4));
+        Bracket bracket = new Bracket(plan);
+        MatchPlan first = plan.matches().stream()
+                .filter(m -> m.getParticipant1Id() != null && m.getLoserTo() >= 0)
+                .findFirst().orElseThrow();
+
+        Outcome outcome = bracket.complete(first.getIndex() + ID_OFFSET, first.getParticipant1Id(), true);
+
+        long losersMatch = first.getLoserTo() + ID_OFFSET;
+        Long[] slots = bracket.participants.get(losersMatch);
+        assertThat(slots[first.getLoserSlot()]).isNull();
+        assertThat(outcome.changes()).extracting(Change::matchId).contains(first.getWinnerTo() + ID_OFFSET);
+    }
+
+    @Test
+    void seatFillsTheKnockoutFromGroupStandings() {
+        Plan plan = BracketBuilder.groupsThenKnockout(ids(12), 4, 2);
+        Bracket bracket = new Bracket(plan);
+        Map<String, Long> qualifiers = new HashMap<>();
+        for (String group : List.of("A", "B", "C", "D")) {
+            List<Long> members = plan.groups().entrySet().stream()
+                    .filter(e -> e.getValue().equals(group)).map(Map.Entry::getKey).sorted().toList();
+            qualifiers.put(group + 1, members.get(0));
+            qualifiers.put(group + 2, members.get(1));
+        }
+
+        Outcome outcome = bracket.seat(qualifiers);
+
+        assertThat(outcome.decided()).isZero();
+        Set<Long> seated = new HashSet<>();
+        for (Change change : outcome.changes()) {
+            assertThat(change.participant1Id()).isNotNull();
+            assertThat(change.participant2Id()).isNotNull();
+            seated.add(change.participant1Id());
+            seated.add(change.participant2Id());
+        }
+        assertThat(seated).containsExactlyInAnyOrderElementsOf(qualifiers.values());
+        // Seating again changes nothing
+        assertThat(bracket.seat(qualifiers).changes()).isEmpty();
+        assertThat(bracket.playOut(new Random(5), 0)).isEqualTo(plan.matches().size());
+    }
+
+    @Test
+    void missingQualifierIsABye() {
+        Plan plan = BracketBuilder.groupsThenKnockout(ids(8), 2, 2);
+        Bracket bracket = new Bracket(plan);
+        // Group B finished with a single ranked entrant
+        Map<String, Long> qualifiers = Map.of("A1", 1L, "A2", 3L, "B1", 2L);
+
+        Outcome outcome = bracket.seat(qualifiers);
+
+        assertThat(outcome.decided()).isEqualTo(1);
+        Change bye = outcome.changes().stream().filter(Change::bye).findFirst().orElseThrow();
+        assertThat(bye.status()).isEqualTo(MatchStatus.COMPLETED);
+        assertThat(bye.winnerId()).isIn(1L, 3L);
+    }
+
+    /**
+     * A graph built from a plan, plus the participants each match currently has
+     */
+    private static final class Bracket {
+        final BracketGraph graph = new BracketGraph();
+        final Map<Long, Long[]> participants = new HashMap<>();
+        final Set<Long> done = new HashSet<>();
+
+        Bracket(Plan plan) {
+            for (MatchPlan m : plan.matches()) {
+                long id = m.getIndex() + ID_OFFSET;
+                graph.addMatch(id, (long) m.getRoundIndex(), 3, MatchStatus.SCHEDULED, false,
+                        m.getParticipant1Id(), m.getParticipant2Id(),
+                        m.getParticipant1Source(), m.getParticipant2Source(), null,
+                        m.getWinnerTo() >= 0 ? m.getWinnerTo() + ID_OFFSET : null,
+                        m.getWinnerTo() >= 0 ? m.getWinnerSlot() : null,
+                        m.getLoserTo() >= 0 ? m.getLoserTo() + ID_OFFSET : null,
+                        m.getLoserTo() >= 0 ? m.getLoserSlot() : null);
+                participants.put(id, new Long[]{null, m.getParticipant1Id(), m.getParticipant2Id()});
+            }
+            graph.seal();
+        }
+
+        Outcome complete(long matchId, long winnerId, boolean walkover) {
+            Long[] slots = participants.get(matchId);
+            Long loserId = winnerId == slots[1] ? slots[2] : slots[1];
+            Outcome outcome = graph.complete(matchId, winnerId, loserId, walkover);
+            done.add(matchId);
+            apply(outcome);
+            return outcome;
+        }
+
+        Outcome seat(Map<String, Long> qualifiers) {
+            Outcome outcome = graph.seat(qualifiers);
+            apply(outcome);
+            return outcome;
+        }
+
+        /**
+         * Play every match that has both entrants until none is left; returns the matches decided
+         */
+        int playOut(Random random, double walkoverRate) {
+            int decided = 0;
+            for (Long next = next(); next != null; next = next()) {
+                Long[] slots = participants.get(next);
+                long winnerId = random.nextBoolean() ? slots[1] : slots[2];
+                decided += complete(next, winnerId, random.nextDouble() < walkoverRate).decided();
+            }
+            return decided;
+        }
+
+        private Long next() {
+            for (Map.Entry<Long, Long[]> e : participants.entrySet()) {
+                if (!done.contains(e.getKey()) && e.getValue()[1] != null && e.getValue()[2] != null) {
+                    return e.getKey();
+                }
+            }
+            return null;
+        }
+
+        private void apply(Outcome outcome) {
+            for (Change change : outcome.changes()) {
+                Long[] slots = participants.get(change.matchId());
+                slots[1] = change.participant1Id();
+                slots[2] = change.participant2Id();
+                if (change.status() != MatchStatus.SCHEDULED) {
+                    done.add(change.matchId());
+                }
+            }
+        }
+    }
+
+    private static List<Long> ids(int n) {
+        List<Long> ids = new ArrayList<>(n);
+        for (long i = 1; i <= n; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,44 @@
+package com.badminton.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void prefixWithFewCompletionsIsNotTruncated() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, List.of(InvertedIndex.Field.text("Vợt cầu lông", 1f)), false);
+        index.put(2L, List.of(InvertedIndex.Field.text("Vớ thể thao", 1f)), false);
+
+        InvertedIndex.Result result = index.search("vo", false, 0, 10);
+
+        assertThat(result.ids()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(result.truncated()).isFalse();
+    }
+
+    @Test
+    void truncatedPrefixKeepsTheMostFrequentCompletions() {
+        InvertedIndex index = new InvertedIndex();
+        long id = 1;
+        // 70 rare completions that sort before the frequent one
+        for (char a = 'a'; a <= 'c'; a++) {
+            for (char b = 'a'; b <= 'z' && id <= 70; b++) {
+                index.put(id++, List.of(InvertedIndex.Field.text("vot" + a + b, 1f)), false);
+            }
+        }
+        for (long frequent = 100; frequent < 110; frequent++) {
+            index.put(frequent, List.of(InvertedIndex.Field.text("votzz", 1f)), false);
+        }
+
+        InvertedIndex.Result result = index.search("vot", false, 0, 200);
+
+        assertThat(result.truncated()).isTrue();
+        assertThat(result.ids()).contains(100L, 109L);
+        // the frequent completion plus 63 rare ones
+        assertThat(result.total()).isEqualTo(10 + 63);
+    }
+}
@@ -0,0 +1,189 @@
+package com.badminton.util;
+
+import com.badminton.util.BracketBuilder.MatchPlan;
+import com.badminton.util.BracketBuilder.Plan;
+import com.badminton.util.MatchScheduler.Assignment;
+import com.badminton.util.MatchScheduler.Job;
+import com.badminton.util.MatchScheduler.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchSchedulerTest {
+
+    private static final int DAY = 24 * 60;
+    private static final int OPEN = 8 * 60;
+    private static final int CLOSE = 22 * 60;
+    private static final int REST = 20;
+    private static final int CHANGEOVER = 5;
+    // Court 1 is booked 9:00-11:00 on the first day, court 3 closes 12:00-14:00 every day
+    private static final int BOOKING_START = 9 * 60;
+    private static final int BOOKING_END = 11 * 60;
+
+    @Test
+    void doubleEliminationRespectsEveryConstraint() {
+        List<Job> jobs = jobs(BracketBuilder.doubleElimination(ids(100)));
+        for (int iterations : new int[]{0, 500}) {
+            Result result = scheduler(0).schedule(jobs, iterations, 42);
+
+            assertThat(result.unscheduled()).isEmpty();
+            assertFeasible(result, jobs);
+        }
+    }
+
+    @Test
+    void groupStageWithRefereesRespectsEveryConstraint() {
+        List<Job> jobs = jobs(BracketBuilder.groupsThenKnockout(ids(64), 16, 2));
+        Result result = scheduler(4).schedule(jobs, 500, 42);
+
+        assertThat(result.unscheduled()).isEmpty();
+        assertFeasible(result, jobs);
+        assertThat(result.assignments().values()).allMatch(a -> a.refereeId() != null);
+    }
+
+    @Test
+    void localSearchDoesNotMakeTheScheduleWorse() {
+        List<Job> jobs = jobs(BracketBuilder.doubleElimination(ids(100)));
+
+        Result greedy = scheduler(0).schedule(jobs, 0, 42);
+        Result improved = scheduler(0).schedule(jobs, 2000, 42);
+
+        assertThat(improved.makespan()).isLessThanOrEqualTo(greedy.makespan());
+    }
+
+    @Test
+    void repairKeepsFeasibleStartsAndShiftsTheRest() {
+        List<Job> jobs = jobs(BracketBuilder.singleElimination(ids(16)));
+        Result planned = scheduler(0).schedule(jobs, 0, 1);
+
+        // First match overran by an hour
+        MatchScheduler scheduler = scheduler(0);
+        Job first = jobs.get(0);
+        Assignment overran = planned.assignments().get(first.id());
+        scheduler.fixedEnd(first.id(), overran.end() + 60);
+        List<Job> rest = new ArrayList<>();
+        for (Job job : jobs.subList(1, jobs.size())) {
+            Assignment a = planned.assignments().get(job.id());
+            rest.add(new Job(job.id(), job.round(), job.participants(), job.refereeId(), job.duration(),
+                    job.feeders(), a.start(), a.courtId()));
+        }
+        rest.sort((a, b) -> Integer.compare(a.notBefore(), b.notBefore()));
+        Result repaired = scheduler.repair(rest);
+
+        assertThat(repaired.unscheduled()).isEmpty();
+        for (Assignment a : repaired.assignments().values()) {
+            assertThat(a.start()).isGreaterThanOrEqualTo(planned.assignments().get(a.matchId()).start());
+            Job job = rest.stream().filter(j -> j.id() == a.matchId()).findFirst().orElseThrow();
+            if (job.feeders().contains(first.id())) {
+                assertThat(a.start()).isGreaterThanOrEqualTo(overran.end() + 60 + REST);
+            }
+        }
+    }
+
+    private static MatchScheduler scheduler(int referees) {
+        MatchScheduler scheduler = new MatchScheduler(REST, CHANGEOVER, 3 * DAY);
+        for (long court = 1; court <= 12; court++) {
+            List<int[]> windows = new ArrayList<>();
+            for (int d = 0; d < 3; d++) {
+                if (court == 3) {
+                    windows.add(new int[]{d * DAY + OPEN, d * DAY + 12 * 60});
+                    windows.add(new int[]{d * DAY + 14 * 60, d * DAY + CLOSE});
+                } else {
+                    windows.add(new int[]{d * DAY + OPEN, d * DAY + CLOSE});
+                }
+            }
+            scheduler.addCourt(court, windows);
+        }
+        scheduler.occupyCourt(1, BOOKING_START, BOOKING_END);
+        List<Long> pool = new ArrayList<>();
+        for (long r = 1; r <= referees; r++) {
+            pool.add(1000 + r);
+        }
+        scheduler.addRefereePool(pool);
+        return scheduler;
+    }
+
+    /**
+     * One job per planned match, 45 minutes each, fed by the matches whose winner or loser it receives
+     */
+    private static List<Job> jobs(Plan plan) {
+        Map<Integer, List<Long>> feeders = new HashMap<>();
+        for (MatchPlan m : plan.matches()) {
+            if (m.getWinnerTo() >= 0) {
+                feeders.computeIfAbsent(m.getWinnerTo(), k -> new ArrayList<>()).add((long) m.getIndex());
+            }
+            if (m.getLoserTo() >= 0) {
+                feeders.computeIfAbsent(m.getLoserTo(), k -> new ArrayList<>()).add((long) m.getIndex());
+            }
+        }
+        List<Job> jobs = new ArrayList<>();
+        for (MatchPlan m : plan.matches()) {
+            List<Long> participants = new ArrayList<>();
+            if (m.getParticipant1Id() != null) {
+                participants.add(m.getParticipant1Id());
+            }
+            if (m.getParticipant2Id() != null) {
+                participants.add(m.getParticipant2Id());
+            }
+            jobs.add(new Job(m.getIndex(), m.getRoundIndex(), participants, null, 45,
+                    feeders.getOrDefault(m.getIndex(), List.of()), 0, null));
+        }
+        return jobs;
+    }
+
+    private static void assertFeasible(Result result, List<Job> jobs) {
+        Map<Long, Job> byId = new HashMap<>();
+        jobs.forEach(j -> byId.put(j.id(), j));
+        List<Assignment> assignments = new ArrayList<>(result.assignments().values());
+        for (Assignment x : assignments) {
+            Job job = byId.get(x.matchId());
+            for (Long feeder : job.feeders()) {
+                assertThat(result.assignments().get(feeder).end() + REST).as("feeder of %d", x.matchId())
+                        .isLessThanOrEqualTo(x.start());
+            }
+            assertThat(x.start() % DAY).as("opening of %d", x.matchId()).isGreaterThanOrEqualTo(OPEN);
+            assertThat(x.end() % DAY).as("closing of %d", x.matchId()).isLessThanOrEqualTo(CLOSE);
+            assertThat(x.start() / DAY).as("day of %d", x.matchId()).isEqualTo((x.end() - 1) / DAY);
+            if (x.courtId() == 1) {
+                assertThat(x.start() >= BOOKING_END || x.end() + CHANGEOVER <= BOOKING_START)
+                        .as("booking vs %d", x.matchId()).isTrue();
+            }
+            if (x.courtId() == 3) {
+                assertThat(x.start() % DAY >= 14 * 60 || x.end() % DAY <= 12 * 60)
+                        .as("court 3 break vs %d", x.matchId()).isTrue();
+            }
+            for (Assignment y : assignments) {
+                if (y == x) {
+                    continue;
+                }
+                if (y.courtId() == x.courtId()) {
+                    assertThat(x.start() >= y.end() + CHANGEOVER || y.start() >= x.end() + CHANGEOVER)
+                            .as("court of %d and %d", x.matchId(), y.matchId()).isTrue();
+                }
+                for (Long p : job.participants()) {
+                    if (byId.get(y.matchId()).participants().contains(p)) {
+                        assertThat(x.start() >= y.end() + REST || y.start() >= x.end() + REST)
+                                .as("rest of %d between %d and %d", p, x.matchId(), y.matchId()).isTrue();
+                    }
+                }
+                if (x.refereeId() != null && x.refereeId().equals(y.refereeId())) {
+                    assertThat(x.start() >= y.end() || y.start() >= x.end())
+                            .as("referee of %d and %d", x.matchId(), y.matchId()).isTrue();
+                }
+            }
+        }
+    }
+
+    private static List<Long> ids(int n) {
+        List<Long> ids = new ArrayList<>(n);
+        for (long i = 1; i <= n; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+}
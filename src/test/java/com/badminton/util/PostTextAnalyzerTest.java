@@ -0,0 +1,70 @@
+package com.badminton.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostTextAnalyzerTest {
+
+    @Test
+    void strayLessThanIsKeptAsText() {
+        assertThat(PostTextAnalyzer.stripHtml("if a < b then stop")).isEqualTo("if a < b then stop");
+        // A '<' before a later '>' opens a tag running to that '>', as "<[^>]*>" does
+        assertThat(PostTextAnalyzer.stripHtml("<p>a < b</p> and c")).isEqualTo("a  and c");
+        // Only a '<' with no '>' anywhere after it is text
+        assertThat(PostTextAnalyzer.stripHtml("a < b <i>c</i>")).isEqualTo("a c");
+    }
+
+    @Test
+    void entitiesAreDecodedInTheOldReplaceOrder() {
+        assertThat(PostTextAnalyzer.stripHtml("&lt;b&gt; &quot;x&quot;&nbsp;y")).isEqualTo("<b> \"x\" y");
+        assertThat(PostTextAnalyzer.stripHtml("&amp;lt; &amp;amp; &amp;nbsp;")).isEqualTo("< &amp; &nbsp;");
+        assertThat(PostTextAnalyzer.stripHtml("&am<b>p;")).isEqualTo("&");
+        assertThat(PostTextAnalyzer.stripHtml("&copy; & ;")).isEqualTo("&copy; & ;");
+    }
+
+    @Test
+    void keywordsAreWhitespaceSeparatedWordsWithoutStopWords() {
+        PostTextAnalyzer.Analysis analysis = PostTextAnalyzer.analyze(
+                "<p>Smash, smash, SMASH! The smash and-the drop-shot.</p>", 10);
+
+        // Punctuation stays on the word; "and-the" loses both stop words and is too short
+        assertThat(analysis.keywords()).containsExactlyInAnyOrder("smash,", "smash!", "smash", "drop-shot.");
+        assertThat(analysis.keywords()).startsWith("smash,");
+    }
+
+    @Test
+    void keywordsAreTheMostFrequentLongWords() {
+        PostTextAnalyzer.Analysis analysis = PostTextAnalyzer.analyze(
+                "court court court racket racket shuttle net", 2);
+
+        assertThat(analysis.keywords()).isEqualTo(List.of("court", "racket"));
+    }
+
+    @Test
+    void readingTimeCountsWhitespaceSeparatedWords() {
+        String content = "<p>" + "word ".repeat(401) + "</p>";
+
+        PostTextAnalyzer.Analysis analysis = PostTextAnalyzer.analyze(content, 0);
+
+        assertThat(analysis.wordCount()).isEqualTo(401);
+        assertThat(analysis.readingTime()).isEqualTo(3);
+    }
+
+    @Test
+    void firstImageMatchesDoubleQuotedSrcOfAnImgTag() {
+        assertThat(PostTextAnalyzer.analyze("<p>x</p><img class=\"a\" src=\"/a.png\"><img src=\"/b.png\">", 0)
+                .firstImage()).isEqualTo("/a.png");
+        assertThat(PostTextAnalyzer.analyze("<img src='/single.png'><img src=\"/double.png\">", 0)
+                .firstImage()).isEqualTo("/double.png");
+        assertThat(PostTextAnalyzer.analyze("<IMG src=\"/upper.png\">", 0).firstImage()).isNull();
+    }
+
+    @Test
+    void slugFoldsVietnameseAndDropsSymbols() {
+        assertThat(PostTextAnalyzer.slugify("  Giải Cầu Lông -- Mở rộng 2026! ")).isEqualTo("giai-cau-long-mo-rong-2026");
+        assertThat(PostTextAnalyzer.slugify("a_b.c")).isEqualTo("abc");
+    }
+}
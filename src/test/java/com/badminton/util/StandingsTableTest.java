@@ -0,0 +1,125 @@
+package com.badminton.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StandingsTableTest {
+
+    @Test
+    void ordersByWins() {
+        StandingsTable table = table(3);
+        table.record(1, 2, 2, 1, 2, 40, 42);
+        table.record(2, 3, 2, 2, 0, 42, 30);
+        table.record(1, 3, 1, 2, 0, 42, 20);
+
+        assertThat(table.standings()).extracting(StandingsTable.Row::participantId).containsExactly(2L, 1L, 3L);
+        assertThat(table.standings()).extracting(StandingsTable.Row::rank).containsExactly(1, 2, 3);
+        assertThat(table.standings().get(0).won()).isEqualTo(2);
+    }
+
+    @Test
+    void threeWayTieIsBrokenBySetRatio() {
+        // 1 beats 2, 2 beats 3, 3 beats 1: head-to-head is level, set ratio decides
+        StandingsTable table = table(3);
+        table.record(1, 2, 1, 2, 0, 42, 30);
+        table.record(2, 3, 2, 2, 1, 50, 48);
+        table.record(3, 1, 3, 2, 1, 60, 55);
+
+        assertThat(table.standings()).extracting(StandingsTable.Row::participantId).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void twoWayTieIsBrokenByHeadToHeadBeforeSetRatio() {
+        StandingsTable table = table(4);
+        table.record(1, 3, 1, 2, 0, 42, 10);
+        table.record(1, 4, 1, 2, 0, 42, 10);
+        table.record(2, 1, 2, 2, 1, 55, 53);
+        table.record(2, 3, 3, 0, 2, 10, 42);
+        table.record(2, 4, 2, 2, 1, 55, 53);
+        table.record(3, 4, 4, 1, 2, 50, 55);
+
+        // 1 has the better set ratio, 2 won their match; 4 won theirs against 3
+        assertThat(table.standings()).extracting(StandingsTable.Row::participantId).containsExactly(2L, 1L, 4L, 3L);
+    }
+
+    @Test
+    void levelRowsAreOrderedByParticipantId() {
+        StandingsTable table = new StandingsTable();
+        table.addParticipant(9);
+        table.addParticipant(4);
+        table.addParticipant(7);
+
+        assertThat(table.standings()).extracting(StandingsTable.Row::participantId).containsExactly(4L, 7L, 9L);
+    }
+
+    @Test
+    void orderDoesNotDependOnTheOrderResultsArrive() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 2000; trial++) {
+            int n = 2 + random.nextInt(7);
+            List<long[]> results = new ArrayList<>();
+            for (int i = 1; i <= n; i++) {
+                for (int j = i + 1; j <= n; j++) {
+                    if (random.nextInt(5) == 0) {
+                        continue;
+                    }
+                    boolean firstWins = random.nextBoolean();
+                    int sets1 = firstWins ? 2 : random.nextInt(2);
+                    int sets2 = firstWins ? random.nextInt(2) : 2;
+                    // Coarse point totals so ties reach the last criterion
+                    results.add(new long[]{i, j, firstWins ? i : j, sets1, sets2,
+                            random.nextInt(3) * 2 + 15, random.nextInt(3) * 2 + 15});
+                }
+            }
+
+            List<StandingsTable.Row> first = null;
+            for (int shuffle = 0; shuffle < 4; shuffle++) {
+                List<Long> ids = new ArrayList<>();
+                for (long i = 1; i <= n; i++) {
+                    ids.add(i);
+                }
+                Collections.shuffle(ids, random);
+                StandingsTable table = new StandingsTable();
+                ids.forEach(table::addParticipant);
+                List<long[]> shuffled = new ArrayList<>(results);
+                Collections.shuffle(shuffled, random);
+                for (long[] r : shuffled) {
+                    table.record(r[0], r[1], r[2], (int) r[3], (int) r[4], (int) r[5], (int) r[6]);
+                }
+
+                List<StandingsTable.Row> rows = table.standings();
+                for (int i = 1; i < rows.size(); i++) {
+                    assertThat(rows.get(i).won()).isLessThanOrEqualTo(rows.get(i - 1).won());
+                }
+                if (first == null) {
+                    first = rows;
+                } else {
+                    assertThat(rows).as("trial %d", trial).isEqualTo(first);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsAWinnerWhoDidNotPlay() {
+        StandingsTable table = table(3);
+
+        assertThatThrownBy(() -> table.record(1, 2, 3, 2, 0, 42, 30))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static StandingsTable table(int n) {
+        StandingsTable table = new StandingsTable();
+        for (long i = 1; i <= n; i++) {
+            table.addParticipant(i);
+        }
+        return table;
+    }
+}